@@ -9,7 +9,7 @@ package ro.tss.delivery;
  * - T_D = Taxa pe Distanță (variabilă în funcție de km)
  * - T_G = Taxa pe Greutate (fixă per interval)
  */
-public class DeliveryService {
+public class DeliveryService implements FeePricer {
 
     // Constante pentru taxa de bază
     private static final double BASE_FEE = 5.00;
@@ -42,6 +42,7 @@ public class DeliveryService {
      * @return Taxa totală de livrare în RON
      * @throws IllegalArgumentException dacă distanța sau greutatea nu sunt pozitive
      */
+    @Override
     public double calculateDeliveryFee(double distanceKm, double weightKg) {
         // C1: Verificare distanță validă
         // C2: Verificare greutate validă
@@ -74,5 +75,18 @@ public class DeliveryService {
         // Taxa Totală = T_B + T_D + T_G
         return BASE_FEE + distanceFee + weightFee;
     }
-}
 
+    /**
+     * Taxele pentru rândurile [from, to): validarea întregului lot, apoi bucla proprie
+     * clasei, în care apelul către {@link #calculateDeliveryFee} este monomorf.
+     *
+     * @throws IllegalArgumentException pentru primul rând invalid, înainte de orice calcul
+     */
+    @Override
+    public void calculateDeliveryFees(double[] distanceKm, double[] weightKg, double[] fees, int from, int to) {
+        FeePricer.checkPositive(distanceKm, weightKg, from, to);
+        for (int i = from; i < to; i++) {
+            fees[i] = calculateDeliveryFee(distanceKm[i], weightKg[i]);
+        }
+    }
+}
@@ -32,7 +32,7 @@ package ro.tss.delivery;
  * - Înlocuirea unei constante (0.0) cu o expresie (0.0 * weightKg)
  *   care produce același rezultat pentru toate valorile posibile
  */
-public class DeliveryServiceMutantEquivalent {
+public class DeliveryServiceMutantEquivalent implements FeePricer {
 
     private static final double BASE_FEE = 5.00;
     private static final double RATE_SHORT_DISTANCE = 0.50;
@@ -47,6 +47,7 @@ public class DeliveryServiceMutantEquivalent {
     private static final double WEIGHT_THRESHOLD_MEDIUM = 5.0;
     private static final double WEIGHT_THRESHOLD_HEAVY = 15.0;
 
+    @Override
     public double calculateDeliveryFee(double distanceKm, double weightKg) {
         if (distanceKm <= 0 || weightKg <= 0) {
             throw new IllegalArgumentException("Distanța și greutatea trebuie să fie pozitive.");
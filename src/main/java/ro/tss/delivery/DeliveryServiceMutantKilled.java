@@ -37,7 +37,7 @@ package ro.tss.delivery;
  * - Actual (mutant):     5.00 + 4.00 + 0.00 = 9.00 RON
  * - Assertion FAILS → Mutant KILLED ✓
  */
-public class DeliveryServiceMutantKilled {
+public class DeliveryServiceMutantKilled implements FeePricer {
 
     private static final double BASE_FEE = 5.00;
     private static final double RATE_SHORT_DISTANCE = 0.50;
@@ -53,6 +53,7 @@ public class DeliveryServiceMutantKilled {
     private static final double WEIGHT_THRESHOLD_MEDIUM = 5.0;
     private static final double WEIGHT_THRESHOLD_HEAVY = 15.0;
 
+    @Override
     public double calculateDeliveryFee(double distanceKm, double weightKg) {
         if (distanceKm <= 0 || weightKg <= 0) {
             throw new IllegalArgumentException("Distanța și greutatea trebuie să fie pozitive.");
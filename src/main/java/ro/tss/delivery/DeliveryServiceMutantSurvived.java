@@ -61,7 +61,7 @@ package ro.tss.delivery;
  * NOTĂ: Mutantul ar fi omorât de BVA_D2 care testează exact d = 0,
  * dar demonstrăm că pentru testul EP_D2 (d = 5, w = 1), mutantul supraviețuiește.
  */
-public class DeliveryServiceMutantSurvived {
+public class DeliveryServiceMutantSurvived implements FeePricer {
 
     private static final double BASE_FEE = 5.00;
     private static final double RATE_SHORT_DISTANCE = 0.50;
@@ -77,6 +77,7 @@ public class DeliveryServiceMutantSurvived {
     private static final double WEIGHT_THRESHOLD_MEDIUM = 5.0;
     private static final double WEIGHT_THRESHOLD_HEAVY = 15.0;
 
+    @Override
     public double calculateDeliveryFee(double distanceKm, double weightKg) {
         // ========== MUTAȚIE NE-ECHIVALENTĂ (SUPRAVIEȚUIEȘTE) ==========
         // Original: if (distanceKm <= 0 || weightKg <= 0)
@@ -0,0 +1,66 @@
+package ro.tss.delivery;
+
+/**
+ * Calculul taxei de livrare, comun serviciului original, mutanților și variantelor
+ * optimizate, pentru cod generic care nu trebuie să treacă prin reflecție sau lambda-uri.
+ *
+ * Metoda pe loturi are o implementare implicită rând cu rând. Fiind una singură pentru
+ * toate implementările, apelul din bucla ei vede mai multe clase (profil poluat) și nu
+ * poate fi inline-at; clasele pe calea critică o suprascriu cu propria buclă, în care
+ * apelul este monomorf. {@link BatchDriver} grupează rândurile pe implementare, astfel
+ * încât dispecerizarea virtuală să se facă o dată pe lot, nu o dată pe rând.
+ */
+public interface FeePricer {
+
+    /**
+     * @throws IllegalArgumentException dacă distanța sau greutatea nu sunt pozitive
+     */
+    double calculateDeliveryFee(double distanceKm, double weightKg);
+
+    /**
+     * Taxele pentru toate rândurile.
+     *
+     * @throws IllegalArgumentException dacă tablourile au lungimi diferite sau un rând este invalid
+     */
+    default void calculateDeliveryFees(double[] distanceKm, double[] weightKg, double[] fees) {
+        checkLengths(distanceKm, weightKg, fees);
+        calculateDeliveryFees(distanceKm, weightKg, fees, 0, fees.length);
+    }
+
+    /**
+     * Taxele pentru rândurile [from, to). La un rând invalid, mesajul excepției indică
+     * rândul, iar conținutul lui {@code fees} pe interval este nedefinit.
+     *
+     * @throws IllegalArgumentException dacă un rând are distanța sau greutatea nepozitivă
+     */
+    default void calculateDeliveryFees(double[] distanceKm, double[] weightKg, double[] fees, int from, int to) {
+        int i = from;
+        try {
+            for (; i < to; i++) {
+                fees[i] = calculateDeliveryFee(distanceKm[i], weightKg[i]);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Rândul " + i + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Validarea unui lot înainte de calcul, pentru implementările care separă validarea
+     * de bucla de calcul: același predicat ca DeliveryService (NaN trece).
+     *
+     * @throws IllegalArgumentException pentru primul rând invalid, cu indicele lui
+     */
+    static void checkPositive(double[] distanceKm, double[] weightKg, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (distanceKm[i] <= 0 || weightKg[i] <= 0) {
+                throw new IllegalArgumentException("Rândul " + i + ": Distanța și greutatea trebuie să fie pozitive.");
+            }
+        }
+    }
+
+    static void checkLengths(double[] distanceKm, double[] weightKg, double[] fees) {
+        if (distanceKm.length != fees.length || weightKg.length != fees.length) {
+            throw new IllegalArgumentException("Tablourile de intrare și ieșire trebuie să aibă aceeași lungime.");
+        }
+    }
+}
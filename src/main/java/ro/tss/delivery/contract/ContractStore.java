@@ -0,0 +1,220 @@
+package ro.tss.delivery.contract;
+
+import ro.tss.delivery.FeePricer;
+import ro.tss.delivery.ratecard.RateCard;
+import ro.tss.delivery.ratecard.RateCardInterpreter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contractele negociate ale clienților: fiecare contract este un {@link RateCard} care
+ * înlocuiește tarifele și pragurile standard; clienții fără contract primesc tariful implicit.
+ *
+ * Clientul este găsit într-un {@link CustomerIndex} (adresare deschisă pe {@code long},
+ * fără boxing), care dă indicele contractului; fiecare contract este un
+ * {@link RateCardInterpreter} într-o listă indexată. Rezolvarea tarifului efectiv este deci O(1):
+ * o sondare în index și o citire din listă. Contractele identice (aceeași versiune și
+ * aceeași definiție) sunt păstrate o singură dată, oricâți clienți le-ar folosi.
+ *
+ * Pe loturi cu clienți amestecați, rândurile sunt grupate pe contract (sortare prin
+ * numărare, ca în {@link ro.tss.delivery.BatchDriver} și {@link ro.tss.delivery.ratecard.RateCardTimeline})
+ * și fiecare grup este tarifat de
+ * {@link RateCardInterpreter#calculateDeliveryFees(int[], int, int, double[], double[], double[])},
+ * cu pragurile contractului ținute în registre/L1, în loc să se sară de la un contract la
+ * altul pe fiecare rând.
+ *
+ * Tarifarea este deci chiar cea a {@link RateCardInterpreter} pe tariful efectiv al
+ * clientului. Tablourile de lucru sunt reutilizate între apeluri: o instanță nu este
+ * thread-safe.
+ */
+public final class ContractStore {
+
+    /** Indicele contractului implicit, aplicat clienților fără contract. */
+    public static final int DEFAULT_CONTRACT = 0;
+
+    private final CustomerIndex customers;
+    private final Map<RateCard, Integer> contractIds = new HashMap<>();
+
+    // Antet de obiect + câmpuri, respectiv antet de tablou (JVM pe 64 de biți, oops comprimate)
+    private static final int OBJECT_BYTES = 40;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private RateCardInterpreter[] contracts = new RateCardInterpreter[8];
+    private int contractCount;
+    private int[] contractOfRow = new int[0];
+    private int[] rows = new int[0];
+    private int[] starts = new int[0];
+
+    public ContractStore() {
+        this(RateCard.standard(), 0);
+    }
+
+    /**
+     * @param defaultCard       tariful clienților fără contract
+     * @param expectedCustomers numărul estimat de clienți cu contract (dimensionează indexul)
+     */
+    public ContractStore(RateCard defaultCard, int expectedCustomers) {
+        this.customers = new CustomerIndex(expectedCustomers);
+        addContract(defaultCard);
+    }
+
+    /**
+     * Înregistrează un contract și întoarce indicele lui; un contract identic cu unul
+     * existent primește indicele acestuia.
+     */
+    public int addContract(RateCard card) {
+        Integer existing = contractIds.get(card);
+        if (existing != null) {
+            return existing;
+        }
+        int id = contractCount;
+        if (id == contracts.length) {
+            contracts = Arrays.copyOf(contracts, id * 2);
+        }
+        contracts[id] = new RateCardInterpreter(card);
+        contractIds.put(card, id);
+        contractCount++;
+        return id;
+    }
+
+    /**
+     * Asociază (sau reasociază) clientul cu un contract înregistrat.
+     *
+     * @throws IllegalArgumentException dacă contractul nu există
+     */
+    public void assign(long customerId, int contract) {
+        existing(contract);
+        customers.put(customerId, contract);
+    }
+
+    /** Înregistrează contractul și îl asociază clientului. */
+    public int assign(long customerId, RateCard card) {
+        int contract = addContract(card);
+        customers.put(customerId, contract);
+        return contract;
+    }
+
+    /**
+     * Indicele contractului clientului sau {@link #DEFAULT_CONTRACT} dacă nu are unul.
+     */
+    public int contractOf(long customerId) {
+        int contract = customers.get(customerId);
+        return contract == CustomerIndex.ABSENT ? DEFAULT_CONTRACT : contract;
+    }
+
+    /** Tariful efectiv al clientului. */
+    public RateCard rateCard(long customerId) {
+        return contracts[contractOf(customerId)].card();
+    }
+
+    public RateCard contract(int contract) {
+        return existing(contract).card();
+    }
+
+    public int contracts() {
+        return contractCount;
+    }
+
+    /** Numărul de clienți cu contract asociat explicit. */
+    public int customers() {
+        return customers.size();
+    }
+
+    /** Memoria indexului de clienți, în octeți (tablourile de chei și valori). */
+    public long indexBytes() {
+        return customers.footprintBytes();
+    }
+
+    /** Memoria condițiilor unui contract, în octeți (tablourile primitive și obiectul). */
+    public long contractBytes(int contract) {
+        return footprintBytes(existing(contract).card());
+    }
+
+    /**
+     * Memoria totală împărțită la numărul de contracte (indexul inclus), în octeți.
+     */
+    public double bytesPerContract() {
+        long total = indexBytes();
+        for (int c = 0; c < contractCount; c++) {
+            total += footprintBytes(contracts[c].card());
+        }
+        return (double) total / contractCount;
+    }
+
+    /**
+     * Taxa unei livrări pe tariful efectiv al clientului.
+     *
+     * @throws IllegalArgumentException dacă distanța sau greutatea nu sunt pozitive
+     */
+    public double calculateDeliveryFee(long customerId, double distanceKm, double weightKg) {
+        return contracts[contractOf(customerId)].calculateDeliveryFee(distanceKm, weightKg);
+    }
+
+    /**
+     * Taxele unui lot cu clienți amestecați: rezolvarea contractelor, gruparea rândurilor
+     * pe contract și câte o buclă fără salturi per contract.
+     *
+     * @throws IllegalArgumentException dacă tablourile au lungimi diferite sau un rând este
+     *                                  invalid (mesajul indică primul rând invalid, înainte
+     *                                  de orice calcul)
+     */
+    public void calculateDeliveryFees(long[] customerId, double[] distanceKm, double[] weightKg, double[] fees) {
+        FeePricer.checkLengths(distanceKm, weightKg, fees);
+        int n = fees.length;
+        if (customerId.length != n) {
+            throw new IllegalArgumentException("Tablourile de intrare și ieșire trebuie să aibă aceeași lungime.");
+        }
+        FeePricer.checkPositive(distanceKm, weightKg, 0, n);
+        ensureCapacity(n);
+
+        int groups = contractCount;
+        int[] count = starts;
+        Arrays.fill(count, 0, groups + 1, 0);
+        for (int i = 0; i < n; i++) {
+            int c = contractOf(customerId[i]);
+            contractOfRow[i] = c;
+            count[c + 1]++;
+        }
+        for (int c = 0; c < groups; c++) {
+            count[c + 1] += count[c];
+        }
+        for (int i = 0; i < n; i++) {
+            rows[count[contractOfRow[i]]++] = i;
+        }
+        // count[c] este acum începutul grupului c + 1
+        int from = 0;
+        for (int c = 0; c < groups; c++) {
+            int to = count[c];
+            if (from < to) {
+                contracts[c].calculateDeliveryFees(rows, from, to, distanceKm, weightKg, fees);
+            }
+            from = to;
+        }
+    }
+
+    private void ensureCapacity(int n) {
+        if (rows.length < n) {
+            rows = new int[n];
+            contractOfRow = new int[n];
+        }
+        if (starts.length < contractCount + 1) {
+            starts = new int[contractCount + 1];
+        }
+    }
+
+    private RateCardInterpreter existing(int contract) {
+        if (contract < 0 || contract >= contractCount) {
+            throw new IllegalArgumentException("Contract inexistent: " + contract + ".");
+        }
+        return contracts[contract];
+    }
+
+    /** Obiectul tarifului și cele patru tablouri de praguri și tarife. */
+    private static long footprintBytes(RateCard card) {
+        int doubles = card.distanceTierCount() - 1 + card.distanceTierCount()
+                + card.weightBandCount() - 1 + card.weightBandCount();
+        return OBJECT_BYTES + 4L * ARRAY_HEADER_BYTES + (long) doubles * Double.BYTES;
+    }
+}
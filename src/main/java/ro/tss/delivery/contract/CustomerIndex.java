@@ -0,0 +1,119 @@
+package ro.tss.delivery.contract;
+
+import java.util.Arrays;
+
+/**
+ * Tabel de dispersie cu adresare deschisă (sondare liniară) de la id-ul clientului
+ * ({@code long}) la indicele contractului ({@code int}), fără obiecte per intrare:
+ * două tablouri paralele de chei și valori, 12 octeți pe poziție.
+ *
+ * O poziție liberă are valoarea {@link #ABSENT}, deci orice {@code long} poate fi cheie.
+ * Tabelul se dublează când ocuparea depășește {@link #MAX_LOAD}; clienții nu se șterg,
+ * doar se reasignează.
+ */
+final class CustomerIndex {
+
+    static final int ABSENT = -1;
+
+    // Peste ~0.7, lanțurile sondării liniare cresc rapid
+    private static final double MAX_LOAD = 0.7;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    CustomerIndex(int expectedCustomers) {
+        if (expectedCustomers < 0) {
+            throw new IllegalArgumentException("Numărul estimat de clienți nu poate fi negativ.");
+        }
+        allocate(capacityFor(expectedCustomers));
+    }
+
+    /**
+     * Indicele asociat clientului sau {@link #ABSENT}.
+     */
+    int get(long customerId) {
+        int slot = slot(customerId);
+        while (true) {
+            int value = values[slot];
+            if (value == ABSENT || keys[slot] == customerId) {
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    void put(long customerId, int value) {
+        int slot = slot(customerId);
+        while (values[slot] != ABSENT && keys[slot] != customerId) {
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == ABSENT) {
+            if (size == resizeAt) {
+                grow();
+                put(customerId, value);
+                return;
+            }
+            keys[slot] = customerId;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return values.length;
+    }
+
+    /** Memoria ocupată de cele două tablouri, în octeți. */
+    long footprintBytes() {
+        return (long) values.length * (Long.BYTES + Integer.BYTES) + 2 * 16;
+    }
+
+    private int slot(long key) {
+        // Amestecul final din MurmurHash3: id-urile consecutive se împrăștie uniform
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        if (oldValues.length == 1 << 30) {
+            throw new IllegalStateException("Indexul de clienți a atins capacitatea maximă.");
+        }
+        allocate(oldValues.length * 2);
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != ABSENT) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, ABSENT);
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * MAX_LOAD);
+    }
+
+    private static int capacityFor(int expected) {
+        long needed = (long) Math.ceil(expected / MAX_LOAD) + 1;
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Prea mulți clienți pentru un singur index: " + expected + ".");
+        }
+        return Math.max(16, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+}
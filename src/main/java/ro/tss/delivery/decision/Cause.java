@@ -0,0 +1,105 @@
+package ro.tss.delivery.decision;
+
+/**
+ * Cauzele din graful cauză-efect al {@code CauseEffectGraphingTest}, în ordinea din
+ * tabelul de decizie. Bitul unei cauze într-o mască este {@code 1 << ordinal()}.
+ *
+ * C5 și C9 sunt definite ca ramuri else (nici C1/C3/C4, respectiv nici C2/C6/C7/C8),
+ * exact ca în lanțul if/else din DeliveryService; astfel și NaN are o mască: distanța
+ * NaN cade pe C5, greutatea NaN pe C9.
+ */
+public enum Cause {
+
+    C1("distanceKm <= 0", true, -5, 0, Double.NEGATIVE_INFINITY),
+    C2("weightKg <= 0", false, -2, 0, -Double.MIN_VALUE),
+    C3("0 < distanceKm <= 10", true, 5, Double.MIN_VALUE, 10),
+    C4("10 < distanceKm <= 50", true, 25, Math.nextUp(10.0), 50),
+    C5("distanceKm > 50", true, 75, Math.nextUp(50.0), Double.MAX_VALUE),
+    C6("0 < weightKg <= 2", false, 1, Double.MIN_VALUE, 2),
+    C7("2 < weightKg <= 5", false, 3, Math.nextUp(2.0), 5),
+    C8("5 < weightKg <= 15", false, 10, Math.nextUp(5.0), 15),
+    C9("weightKg > 15", false, 20, Math.nextUp(15.0), Double.MAX_VALUE);
+
+    /** Cauzele de distanță, respectiv de greutate: exact una din fiecare grup este adevărată. */
+    public static final int DISTANCE_CAUSES = mask(C1, C3, C4, C5);
+    public static final int WEIGHT_CAUSES = mask(C2, C6, C7, C8, C9);
+
+    /** Numărul de combinații de cauze (2^9). */
+    public static final int COMBINATIONS = 1 << 9;
+
+    private final String expression;
+    private final boolean distance;
+    private final double[] samples;
+
+    Cause(String expression, boolean distance, double... samples) {
+        this.expression = expression;
+        this.distance = distance;
+        this.samples = samples;
+    }
+
+    public String expression() {
+        return expression;
+    }
+
+    public boolean isDistance() {
+        return distance;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /** Valoarea tipică a cauzei, folosită în cazurile de test generate. */
+    public double typical() {
+        return samples[0];
+    }
+
+    /** Valoarea tipică și capetele intervalului cauzei. */
+    public double[] samples() {
+        return samples.clone();
+    }
+
+    public static int mask(Cause... causes) {
+        int mask = 0;
+        for (Cause cause : causes) {
+            mask |= cause.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * Masca cauzelor adevărate pentru (d, w), fără salturi (expresii condiționale).
+     */
+    public static int of(double distanceKm, double weightKg) {
+        boolean c1 = distanceKm <= 0;
+        boolean c2 = weightKg <= 0;
+        boolean shortDistance = distanceKm <= 10;
+        boolean mediumDistance = distanceKm <= 50;
+        boolean lightWeight = weightKg <= 2;
+        boolean mediumWeight = weightKg <= 5;
+        boolean heavyWeight = weightKg <= 15;
+        int distance = c1 ? 1 : shortDistance ? 1 << 2 : mediumDistance ? 1 << 3 : 1 << 4;
+        int weight = c2 ? 1 << 1 : lightWeight ? 1 << 5 : mediumWeight ? 1 << 6 : heavyWeight ? 1 << 7 : 1 << 8;
+        return distance | weight;
+    }
+
+    /** O mască e posibilă dacă are exact o cauză de distanță și exact una de greutate. */
+    public static boolean feasible(int mask) {
+        return Integer.bitCount(mask & DISTANCE_CAUSES) == 1 && Integer.bitCount(mask & WEIGHT_CAUSES) == 1
+                && (mask & ~(DISTANCE_CAUSES | WEIGHT_CAUSES)) == 0;
+    }
+
+    /** Reprezentare de tip "C3 C7". */
+    public static String describe(int mask) {
+        StringBuilder text = new StringBuilder();
+        for (Cause cause : values()) {
+            if ((mask & cause.bit()) != 0) {
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(cause.name());
+            }
+        }
+        return text.toString();
+    }
+}
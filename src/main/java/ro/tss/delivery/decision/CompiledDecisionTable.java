@@ -0,0 +1,69 @@
+package ro.tss.delivery.decision;
+
+import ro.tss.delivery.FeePricer;
+
+/**
+ * Tabelul de decizie compilat: pentru fiecare din cele 512 măști de cauze, tariful de
+ * distanță și taxa de greutate, alăturate într-un singur tablou de 8 KB (ambele valori
+ * ale unei măști sunt în aceeași linie de cache).
+ *
+ * Evaluarea este: masca cauzelor (comparații compuse fără salturi), o citire din tabel,
+ * apoi T_B + d × tarif + T_G, în aceeași ordine ca DeliveryService, deci rezultatul este
+ * identic bit cu bit. Măștile respinse (E1) și cele imposibile au tariful NaN.
+ */
+public final class CompiledDecisionTable implements FeePricer {
+
+    private static final double BASE_FEE = Effect.E9.value();
+
+    private final double[] packed;
+    private final DecisionTable.Rule[] ruleOf;
+
+    CompiledDecisionTable(double[] packed, DecisionTable.Rule[] ruleOf) {
+        this.packed = packed;
+        this.ruleOf = ruleOf;
+    }
+
+    @Override
+    public double calculateDeliveryFee(double distanceKm, double weightKg) {
+        int index = Cause.of(distanceKm, weightKg) << 1;
+        double rate = packed[index];
+        if (rate != rate) {
+            throw new IllegalArgumentException("Distanța și greutatea trebuie să fie pozitive.");
+        }
+        return BASE_FEE + distanceKm * rate + packed[index + 1];
+    }
+
+    /** Validarea rămâne cea din tabel: tariful NaN al măștilor respinse. */
+    @Override
+    public void calculateDeliveryFees(double[] distanceKm, double[] weightKg, double[] fees, int from, int to) {
+        double[] table = packed;
+        for (int i = from; i < to; i++) {
+            double d = distanceKm[i];
+            int index = Cause.of(d, weightKg[i]) << 1;
+            double rate = table[index];
+            if (rate != rate) {
+                throw new IllegalArgumentException("Rândul " + i + ": Distanța și greutatea trebuie să fie pozitive.");
+            }
+            fees[i] = BASE_FEE + d * rate + table[index + 1];
+        }
+    }
+
+    /** Regula aplicată măștii, sau null pentru o mască imposibilă. */
+    public DecisionTable.Rule rule(int mask) {
+        if (mask < 0 || mask >= Cause.COMBINATIONS) {
+            throw new IllegalArgumentException("Mască invalidă: " + mask);
+        }
+        return ruleOf[mask];
+    }
+
+    /** Numărul de măști posibile (acoperite de o regulă). */
+    public int feasibleMasks() {
+        int count = 0;
+        for (DecisionTable.Rule rule : ruleOf) {
+            if (rule != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
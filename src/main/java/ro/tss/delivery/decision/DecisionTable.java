@@ -0,0 +1,263 @@
+package ro.tss.delivery.decision;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Tabelul de decizie cauză-efect al prețului de livrare, ca date: aceeași definiție
+ * generează cazurile de test CEG ({@link #testCases()}) și se compilează într-un tabel
+ * de căutare folosit la rulare ({@link #compile()}).
+ *
+ * O regulă are un tipar de 9 caractere, câte unul pentru C1..C9, ca în tabelul din
+ * {@code CauseEffectGraphingTest}: 'T' (cauza este adevărată), 'F' (falsă) sau '-'
+ * (indiferentă). Efectele unei reguli sunt fie doar E1, fie un tarif de distanță
+ * (E2–E4), o taxă de greutate (E5–E8) și E9.
+ */
+public final class DecisionTable {
+
+    /** O regulă (o coloană a tabelului de decizie). */
+    public static final class Rule {
+
+        private final String name;
+        private final String pattern;
+        private final int required;
+        private final int forbidden;
+        private final Set<Effect> effects;
+
+        public Rule(String name, String pattern, Effect... effects) {
+            if (pattern.length() != Cause.values().length) {
+                throw new IllegalArgumentException("Tiparul regulii " + name + " trebuie să aibă "
+                        + Cause.values().length + " caractere.");
+            }
+            int required = 0;
+            int forbidden = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                switch (pattern.charAt(i)) {
+                    case 'T' -> required |= 1 << i;
+                    case 'F' -> forbidden |= 1 << i;
+                    case '-' -> { }
+                    default -> throw new IllegalArgumentException(
+                            "Caracter invalid '" + pattern.charAt(i) + "' în tiparul regulii " + name + ".");
+                }
+            }
+            this.name = Objects.requireNonNull(name);
+            this.pattern = pattern;
+            this.required = required;
+            this.forbidden = forbidden;
+            this.effects = Collections.unmodifiableSet(effects.length == 0
+                    ? EnumSet.noneOf(Effect.class) : EnumSet.of(effects[0], effects));
+            validateEffects();
+        }
+
+        private void validateEffects() {
+            int bits = 0;
+            for (Effect effect : effects) {
+                bits |= effect.bit();
+            }
+            boolean rejected = bits == Effect.E1.bit();
+            boolean fee = Integer.bitCount(bits & Effect.DISTANCE_RATES) == 1
+                    && Integer.bitCount(bits & Effect.WEIGHT_FEES) == 1
+                    && (bits & Effect.E9.bit()) != 0 && (bits & Effect.E1.bit()) == 0;
+            if (!rejected && !fee) {
+                throw new IllegalArgumentException("Regula " + name
+                        + " trebuie să aibă fie E1, fie un tarif de distanță, o taxă de greutate și E9.");
+            }
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public String pattern() {
+            return pattern;
+        }
+
+        public Set<Effect> effects() {
+            return effects;
+        }
+
+        public boolean rejects() {
+            return effects.contains(Effect.E1);
+        }
+
+        /** Regula se aplică măștii dacă toate cauzele 'T' sunt adevărate și toate 'F' false. */
+        public boolean matches(int mask) {
+            return (mask & required) == required && (mask & forbidden) == 0;
+        }
+
+        double distanceRate() {
+            return rate(Effect.DISTANCE_RATES);
+        }
+
+        double weightFee() {
+            return rate(Effect.WEIGHT_FEES);
+        }
+
+        private double rate(int group) {
+            for (Effect effect : effects) {
+                if ((effect.bit() & group) != 0) {
+                    return effect.value();
+                }
+            }
+            return Double.NaN;
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + pattern + " → " + effects;
+        }
+    }
+
+    /** Un caz de test generat dintr-o regulă. */
+    public static final class TestCase {
+
+        private final Rule rule;
+        private final double distanceKm;
+        private final double weightKg;
+        private final double expectedFee;
+
+        TestCase(Rule rule, double distanceKm, double weightKg, double expectedFee) {
+            this.rule = rule;
+            this.distanceKm = distanceKm;
+            this.weightKg = weightKg;
+            this.expectedFee = expectedFee;
+        }
+
+        public Rule rule() {
+            return rule;
+        }
+
+        public double distanceKm() {
+            return distanceKm;
+        }
+
+        public double weightKg() {
+            return weightKg;
+        }
+
+        public boolean rejected() {
+            return rule.rejects();
+        }
+
+        /** Taxa așteptată, calculată din efectele regulii (NaN dacă intrarea e respinsă). */
+        public double expectedFee() {
+            return expectedFee;
+        }
+
+        @Override
+        public String toString() {
+            return rule.name() + ": d=" + distanceKm + "km, w=" + weightKg + "kg → "
+                    + (rejected() ? "E1" : String.format("%.2f RON", expectedFee));
+        }
+    }
+
+    private final List<Rule> rules;
+
+    public DecisionTable(List<Rule> rules) {
+        if (rules.isEmpty()) {
+            throw new IllegalArgumentException("Tabelul de decizie trebuie să aibă cel puțin o regulă.");
+        }
+        this.rules = List.copyOf(rules);
+    }
+
+    /** Tabelul T1–T15 din {@code CauseEffectGraphingTest}. */
+    public static DecisionTable deliveryPricing() {
+        List<Rule> rules = new ArrayList<>();
+        rules.add(new Rule("T1", "T--------", Effect.E1));
+        rules.add(new Rule("T2", "-T-------", Effect.E1));
+        rules.add(new Rule("T3", "TT-------", Effect.E1));
+        Effect[] distance = {Effect.E2, Effect.E3, Effect.E4};
+        Effect[] weight = {Effect.E5, Effect.E6, Effect.E7, Effect.E8};
+        int n = 4;
+        for (int tier = 0; tier < distance.length; tier++) {
+            for (int band = 0; band < weight.length; band++) {
+                char[] pattern = "FFFFFFFFF".toCharArray();
+                pattern[Cause.C3.ordinal() + tier] = 'T';
+                pattern[Cause.C6.ordinal() + band] = 'T';
+                rules.add(new Rule("T" + n++, new String(pattern), distance[tier], weight[band], Effect.E9));
+            }
+        }
+        return new DecisionTable(rules);
+    }
+
+    public List<Rule> rules() {
+        return rules;
+    }
+
+    /**
+     * Un caz de test per regulă: cauzele 'T' iau valoarea lor tipică; o axă fără cauză
+     * 'T' ia valoarea tipică a primei cauze valide care nu este interzisă.
+     */
+    public List<TestCase> testCases() {
+        List<TestCase> cases = new ArrayList<>(rules.size());
+        for (Rule rule : rules) {
+            double d = axisValue(rule, true);
+            double w = axisValue(rule, false);
+            int mask = Cause.of(d, w);
+            if (!rule.matches(mask)) {
+                throw new IllegalArgumentException("Regula " + rule.name() + " nu are un reprezentant.");
+            }
+            double expected = rule.rejects() ? Double.NaN
+                    : Effect.E9.value() + d * rule.distanceRate() + rule.weightFee();
+            cases.add(new TestCase(rule, d, w, expected));
+        }
+        return Collections.unmodifiableList(cases);
+    }
+
+    private static double axisValue(Rule rule, boolean distance) {
+        for (Cause cause : Cause.values()) {
+            if (cause.isDistance() == distance && (rule.required & cause.bit()) != 0) {
+                return cause.typical();
+            }
+        }
+        for (Cause cause : distance ? new Cause[] {Cause.C3, Cause.C4, Cause.C5}
+                : new Cause[] {Cause.C7, Cause.C6, Cause.C8, Cause.C9}) {
+            if ((rule.forbidden & cause.bit()) == 0) {
+                return cause.typical();
+            }
+        }
+        throw new IllegalArgumentException("Regula " + rule.name() + " interzice toate cauzele valide.");
+    }
+
+    /**
+     * Compilează tabelul: fiecare mască posibilă trebuie acoperită de cel puțin o regulă,
+     * iar regulile care se aplică aceleiași măști trebuie să aibă aceleași efecte.
+     *
+     * @throws IllegalArgumentException dacă tabelul este incomplet sau contradictoriu
+     */
+    public CompiledDecisionTable compile() {
+        double[] packed = new double[2 * Cause.COMBINATIONS];
+        Rule[] ruleOf = new Rule[Cause.COMBINATIONS];
+        for (int mask = 0; mask < Cause.COMBINATIONS; mask++) {
+            packed[2 * mask] = Double.NaN;
+            packed[2 * mask + 1] = Double.NaN;
+            if (!Cause.feasible(mask)) {
+                continue;
+            }
+            for (Rule rule : rules) {
+                if (!rule.matches(mask)) {
+                    continue;
+                }
+                if (ruleOf[mask] == null) {
+                    ruleOf[mask] = rule;
+                } else if (!ruleOf[mask].effects().equals(rule.effects())) {
+                    throw new IllegalArgumentException("Regulile " + ruleOf[mask].name() + " și " + rule.name()
+                            + " sunt contradictorii pentru " + Cause.describe(mask) + ".");
+                }
+            }
+            Rule rule = ruleOf[mask];
+            if (rule == null) {
+                throw new IllegalArgumentException("Combinația " + Cause.describe(mask) + " nu este acoperită.");
+            }
+            if (!rule.rejects()) {
+                packed[2 * mask] = rule.distanceRate();
+                packed[2 * mask + 1] = rule.weightFee();
+            }
+        }
+        return new CompiledDecisionTable(packed, ruleOf);
+    }
+}
@@ -0,0 +1,50 @@
+package ro.tss.delivery.decision;
+
+/**
+ * Efectele din graful cauză-efect al {@code CauseEffectGraphingTest}. Efectele de tarif
+ * poartă valoarea lor: tariful pe km (E2–E4) sau taxa de greutate (E5–E8).
+ */
+public enum Effect {
+
+    E1("IllegalArgumentException", Double.NaN),
+    E2("T_D = d × 0.50", 0.50),
+    E3("T_D = d × 0.40", 0.40),
+    E4("T_D = d × 0.30", 0.30),
+    E5("T_G = 0.00", 0.00),
+    E6("T_G = 4.50", 4.50),
+    E7("T_G = 8.00", 8.00),
+    E8("T_G = 15.00", 15.00),
+    E9("T_B + T_D + T_G", 5.00);
+
+    static final int DISTANCE_RATES = bits(E2, E3, E4);
+    static final int WEIGHT_FEES = bits(E5, E6, E7, E8);
+
+    private final String expression;
+    private final double value;
+
+    Effect(String expression, double value) {
+        this.expression = expression;
+        this.value = value;
+    }
+
+    public String expression() {
+        return expression;
+    }
+
+    /** Tariful, taxa de greutate sau taxa de bază (E9); NaN pentru E1. */
+    public double value() {
+        return value;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    static int bits(Effect... effects) {
+        int bits = 0;
+        for (Effect effect : effects) {
+            bits |= effect.bit();
+        }
+        return bits;
+    }
+}
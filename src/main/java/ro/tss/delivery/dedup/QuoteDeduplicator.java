@@ -0,0 +1,171 @@
+package ro.tss.delivery.dedup;
+
+import ro.tss.delivery.FeePricer;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Strat idempotent în fața unui {@link FeePricer}: o cerere de cotație reluată de client
+ * (același id de cerere) primește aceeași taxă și nu este jurnalizată a doua oară.
+ *
+ * Cererile sunt ținute pe ferestre de timp de {@code windowMillis}, într-un inel de
+ * {@code windows} ferestre; o cerere este recunoscută cel puțin (windows − 1) × windowMillis
+ * și cel mult windows × windowMillis. Fiecare fereastră are:
+ *
+ *  - un {@link ScalableBloomFilter}, care răspunde la cazul obișnuit „cerere nouă” fără
+ *    a atinge depozitul exact;
+ *  - un {@link RequestFeeMap} (id → taxă, pe tablouri primitive), consultat doar când
+ *    filtrul spune „probabil văzută”: la reluări și la fals pozitive.
+ *
+ * Expirarea unei ferestre este refolosirea poziției ei din inel: filtrul și tabelul sunt
+ * golite pe loc (umplere cu zero a tablourilor), fără parcurgerea cererilor expirate și
+ * fără alocări noi.
+ *
+ * Reluarea întoarce taxa primei cereri chiar dacă parametrii diferă (id-ul este cheia de
+ * idempotență). O cerere invalidă nu este reținută. Cererea este reținută doar după ce
+ * jurnalul a primit-o: dacă jurnalul aruncă, excepția ajunge la apelant, iar reluarea este
+ * tarifată și jurnalizată din nou, deci nicio cotație returnată nu lipsește din jurnal.
+ * O instanță nu este thread-safe:
+ * apelantul sincronizează sau partiționează cererile după id.
+ */
+public final class QuoteDeduplicator {
+
+    /** Primește fiecare cotație nouă exact o dată. */
+    @FunctionalInterface
+    public interface Journal {
+        void record(long requestId, double distanceKm, double weightKg, double fee);
+    }
+
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private final FeePricer pricer;
+    private final Journal journal;
+    private final long windowMillis;
+    private final LongSupplier clockMillis;
+    private final Window[] ring;
+
+    private long requests;
+    private long duplicates;
+    private long exactLookups;
+    private long falsePositives;
+
+    /**
+     * @param windowMillis      durata unei ferestre
+     * @param windows           numărul de ferestre păstrate (cel puțin 2)
+     * @param expectedPerWindow numărul estimat de cereri pe fereastră (dimensionează filtrul și tabelul)
+     */
+    public QuoteDeduplicator(FeePricer pricer, Journal journal, long windowMillis, int windows,
+                             int expectedPerWindow, LongSupplier clockMillis) {
+        this(pricer, journal, windowMillis, windows, expectedPerWindow, DEFAULT_FALSE_POSITIVE_RATE, clockMillis);
+    }
+
+    public QuoteDeduplicator(FeePricer pricer, Journal journal, long windowMillis, int windows,
+                             int expectedPerWindow, double falsePositiveRate, LongSupplier clockMillis) {
+        if (windowMillis < 1) {
+            throw new IllegalArgumentException("Durata ferestrei trebuie să fie pozitivă.");
+        }
+        if (windows < 2) {
+            throw new IllegalArgumentException("Sunt necesare cel puțin 2 ferestre.");
+        }
+        this.pricer = Objects.requireNonNull(pricer, "pricer");
+        this.journal = Objects.requireNonNull(journal, "journal");
+        this.windowMillis = windowMillis;
+        this.clockMillis = clockMillis;
+        this.ring = new Window[windows];
+        for (int i = 0; i < windows; i++) {
+            ring[i] = new Window(expectedPerWindow, falsePositiveRate);
+        }
+    }
+
+    /**
+     * Taxa cererii: cea deja returnată dacă id-ul a fost văzut în fereastra de retenție,
+     * altfel taxa calculată acum, reținută și jurnalizată.
+     *
+     * @throws IllegalArgumentException dacă cererea este nouă și distanța sau greutatea nu sunt pozitive
+     */
+    public double quote(long requestId, double distanceKm, double weightKg) {
+        requests++;
+        long now = Math.floorDiv(clockMillis.getAsLong(), windowMillis);
+        for (int age = 0; age < ring.length; age++) {
+            Window window = ring[(int) Math.floorMod(now - age, (long) ring.length)];
+            if (window.id == now - age && window.bloom.mightContain(requestId)) {
+                exactLookups++;
+                int position = window.fees.find(requestId);
+                if (position >= 0) {
+                    duplicates++;
+                    return window.fees.fee(position);
+                }
+                falsePositives++;
+            }
+        }
+        double fee = pricer.calculateDeliveryFee(distanceKm, weightKg);
+        journal.record(requestId, distanceKm, weightKg, fee);
+        Window current = ring[(int) Math.floorMod(now, (long) ring.length)];
+        if (current.id != now) {
+            current.reset(now);
+        }
+        current.bloom.add(requestId);
+        current.fees.put(requestId, fee);
+        return fee;
+    }
+
+    public long requests() {
+        return requests;
+    }
+
+    /** Cererile recunoscute ca reluări. */
+    public long duplicates() {
+        return duplicates;
+    }
+
+    /** Consultările depozitului exact (reluări + fals pozitive ale filtrelor). */
+    public long exactLookups() {
+        return exactLookups;
+    }
+
+    /** Consultările inutile: filtrul a spus „probabil văzută”, depozitul exact nu a găsit-o. */
+    public long falsePositives() {
+        return falsePositives;
+    }
+
+    /**
+     * Fracțiunea cererilor noi pentru care s-a consultat inutil depozitul exact (un
+     * fals pozitiv în oricare dintre ferestrele vii).
+     */
+    public double observedFalsePositiveRate() {
+        long fresh = requests - duplicates;
+        return fresh == 0 ? 0 : (double) falsePositives / fresh;
+    }
+
+    /** Memoria filtrelor și tabelelor tuturor ferestrelor, în octeți. */
+    public long footprintBytes() {
+        long bytes = 0;
+        for (Window window : ring) {
+            bytes += window.bloom.footprintBytes() + window.fees.footprintBytes();
+        }
+        return bytes;
+    }
+
+    private static final class Window {
+
+        final ScalableBloomFilter bloom;
+        final RequestFeeMap fees;
+        long id = Long.MIN_VALUE;
+
+        Window(int expected, double falsePositiveRate) {
+            this.bloom = new ScalableBloomFilter(Math.max(1, expected), falsePositiveRate);
+            this.fees = new RequestFeeMap(expected);
+        }
+
+        void reset(long id) {
+            if (bloom.size() > 0) {
+                bloom.clear();
+            }
+            if (fees.size() > 0) {
+                fees.clear();
+            }
+            this.id = id;
+        }
+    }
+}
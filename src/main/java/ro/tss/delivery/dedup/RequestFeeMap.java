@@ -0,0 +1,116 @@
+package ro.tss.delivery.dedup;
+
+import java.util.Arrays;
+
+/**
+ * Tabel de dispersie cu adresare deschisă (sondare liniară) de la id-ul cererii
+ * ({@code long}) la taxa returnată, fără obiecte per intrare: 16 octeți pe poziție.
+ *
+ * Cheia 0 marchează o poziție liberă, deci cererea cu id-ul 0 este ținută separat.
+ * Tabelul se dublează peste {@link #MAX_LOAD}; {@link #clear} păstrează tablourile,
+ * ca o fereastră expirată să fie refolosită fără alocări.
+ */
+final class RequestFeeMap {
+
+    private static final double MAX_LOAD = 0.7;
+
+    private long[] keys;
+    private double[] fees;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasZero;
+    private double zeroFee;
+
+    RequestFeeMap(int expected) {
+        int capacity = Math.max(16, Integer.highestOneBit((int) Math.min(1 << 29, (long) (expected / MAX_LOAD) + 1)) << 1);
+        allocate(capacity);
+    }
+
+    /** Poziția cererii, sau -1 dacă nu există (poziția cererii 0 este {@code keys.length}). */
+    int find(long requestId) {
+        if (requestId == 0) {
+            return hasZero ? keys.length : -1;
+        }
+        int slot = slot(requestId);
+        while (true) {
+            long key = keys[slot];
+            if (key == requestId) {
+                return slot;
+            }
+            if (key == 0) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    double fee(int position) {
+        return position == keys.length ? zeroFee : fees[position];
+    }
+
+    /** Adaugă o cerere nouă (apelantul a verificat că nu există). */
+    void put(long requestId, double fee) {
+        if (requestId == 0) {
+            hasZero = true;
+            zeroFee = fee;
+            size++;
+            return;
+        }
+        if (size == resizeAt) {
+            grow();
+        }
+        int slot = slot(requestId);
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = requestId;
+        fees[slot] = fee;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0);
+        hasZero = false;
+        size = 0;
+    }
+
+    long footprintBytes() {
+        return 2 * 16 + (long) keys.length * (Long.BYTES + Double.BYTES);
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9e3779b97f4a7c15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        double[] oldFees = fees;
+        if (oldKeys.length == 1 << 30) {
+            throw new IllegalStateException("Fereastra de deduplicare a atins capacitatea maximă.");
+        }
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                fees[slot] = oldFees[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        fees = new double[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * MAX_LOAD);
+    }
+}
@@ -0,0 +1,171 @@
+package ro.tss.delivery.dedup;
+
+import java.util.Arrays;
+
+/**
+ * Filtru Bloom scalabil pentru chei {@code long}: o succesiune de filtre Bloom, fiecare cu
+ * capacitate dublă și rată de fals pozitive înjumătățită față de precedentul. Când filtrul
+ * curent își atinge capacitatea, se adaugă unul nou. Primul filtru primește p/2, deci
+ * rata totală rămâne sub rata configurată p oricâte chei s-ar adăuga (seria
+ * p/2 + p/4 + p/8 + … tinde la p fără a o atinge).
+ *
+ * Fiecare filtru are m = 2^b biți (puterea lui 2 imediat peste dimensiunea optimă
+ * −n·ln p / ln²2) și k = −log₂ p funcții de dispersie, obținute prin dispersie dublă
+ * h1 + j·h2 din două amestecuri ale cheii; poziția este luată din biții superiori.
+ *
+ * Nu există ștergere: filtrul se golește în întregime cu {@link #clear}.
+ */
+public final class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+
+    private Stage[] stages = new Stage[4];
+    private int stageCount;
+    private long size;
+
+    /**
+     * @param initialCapacity   numărul de chei al primului filtru
+     * @param falsePositiveRate limita ratei de fals pozitive a întregii succesiuni, în (0, 0.5)
+     */
+    public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Capacitatea inițială trebuie să fie pozitivă.");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 0.5)) {
+            throw new IllegalArgumentException("Rata de fals pozitive trebuie să fie în (0, 0.5).");
+        }
+        stages[stageCount++] = new Stage(initialCapacity, falsePositiveRate * (1 - TIGHTENING));
+    }
+
+    /** false = cheia sigur nu a fost adăugată; true = probabil a fost adăugată. */
+    public boolean mightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(key ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int s = 0; s < stageCount; s++) {
+            if (stages[s].mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void add(long key) {
+        Stage current = stages[stageCount - 1];
+        if (current.count == current.capacity) {
+            long capacity = Math.min((long) current.capacity * GROWTH, 1 << 30);
+            current = new Stage((int) capacity, current.falsePositiveRate * TIGHTENING);
+            if (stageCount == stages.length) {
+                stages = Arrays.copyOf(stages, stageCount * 2);
+            }
+            stages[stageCount++] = current;
+        }
+        current.add(mix(key), mix(key ^ 0x9e3779b97f4a7c15L) | 1);
+        size++;
+    }
+
+    /** Numărul de chei adăugate de la ultima golire. */
+    public long size() {
+        return size;
+    }
+
+    /** Numărul de filtre din succesiune. */
+    public int stages() {
+        return stageCount;
+    }
+
+    /**
+     * Limita superioară a ratei de fals pozitive la dimensiunea curentă: suma ratelor
+     * filtrelor (fiecare la capacitate plină).
+     */
+    public double falsePositiveBound() {
+        double bound = 0;
+        for (int s = 0; s < stageCount; s++) {
+            bound += stages[s].falsePositiveRate;
+        }
+        return Math.min(1, bound);
+    }
+
+    /** Memoria tablourilor de biți, în octeți. */
+    public long footprintBytes() {
+        long bytes = 0;
+        for (int s = 0; s < stageCount; s++) {
+            bytes += 16 + (long) stages[s].bits.length * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * Golește filtrul: păstrează și curăță doar primul filtru din succesiune.
+     */
+    public void clear() {
+        Arrays.fill(stages, 1, stageCount, null);
+        stageCount = 1;
+        stages[0].clear();
+        size = 0;
+    }
+
+    /** Amestecul final din MurmurHash3: cheile consecutive se împrăștie uniform. */
+    private static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Stage {
+
+        final int capacity;
+        final double falsePositiveRate;
+        final long[] bits;
+        final int shift;
+        final int hashes;
+        int count;
+
+        Stage(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            double optimalBits = -capacity * Math.log(falsePositiveRate) / LN2_SQUARED;
+            int log2 = Math.max(6, 64 - Long.numberOfLeadingZeros((long) Math.ceil(optimalBits) - 1));
+            if (log2 > 36) {
+                throw new IllegalArgumentException("Filtrul Bloom ar depăși 2^36 biți.");
+            }
+            long m = 1L << log2;
+            this.bits = new long[(int) (m >>> 6)];
+            this.shift = 64 - log2;
+            // k optim pentru rata țintă; biții în plus din rotunjirea lui m doar scad rata
+            this.hashes = Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / Math.log(2)));
+        }
+
+        boolean mightContain(long h1, long h2) {
+            long h = h1;
+            for (int j = 0; j < hashes; j++) {
+                long bit = h >>> shift;
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+                h += h2;
+            }
+            return true;
+        }
+
+        void add(long h1, long h2) {
+            long h = h1;
+            for (int j = 0; j < hashes; j++) {
+                long bit = h >>> shift;
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+                h += h2;
+            }
+            count++;
+        }
+
+        void clear() {
+            Arrays.fill(bits, 0);
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package ro.tss.delivery.fuzz;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Rezultatul unei rulări {@link PricingFuzzer}: constatările (prima intrare pentru
+ * fiecare invariant și vector de condiții), contoarele de încălcări și debitul.
+ */
+public final class FuzzReport {
+
+    /** Invarianții verificați de fuzzer. */
+    public enum Invariant {
+        /** Ținta dă același rezultat ca referința. */
+        AGREEMENT,
+        /** Orice taxă returnată este finită și strict pozitivă. */
+        POSITIVE_FEE,
+        /** În aceeași celulă, taxa nu scade când d și w nu scad. */
+        TIER_MONOTONICITY
+    }
+
+    /** O încălcare a unui invariant. */
+    public static final class Finding {
+
+        private final Invariant invariant;
+        private final long execution;
+        private final double distanceKm;
+        private final double weightKg;
+        private final String expected;
+        private final String actual;
+
+        Finding(Invariant invariant, long execution, double distanceKm, double weightKg,
+                String expected, String actual) {
+            this.invariant = invariant;
+            this.execution = execution;
+            this.distanceKm = distanceKm;
+            this.weightKg = weightKg;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        public Invariant invariant() {
+            return invariant;
+        }
+
+        /** Indexul execuției care a găsit încălcarea. */
+        public long execution() {
+            return execution;
+        }
+
+        public double distanceKm() {
+            return distanceKm;
+        }
+
+        public double weightKg() {
+            return weightKg;
+        }
+
+        /** Rezultatul referinței (pentru monotonie: taxa părintelui). */
+        public String expected() {
+            return expected;
+        }
+
+        public String actual() {
+            return actual;
+        }
+
+        @Override
+        public String toString() {
+            return invariant + " la #" + execution + " (d=" + distanceKm + ", w=" + weightKg + "): "
+                    + expected + " → " + actual;
+        }
+    }
+
+    private final List<Finding> findings;
+    private final long[] violations;
+    private final long executions;
+    private final int corpusSize;
+    private final int coverage;
+    private final long elapsedNanos;
+
+    FuzzReport(List<Finding> findings, long[] violations, long executions, int corpusSize, int coverage,
+               long elapsedNanos) {
+        this.findings = Collections.unmodifiableList(findings);
+        this.violations = violations.clone();
+        this.executions = executions;
+        this.corpusSize = corpusSize;
+        this.coverage = coverage;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<Finding> findings() {
+        return findings;
+    }
+
+    /** Prima constatare pentru invariant, în ordinea execuțiilor. */
+    public Optional<Finding> first(Invariant invariant) {
+        return findings.stream().filter(f -> f.invariant() == invariant).findFirst();
+    }
+
+    /** Numărul total de execuții care încalcă invariantul. */
+    public long violations(Invariant invariant) {
+        return violations[invariant.ordinal()];
+    }
+
+    public boolean clean() {
+        return findings.isEmpty();
+    }
+
+    public long executions() {
+        return executions;
+    }
+
+    public int corpusSize() {
+        return corpusSize;
+    }
+
+    /** Numărul de celule (vector, interval al rezultatului) atinse. */
+    public int coverage() {
+        return coverage;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double executionsPerSecond() {
+        return executions * 1e9 / Math.max(1, elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d execuții în %.2f s (%.1f M/s), corpus %d, acoperire %d celule, %d constatări",
+                executions, elapsedNanos / 1e9, executionsPerSecond() / 1e6, corpusSize, coverage, findings.size());
+    }
+}
@@ -0,0 +1,307 @@
+package ro.tss.delivery.fuzz;
+
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.fuzz.FuzzReport.Finding;
+import ro.tss.delivery.fuzz.FuzzReport.Invariant;
+import ro.tss.delivery.mcdc.InstrumentedDeliveryService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Fuzzer ghidat de acoperire pentru metode de tip calculateDeliveryFee(d, w), rulat
+ * în proces, pe un singur fir.
+ *
+ * Fiecare execuție alege o intrare din corpus, o mutează (pași de ulp, deltă mică,
+ * valori din dicționar, scalare, negare, valoare nouă, încrucișare) și rulează ținta și
+ * referința. Intrarea intră în corpus dacă atinge o celulă nouă de acoperire:
+ * perechea (vectorul condițiilor dat de {@link Probe}, intervalul rezultatului țintei).
+ *
+ * Semnalul de acoperire nu provine din ținta fuzz-uită: ținta nu este instrumentată.
+ * În {@link #forDeliveryService} vectorul este cel al copiei instrumentate a referinței
+ * ({@link InstrumentedDeliveryService#evaluationVector}), adică acoperirea condițiilor
+ * lui DeliveryService pentru intrarea dată. Ramurile proprii ale țintei (ex. un prag
+ * mutat) se văd doar prin intervalul rezultatului și prin invarianți.
+ *
+ * Invarianți verificați la fiecare execuție:
+ * - {@link Invariant#AGREEMENT}: ținta dă același rezultat ca referința (bit cu bit,
+ *   respingerea cu IllegalArgumentException fiind un rezultat);
+ * - {@link Invariant#POSITIVE_FEE}: orice taxă returnată este finită și strict pozitivă;
+ * - {@link Invariant#TIER_MONOTONICITY}: în aceeași celulă (aceleași condiții, deci
+ *   aceeași treaptă de distanță și aceeași categorie de greutate) taxa nu scade când
+ *   d și w nu scad; comparația se face între intrarea mutată și părintele ei.
+ *
+ * Rularea este deterministă pentru o sămânță dată.
+ */
+public final class PricingFuzzer {
+
+    /** Semnalul de acoperire al unei intrări, de regulă vectorul de condiții al referinței. */
+    @FunctionalInterface
+    public interface Probe {
+        int vector(double distanceKm, double weightKg);
+    }
+
+    /** Pragurile din DeliveryService, plus 0 și 1. */
+    public static final double[] DELIVERY_DICTIONARY = {0, 1, 2, 5, 10, 15, 50};
+
+    /** Biți pentru intervalul rezultatului; vezi {@link #bucket}. */
+    private static final int BUCKET_BITS = 6;
+    private static final int MAP_BITS = 20;
+
+    private static final long REJECTED = 0x7ff8_dead_0000_0001L;
+    private static final long FAILED = 0x7ff8_dead_0000_0002L;
+
+    /** Numărul maxim de constatări păstrate (contoarele numără toate încălcările). */
+    private static final int MAX_FINDINGS = 256;
+
+    private final DoubleBinaryOperator reference;
+    private final DoubleBinaryOperator target;
+    private final Probe probe;
+    private final double[] dictionary;
+    private final double range;
+
+    public PricingFuzzer(DoubleBinaryOperator reference, DoubleBinaryOperator target, Probe probe,
+                         double[] dictionary) {
+        this.reference = Objects.requireNonNull(reference);
+        this.target = Objects.requireNonNull(target);
+        this.probe = Objects.requireNonNull(probe);
+        if (dictionary.length == 0) {
+            throw new IllegalArgumentException("Dicționarul trebuie să conțină cel puțin o valoare.");
+        }
+        this.dictionary = dictionary.clone();
+        this.range = 2 * Math.max(1, Arrays.stream(dictionary).map(Math::abs).max().orElse(1));
+    }
+
+    /**
+     * Ținta comparată cu DeliveryService, ghidată de vectorul condițiilor din copia
+     * instrumentată a lui DeliveryService (nu de acoperirea țintei).
+     */
+    public static PricingFuzzer forDeliveryService(DoubleBinaryOperator target) {
+        return new PricingFuzzer(new DeliveryService()::calculateDeliveryFee, target,
+                InstrumentedDeliveryService::evaluationVector, DELIVERY_DICTIONARY);
+    }
+
+    /**
+     * Rulează {@code executions} execuții pornind de la intrarea (1, 1).
+     */
+    public FuzzReport run(long executions, long seed) {
+        return run(executions, seed, new double[][] {{1, 1}});
+    }
+
+    /**
+     * Rulează {@code executions} execuții pornind de la intrările date ca perechi {d, w}.
+     */
+    public FuzzReport run(long executions, long seed, double[][] seeds) {
+        if (executions <= 0 || seeds.length == 0) {
+            throw new IllegalArgumentException("Numărul de execuții și de intrări inițiale trebuie să fie pozitive.");
+        }
+        Session session = new Session(seed);
+        FuzzReport[] report = new FuzzReport[1];
+        Throwable[] failure = new Throwable[1];
+        // Respingerile construiesc o excepție cu stiva completă; pe un fir propriu stiva are
+        // câteva cadre în loc de zeci (JUnit, Maven), deci o respingere costă de ~5 ori mai puțin.
+        Thread worker = new Thread(() -> {
+            try {
+                long start = System.nanoTime();
+                for (double[] input : seeds) {
+                    session.execute(input[0], input[1], -1);
+                }
+                for (long i = 0; i < executions; i++) {
+                    session.step();
+                }
+                report[0] = session.report(System.nanoTime() - start);
+            } catch (Throwable e) {
+                // inclusiv Error-urile țintei (AssertionError, StackOverflowError): fără
+                // ele firul ar muri tăcut și rularea ar întoarce null
+                failure[0] = e;
+            }
+        }, "pricing-fuzzer");
+        worker.start();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            worker.interrupt();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rularea fuzzer-ului a fost întreruptă.", e);
+        }
+        Throwable e = failure[0];
+        if (e instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        if (e != null) {
+            throw new IllegalStateException("Rularea fuzzer-ului a eșuat.", e);
+        }
+        return report[0];
+    }
+
+    /**
+     * Intervalul rezultatului: respins, eșuat, NaN, ≤ 0, infinit, altfel exponentul
+     * binar (între -2 și 11) și primii doi biți de mantisă, adică sferturi de octavă.
+     */
+    static int bucket(long outcome) {
+        if (outcome == REJECTED) {
+            return 0;
+        }
+        if (outcome == FAILED) {
+            return 1;
+        }
+        double fee = Double.longBitsToDouble(outcome);
+        if (Double.isNaN(fee)) {
+            return 2;
+        }
+        if (fee <= 0) {
+            return 3;
+        }
+        if (Double.isInfinite(fee)) {
+            return 4;
+        }
+        int exponent = Math.max(-2, Math.min(11, Math.getExponent(fee)));
+        return 5 + ((exponent + 2) << 2) + (int) (outcome >>> 50 & 3);
+    }
+
+    private static long outcome(DoubleBinaryOperator pricer, double d, double w) {
+        try {
+            return Double.doubleToRawLongBits(pricer.applyAsDouble(d, w));
+        } catch (IllegalArgumentException e) {
+            return REJECTED;
+        } catch (RuntimeException e) {
+            return FAILED;
+        }
+    }
+
+    private static boolean isFee(long outcome) {
+        return outcome != REJECTED && outcome != FAILED;
+    }
+
+    /** Starea unei rulări: corpusul, harta de acoperire și constatările. */
+    private final class Session {
+
+        final SplittableRandom random;
+        final long[] coverage = new long[1 << (MAP_BITS - 6)];
+        double[] corpusDistance = new double[64];
+        double[] corpusWeight = new double[64];
+        long[] corpusOutcome = new long[64];
+        int[] corpusVector = new int[64];
+        int corpusSize;
+        int cells;
+        long executions;
+        final long[] violations = new long[Invariant.values().length];
+        final List<Finding> findings = new ArrayList<>();
+        final Set<Long> reported = new HashSet<>();
+
+        Session(long seed) {
+            random = new SplittableRandom(seed);
+        }
+
+        void step() {
+            int parent = random.nextInt(corpusSize);
+            double d = corpusDistance[parent];
+            double w = corpusWeight[parent];
+            switch (random.nextInt(3)) {
+                case 0 -> d = mutate(d);
+                case 1 -> w = mutate(w);
+                default -> {
+                    d = mutate(d);
+                    w = mutate(w);
+                }
+            }
+            execute(d, w, parent);
+        }
+
+        double mutate(double x) {
+            return switch (random.nextInt(8)) {
+                case 0 -> stepUlps(x, random.nextInt(129) - 64);
+                case 1 -> x + (random.nextInt(201) - 100) / 100.0;
+                case 2 -> dictionary[random.nextInt(dictionary.length)];
+                case 3 -> stepUlps(dictionary[random.nextInt(dictionary.length)], random.nextInt(9) - 4);
+                case 4 -> random.nextBoolean() ? x * 2 : x / 2;
+                case 5 -> -x;
+                case 6 -> range - random.nextDouble(range);
+                default -> {
+                    int other = random.nextInt(corpusSize);
+                    yield random.nextBoolean() ? corpusDistance[other] : corpusWeight[other];
+                }
+            };
+        }
+
+        void execute(double d, double w, int parent) {
+            executions++;
+            long expected = outcome(reference, d, w);
+            long actual = outcome(target, d, w);
+            int vector = probe.vector(d, w);
+
+            if (actual != expected) {
+                violation(Invariant.AGREEMENT, vector, d, w, expected, actual);
+            }
+            if (isFee(actual)) {
+                double fee = Double.longBitsToDouble(actual);
+                if (!(fee > 0) || Double.isInfinite(fee)) {
+                    violation(Invariant.POSITIVE_FEE, vector, d, w, expected, actual);
+                }
+                if (parent >= 0 && corpusVector[parent] == vector && isFee(corpusOutcome[parent])
+                        && d >= corpusDistance[parent] && w >= corpusWeight[parent]
+                        && fee < Double.longBitsToDouble(corpusOutcome[parent])) {
+                    violation(Invariant.TIER_MONOTONICITY, vector, d, w, corpusOutcome[parent], actual);
+                }
+            }
+
+            int cell = (vector << BUCKET_BITS | bucket(actual)) & ((1 << MAP_BITS) - 1);
+            long bit = 1L << cell;
+            if ((coverage[cell >>> 6] & bit) == 0) {
+                coverage[cell >>> 6] |= bit;
+                cells++;
+                add(d, w, actual, vector);
+            }
+        }
+
+        void add(double d, double w, long outcome, int vector) {
+            if (corpusSize == corpusDistance.length) {
+                int capacity = corpusSize * 2;
+                corpusDistance = Arrays.copyOf(corpusDistance, capacity);
+                corpusWeight = Arrays.copyOf(corpusWeight, capacity);
+                corpusOutcome = Arrays.copyOf(corpusOutcome, capacity);
+                corpusVector = Arrays.copyOf(corpusVector, capacity);
+            }
+            corpusDistance[corpusSize] = d;
+            corpusWeight[corpusSize] = w;
+            corpusOutcome[corpusSize] = outcome;
+            corpusVector[corpusSize] = vector;
+            corpusSize++;
+        }
+
+        /** Numără încălcarea; păstrează prima constatare pentru fiecare (invariant, vector). */
+        void violation(Invariant invariant, int vector, double d, double w, long expected, long actual) {
+            violations[invariant.ordinal()]++;
+            if (findings.size() < MAX_FINDINGS && reported.add((long) invariant.ordinal() << 32 | vector)) {
+                findings.add(new Finding(invariant, executions - 1, d, w, describe(expected), describe(actual)));
+            }
+        }
+
+        FuzzReport report(long elapsedNanos) {
+            return new FuzzReport(findings, violations, executions, corpusSize, cells, elapsedNanos);
+        }
+    }
+
+    private static double stepUlps(double x, int ulps) {
+        return x + ulps * Math.ulp(x);
+    }
+
+    private static String describe(long outcome) {
+        if (outcome == REJECTED) {
+            return "respins";
+        }
+        if (outcome == FAILED) {
+            return "excepție";
+        }
+        return Double.toString(Double.longBitsToDouble(outcome));
+    }
+}
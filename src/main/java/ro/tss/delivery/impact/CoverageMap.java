@@ -0,0 +1,404 @@
+package ro.tss.delivery.impact;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Harta de impact a testelor: pentru fiecare test, liniile de cod de producție pe care
+ * le-a acoperit la ultima rulare, plus hash-urile liniilor fiecărui fișier sursă la acel
+ * moment și amprenta bytecode-ului fiecărei clase de test.
+ *
+ * Un test este identificat prin "clasă#metodă"; acoperirea din afara metodelor
+ * (@BeforeAll, constructori) este atribuită identificatorului "clasă#", care la o
+ * modificare selectează toată clasa.
+ *
+ * O linie modificată pe care nu o acoperă niciun test (declarația unui câmp sau a unei
+ * constante, o semnătură) nu are sonde JaCoCo, dar poate schimba comportamentul
+ * oricărui cod din fișier: în acest caz sunt selectate toate testele care acoperă
+ * vreo linie a fișierului.
+ *
+ * Clasele de test sunt doar cele rulate efectiv (cu amprenta înregistrată de
+ * {@link #fingerprint}). Celelalte clase candidate din directorul testelor (de exemplu
+ * ServiceUnderTest, care are sufixul "Test" fără a conține teste) sunt clase ajutătoare
+ * ({@link #supportClasses}): nu sunt selectate niciodată, dar modificarea lor
+ * selectează toate clasele de test, fiindcă acoperirea lor nu este urmărită.
+ *
+ * Harta se actualizează incremental: {@link #rebase} mută liniile tuturor testelor pe
+ * numerotarea nouă a fișierelor, apoi {@link #record} înlocuiește doar testele rulate din
+ * nou. Pe disc, liniile acoperite sunt bitset-uri (câte un long la 64 de linii) per
+ * (test, fișier), deci harta are câțiva KB pentru suitele proiectului.
+ */
+public final class CoverageMap {
+
+    private static final int MAGIC = 0x54494d50;   // "TIMP"
+    private static final int VERSION = 2;
+
+    /** Sufixul identificatorului pentru acoperirea din afara metodelor de test. */
+    public static final String CLASS_LEVEL = "#";
+
+    /** Rezultatul selecției. */
+    public static final class Selection {
+
+        private final Set<String> tests;
+        private final Set<String> classes;
+        private final int changedLines;
+
+        Selection(Set<String> tests, Set<String> classes, int changedLines) {
+            this.tests = Collections.unmodifiableSet(tests);
+            this.classes = Collections.unmodifiableSet(classes);
+            this.changedLines = changedLines;
+        }
+
+        /** Metodele de test selectate ("clasă#metodă"), din clasele care nu sunt selectate integral. */
+        public Set<String> tests() {
+            return tests;
+        }
+
+        /** Clasele de test selectate integral: noi, modificate sau cu acoperire la nivel de clasă atinsă. */
+        public Set<String> classes() {
+            return classes;
+        }
+
+        /** Liniile de producție modificate față de hartă. */
+        public int changedLines() {
+            return changedLines;
+        }
+
+        public boolean isEmpty() {
+            return tests.isEmpty() && classes.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return changedLines + " linii modificate → " + classes.size() + " clase și "
+                    + tests.size() + " metode de test selectate";
+        }
+    }
+
+    private final Map<String, int[]> sourceHashes = new TreeMap<>();
+    private final Map<String, Long> testClassFingerprints = new TreeMap<>();
+    private final Map<String, Long> supportFingerprints = new TreeMap<>();
+    private final Map<String, Map<String, BitSet>> coverage = new TreeMap<>();
+
+    /** Înlocuiește acoperirea testului cu liniile date, per fișier sursă. */
+    public void record(String testId, Map<String, BitSet> linesBySource) {
+        Map<String, BitSet> lines = new TreeMap<>();
+        linesBySource.forEach((source, covered) -> {
+            if (!covered.isEmpty()) {
+                lines.put(source, (BitSet) covered.clone());
+            }
+        });
+        coverage.put(testId, lines);
+    }
+
+    /** Amprenta unei clase de test rulate. */
+    public void fingerprint(String testClass, long fingerprint) {
+        testClassFingerprints.put(testClass, fingerprint);
+        supportFingerprints.remove(testClass);
+    }
+
+    /**
+     * Reține amprenta claselor candidate care nu au fost rulate niciodată ca teste
+     * (clasele ajutătoare); se apelează după {@link #fingerprint}.
+     */
+    public void supportClasses(Map<String, Long> candidates) {
+        supportFingerprints.clear();
+        candidates.forEach((name, fingerprint) -> {
+            if (!testClassFingerprints.containsKey(name)) {
+                supportFingerprints.put(name, fingerprint);
+            }
+        });
+    }
+
+    /** Elimină clasele de test care nu mai există și acoperirea lor. */
+    public void retainTestClasses(Set<String> testClasses) {
+        testClassFingerprints.keySet().retainAll(testClasses);
+        supportFingerprints.keySet().retainAll(testClasses);
+        coverage.keySet().removeIf(id -> !testClasses.contains(testClass(id)));
+    }
+
+    public Set<String> tests() {
+        return Collections.unmodifiableSet(coverage.keySet());
+    }
+
+    public Map<String, BitSet> coverage(String testId) {
+        return Collections.unmodifiableMap(coverage.getOrDefault(testId, Map.of()));
+    }
+
+    public boolean isEmpty() {
+        return coverage.isEmpty();
+    }
+
+    /**
+     * Testele afectate de versiunea curentă a surselor și a claselor de test.
+     *
+     * @param sources conținutul curent al fișierelor sursă (cale relativă → linii)
+     * @param testClasses amprenta curentă a fiecărei clase candidate din directorul testelor
+     */
+    public Selection select(Map<String, List<String>> sources, Map<String, Long> testClasses) {
+        Map<String, BitSet> changed = new HashMap<>();
+        int changedLines = 0;
+        for (Map.Entry<String, int[]> entry : sourceHashes.entrySet()) {
+            List<String> current = sources.get(entry.getKey());
+            BitSet lines;
+            if (current == null) {
+                lines = new BitSet();
+                lines.set(1, entry.getValue().length + 1);   // fișier șters
+            } else {
+                lines = LineDiff.compare(entry.getValue(), hashes(current)).changed();
+            }
+            if (!lines.isEmpty()) {
+                changed.put(entry.getKey(), lines);
+                changedLines += lines.cardinality();
+            }
+        }
+
+        // Fișierele cu linii modificate pe care nu le acoperă niciun test
+        Set<String> uncoveredChanges = new HashSet<>();
+        for (Map.Entry<String, BitSet> entry : changed.entrySet()) {
+            BitSet uncovered = (BitSet) entry.getValue().clone();
+            for (Map<String, BitSet> lines : coverage.values()) {
+                BitSet covered = lines.get(entry.getKey());
+                if (covered != null) {
+                    uncovered.andNot(covered);
+                }
+            }
+            if (!uncovered.isEmpty()) {
+                uncoveredChanges.add(entry.getKey());
+            }
+        }
+
+        Set<String> classes = new TreeSet<>();
+        boolean supportChanged = false;
+        for (Map.Entry<String, Long> entry : testClasses.entrySet()) {
+            String testClass = entry.getKey();
+            Long known = testClassFingerprints.get(testClass);
+            Long support = supportFingerprints.get(testClass);
+            if (known != null) {
+                if (!known.equals(entry.getValue())) {
+                    classes.add(testClass);   // clasă de test modificată
+                }
+            } else if (support != null) {
+                supportChanged |= !support.equals(entry.getValue());
+            } else {
+                classes.add(testClass);   // clasă nouă
+            }
+        }
+        if (supportChanged) {
+            for (String testClass : testClassFingerprints.keySet()) {
+                if (testClasses.containsKey(testClass)) {
+                    classes.add(testClass);
+                }
+            }
+        }
+        Set<String> tests = new TreeSet<>();
+        for (Map.Entry<String, Map<String, BitSet>> entry : coverage.entrySet()) {
+            String testId = entry.getKey();
+            String testClass = testClass(testId);
+            if (!testClasses.containsKey(testClass) || classes.contains(testClass)) {
+                continue;
+            }
+            if (intersects(entry.getValue(), changed) || covers(entry.getValue(), uncoveredChanges)) {
+                if (testId.endsWith(CLASS_LEVEL)) {
+                    classes.add(testClass);
+                } else {
+                    tests.add(testId);
+                }
+            }
+        }
+        tests.removeIf(id -> classes.contains(testClass(id)));
+        return new Selection(tests, classes, changedLines);
+    }
+
+    /**
+     * Trece harta pe versiunea curentă a surselor: liniile nemodificate ale fiecărui test
+     * sunt renumerotate, cele modificate sunt eliminate (testele care le acopereau vor fi
+     * rulate și înregistrate din nou).
+     */
+    public void rebase(Map<String, List<String>> sources) {
+        Map<String, LineDiff> diffs = new HashMap<>();
+        for (Map.Entry<String, int[]> entry : sourceHashes.entrySet()) {
+            List<String> current = sources.get(entry.getKey());
+            if (current != null) {
+                diffs.put(entry.getKey(), LineDiff.compare(entry.getValue(), hashes(current)));
+            }
+        }
+        for (Map<String, BitSet> lines : coverage.values()) {
+            lines.entrySet().removeIf(e -> !diffs.containsKey(e.getKey()));
+            for (Map.Entry<String, BitSet> e : lines.entrySet()) {
+                LineDiff diff = diffs.get(e.getKey());
+                BitSet moved = new BitSet();
+                for (int line = e.getValue().nextSetBit(0); line >= 0; line = e.getValue().nextSetBit(line + 1)) {
+                    int newLine = diff.newLine(line);
+                    if (newLine > 0) {
+                        moved.set(newLine);
+                    }
+                }
+                e.setValue(moved);
+            }
+            lines.values().removeIf(BitSet::isEmpty);
+        }
+        sourceHashes.clear();
+        sources.forEach((path, lines) -> sourceHashes.put(path, hashes(lines)));
+    }
+
+    public static String testClass(String testId) {
+        int hash = testId.indexOf('#');
+        return hash < 0 ? testId : testId.substring(0, hash);
+    }
+
+    private static boolean intersects(Map<String, BitSet> covered, Map<String, BitSet> changed) {
+        for (Map.Entry<String, BitSet> entry : covered.entrySet()) {
+            BitSet lines = changed.get(entry.getKey());
+            if (lines != null && lines.intersects(entry.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean covers(Map<String, BitSet> covered, Set<String> sources) {
+        for (String source : covered.keySet()) {
+            if (sources.contains(source)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] hashes(List<String> lines) {
+        int[] hashes = new int[lines.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = LineDiff.hash(lines.get(i));
+        }
+        return hashes;
+    }
+
+    // ==================== SERIALIZARE ====================
+
+    public static CoverageMap load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return new CoverageMap();
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return read(in);
+        }
+    }
+
+    /** Scrie harta atomic (fișier temporar, apoi redenumire). */
+    public void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "coverage", ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+            write(out);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        List<String> paths = new ArrayList<>(sourceHashes.keySet());
+        Map<String, Integer> index = new HashMap<>();
+        out.writeInt(paths.size());
+        for (String path : paths) {
+            index.put(path, index.size());
+            int[] hashes = sourceHashes.get(path);
+            out.writeUTF(path);
+            out.writeInt(hashes.length);
+            for (int hash : hashes) {
+                out.writeInt(hash);
+            }
+        }
+        out.writeInt(testClassFingerprints.size());
+        for (Map.Entry<String, Long> entry : testClassFingerprints.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+        out.writeInt(supportFingerprints.size());
+        for (Map.Entry<String, Long> entry : supportFingerprints.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+        out.writeInt(coverage.size());
+        for (Map.Entry<String, Map<String, BitSet>> entry : coverage.entrySet()) {
+            out.writeUTF(entry.getKey());
+            Map<String, BitSet> lines = new LinkedHashMap<>(entry.getValue());
+            lines.keySet().retainAll(index.keySet());
+            out.writeInt(lines.size());
+            for (Map.Entry<String, BitSet> e : lines.entrySet()) {
+                long[] words = e.getValue().toLongArray();
+                out.writeInt(index.get(e.getKey()));
+                out.writeInt(words.length);
+                for (long word : words) {
+                    out.writeLong(word);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    static CoverageMap read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Fișierul nu este o hartă de impact (versiunea " + VERSION + ").");
+        }
+        CoverageMap map = new CoverageMap();
+        int files = in.readInt();
+        List<String> paths = new ArrayList<>(files);
+        for (int f = 0; f < files; f++) {
+            String path = in.readUTF();
+            int[] hashes = new int[in.readInt()];
+            for (int i = 0; i < hashes.length; i++) {
+                hashes[i] = in.readInt();
+            }
+            paths.add(path);
+            map.sourceHashes.put(path, hashes);
+        }
+        int classes = in.readInt();
+        for (int c = 0; c < classes; c++) {
+            map.testClassFingerprints.put(in.readUTF(), in.readLong());
+        }
+        int support = in.readInt();
+        for (int c = 0; c < support; c++) {
+            map.supportFingerprints.put(in.readUTF(), in.readLong());
+        }
+        int tests = in.readInt();
+        for (int t = 0; t < tests; t++) {
+            String testId = in.readUTF();
+            Map<String, BitSet> lines = new TreeMap<>();
+            int entries = in.readInt();
+            for (int e = 0; e < entries; e++) {
+                String path = paths.get(in.readInt());
+                long[] words = new long[in.readInt()];
+                for (int w = 0; w < words.length; w++) {
+                    words[w] = in.readLong();
+                }
+                lines.put(path, BitSet.valueOf(words));
+            }
+            map.coverage.put(testId, lines);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,128 @@
+package ro.tss.delivery.impact;
+
+import java.util.BitSet;
+
+/**
+ * Diferența între două versiuni ale unui fișier, la nivel de linie, comparând
+ * hash-urile liniilor (fără spațiile de la capete).
+ *
+ * Se elimină întâi prefixul și sufixul comun, apoi pe zona rămasă se calculează cea mai
+ * lungă subsecvență comună (LCS). Editările obișnuite sunt locale, deci zona din mijloc
+ * este mică; dacă depășește {@link #MAX_CELLS}, toată zona este considerată modificată
+ * (selecție mai largă, niciodată mai îngustă).
+ *
+ * Liniile sunt numerotate de la 1, ca în rapoartele de acoperire.
+ */
+public final class LineDiff {
+
+    static final long MAX_CELLS = 4_000_000;
+
+    private final int[] oldToNew;
+    private final BitSet changed;
+
+    private LineDiff(int[] oldToNew, BitSet changed) {
+        this.oldToNew = oldToNew;
+        this.changed = changed;
+    }
+
+    public static LineDiff compare(int[] oldHashes, int[] newHashes) {
+        int n = oldHashes.length;
+        int m = newHashes.length;
+        int[] oldToNew = new int[n + 1];
+        BitSet changed = new BitSet(n + 1);
+
+        int prefix = 0;
+        while (prefix < n && prefix < m && oldHashes[prefix] == newHashes[prefix]) {
+            oldToNew[prefix + 1] = prefix + 1;
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < n - prefix && suffix < m - prefix
+                && oldHashes[n - 1 - suffix] == newHashes[m - 1 - suffix]) {
+            oldToNew[n - suffix] = m - suffix;
+            suffix++;
+        }
+        int oldEnd = n - suffix;
+        int newEnd = m - suffix;
+        int rows = oldEnd - prefix;
+        int cols = newEnd - prefix;
+        if (rows == 0 && cols == 0) {
+            return new LineDiff(oldToNew, changed);
+        }
+        if ((long) rows * cols > MAX_CELLS) {
+            changed.set(prefix + 1, oldEnd + 1);
+            markInsertion(changed, prefix, n);
+            return new LineDiff(oldToNew, changed);
+        }
+
+        // lcs[i][j] = LCS între old[prefix + i ..] și new[prefix + j ..]
+        int[][] lcs = new int[rows + 1][cols + 1];
+        for (int i = rows - 1; i >= 0; i--) {
+            for (int j = cols - 1; j >= 0; j--) {
+                lcs[i][j] = oldHashes[prefix + i] == newHashes[prefix + j]
+                        ? lcs[i + 1][j + 1] + 1
+                        : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+            }
+        }
+        // editările consecutive formează un bloc: liniile vechi din bloc sunt modificate;
+        // un bloc doar cu inserări atinge liniile vechi vecine (înainte și după)
+        int i = 0;
+        int j = 0;
+        int inserted = 0;
+        int deletedFrom = -1;
+        while (i < rows || j < cols) {
+            if (i < rows && j < cols && oldHashes[prefix + i] == newHashes[prefix + j]) {
+                closeBlock(changed, prefix + i, deletedFrom, inserted, n);
+                inserted = 0;
+                deletedFrom = -1;
+                oldToNew[prefix + i + 1] = prefix + j + 1;
+                i++;
+                j++;
+            } else if (j < cols && (i == rows || lcs[i][j + 1] >= lcs[i + 1][j])) {
+                inserted++;
+                j++;
+            } else {
+                if (deletedFrom < 0) {
+                    deletedFrom = prefix + i;
+                }
+                i++;
+            }
+        }
+        closeBlock(changed, prefix + i, deletedFrom, inserted, n);
+        return new LineDiff(oldToNew, changed);
+    }
+
+    /** Închide blocul de editări care se termină înaintea liniei vechi {@code end} + 1. */
+    private static void closeBlock(BitSet changed, int end, int deletedFrom, int inserted, int oldLines) {
+        if (deletedFrom >= 0) {
+            changed.set(deletedFrom + 1, end + 1);
+        } else if (inserted > 0) {
+            markInsertion(changed, end, oldLines);
+        }
+    }
+
+    /** O inserare după linia veche {@code before} atinge liniile before și before + 1. */
+    private static void markInsertion(BitSet changed, int before, int oldLines) {
+        if (before >= 1) {
+            changed.set(before);
+        }
+        if (before + 1 <= oldLines) {
+            changed.set(before + 1);
+        }
+    }
+
+    /** Liniile vechi modificate, șterse sau vecine cu o inserare. */
+    public BitSet changed() {
+        return (BitSet) changed.clone();
+    }
+
+    /** Numărul liniei în versiunea nouă, sau 0 dacă linia a fost modificată sau ștearsă. */
+    public int newLine(int oldLine) {
+        return oldLine < oldToNew.length ? oldToNew[oldLine] : 0;
+    }
+
+    /** Hash-ul unei linii, fără spațiile de la capete (reindentarea nu contează ca modificare). */
+    public static int hash(String line) {
+        return line.strip().hashCode();
+    }
+}
@@ -0,0 +1,154 @@
+package ro.tss.delivery.kernel;
+
+import ro.tss.delivery.FeePricer;
+import ro.tss.delivery.ratecard.RateCard;
+
+import java.util.Arrays;
+
+/**
+ * Variantă fără salturi (branchless) a {@code DeliveryService.calculateDeliveryFee}.
+ *
+ * În loc de lanțurile if/else pentru C3–C9, intervalul de distanță și cel de greutate
+ * se calculează aritmetic, ca sumă de indicatori 0/1:
+ *
+ *     tier = [d > 10] + [d > 50]                 ∈ {0, 1, 2}
+ *     band = [w > 2] + [w > 5] + [w > 15]        ∈ {0, 1, 2, 3}
+ *
+ * apoi tarifele se citesc din tablouri mici de constante. Pe amestecuri aleatoare de
+ * livrări, lanțul if/else poate avea multe predicții greșite (dacă JIT-ul nu îl
+ * transformă singur în cmov); aici singurul salt rămas este validarea D1, care în
+ * practică este mereu predictibilă. Comparația se face cu BranchlessKernelBenchmark.
+ *
+ * INDICATORUL [v > t] FĂRĂ SALT:
+ * ==============================
+ * După validare, v este pozitiv (sau NaN). Pentru double-uri pozitive, ordinea
+ * reprezentărilor pe 64 de biți coincide cu ordinea numerică, iar un NaN cu bitul de
+ * semn șters este mai mare decât orice valoare finită și decât +∞. Deci:
+ *
+ *     [v > t] = bitul de semn al (bits(t) - bits(v))
+ *
+ * NaN ajunge astfel în ultimul interval, exact ca în original (NaN <= t este fals).
+ * Ordinea operațiilor T_B + T_D + T_G este păstrată, deci rezultatul este identic bit cu bit.
+ */
+public class BranchlessDeliveryService implements FeePricer {
+
+    /** Trepte de distanță, intervale de greutate și celulele treaptă × interval. */
+    public static final int TIERS = 3;
+    public static final int BANDS = 4;
+    public static final int CELLS = TIERS * BANDS;
+
+    // Tariful vine din RateCard.standard() (egalitatea cu constantele din DeliveryService
+    // este verificată în RateCardCompilerTest); celelalte kerneluri din pachet îl folosesc
+    // pe acesta, fără copii proprii
+    private static final RateCard STANDARD = standardCard();
+
+    static final double BASE_FEE = STANDARD.baseFee();
+
+    // Tarife distanță indexate după tier: scurt, mediu, lung (+ umplutură până la 4,
+    // pentru ca indexul mascat cu & 3 să nu mai necesite verificarea limitelor)
+    static final double[] DISTANCE_RATES = padded(STANDARD.distanceRates());
+
+    // Taxe greutate indexate după band: ușor, mediu, greu, foarte greu
+    static final double[] WEIGHT_FEES = padded(STANDARD.weightFees());
+
+    // Praguri, ca reprezentări pe 64 de biți
+    private static final long DISTANCE_THRESHOLD_SHORT = Double.doubleToRawLongBits(STANDARD.distanceThresholds()[0]);
+    private static final long DISTANCE_THRESHOLD_MEDIUM = Double.doubleToRawLongBits(STANDARD.distanceThresholds()[1]);
+    private static final long WEIGHT_THRESHOLD_LIGHT = Double.doubleToRawLongBits(STANDARD.weightThresholds()[0]);
+    private static final long WEIGHT_THRESHOLD_MEDIUM = Double.doubleToRawLongBits(STANDARD.weightThresholds()[1]);
+    private static final long WEIGHT_THRESHOLD_HEAVY = Double.doubleToRawLongBits(STANDARD.weightThresholds()[2]);
+
+    @Override
+    public double calculateDeliveryFee(double distanceKm, double weightKg) {
+        if (distanceKm <= 0 || weightKg <= 0) {
+            throw new IllegalArgumentException("Distanța și greutatea trebuie să fie pozitive.");
+        }
+        return fee(distanceKm, distanceTier(distanceKm), weightBand(weightKg));
+    }
+
+    /**
+     * T_B + d × tarif(tier) + T_G(band), în ordinea din DeliveryService.
+     */
+    public static double fee(double distanceKm, int tier, int band) {
+        return BASE_FEE + distanceKm * DISTANCE_RATES[tier & 3] + WEIGHT_FEES[band & 3];
+    }
+
+    /**
+     * Lotul se validează într-o trecere separată; bucla de calcul nu mai are niciun salt
+     * în afara celui de buclă.
+     */
+    @Override
+    public void calculateDeliveryFees(double[] distanceKm, double[] weightKg, double[] fees, int from, int to) {
+        FeePricer.checkPositive(distanceKm, weightKg, from, to);
+        for (int i = from; i < to; i++) {
+            double d = distanceKm[i];
+            fees[i] = BASE_FEE + d * DISTANCE_RATES[distanceTier(d) & 3] + WEIGHT_FEES[weightBand(weightKg[i]) & 3];
+        }
+    }
+
+    /**
+     * 0 = scurt (C3), 1 = mediu (C4), 2 = lung (C5). Presupune d > 0 sau NaN.
+     */
+    public static int distanceTier(double distanceKm) {
+        long bits = magnitudeBits(distanceKm);
+        return above(bits, DISTANCE_THRESHOLD_SHORT) + above(bits, DISTANCE_THRESHOLD_MEDIUM);
+    }
+
+    /**
+     * 0 = ușor (C6), 1 = mediu (C7), 2 = greu (C8), 3 = foarte greu (C9). Presupune w > 0 sau NaN.
+     */
+    public static int weightBand(double weightKg) {
+        long bits = magnitudeBits(weightKg);
+        return above(bits, WEIGHT_THRESHOLD_LIGHT) + above(bits, WEIGHT_THRESHOLD_MEDIUM)
+                + above(bits, WEIGHT_THRESHOLD_HEAVY);
+    }
+
+    /**
+     * Celula tier · {@link #BANDS} + band a unei livrări validate (d > 0, w > 0 sau NaN),
+     * în [0, {@link #CELLS}).
+     */
+    public static int cell(double distanceKm, double weightKg) {
+        return distanceTier(distanceKm) * BANDS + (weightBand(weightKg) & 3);
+    }
+
+    /**
+     * @param tier 0 = scurt, 1 = mediu, 2 = lung
+     * @param band 0 = ușor, 1 = mediu, 2 = greu, 3 = foarte greu
+     * @throws IllegalArgumentException dacă treapta sau intervalul nu există
+     */
+    public static int cell(int tier, int band) {
+        if (tier < 0 || tier >= TIERS || band < 0 || band >= BANDS) {
+            throw new IllegalArgumentException("Celulă inexistentă: treapta " + tier + ", intervalul " + band + ".");
+        }
+        return tier * BANDS + band;
+    }
+
+    /** Tariful standard, cu forma (3 trepte × 4 intervale) pe care o presupune kernelul. */
+    private static RateCard standardCard() {
+        RateCard card = RateCard.standard();
+        if (card.distanceTierCount() != TIERS || card.weightBandCount() != BANDS) {
+            throw new IllegalStateException("Kernelul presupune 3 trepte de distanță și 4 intervale de greutate.");
+        }
+        return card;
+    }
+
+    private static double[] padded(double[] values) {
+        double[] result = Arrays.copyOf(values, 4);
+        for (int i = values.length; i < 4; i++) {
+            result[i] = values[values.length - 1];
+        }
+        return result;
+    }
+
+    /**
+     * Reprezentarea fără bitul de semn: orice NaN (inclusiv cu semn negativ, cum
+     * produce x86 pentru 0/0) devine mai mare decât +∞.
+     */
+    private static long magnitudeBits(double value) {
+        return Double.doubleToRawLongBits(value) & Long.MAX_VALUE;
+    }
+
+    private static int above(long valueBits, long thresholdBits) {
+        return (int) ((thresholdBits - valueBits) >>> 63);
+    }
+}
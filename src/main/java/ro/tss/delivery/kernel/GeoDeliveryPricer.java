@@ -0,0 +1,94 @@
+package ro.tss.delivery.kernel;
+
+import ro.tss.delivery.DeliveryService;
+
+/**
+ * Calculul taxei de livrare direct din coordonate geografice (grade zecimale).
+ *
+ * Distanța este distanța ortodromică (great-circle) pe o sferă de rază medie
+ * {@link #EARTH_RADIUS_KM}, calculată cu formula haversine:
+ *
+ *     a = sin²(Δφ/2) + cos φ1 · cos φ2 · sin²(Δλ/2)
+ *     d = 2R · asin(√a)
+ *
+ * Varianta batch parcurge tablourile o singură dată, în blocuri de {@link #CHUNK} rânduri:
+ * pentru fiecare bloc se calculează distanțele (buclă pur aritmetică, fără dependențe
+ * între iterații, pe care JIT-ul o poate pipeline-ui) într-un tampon mic, apoi acestea
+ * trec imediat prin logica de tarifare din {@link DeliveryService}. Nu există un tablou
+ * intermediar de distanțe de dimensiunea lotului: tamponul rămâne în cache-ul L1.
+ */
+public final class GeoDeliveryPricer {
+
+    /** Raza medie a Pământului (IUGG), în km. */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final double DEGREES_TO_RADIANS = Math.PI / 180.0;
+
+    // Distanțele unui bloc stau într-un tampon de 8 KB, care rămâne în L1
+    private static final int CHUNK = 1024;
+
+    private final DeliveryService service;
+
+    public GeoDeliveryPricer() {
+        this(new DeliveryService());
+    }
+
+    public GeoDeliveryPricer(DeliveryService service) {
+        this.service = service;
+    }
+
+    /**
+     * Distanța ortodromică în km între două puncte date în grade.
+     */
+    public static double haversineKm(double originLat, double originLon, double destLat, double destLon) {
+        double phi1 = originLat * DEGREES_TO_RADIANS;
+        double phi2 = destLat * DEGREES_TO_RADIANS;
+        double sinHalfDeltaPhi = Math.sin((phi2 - phi1) * 0.5);
+        double sinHalfDeltaLambda = Math.sin((destLon - originLon) * DEGREES_TO_RADIANS * 0.5);
+        double a = sinHalfDeltaPhi * sinHalfDeltaPhi
+                + Math.cos(phi1) * Math.cos(phi2) * sinHalfDeltaLambda * sinHalfDeltaLambda;
+        return 2.0 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(Math.min(1.0, a)));
+    }
+
+    /**
+     * Taxa pentru o singură livrare între două puncte.
+     *
+     * @throws IllegalArgumentException dacă punctele coincid (distanță 0) sau greutatea nu e pozitivă
+     */
+    public double calculateDeliveryFee(double originLat, double originLon,
+                                       double destLat, double destLon, double weightKg) {
+        return service.calculateDeliveryFee(haversineKm(originLat, originLon, destLat, destLon), weightKg);
+    }
+
+    /**
+     * Taxele pentru un lot de livrări, într-o singură trecere (distanță + tarifare).
+     *
+     * @param fees tabloul de ieșire, de aceeași lungime cu intrările
+     * @throws IllegalArgumentException dacă tablourile au lungimi diferite sau un rând
+     *                                  are distanță 0 / greutate nepozitivă (mesajul indică rândul)
+     */
+    public void calculateDeliveryFees(double[] originLat, double[] originLon,
+                                      double[] destLat, double[] destLon,
+                                      double[] weightKg, double[] fees) {
+        int n = fees.length;
+        if (originLat.length != n || originLon.length != n || destLat.length != n
+                || destLon.length != n || weightKg.length != n) {
+            throw new IllegalArgumentException("Tablourile de intrare și ieșire trebuie să aibă aceeași lungime.");
+        }
+        double[] distances = new double[Math.min(n, CHUNK)];
+        int i = 0;
+        try {
+            for (int start = 0; start < n; start += CHUNK) {
+                int end = Math.min(n, start + CHUNK);
+                for (int k = start; k < end; k++) {
+                    distances[k - start] = haversineKm(originLat[k], originLon[k], destLat[k], destLon[k]);
+                }
+                for (i = start; i < end; i++) {
+                    fees[i] = service.calculateDeliveryFee(distances[i - start], weightKg[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Rândul " + i + ": " + e.getMessage(), e);
+        }
+    }
+}
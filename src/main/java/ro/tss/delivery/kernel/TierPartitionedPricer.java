@@ -0,0 +1,87 @@
+package ro.tss.delivery.kernel;
+
+import ro.tss.delivery.FeePricer;
+
+import java.util.Arrays;
+
+/**
+ * Tarifare pe loturi cu partiționare după (treaptă de distanță, interval de greutate).
+ *
+ * Cele 3 trepte (C3–C5) × 4 intervale (C6–C9) din DeliveryService dau 12 găleți; în
+ * fiecare, tariful pe km și taxa pe greutate sunt constante (tarifele din
+ * {@link BranchlessDeliveryService}, fără o copie proprie). Pentru fiecare bloc de
+ * {@link #CHUNK} rânduri:
+ *
+ *     1. găleata fiecărui rând, calculată aritmetic (ca în {@link BranchlessDeliveryService});
+ *     2. sortare prin numărare a indicilor după găleată (stabilă);
+ *     3. pentru fiecare găleată, bucla T_B + d × tarif + T_G fără niciun salt, cu
+ *        rezultatul scris direct în rândul original.
+ *
+ * Pe loturi nesortate, lanțul if/else din DeliveryService prezice greșit o parte din
+ * salturi; aici nu există salturi dependente de date. Măsurat (TierPartitionBenchmark,
+ * rânduri/µs, loturi de 1 … 8192 rânduri):
+ *
+ *     distribuție     rânduri   if/else   partiționat   branchless
+ *     uniformă        1–8        ~100       25–85        280–420
+ *                     16         ~105        ~120          ~480
+ *                     ≥ 64       ~110      ~235–270        ~500
+ *     90% o găleată   orice    490–900      33–230        300–520
+ *
+ * Pe date uniforme, partiționarea depășește bucla if/else între 8 și 16 rânduri; pe date
+ * dominate de o găleată, predictorul de salturi are aproape mereu dreptate și if/else
+ * câștigă la orice dimensiune.
+ *
+ * Pentru tariful actual, alegerea găleții costă cât tot calculul, deci kernelul
+ * branchless (nici el fără salturi) rămâne cel mai rapid; partiționarea merită când
+ * calculul per găleată devine mai scump decât alegerea ei.
+ *
+ * Ordinea operațiilor este cea din DeliveryService, deci rezultatul este identic bit cu
+ * bit; NaN ajunge în ultima treaptă / ultimul interval, ca în original.
+ */
+public final class TierPartitionedPricer implements FeePricer {
+
+    // Indicii și gălețile unui bloc (5 KB) stau în L1, ca și rândurile pe care le adresează
+    static final int CHUNK = 1024;
+
+    private final BranchlessDeliveryService scalar = new BranchlessDeliveryService();
+
+    @Override
+    public double calculateDeliveryFee(double distanceKm, double weightKg) {
+        return scalar.calculateDeliveryFee(distanceKm, weightKg);
+    }
+
+    @Override
+    public void calculateDeliveryFees(double[] distanceKm, double[] weightKg, double[] fees, int from, int to) {
+        FeePricer.checkPositive(distanceKm, weightKg, from, to);
+        int size = Math.min(to - from, CHUNK);
+        int[] rows = new int[size];
+        byte[] buckets = new byte[size];
+        int[] bounds = new int[BranchlessDeliveryService.CELLS + 1];
+        int[] next = new int[BranchlessDeliveryService.CELLS];
+        for (int start = from; start < to; start += CHUNK) {
+            int n = Math.min(CHUNK, to - start);
+            Arrays.fill(bounds, 0);
+            for (int k = 0; k < n; k++) {
+                int bucket = BranchlessDeliveryService.cell(distanceKm[start + k], weightKg[start + k]);
+                buckets[k] = (byte) bucket;
+                bounds[bucket + 1]++;
+            }
+            for (int b = 0; b < BranchlessDeliveryService.CELLS; b++) {
+                bounds[b + 1] += bounds[b];
+            }
+            System.arraycopy(bounds, 0, next, 0, BranchlessDeliveryService.CELLS);
+            for (int k = 0; k < n; k++) {
+                rows[next[buckets[k]]++] = start + k;
+            }
+            for (int b = 0; b < BranchlessDeliveryService.CELLS; b++) {
+                double baseFee = BranchlessDeliveryService.BASE_FEE;
+                double rate = BranchlessDeliveryService.DISTANCE_RATES[b / BranchlessDeliveryService.BANDS];
+                double weightFee = BranchlessDeliveryService.WEIGHT_FEES[b % BranchlessDeliveryService.BANDS];
+                for (int p = bounds[b]; p < bounds[b + 1]; p++) {
+                    int row = rows[p];
+                    fees[row] = baseFee + distanceKm[row] * rate + weightFee;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ro.tss.delivery.kernel;
+
+import ro.tss.delivery.DeliveryService;
+
+/**
+ * Taxa de livrare pe greutatea taxabilă: maximul dintre greutatea reală și greutatea
+ * volumetrică a coletului,
+ *
+ *     greutate volumetrică (kg) = lungime × lățime × înălțime (cm) / divizor
+ *
+ * unde divizorul este cel al curierului (uzual 5000 cm³/kg; 6000 sau 4000 la unii).
+ * Peste greutatea taxabilă se aplică intervalele de greutate din DeliveryService.
+ *
+ * Varianta batch nu folosește tablouri intermediare: parcurge lotul în blocuri de
+ * {@link #CHUNK} rânduri, care rămân în L1, cu două bucle pe bloc:
+ *
+ *     1. volum, greutate taxabilă (scrisă direct în tabloul de ieșire) și minimul tuturor
+ *        intrărilor, pentru validare: doar aritmetică pe tablouri contigue, cu același
+ *        index peste tot, forma pe care JIT-ul o vectorizează (inclusiv împărțirea);
+ *     2. treaptă, interval și taxă, calculate fără salturi cu funcțiile și tarifele din
+ *        {@link BranchlessDeliveryService} (fără o copie proprie a tarifului).
+ *
+ * Rândurile sunt verificate exact doar dacă minimul blocului nu este pozitiv. Orice
+ * validare pe rând (salturi sau indicatori) în prima buclă o împiedică să fie vectorizată.
+ *
+ * Ordinea operațiilor este cea din DeliveryService, deci rezultatul este identic bit cu
+ * bit cu {@link #calculateDeliveryFee}.
+ */
+public final class VolumetricDeliveryPricer {
+
+    /** Divizorul volumetric uzual, în cm³/kg. */
+    public static final double DEFAULT_DIVISOR = 5000.0;
+
+    // Cele 6 tablouri ale unui bloc ocupă 24 KB și rămân în L1 între cele două bucle
+    private static final int CHUNK = 512;
+
+    private final DeliveryService service;
+    private final double divisor;
+
+    public VolumetricDeliveryPricer() {
+        this(DEFAULT_DIVISOR);
+    }
+
+    /**
+     * @param divisor divizorul volumetric în cm³/kg
+     * @throws IllegalArgumentException dacă divizorul nu este un număr finit pozitiv
+     */
+    public VolumetricDeliveryPricer(double divisor) {
+        if (!(divisor > 0) || Double.isInfinite(divisor)) {
+            throw new IllegalArgumentException("Divizorul volumetric trebuie să fie un număr finit pozitiv.");
+        }
+        this.service = new DeliveryService();
+        this.divisor = divisor;
+    }
+
+    public double divisor() {
+        return divisor;
+    }
+
+    /**
+     * max(greutate reală, greutate volumetrică).
+     */
+    public double chargeableWeightKg(double weightKg, double lengthCm, double widthCm, double heightCm) {
+        return Math.max(weightKg, lengthCm * widthCm * heightCm / divisor);
+    }
+
+    /**
+     * Taxa unui colet, pe greutatea taxabilă (implementarea de referință).
+     *
+     * @throws IllegalArgumentException dacă distanța, greutatea sau o dimensiune nu sunt pozitive
+     */
+    public double calculateDeliveryFee(double distanceKm, double weightKg,
+                                       double lengthCm, double widthCm, double heightCm) {
+        if (lengthCm <= 0 || widthCm <= 0 || heightCm <= 0) {
+            throw new IllegalArgumentException("Dimensiunile coletului trebuie să fie pozitive.");
+        }
+        if (distanceKm <= 0 || weightKg <= 0) {
+            throw new IllegalArgumentException("Distanța și greutatea trebuie să fie pozitive.");
+        }
+        return service.calculateDeliveryFee(distanceKm, chargeableWeightKg(weightKg, lengthCm, widthCm, heightCm));
+    }
+
+    /**
+     * Taxele pentru un lot de colete.
+     *
+     * @param fees tabloul de ieșire, de aceeași lungime cu intrările
+     * @throws IllegalArgumentException dacă tablourile au lungimi diferite sau un rând este
+     *                                  invalid (mesajul indică primul rând invalid; conținutul
+     *                                  lui {@code fees} este atunci nedefinit)
+     */
+    public void calculateDeliveryFees(double[] distanceKm, double[] weightKg,
+                                      double[] lengthCm, double[] widthCm, double[] heightCm,
+                                      double[] fees) {
+        int n = fees.length;
+        if (distanceKm.length != n || weightKg.length != n
+                || lengthCm.length != n || widthCm.length != n || heightCm.length != n) {
+            throw new IllegalArgumentException("Tablourile de intrare și ieșire trebuie să aibă aceeași lungime.");
+        }
+        double div = divisor;
+        for (int start = 0; start < n; start += CHUNK) {
+            int end = Math.min(n, start + CHUNK);
+            double min = Double.POSITIVE_INFINITY;
+            for (int i = start; i < end; i++) {
+                double l = lengthCm[i];
+                double wd = widthCm[i];
+                double h = heightCm[i];
+                double w = weightKg[i];
+                min = Math.min(min, Math.min(Math.min(distanceKm[i], w), Math.min(l, Math.min(wd, h))));
+                fees[i] = Math.max(w, l * wd * h / div);
+            }
+            if (!(min > 0)) {
+                checkRows(distanceKm, weightKg, lengthCm, widthCm, heightCm, start, end);
+            }
+            for (int i = start; i < end; i++) {
+                double d = distanceKm[i];
+                fees[i] = BranchlessDeliveryService.fee(d, BranchlessDeliveryService.distanceTier(d),
+                        BranchlessDeliveryService.weightBand(fees[i]));
+            }
+        }
+    }
+
+    /**
+     * Căutarea exactă a primului rând invalid dintr-un bloc, după ce minimul blocului a
+     * semnalat o valoare nepozitivă sau NaN (NaN este acceptat, ca în DeliveryService).
+     */
+    private void checkRows(double[] distanceKm, double[] weightKg,
+                           double[] lengthCm, double[] widthCm, double[] heightCm, int from, int to) {
+        for (int i = from; i < to; i++) {
+            try {
+                calculateDeliveryFee(distanceKm[i], weightKg[i], lengthCm[i], widthCm[i], heightCm[i]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Rândul " + i + ": " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package ro.tss.delivery.mcdc;
+
+/**
+ * Condițiile atomice din {@link ro.tss.delivery.DeliveryService}, cu numerotarea din
+ * comentariile codului, și decizia din care face parte fiecare.
+ *
+ * C5 (d > 50) și C9 (w > 15) din comentarii sunt ramurile else ale deciziilor D3 și D6,
+ * nu condiții evaluate separat, deci sunt acoperite de valoarea F a lui C4 și C8.
+ *
+ * Într-un vector de evaluare fiecare condiție ocupă doi biți: bitul 2·k marchează că a
+ * fost evaluată, bitul 2·k + 1 valoarea ei (k = ordinal).
+ */
+public enum Condition {
+
+    C1("distanceKm <= 0", Decision.D1),
+    C2("weightKg <= 0", Decision.D1),
+    C3("distanceKm <= 10", Decision.D2),
+    C4("distanceKm <= 50", Decision.D3),
+    C6("weightKg <= 2", Decision.D4),
+    C7("weightKg <= 5", Decision.D5),
+    C8("weightKg <= 15", Decision.D6);
+
+    /** Deciziile: D1 = C1 || C2, restul conțin o singură condiție. */
+    public enum Decision {
+        D1, D2, D3, D4, D5, D6
+    }
+
+    /** Numărul de vectori de evaluare posibili (2 biți per condiție). */
+    public static final int VECTOR_SPACE = 1 << (2 * 7);
+
+    private final String expression;
+    private final Decision decision;
+
+    Condition(String expression, Decision decision) {
+        this.expression = expression;
+        this.decision = decision;
+    }
+
+    public String expression() {
+        return expression;
+    }
+
+    public Decision decision() {
+        return decision;
+    }
+
+    /** Biții care marchează evaluarea condiției cu valoarea dată. */
+    int bits(boolean value) {
+        int shift = 2 * ordinal();
+        return (1 << shift) | ((value ? 1 : 0) << (shift + 1));
+    }
+
+    boolean evaluatedIn(int vector) {
+        return (vector >>> (2 * ordinal()) & 1) != 0;
+    }
+
+    boolean valueIn(int vector) {
+        return (vector >>> (2 * ordinal() + 1) & 1) != 0;
+    }
+
+    /** Valoarea deciziei în vector: D1 = C1 || C2 (scurtcircuitat), altfel valoarea condiției. */
+    static boolean decisionValue(Decision decision, int vector) {
+        if (decision == Decision.D1) {
+            return C1.valueIn(vector) || (C2.evaluatedIn(vector) && C2.valueIn(vector));
+        }
+        for (Condition c : values()) {
+            if (c.decision == decision) {
+                return c.valueIn(vector);
+            }
+        }
+        throw new IllegalArgumentException("Decizie necunoscută: " + decision);
+    }
+
+    /** Reprezentare de tip "C1=F C2=T": doar condițiile evaluate. */
+    static String describe(int vector) {
+        StringBuilder text = new StringBuilder();
+        for (Condition c : values()) {
+            if (c.evaluatedIn(vector)) {
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(c.name()).append('=').append(c.valueIn(vector) ? 'T' : 'F');
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package ro.tss.delivery.mcdc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Înregistrează vectorii de evaluare ai condițiilor, separat pentru fiecare test.
+ *
+ * Un vector are 14 biți (vezi {@link Condition}), deci mulțimea vectorilor văzuți de un
+ * test este un bitset de 2^14 biți (2 KB), indiferent câte execuții face testul.
+ * Pe calea critică, înregistrarea unei execuții este incrementarea contorului de execuții
+ * și testarea unui bit: pentru execuțiile valide, bitul celulei (treaptă, interval) într-o
+ * mască de 12 biți a testului ({@link #recordValid}), fără citirea vectorului. Bitset-ul
+ * și masca se scriu doar la primul vector nou al testului; contorul este singura scriere
+ * pentru vectorii deja văzuți.
+ *
+ * Pentru fiecare vector se păstrează prima intrare (d, w) care l-a produs, pentru a
+ * putea tipări setul minim de teste. Recorder-ul nu este thread-safe.
+ */
+public final class ConditionRecorder {
+
+    /** Vectorii unui test. */
+    public static final class TestRecord {
+
+        private final String name;
+        private final long[] vectors;
+
+        TestRecord(String name, long[] vectors) {
+            this.name = name;
+            this.vectors = vectors;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean contains(int vector) {
+            return (vectors[vector >>> 6] & (1L << vector)) != 0;
+        }
+    }
+
+    private static final int WORDS = Condition.VECTOR_SPACE >>> 6;
+
+    private final long[] seen = new long[WORDS];
+    private final double[] firstDistanceKm = new double[Condition.VECTOR_SPACE];
+    private final double[] firstWeightKg = new double[Condition.VECTOR_SPACE];
+    private final List<TestRecord> tests = new ArrayList<>();
+
+    private String currentTest = "implicit";
+    private long[] current = new long[WORDS];
+    // Celulele căii valide (treaptă · 4 + interval) deja înregistrate de testul curent
+    private int currentCells;
+    private long evaluations;
+
+    /** Încheie testul curent (dacă a înregistrat ceva) și începe unul nou. */
+    public void startTest(String name) {
+        endTest();
+        currentTest = name;
+    }
+
+    /** Încheie testul curent; execuțiile ulterioare aparțin unui test "implicit". */
+    public void endTest() {
+        for (long word : current) {
+            if (word != 0) {
+                tests.add(new TestRecord(currentTest, current));
+                current = new long[WORDS];
+                break;
+            }
+        }
+        currentTest = "implicit";
+        currentCells = 0;
+    }
+
+    void record(int vector, double distanceKm, double weightKg) {
+        evaluations++;
+        if ((current[vector >>> 6] & (1L << vector)) == 0) {
+            firstInTest(vector, distanceKm, weightKg);
+        }
+    }
+
+    /**
+     * O execuție validă, identificată prin celula ei; vectorul celulei este citit doar
+     * la prima execuție a celulei în testul curent.
+     */
+    void recordValid(int cell, double distanceKm, double weightKg) {
+        evaluations++;
+        if ((currentCells & (1 << cell)) == 0) {
+            firstCellInTest(cell, distanceKm, weightKg);
+        }
+    }
+
+    private void firstCellInTest(int cell, double distanceKm, double weightKg) {
+        currentCells |= 1 << cell;
+        int vector = InstrumentedDeliveryService.validVector(cell);
+        if ((current[vector >>> 6] & (1L << vector)) == 0) {
+            firstInTest(vector, distanceKm, weightKg);
+        }
+    }
+
+    private void firstInTest(int vector, double distanceKm, double weightKg) {
+        int word = vector >>> 6;
+        long bit = 1L << vector;
+        current[word] |= bit;
+        if ((seen[word] & bit) == 0) {
+            seen[word] |= bit;
+            firstDistanceKm[vector] = distanceKm;
+            firstWeightKg[vector] = weightKg;
+        }
+    }
+
+    /** Numărul total de execuții înregistrate. */
+    public long evaluations() {
+        return evaluations;
+    }
+
+    /** Testele încheiate, în ordinea rulării. */
+    public List<TestRecord> tests() {
+        endTest();
+        return Collections.unmodifiableList(tests);
+    }
+
+    /** Vectorii distincți văzuți de toate testele, crescător. */
+    public int[] distinctVectors() {
+        int count = 0;
+        for (long word : seen) {
+            count += Long.bitCount(word);
+        }
+        int[] result = new int[count];
+        int n = 0;
+        for (int w = 0; w < WORDS; w++) {
+            for (long word = seen[w]; word != 0; word &= word - 1) {
+                result[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return result;
+    }
+
+    /** Prima intrare care a produs vectorul: {d, w}. */
+    public double[] firstInput(int vector) {
+        if ((seen[vector >>> 6] & (1L << vector)) == 0) {
+            throw new IllegalArgumentException("Vectorul " + vector + " nu a fost înregistrat.");
+        }
+        return new double[] {firstDistanceKm[vector], firstWeightKg[vector]};
+    }
+
+    /** Șterge tot ce s-a înregistrat. */
+    public void clear() {
+        Arrays.fill(seen, 0);
+        Arrays.fill(current, 0);
+        tests.clear();
+        currentTest = "implicit";
+        currentCells = 0;
+        evaluations = 0;
+    }
+}
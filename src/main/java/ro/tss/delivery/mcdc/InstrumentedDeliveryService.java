@@ -0,0 +1,115 @@
+package ro.tss.delivery.mcdc;
+
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.kernel.BranchlessDeliveryService;
+import ro.tss.delivery.ratecard.RateCard;
+
+/**
+ * {@link DeliveryService} cu sonde pe fiecare condiție atomică. Fiind o subclasă, poate
+ * înlocui serviciul suitelor (ServiceUnderTest.runWith), deci MC/DC se măsoară pe
+ * execuția reală a unei suite; loturile trec prin validarea moștenită, apoi prin
+ * {@link #calculateDeliveryFee} pentru fiecare rând.
+ *
+ * Condițiile C3–C8 sunt aceleași comparații ca în original, cu pragurile din
+ * {@code RateCard.standard()} (verificat față de constantele din DeliveryService). Pe
+ * calea validă valorile lor sunt determinate de treapta de distanță și de intervalul de
+ * greutate:
+ *
+ *     tier 0 → C3=T              band 0 → C6=T
+ *     tier 1 → C3=F C4=T         band 1 → C6=F C7=T
+ *     tier 2 → C3=F C4=F         band 2 → C6=F C7=F C8=T
+ *                                band 3 → C6=F C7=F C8=F
+ *
+ * Vectorul de evaluare al fiecărei celule (treaptă · 4 + interval) este precalculat la
+ * încărcarea clasei și marchează ca evaluate doar condițiile pe care programul original
+ * le-ar evalua (C2 doar când C1 este falsă, C4 doar când C3 este falsă etc.). Execuțiile
+ * valide se înregistrează după celulă: tabelul este citit doar la prima execuție a
+ * celulei într-un test. Taxa se calculează cu {@link BranchlessDeliveryService#fee}, cu
+ * aceleași tarife și aceeași ordine a adunărilor, deci este identică bit cu bit cu
+ * originalul (inclusiv pentru NaN, care ajunge în ultima treaptă și ultimul interval).
+ *
+ * McdcAnalyzerTest compară taxele și valorile condițiilor cu DeliveryService la fiecare
+ * prag și în vecinii lui, deci copia nu se poate îndepărta de original fără ca testul
+ * să eșueze.
+ */
+public class InstrumentedDeliveryService extends DeliveryService {
+
+    private static final RateCard STANDARD = RateCard.standard();
+    private static final double DISTANCE_THRESHOLD_SHORT = STANDARD.distanceThresholds()[0];
+    private static final double DISTANCE_THRESHOLD_MEDIUM = STANDARD.distanceThresholds()[1];
+    private static final double WEIGHT_THRESHOLD_LIGHT = STANDARD.weightThresholds()[0];
+    private static final double WEIGHT_THRESHOLD_MEDIUM = STANDARD.weightThresholds()[1];
+    private static final double WEIGHT_THRESHOLD_HEAVY = STANDARD.weightThresholds()[2];
+
+    // Biții sondelor pentru D1: {fals, adevărat} pentru C1 și C2
+    private static final int C1_F = Condition.C1.bits(false), C1_T = Condition.C1.bits(true);
+    private static final int C2_F = Condition.C2.bits(false), C2_T = Condition.C2.bits(true);
+
+    // Vectorul căii valide, indexat după treaptă · 4 + interval
+    private static final int[] VALID_VECTORS = validVectors();
+
+    private final ConditionRecorder recorder;
+
+    public InstrumentedDeliveryService(ConditionRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public double calculateDeliveryFee(double distanceKm, double weightKg) {
+        // D1: C1 || C2 — C2 contează ca evaluată doar când C1 este falsă
+        boolean c1 = distanceKm <= 0;
+        if (c1 || weightKg <= 0) {
+            recorder.record(c1 ? C1_T : C1_F | C2_T, distanceKm, weightKg);
+            throw new IllegalArgumentException("Distanța și greutatea trebuie să fie pozitive.");
+        }
+        int tier = distanceTier(distanceKm);
+        int band = weightBand(weightKg);
+        recorder.recordValid(tier << 2 | band, distanceKm, weightKg);
+        return BranchlessDeliveryService.fee(distanceKm, tier, band);
+    }
+
+    /**
+     * Vectorul de evaluare pe care l-ar înregistra {@link #calculateDeliveryFee} pentru
+     * (d, w), fără a calcula taxa; semnal de acoperire pentru alte unelte (ex. fuzzer-ul).
+     */
+    public static int evaluationVector(double distanceKm, double weightKg) {
+        boolean c1 = distanceKm <= 0;
+        if (c1 || weightKg <= 0) {
+            return c1 ? C1_T : C1_F | C2_T;
+        }
+        return validVector(distanceTier(distanceKm) << 2 | weightBand(weightKg));
+    }
+
+    /** Vectorul căii valide pentru celula treaptă · 4 + interval. */
+    static int validVector(int cell) {
+        return VALID_VECTORS[cell & 15];
+    }
+
+    /** C3 (d <= 10), apoi C4 (d <= 50); NaN le face false pe amândouă, ca în original. */
+    private static int distanceTier(double distanceKm) {
+        return distanceKm <= DISTANCE_THRESHOLD_SHORT ? 0
+                : distanceKm <= DISTANCE_THRESHOLD_MEDIUM ? 1 : 2;
+    }
+
+    /** C6 (w <= 2), C7 (w <= 5), apoi C8 (w <= 15). */
+    private static int weightBand(double weightKg) {
+        return weightKg <= WEIGHT_THRESHOLD_LIGHT ? 0
+                : weightKg <= WEIGHT_THRESHOLD_MEDIUM ? 1
+                : weightKg <= WEIGHT_THRESHOLD_HEAVY ? 2 : 3;
+    }
+
+    private static int[] validVectors() {
+        int[] vectors = new int[16];
+        for (int tier = 0; tier < 3; tier++) {
+            int distance = tier == 0 ? Condition.C3.bits(true)
+                    : Condition.C3.bits(false) | Condition.C4.bits(tier == 1);
+            for (int band = 0; band < 4; band++) {
+                int weight = band == 0 ? Condition.C6.bits(true)
+                        : band == 1 ? Condition.C6.bits(false) | Condition.C7.bits(true)
+                        : Condition.C6.bits(false) | Condition.C7.bits(false) | Condition.C8.bits(band == 2);
+                vectors[tier << 2 | band] = C1_F | C2_F | distance | weight;
+            }
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,147 @@
+package ro.tss.delivery.mcdc;
+
+import ro.tss.delivery.mcdc.Condition.Decision;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calculează acoperirea MC/DC din vectorii înregistrați de {@link ConditionRecorder}.
+ *
+ * PERECHI DE INDEPENDENȚĂ:
+ * ========================
+ * Doi vectori a și b demonstrează independența condiției C din decizia D dacă:
+ * - C este evaluată în ambii, cu valori diferite;
+ * - D are valori diferite în a și b;
+ * - celelalte condiții ale lui D, evaluate în ambii vectori, au aceleași valori
+ *   (o condiție neevaluată din cauza scurtcircuitului este "don't care").
+ *
+ * SETUL MINIM:
+ * ============
+ * Greedy: cât timp există condiții neacoperite, se alege perechea care adaugă cei mai
+ * puțini vectori noi (la egalitate, cea care acoperă cele mai multe condiții), apoi se
+ * elimină vectorii redundanți. Analiza lucrează pe vectori distincți (cel mult 2^14),
+ * deci costul nu depinde de numărul de execuții înregistrate.
+ */
+public final class McdcAnalyzer {
+
+    private McdcAnalyzer() {
+    }
+
+    public static McdcReport analyze(ConditionRecorder recorder) {
+        int[] vectors = recorder.distinctVectors();
+
+        Map<Condition, List<int[]>> pairs = new EnumMap<>(Condition.class);
+        for (Condition condition : Condition.values()) {
+            List<int[]> found = new ArrayList<>();
+            for (int i = 0; i < vectors.length; i++) {
+                for (int j = i + 1; j < vectors.length; j++) {
+                    if (independent(condition, vectors[i], vectors[j])) {
+                        found.add(new int[] {vectors[i], vectors[j]});
+                    }
+                }
+            }
+            pairs.put(condition, found);
+        }
+
+        Set<Integer> chosen = minimalVectors(pairs);
+        List<McdcReport.MinimalTest> minimal = new ArrayList<>();
+        List<ConditionRecorder.TestRecord> tests = recorder.tests();
+        for (int vector : chosen) {
+            double[] input = recorder.firstInput(vector);
+            minimal.add(new McdcReport.MinimalTest(vector, input[0], input[1], firstTest(tests, vector)));
+        }
+        return new McdcReport(pairs, minimal, vectors.length, recorder.evaluations());
+    }
+
+    static boolean independent(Condition condition, int a, int b) {
+        if (!condition.evaluatedIn(a) || !condition.evaluatedIn(b) || condition.valueIn(a) == condition.valueIn(b)) {
+            return false;
+        }
+        Decision decision = condition.decision();
+        if (Condition.decisionValue(decision, a) == Condition.decisionValue(decision, b)) {
+            return false;
+        }
+        for (Condition other : Condition.values()) {
+            if (other != condition && other.decision() == decision
+                    && other.evaluatedIn(a) && other.evaluatedIn(b) && other.valueIn(a) != other.valueIn(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<Integer> minimalVectors(Map<Condition, List<int[]>> pairs) {
+        Set<Integer> chosen = new LinkedHashSet<>();
+        while (true) {
+            int[] best = null;
+            int bestCost = Integer.MAX_VALUE;
+            int bestGain = -1;
+            for (Map.Entry<Condition, List<int[]>> entry : pairs.entrySet()) {
+                if (covered(entry.getValue(), chosen)) {
+                    continue;
+                }
+                for (int[] pair : entry.getValue()) {
+                    int cost = (chosen.contains(pair[0]) ? 0 : 1) + (chosen.contains(pair[1]) ? 0 : 1);
+                    Set<Integer> extended = new LinkedHashSet<>(chosen);
+                    extended.add(pair[0]);
+                    extended.add(pair[1]);
+                    int gain = coveredCount(pairs, extended);
+                    if (cost < bestCost || (cost == bestCost && gain > bestGain)) {
+                        best = pair;
+                        bestCost = cost;
+                        bestGain = gain;
+                    }
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            chosen.add(best[0]);
+            chosen.add(best[1]);
+        }
+
+        int target = coveredCount(pairs, chosen);
+        List<Integer> order = new ArrayList<>(chosen);
+        for (int k = order.size() - 1; k >= 0; k--) {
+            Set<Integer> reduced = new LinkedHashSet<>(chosen);
+            reduced.remove(order.get(k));
+            if (coveredCount(pairs, reduced) == target) {
+                chosen = reduced;
+            }
+        }
+        return chosen;
+    }
+
+    private static boolean covered(List<int[]> pairs, Set<Integer> vectors) {
+        for (int[] pair : pairs) {
+            if (vectors.contains(pair[0]) && vectors.contains(pair[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int coveredCount(Map<Condition, List<int[]>> pairs, Set<Integer> vectors) {
+        int count = 0;
+        for (List<int[]> list : pairs.values()) {
+            if (covered(list, vectors)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String firstTest(List<ConditionRecorder.TestRecord> tests, int vector) {
+        for (ConditionRecorder.TestRecord test : tests) {
+            if (test.contains(vector)) {
+                return test.name();
+            }
+        }
+        return "implicit";
+    }
+}
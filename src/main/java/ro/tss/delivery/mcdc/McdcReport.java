@@ -0,0 +1,118 @@
+package ro.tss.delivery.mcdc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rezultatul {@link McdcAnalyzer}: perechile de independență ale fiecărei condiții,
+ * condițiile neacoperite și setul minim de teste.
+ */
+public final class McdcReport {
+
+    /** Un test din setul minim: vectorul lui de evaluare și prima intrare care l-a produs. */
+    public static final class MinimalTest {
+
+        private final int vector;
+        private final double distanceKm;
+        private final double weightKg;
+        private final String testName;
+
+        MinimalTest(int vector, double distanceKm, double weightKg, String testName) {
+            this.vector = vector;
+            this.distanceKm = distanceKm;
+            this.weightKg = weightKg;
+            this.testName = testName;
+        }
+
+        public int vector() {
+            return vector;
+        }
+
+        public double distanceKm() {
+            return distanceKm;
+        }
+
+        public double weightKg() {
+            return weightKg;
+        }
+
+        /** Primul test care a produs vectorul. */
+        public String testName() {
+            return testName;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("d=%s, w=%s  [%s]  (%s)", distanceKm, weightKg, Condition.describe(vector), testName);
+        }
+    }
+
+    private final Map<Condition, List<int[]>> pairs;
+    private final List<MinimalTest> minimalTests;
+    private final int distinctVectors;
+    private final long evaluations;
+
+    McdcReport(Map<Condition, List<int[]>> pairs, List<MinimalTest> minimalTests, int distinctVectors,
+               long evaluations) {
+        this.pairs = pairs;
+        this.minimalTests = Collections.unmodifiableList(minimalTests);
+        this.distinctVectors = distinctVectors;
+        this.evaluations = evaluations;
+    }
+
+    /** Perechile de independență găsite pentru condiție (vectori {a, b}). */
+    public List<int[]> independencePairs(Condition condition) {
+        return Collections.unmodifiableList(pairs.get(condition));
+    }
+
+    public boolean covered(Condition condition) {
+        return !pairs.get(condition).isEmpty();
+    }
+
+    public List<Condition> missing() {
+        List<Condition> missing = new ArrayList<>();
+        for (Condition condition : Condition.values()) {
+            if (!covered(condition)) {
+                missing.add(condition);
+            }
+        }
+        return missing;
+    }
+
+    public List<MinimalTest> minimalTests() {
+        return minimalTests;
+    }
+
+    public int distinctVectors() {
+        return distinctVectors;
+    }
+
+    public long evaluations() {
+        return evaluations;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append("MC/DC: ").append(evaluations).append(" evaluări, ")
+                .append(distinctVectors).append(" vectori distincți\n");
+        for (Condition condition : Condition.values()) {
+            text.append(String.format("  %s %-17s %s: ", condition, condition.expression(), condition.decision()));
+            List<int[]> found = pairs.get(condition);
+            if (found.isEmpty()) {
+                text.append("LIPSĂ pereche de independență\n");
+            } else {
+                int[] pair = found.get(0);
+                text.append('[').append(Condition.describe(pair[0])).append("] vs [")
+                        .append(Condition.describe(pair[1])).append("]\n");
+            }
+        }
+        text.append("Set minim (").append(minimalTests.size()).append(" teste):\n");
+        for (MinimalTest test : minimalTests) {
+            text.append("  ").append(test).append('\n');
+        }
+        return text.toString();
+    }
+}
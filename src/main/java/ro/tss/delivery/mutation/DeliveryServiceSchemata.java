@@ -0,0 +1,251 @@
+package ro.tss.delivery.mutation;
+
+import ro.tss.delivery.ratecard.RateCard;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Schemă de mutanți (mutant schemata) pentru {@link ro.tss.delivery.DeliveryService}.
+ *
+ * O singură clasă conține toți mutanții relaționali (ROR), logici (LCR), aritmetici (AOR)
+ * și de constante (CRCR): fiecare operator și fiecare constantă din algoritm este citit
+ * dintr-un tabel al instanței, iar constructorul aplică în tabel o singură mutație.
+ * Schimbarea mutantului înseamnă deci o instanță nouă, nu o clasă nouă: toți mutanții
+ * rulează în același JVM, fără compilare și fără reîncărcare de clase, iar instanțe
+ * diferite pot fi folosite în paralel din fire diferite.
+ *
+ * LOCURILE MUTAȚIILOR:
+ * ====================
+ * Relaționale (numerotarea condițiilor din DeliveryService):
+ *   C1: distanceKm <= 0       C2: weightKg <= 0
+ *   C3: distanceKm <= 10      C4: distanceKm <= 50
+ *   C6: weightKg <= 2         C7: weightKg <= 5         C8: weightKg <= 15
+ * Logic:      D1: C1 || C2
+ * Aritmetice: distanceKm * 0.50 | * 0.40 | * 0.30, BASE_FEE + distanceFee, ... + weightFee
+ * Constante:  cele 15 literale de mai sus (praguri, tarife, taxe, BASE_FEE), luate din
+ *             {@link RateCard#standard()}, care este verificat față de constantele din
+ *             DeliveryService (RateCardCompilerTest); schema nu are o copie proprie a tarifului
+ *
+ * Mutanții scriși de mână se regăsesc în catalog: DeliveryServiceMutantKilled este
+ * ROR "C3: distanceKm <= 10 → distanceKm < 10", iar DeliveryServiceMutantSurvived este
+ * ROR "C1: distanceKm <= 0 → distanceKm < 0". DeliveryServiceMutantEquivalent
+ * ({@code 0.0 * weightKg}) este o inserare de expresie, operator care nu face parte din schemă.
+ */
+public final class DeliveryServiceSchemata {
+
+    // Operatori relaționali
+    static final int LT = 0, LE = 1, GT = 2, GE = 3, EQ = 4, NE = 5;
+    private static final String[] RELATIONAL_SYMBOLS = {"<", "<=", ">", ">=", "==", "!="};
+
+    // Operatori aritmetici
+    static final int ADD = 0, SUB = 1, MUL = 2, DIV = 3, REM = 4;
+    private static final String[] ARITHMETIC_SYMBOLS = {"+", "-", "*", "/", "%"};
+
+    // Locurile relaționale: eticheta condiției, operandul din stânga, constanta din dreapta
+    static final int C1 = 0, C2 = 1, C3 = 2, C4 = 3, C6 = 4, C7 = 5, C8 = 6;
+    private static final String[] RELATIONAL_LABELS = {"C1", "C2", "C3", "C4", "C6", "C7", "C8"};
+    private static final String[] RELATIONAL_OPERANDS = {
+            "distanceKm", "weightKg", "distanceKm", "distanceKm", "weightKg", "weightKg", "weightKg"};
+
+    // Locurile aritmetice
+    static final int FEE_SHORT = 0, FEE_MEDIUM = 1, FEE_LONG = 2, SUM_DISTANCE = 3, SUM_WEIGHT = 4;
+    private static final int[] ARITHMETIC_ORIGINAL = {MUL, MUL, MUL, ADD, ADD};
+    private static final String[][] ARITHMETIC_OPERANDS = {
+            {"distanceKm", "RATE_SHORT_DISTANCE"},
+            {"distanceKm", "RATE_MEDIUM_DISTANCE"},
+            {"distanceKm", "RATE_LONG_DISTANCE"},
+            {"BASE_FEE", "distanceFee"},
+            {"(BASE_FEE + distanceFee)", "weightFee"}};
+
+    // Constantele, în ordinea locurilor relaționale, apoi tarife, taxe și BASE_FEE
+    static final int K_DISTANCE_ZERO = 0, K_WEIGHT_ZERO = 1,
+            K_DISTANCE_SHORT = 2, K_DISTANCE_MEDIUM = 3,
+            K_WEIGHT_LIGHT = 4, K_WEIGHT_MEDIUM = 5, K_WEIGHT_HEAVY = 6,
+            K_RATE_SHORT = 7, K_RATE_MEDIUM = 8, K_RATE_LONG = 9,
+            K_FEE_LIGHT = 10, K_FEE_MEDIUM = 11, K_FEE_HEAVY = 12, K_FEE_VERY_HEAVY = 13,
+            K_BASE_FEE = 14;
+    private static final double[] CONSTANTS = standardConstants();
+    private static final String[] CONSTANT_NAMES = {
+            "0 (C1)", "0 (C2)",
+            "DISTANCE_THRESHOLD_SHORT", "DISTANCE_THRESHOLD_MEDIUM",
+            "WEIGHT_THRESHOLD_LIGHT", "WEIGHT_THRESHOLD_MEDIUM", "WEIGHT_THRESHOLD_HEAVY",
+            "RATE_SHORT_DISTANCE", "RATE_MEDIUM_DISTANCE", "RATE_LONG_DISTANCE",
+            "WEIGHT_FEE_LIGHT", "WEIGHT_FEE_MEDIUM", "WEIGHT_FEE_HEAVY", "WEIGHT_FEE_VERY_HEAVY",
+            "BASE_FEE"};
+
+    private static final List<Mutant> MUTANTS = Collections.unmodifiableList(buildCatalog());
+
+    private final Mutant mutant;
+    private final int[] relational = {LE, LE, LE, LE, LE, LE, LE};
+    private final boolean conjunction;
+    private final int[] arithmetic = ARITHMETIC_ORIGINAL.clone();
+    private final double[] constants = CONSTANTS.clone();
+
+    private DeliveryServiceSchemata(Mutant mutant) {
+        this.mutant = mutant;
+        boolean and = false;
+        if (mutant != null) {
+            switch (mutant.operator()) {
+                case ROR -> relational[mutant.site()] = mutant.replacementOperator();
+                case LCR -> and = true;
+                case AOR -> arithmetic[mutant.site()] = mutant.replacementOperator();
+                case CRCR -> constants[mutant.site()] = mutant.replacementConstant();
+            }
+        }
+        this.conjunction = and;
+    }
+
+    /** Programul original, fără nicio mutație activă. */
+    public static DeliveryServiceSchemata original() {
+        return new DeliveryServiceSchemata(null);
+    }
+
+    /** Programul cu mutantul dat activ. */
+    public static DeliveryServiceSchemata of(Mutant mutant) {
+        if (mutant == null || MUTANTS.get(mutant.id()) != mutant) {
+            throw new IllegalArgumentException("Mutantul nu face parte din catalogul schemei.");
+        }
+        return new DeliveryServiceSchemata(mutant);
+    }
+
+    /** Catalogul tuturor mutanților, în ordinea ROR, LCR, AOR, CRCR. */
+    public static List<Mutant> mutants() {
+        return MUTANTS;
+    }
+
+    /** Constantele programului original (praguri, tarife, taxe, BASE_FEE), în ordinea locurilor CRCR. */
+    static double[] constants() {
+        return CONSTANTS.clone();
+    }
+
+    /** Mutantul activ sau null pentru programul original. */
+    public Mutant mutant() {
+        return mutant;
+    }
+
+    /**
+     * Același algoritm ca {@link ro.tss.delivery.DeliveryService#calculateDeliveryFee},
+     * cu operatorii și constantele citite din tabelele instanței.
+     */
+    public double calculateDeliveryFee(double distanceKm, double weightKg) {
+        // D1: C1 OR C2 (operanzii nu au efecte secundare, deci se evaluează ambii)
+        boolean c1 = compare(relational[C1], distanceKm, constants[K_DISTANCE_ZERO]);
+        boolean c2 = compare(relational[C2], weightKg, constants[K_WEIGHT_ZERO]);
+        if (conjunction ? c1 && c2 : c1 || c2) {
+            throw new IllegalArgumentException("Distanța și greutatea trebuie să fie pozitive.");
+        }
+
+        double distanceFee;
+        if (compare(relational[C3], distanceKm, constants[K_DISTANCE_SHORT])) {
+            distanceFee = apply(arithmetic[FEE_SHORT], distanceKm, constants[K_RATE_SHORT]);
+        } else if (compare(relational[C4], distanceKm, constants[K_DISTANCE_MEDIUM])) {
+            distanceFee = apply(arithmetic[FEE_MEDIUM], distanceKm, constants[K_RATE_MEDIUM]);
+        } else {
+            distanceFee = apply(arithmetic[FEE_LONG], distanceKm, constants[K_RATE_LONG]);
+        }
+
+        double weightFee;
+        if (compare(relational[C6], weightKg, constants[K_WEIGHT_LIGHT])) {
+            weightFee = constants[K_FEE_LIGHT];
+        } else if (compare(relational[C7], weightKg, constants[K_WEIGHT_MEDIUM])) {
+            weightFee = constants[K_FEE_MEDIUM];
+        } else if (compare(relational[C8], weightKg, constants[K_WEIGHT_HEAVY])) {
+            weightFee = constants[K_FEE_HEAVY];
+        } else {
+            weightFee = constants[K_FEE_VERY_HEAVY];
+        }
+
+        return apply(arithmetic[SUM_WEIGHT],
+                apply(arithmetic[SUM_DISTANCE], constants[K_BASE_FEE], distanceFee), weightFee);
+    }
+
+    private static boolean compare(int operator, double left, double right) {
+        switch (operator) {
+            case LT: return left < right;
+            case LE: return left <= right;
+            case GT: return left > right;
+            case GE: return left >= right;
+            case EQ: return left == right;
+            default: return left != right;
+        }
+    }
+
+    private static double apply(int operator, double left, double right) {
+        switch (operator) {
+            case ADD: return left + right;
+            case SUB: return left - right;
+            case MUL: return left * right;
+            case DIV: return left / right;
+            default: return left % right;
+        }
+    }
+
+    private static double[] standardConstants() {
+        RateCard card = RateCard.standard();
+        double[] d = card.distanceThresholds();
+        double[] r = card.distanceRates();
+        double[] w = card.weightThresholds();
+        double[] f = card.weightFees();
+        if (d.length != 2 || w.length != 3) {
+            throw new IllegalStateException("Schema presupune 2 praguri de distanță și 3 de greutate.");
+        }
+        return new double[] {
+                0.0, 0.0,
+                d[0], d[1],
+                w[0], w[1], w[2],
+                r[0], r[1], r[2],
+                f[0], f[1], f[2], f[3],
+                card.baseFee()};
+    }
+
+    private static List<Mutant> buildCatalog() {
+        List<Mutant> catalog = new ArrayList<>();
+
+        for (int site = 0; site < RELATIONAL_LABELS.length; site++) {
+            String left = RELATIONAL_OPERANDS[site] + " ";
+            String right = " " + format(CONSTANTS[site]);
+            for (int op : new int[] {LT, GT, GE, EQ, NE}) {
+                catalog.add(new Mutant(catalog.size(), Mutant.Operator.ROR, site, op, Double.NaN,
+                        RELATIONAL_LABELS[site] + ": " + left + "<=" + right
+                                + " → " + left + RELATIONAL_SYMBOLS[op] + right));
+            }
+        }
+
+        catalog.add(new Mutant(catalog.size(), Mutant.Operator.LCR, 0, 0, Double.NaN,
+                "D1: C1 || C2 → C1 && C2"));
+
+        for (int site = 0; site < ARITHMETIC_ORIGINAL.length; site++) {
+            String left = ARITHMETIC_OPERANDS[site][0] + " ";
+            String right = " " + ARITHMETIC_OPERANDS[site][1];
+            String original = left + ARITHMETIC_SYMBOLS[ARITHMETIC_ORIGINAL[site]] + right;
+            for (int op = ADD; op <= REM; op++) {
+                if (op != ARITHMETIC_ORIGINAL[site]) {
+                    catalog.add(new Mutant(catalog.size(), Mutant.Operator.AOR, site, op, Double.NaN,
+                            original + " → " + left + ARITHMETIC_SYMBOLS[op] + right));
+                }
+            }
+        }
+
+        for (int site = 0; site < CONSTANTS.length; site++) {
+            double c = CONSTANTS[site];
+            List<Double> used = new ArrayList<>();
+            used.add(c);
+            for (double replacement : new double[] {1, 0, -1, -c, c + 1, c - 1}) {
+                // 0.0 și -0.0 sunt aceeași înlocuire (== le consideră egale)
+                if (used.stream().noneMatch(value -> value == replacement)) {
+                    used.add(replacement);
+                    catalog.add(new Mutant(catalog.size(), Mutant.Operator.CRCR, site, 0, replacement,
+                            CONSTANT_NAMES[site] + ": " + format(c) + " → " + format(replacement)));
+                }
+            }
+        }
+        return catalog;
+    }
+
+    private static String format(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,284 @@
+package ro.tss.delivery.mutation;
+
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.DeliveryServiceMutantEquivalent;
+import ro.tss.delivery.DeliveryServiceMutantKilled;
+import ro.tss.delivery.DeliveryServiceMutantSurvived;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Testare diferențială de mare debit: original vs. mutanți, pe milioane de perechi (d, w)
+ * generate.
+ *
+ * Intrările sunt generate pe blocuri de {@link #CHUNK} perechi; blocul k folosește
+ * propriul generator (seed + k), deci conținutul lui nu depinde de firul care îl
+ * procesează. Pentru fiecare bloc se calculează o singură dată rezultatul originalului,
+ * apoi fiecare mutant este rulat pe tot blocul. Astfel:
+ * - un fir lucrează pe blocuri independente, fără sincronizare în bucla interioară;
+ * - "prima intrare care distinge" este cea cu indexul global minim, deci raportul este
+ *   același indiferent de numărul de fire.
+ *
+ * Un rezultat este fie taxa (comparată bit cu bit), fie respingerea cu
+ * IllegalArgumentException; orice altă excepție este o diferență.
+ */
+public final class DifferentialHarness {
+
+    static final int CHUNK = 1 << 14;
+
+    /** Clasele de intrări generate, în proporții egale. */
+    public enum InputClass {
+        /** d în (0, 120], w în (0, 30], uniform. */
+        NOMINAL,
+        /** d la câteva ulp sau sutimi de un prag de distanță (0, 10, 50), w nominal. */
+        DISTANCE_BOUNDARY,
+        /** w la câteva ulp sau sutimi de un prag de greutate (0, 2, 5, 15), d nominal. */
+        WEIGHT_BOUNDARY,
+        /** d ≤ 0 sau w ≤ 0, inclusiv -0.0. */
+        INVALID
+    }
+
+    /** O implementare comparată cu originalul. */
+    public static final class Candidate {
+
+        private final String name;
+        private final DoubleBinaryOperator pricer;
+
+        public Candidate(String name, DoubleBinaryOperator pricer) {
+            this.name = Objects.requireNonNull(name);
+            this.pricer = Objects.requireNonNull(pricer);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    static final double[] DISTANCE_THRESHOLDS = {0, 10, 50};
+    static final double[] WEIGHT_THRESHOLDS = {0, 2, 5, 15};
+
+    /** Codificarea respingerii: un NaN cu payload propriu, distinct de NaN-ul canonic. */
+    private static final long REJECTED = 0x7ff8_dead_0000_0001L;
+    /** Orice altă excepție decât IllegalArgumentException. */
+    private static final long FAILED = 0x7ff8_dead_0000_0002L;
+
+    private static final InputClass[] CLASSES = InputClass.values();
+
+    private final DoubleBinaryOperator original;
+    private final List<Candidate> candidates;
+
+    public DifferentialHarness(DoubleBinaryOperator original, List<Candidate> candidates) {
+        this.original = Objects.requireNonNull(original);
+        this.candidates = List.copyOf(candidates);
+    }
+
+    /**
+     * DeliveryService vs. cei trei mutanți scriși de mână și toți mutanții schemei.
+     */
+    public static DifferentialHarness forDeliveryService() {
+        List<Candidate> candidates = new ArrayList<>();
+        candidates.add(new Candidate("DeliveryServiceMutantEquivalent",
+                new DeliveryServiceMutantEquivalent()::calculateDeliveryFee));
+        candidates.add(new Candidate("DeliveryServiceMutantKilled",
+                new DeliveryServiceMutantKilled()::calculateDeliveryFee));
+        candidates.add(new Candidate("DeliveryServiceMutantSurvived",
+                new DeliveryServiceMutantSurvived()::calculateDeliveryFee));
+        for (Mutant mutant : DeliveryServiceSchemata.mutants()) {
+            candidates.add(new Candidate(mutant.toString(), DeliveryServiceSchemata.of(mutant)::calculateDeliveryFee));
+        }
+        return new DifferentialHarness(new DeliveryService()::calculateDeliveryFee, candidates);
+    }
+
+    public List<Candidate> candidates() {
+        return candidates;
+    }
+
+    /**
+     * Compară originalul cu toți candidații pe {@code inputs} perechi generate din {@code seed}.
+     *
+     * @param threads numărul de fire de lucru (≥ 1)
+     */
+    public DifferentialReport run(long inputs, long seed, int threads) {
+        if (inputs <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Numărul de intrări și de fire trebuie să fie pozitive.");
+        }
+        long chunks = (inputs + CHUNK - 1) / CHUNK;
+        AtomicLong nextChunk = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<Worker>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    Worker worker = new Worker();
+                    for (long c = nextChunk.getAndIncrement(); c < chunks; c = nextChunk.getAndIncrement()) {
+                        worker.process(c, (int) Math.min(CHUNK, inputs - c * CHUNK), seed);
+                    }
+                    return worker;
+                }));
+            }
+            Worker total = new Worker();
+            for (Future<Worker> future : futures) {
+                total.merge(future.get());
+            }
+            return total.report(inputs, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rularea diferențială a fost întreruptă.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rularea diferențială a eșuat.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Generează blocul {@code chunk}: clasa i-a intrare este i mod 4.
+     */
+    static void generate(long chunk, long seed, double[] d, double[] w, int count) {
+        SplittableRandom random = new SplittableRandom(seed + chunk * 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < count; i++) {
+            switch (CLASSES[i & 3]) {
+                case NOMINAL -> {
+                    d[i] = nominal(random, 120);
+                    w[i] = nominal(random, 30);
+                }
+                case DISTANCE_BOUNDARY -> {
+                    d[i] = near(random, DISTANCE_THRESHOLDS[random.nextInt(DISTANCE_THRESHOLDS.length)]);
+                    w[i] = nominal(random, 30);
+                }
+                case WEIGHT_BOUNDARY -> {
+                    d[i] = nominal(random, 120);
+                    w[i] = near(random, WEIGHT_THRESHOLDS[random.nextInt(WEIGHT_THRESHOLDS.length)]);
+                }
+                case INVALID -> {
+                    double invalid = switch (random.nextInt(4)) {
+                        case 0 -> 0.0;
+                        case 1 -> -0.0;
+                        default -> -nominal(random, 100);
+                    };
+                    boolean both = random.nextInt(8) == 0;
+                    boolean distance = random.nextBoolean();
+                    d[i] = distance || both ? invalid : nominal(random, 120);
+                    w[i] = !distance || both ? invalid : nominal(random, 30);
+                }
+            }
+        }
+    }
+
+    static InputClass classOf(long index) {
+        return CLASSES[(int) (index & 3)];
+    }
+
+    private static double nominal(SplittableRandom random, double max) {
+        return max - random.nextDouble(max);   // (0, max]
+    }
+
+    /**
+     * Un punct lângă prag: jumătate din cazuri la cel mult 64 ulp (pragul însuși inclus),
+     * restul în [t - 0.05, t + 0.05] rotunjit la sutimi, ca valorile din testele BVA.
+     */
+    private static double near(SplittableRandom random, double threshold) {
+        if (random.nextBoolean()) {
+            int ulps = random.nextInt(129) - 64;
+            if (threshold == 0) {
+                return ulps * Double.MIN_VALUE;
+            }
+            return Double.longBitsToDouble(Double.doubleToRawLongBits(threshold) + ulps);
+        }
+        return threshold + (random.nextInt(11) - 5) / 100.0;
+    }
+
+    private static long outcome(DoubleBinaryOperator pricer, double d, double w) {
+        try {
+            return Double.doubleToRawLongBits(pricer.applyAsDouble(d, w));
+        } catch (IllegalArgumentException e) {
+            return REJECTED;
+        } catch (RuntimeException e) {
+            return FAILED;
+        }
+    }
+
+    /** Stare locală unui fir; combinată la final. */
+    private final class Worker {
+
+        final double[] d = new double[CHUNK];
+        final double[] w = new double[CHUNK];
+        final long[] expected = new long[CHUNK];
+        final long[][] kills = new long[candidates.size()][CLASSES.length];
+        final long[] firstIndex = new long[candidates.size()];
+        final double[] firstDistance = new double[candidates.size()];
+        final double[] firstWeight = new double[candidates.size()];
+
+        Worker() {
+            Arrays.fill(firstIndex, Long.MAX_VALUE);
+        }
+
+        void process(long chunk, int count, long seed) {
+            generate(chunk, seed, d, w, count);
+            for (int i = 0; i < count; i++) {
+                expected[i] = outcome(original, d[i], w[i]);
+            }
+            long base = chunk * CHUNK;
+            for (int m = 0; m < candidates.size(); m++) {
+                DoubleBinaryOperator pricer = candidates.get(m).pricer;
+                long[] killsPerClass = kills[m];
+                int first = -1;
+                for (int i = 0; i < count; i++) {
+                    if (outcome(pricer, d[i], w[i]) != expected[i]) {
+                        killsPerClass[i & 3]++;
+                        if (first < 0) {
+                            first = i;
+                        }
+                    }
+                }
+                if (first >= 0 && base + first < firstIndex[m]) {
+                    firstIndex[m] = base + first;
+                    firstDistance[m] = d[first];
+                    firstWeight[m] = w[first];
+                }
+            }
+        }
+
+        void merge(Worker other) {
+            for (int m = 0; m < candidates.size(); m++) {
+                for (int c = 0; c < CLASSES.length; c++) {
+                    kills[m][c] += other.kills[m][c];
+                }
+                if (other.firstIndex[m] < firstIndex[m]) {
+                    firstIndex[m] = other.firstIndex[m];
+                    firstDistance[m] = other.firstDistance[m];
+                    firstWeight[m] = other.firstWeight[m];
+                }
+            }
+        }
+
+        DifferentialReport report(long inputs, long elapsedNanos) {
+            long[] perClass = new long[CLASSES.length];
+            for (int c = 0; c < CLASSES.length; c++) {
+                perClass[c] = inputs / 4 + (c < inputs % 4 ? 1 : 0);
+            }
+            List<DifferentialReport.Entry> entries = new ArrayList<>(candidates.size());
+            for (int m = 0; m < candidates.size(); m++) {
+                entries.add(new DifferentialReport.Entry(candidates.get(m).name(), kills[m],
+                        firstIndex[m], firstDistance[m], firstWeight[m]));
+            }
+            return new DifferentialReport(entries, perClass, inputs * candidates.size(), elapsedNanos);
+        }
+    }
+}
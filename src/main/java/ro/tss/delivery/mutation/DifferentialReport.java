@@ -0,0 +1,124 @@
+package ro.tss.delivery.mutation;
+
+import ro.tss.delivery.mutation.DifferentialHarness.InputClass;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rezultatul unei rulări {@link DifferentialHarness}: pentru fiecare candidat, prima
+ * intrare care îl distinge de original și rata de omorâre pe clase de intrări.
+ */
+public final class DifferentialReport {
+
+    /** Rezultatul unui candidat. */
+    public static final class Entry {
+
+        private final String name;
+        private final long[] kills;
+        private final long firstIndex;
+        private final double firstDistanceKm;
+        private final double firstWeightKg;
+
+        Entry(String name, long[] kills, long firstIndex, double firstDistanceKm, double firstWeightKg) {
+            this.name = name;
+            this.kills = kills.clone();
+            this.firstIndex = firstIndex;
+            this.firstDistanceKm = firstDistanceKm;
+            this.firstWeightKg = firstWeightKg;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean killed() {
+            return firstIndex != Long.MAX_VALUE;
+        }
+
+        /** Indexul global al primei intrări care distinge (Long.MAX_VALUE dacă nu există). */
+        public long firstIndex() {
+            return firstIndex;
+        }
+
+        public InputClass firstInputClass() {
+            return killed() ? DifferentialHarness.classOf(firstIndex) : null;
+        }
+
+        public double firstDistanceKm() {
+            return firstDistanceKm;
+        }
+
+        public double firstWeightKg() {
+            return firstWeightKg;
+        }
+
+        /** Numărul de intrări din clasă pe care candidatul diferă de original. */
+        public long kills(InputClass inputClass) {
+            return kills[inputClass.ordinal()];
+        }
+
+        @Override
+        public String toString() {
+            return killed()
+                    ? name + ": omorât la #" + firstIndex + " " + firstInputClass()
+                    + " (d=" + firstDistanceKm + ", w=" + firstWeightKg + ")"
+                    : name + ": nedistins";
+        }
+    }
+
+    private final List<Entry> entries;
+    private final long[] inputsPerClass;
+    private final long comparisons;
+    private final long elapsedNanos;
+
+    DifferentialReport(List<Entry> entries, long[] inputsPerClass, long comparisons, long elapsedNanos) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.inputsPerClass = inputsPerClass.clone();
+        this.comparisons = comparisons;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<Entry> entries() {
+        return entries;
+    }
+
+    public Entry entry(String name) {
+        return entries.stream()
+                .filter(e -> e.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Candidat necunoscut: " + name));
+    }
+
+    public long inputs(InputClass inputClass) {
+        return inputsPerClass[inputClass.ordinal()];
+    }
+
+    /** Fracțiunea intrărilor din clasă care disting candidatul de original. */
+    public double killRate(Entry entry, InputClass inputClass) {
+        long inputs = inputs(inputClass);
+        return inputs == 0 ? 0 : (double) entry.kills(inputClass) / inputs;
+    }
+
+    public long comparisons() {
+        return comparisons;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double comparisonsPerMinute() {
+        return comparisons * 60e9 / Math.max(1, elapsedNanos);
+    }
+
+    public long killedCount() {
+        return entries.stream().filter(Entry::killed).count();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d candidați, %d distinși, %d comparații în %.2f s (%.1f M comparații/min)",
+                entries.size(), killedCount(), comparisons, elapsedNanos / 1e9, comparisonsPerMinute() / 1e6);
+    }
+}
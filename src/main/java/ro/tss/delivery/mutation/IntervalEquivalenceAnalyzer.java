@@ -0,0 +1,343 @@
+package ro.tss.delivery.mutation;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Detectarea mutanților echivalenți prin analiză pe intervale.
+ *
+ * IPOTEZA:
+ * ========
+ * Clasele de tarifare din proiect compară intrările doar cu constante și combină
+ * constantele liniar, deci taxa este o funcție afină pe porțiuni în (d, w), cu
+ * schimbări doar la constantele din cod. Constantele se citesc din constant pool-ul
+ * fișierelor .class (ldc2_w), la care se adaugă 0 și 1 (dconst_0, dconst_1).
+ *
+ * ALGORITMUL:
+ * ===========
+ * 1. Constantele ambelor programe devin puncte de rupere pe fiecare axă; ele împart
+ *    axa în intervale deschise și puncte.
+ * 2. Pe fiecare axă se eșantionează: fiecare punct de rupere și vecinii lui la
+ *    1..{@value #NEIGHBOURHOOD_ULPS} ulp (Math.nextUp / Math.nextDown), trei puncte interioare
+ *    pe interval și valorile speciale (-0.0, ±MAX_VALUE, ±infinit, NaN).
+ * 3. Se compară bit cu bit cele două programe pe produsul cartezian al eșantioanelor;
+ *    prima diferență → KILLED, cu intrarea care o demonstrează.
+ * 4. Dacă nu există diferențe, pe fiecare celulă deschisă (interval × interval) se
+ *    verifică ipoteza, separat pentru original și pentru mutant: rezultatele de pe grila
+ *    3 × 3 interioară trebuie să fie ori toate respingeri, ori valorile unei funcții
+ *    afine a + b·d + c·w. Două funcții afine care coincid în trei puncte necoliniare
+ *    coincid pe toată celula → EQUIVALENT. Dacă unul dintre programe nu respectă ipoteza
+ *    pe o celulă (ex.: rest, produs d·w) → NOT_YET_KILLED.
+ *
+ * EQUIVALENT este o demonstrație doar dacă punctele de rupere conțin constantele
+ * AMBELOR programe: o diferență într-un punct care nu este constantă a niciunuia nu
+ * poate fi găsită prin eșantionare. Constantele sunt cunoscute pentru mutanții schemei
+ * și pentru perechile de clase (constant pool); pentru două funcții oarecare
+ * ({@link #analyze(DoubleBinaryOperator, DoubleBinaryOperator, double[])}) rezultatul este
+ * deci cel mult NOT_YET_KILLED.
+ */
+public final class IntervalEquivalenceAnalyzer {
+
+    /** Clasificarea unui mutant. */
+    public enum Verdict {
+        EQUIVALENT,
+        KILLED,
+        NOT_YET_KILLED
+    }
+
+    /** Rezultatul analizei unui mutant. */
+    public static final class Result {
+
+        private final Verdict verdict;
+        private final double witnessDistanceKm;
+        private final double witnessWeightKg;
+        private final int evaluations;
+
+        Result(Verdict verdict, double witnessDistanceKm, double witnessWeightKg, int evaluations) {
+            this.verdict = verdict;
+            this.witnessDistanceKm = witnessDistanceKm;
+            this.witnessWeightKg = witnessWeightKg;
+            this.evaluations = evaluations;
+        }
+
+        public Verdict verdict() {
+            return verdict;
+        }
+
+        /** Distanța intrării care distinge mutantul (NaN dacă nu este KILLED). */
+        public double witnessDistanceKm() {
+            return witnessDistanceKm;
+        }
+
+        /** Greutatea intrării care distinge mutantul (NaN dacă nu este KILLED). */
+        public double witnessWeightKg() {
+            return witnessWeightKg;
+        }
+
+        /** Numărul de perechi (d, w) evaluate pe ambele programe. */
+        public int evaluations() {
+            return evaluations;
+        }
+
+        @Override
+        public String toString() {
+            return verdict == Verdict.KILLED
+                    ? verdict + " (d=" + witnessDistanceKm + ", w=" + witnessWeightKg + ")"
+                    : verdict.toString();
+        }
+    }
+
+    static final int NEIGHBOURHOOD_ULPS = 4;
+
+    private static final double[] SPECIAL = {
+            -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            Double.MAX_VALUE, -Double.MAX_VALUE};
+    private static final double[] INTERIOR = {0.25, 0.5, 0.75};
+    private static final double[] UNBOUNDED_STEPS = {1, 10, 1000};
+    private static final double AFFINE_TOLERANCE = 1e-9;
+
+    private static final long REJECTED = 0x7ff8_dead_0000_0001L;
+    private static final long FAILED = 0x7ff8_dead_0000_0002L;
+
+    private IntervalEquivalenceAnalyzer() {
+    }
+
+    /**
+     * Analizează un mutant al schemei; punctele de rupere sunt constantele schemei, ale
+     * tarifului ei și constanta înlocuitoare (pentru CRCR).
+     */
+    public static Result analyze(Mutant mutant) {
+        DeliveryServiceSchemata program = DeliveryServiceSchemata.of(mutant);
+        // Constantele tarifului vin din RateCard, deci nu sunt în constant pool-ul schemei
+        double[] pool = constants(DeliveryServiceSchemata.class);
+        double[] tariff = DeliveryServiceSchemata.constants();
+        double[] breakpoints = Arrays.copyOf(pool, pool.length + tariff.length + 1);
+        System.arraycopy(tariff, 0, breakpoints, pool.length, tariff.length);
+        breakpoints[breakpoints.length - 1] = mutant.operator() == Mutant.Operator.CRCR
+                ? mutant.replacementConstant() : 0.0;
+        return classify(DeliveryServiceSchemata.original()::calculateDeliveryFee,
+                program::calculateDeliveryFee, breakpoints, true);
+    }
+
+    /**
+     * Analizează două clase de tarifare; punctele de rupere sunt constantele ambelor clase.
+     */
+    public static Result analyze(Class<?> originalClass, DoubleBinaryOperator original,
+                                 Class<?> mutantClass, DoubleBinaryOperator mutant) {
+        double[] a = constants(originalClass);
+        double[] b = constants(mutantClass);
+        double[] breakpoints = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, breakpoints, a.length, b.length);
+        return classify(original, mutant, breakpoints, true);
+    }
+
+    /**
+     * Analizează două funcții oarecare cu punctele de rupere date (aceleași pe ambele axe).
+     * Constantele funcțiilor nu pot fi citite, deci echivalența nu poate fi demonstrată:
+     * rezultatul este KILLED sau NOT_YET_KILLED.
+     */
+    public static Result analyze(DoubleBinaryOperator original, DoubleBinaryOperator mutant, double[] breakpoints) {
+        return classify(original, mutant, breakpoints, false);
+    }
+
+    /**
+     * @param complete dacă punctele de rupere conțin sigur constantele ambelor programe
+     */
+    private static Result classify(DoubleBinaryOperator original, DoubleBinaryOperator mutant,
+                                   double[] breakpoints, boolean complete) {
+        double[] points = axisBreakpoints(breakpoints);
+        double[] samples = axisSamples(points);
+        int evaluations = 0;
+
+        // Pasul 3: căutarea unei diferențe
+        for (double d : samples) {
+            for (double w : samples) {
+                evaluations++;
+                if (outcome(original, d, w) != outcome(mutant, d, w)) {
+                    return new Result(Verdict.KILLED, d, w, evaluations);
+                }
+            }
+        }
+
+        if (!complete) {
+            return new Result(Verdict.NOT_YET_KILLED, Double.NaN, Double.NaN, evaluations);
+        }
+
+        // Pasul 4: ipoteza afină pe fiecare celulă deschisă, pentru ambele programe
+        int intervals = points.length + 1;
+        for (int i = 0; i < intervals; i++) {
+            double[] ds = interior(points, i);
+            for (int j = 0; j < intervals; j++) {
+                double[] ws = interior(points, j);
+                if (!affineOrRejected(original, ds, ws) || !affineOrRejected(mutant, ds, ws)) {
+                    return new Result(Verdict.NOT_YET_KILLED, Double.NaN, Double.NaN, evaluations);
+                }
+            }
+        }
+        return new Result(Verdict.EQUIVALENT, Double.NaN, Double.NaN, evaluations);
+    }
+
+    /**
+     * Mutanții din listă care nu sunt dovediți echivalenți; doar aceștia merită rulați
+     * de {@link SchemataRunner} și numărați în scorul de mutație.
+     */
+    public static List<Mutant> nonEquivalent(List<Mutant> mutants) {
+        List<Mutant> result = new ArrayList<>();
+        for (Mutant mutant : mutants) {
+            if (analyze(mutant).verdict() != Verdict.EQUIVALENT) {
+                result.add(mutant);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Constantele double finite din constant pool-ul clasei, plus 0 și 1.
+     *
+     * @throws IllegalArgumentException dacă fișierul .class nu poate fi citit
+     */
+    static double[] constants(Class<?> type) {
+        String resource = type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class";
+        TreeSet<Double> values = new TreeSet<>(List.of(0.0, 1.0));
+        try (InputStream in = type.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Fișierul " + resource + " nu este disponibil.");
+            }
+            DataInputStream data = new DataInputStream(in);
+            data.readInt();                                 // magic
+            data.readInt();                                 // minor, major
+            int count = data.readUnsignedShort();
+            for (int index = 1; index < count; index++) {
+                int tag = data.readUnsignedByte();
+                switch (tag) {
+                    case 1 -> data.skipBytes(data.readUnsignedShort());       // Utf8
+                    case 3, 4 -> data.skipBytes(4);                           // Integer, Float
+                    case 5 -> {                                               // Long: două intrări
+                        data.skipBytes(8);
+                        index++;
+                    }
+                    case 6 -> {                                               // Double: două intrări
+                        double value = data.readDouble();
+                        if (Double.isFinite(value)) {
+                            values.add(value == 0 ? 0.0 : value);
+                        }
+                        index++;
+                    }
+                    case 7, 8, 16, 19, 20 -> data.skipBytes(2);
+                    case 9, 10, 11, 12, 17, 18 -> data.skipBytes(4);
+                    case 15 -> data.skipBytes(3);
+                    default -> throw new IllegalArgumentException(
+                            "Intrare necunoscută în constant pool: " + tag + " în " + resource);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private static double[] axisBreakpoints(double[] breakpoints) {
+        TreeSet<Double> sorted = new TreeSet<>();
+        for (double value : breakpoints) {
+            if (Double.isFinite(value)) {
+                sorted.add(value == 0 ? 0.0 : value);
+            }
+        }
+        return sorted.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private static double[] axisSamples(double[] points) {
+        TreeSet<Double> samples = new TreeSet<>();
+        for (double point : points) {
+            samples.add(point);
+            double up = point;
+            double down = point;
+            for (int k = 0; k < NEIGHBOURHOOD_ULPS; k++) {
+                up = Math.nextUp(up);
+                down = Math.nextDown(down);
+                samples.add(up);
+                samples.add(down);
+            }
+        }
+        for (int i = 0; i <= points.length; i++) {
+            for (double value : interior(points, i)) {
+                samples.add(value);
+            }
+        }
+        double[] result = new double[samples.size() + SPECIAL.length];
+        int n = 0;
+        for (double value : samples) {
+            result[n++] = value;
+        }
+        System.arraycopy(SPECIAL, 0, result, n, SPECIAL.length);
+        return result;
+    }
+
+    /** Trei puncte interioare ale intervalului i (0 = (-inf, p0), ultimul = (p_k, +inf)). */
+    private static double[] interior(double[] points, int interval) {
+        double[] result = new double[3];
+        for (int k = 0; k < 3; k++) {
+            if (interval == 0) {
+                result[k] = points[0] - UNBOUNDED_STEPS[k];
+            } else if (interval == points.length) {
+                result[k] = points[points.length - 1] + UNBOUNDED_STEPS[k];
+            } else {
+                double lo = points[interval - 1];
+                double hi = points[interval];
+                result[k] = lo + (hi - lo) * INTERIOR[k];
+            }
+        }
+        return result;
+    }
+
+    private static boolean affineOrRejected(DoubleBinaryOperator program, double[] ds, double[] ws) {
+        long[][] outcomes = new long[3][3];
+        int rejected = 0;
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                outcomes[i][j] = outcome(program, ds[i], ws[j]);
+                if (outcomes[i][j] == REJECTED) {
+                    rejected++;
+                } else if (outcomes[i][j] == FAILED || !Double.isFinite(Double.longBitsToDouble(outcomes[i][j]))) {
+                    return false;
+                }
+            }
+        }
+        if (rejected == 9) {
+            return true;
+        }
+        if (rejected > 0) {
+            return false;
+        }
+        double f00 = Double.longBitsToDouble(outcomes[0][0]);
+        double b = (Double.longBitsToDouble(outcomes[2][0]) - f00) / (ds[2] - ds[0]);
+        double c = (Double.longBitsToDouble(outcomes[0][2]) - f00) / (ws[2] - ws[0]);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                double f = Double.longBitsToDouble(outcomes[i][j]);
+                double predicted = f00 + b * (ds[i] - ds[0]) + c * (ws[j] - ws[0]);
+                if (Math.abs(f - predicted) > AFFINE_TOLERANCE * Math.max(1, Math.abs(f))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static long outcome(DoubleBinaryOperator program, double d, double w) {
+        try {
+            return Double.doubleToRawLongBits(program.applyAsDouble(d, w));
+        } catch (IllegalArgumentException e) {
+            return REJECTED;
+        } catch (RuntimeException e) {
+            return FAILED;
+        }
+    }
+}
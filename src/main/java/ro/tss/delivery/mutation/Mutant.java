@@ -0,0 +1,72 @@
+package ro.tss.delivery.mutation;
+
+/**
+ * Un mutant din schema {@link DeliveryServiceSchemata}: locul mutației, operatorul
+ * de mutație și înlocuirea aplicată. Instanțele sunt create doar de catalogul
+ * {@link DeliveryServiceSchemata#mutants()}.
+ */
+public final class Mutant {
+
+    /**
+     * Operatorii de mutație, cu denumirile folosite și de PITest.
+     */
+    public enum Operator {
+        /** Relational Operator Replacement: {@code <=} înlocuit cu {@code <, >, >=, ==, !=}. */
+        ROR,
+        /** Logical Connector Replacement: {@code ||} înlocuit cu {@code &&}. */
+        LCR,
+        /** Arithmetic Operator Replacement: {@code +, *} înlocuiți cu celelalte operații. */
+        AOR,
+        /** Constant Replacement: constanta c înlocuită cu 0, 1, -1, -c, c + 1, c - 1. */
+        CRCR
+    }
+
+    private final int id;
+    private final Operator operator;
+    private final int site;
+    private final int replacementOperator;
+    private final double replacementConstant;
+    private final String description;
+
+    Mutant(int id, Operator operator, int site, int replacementOperator, double replacementConstant,
+           String description) {
+        this.id = id;
+        this.operator = operator;
+        this.site = site;
+        this.replacementOperator = replacementOperator;
+        this.replacementConstant = replacementConstant;
+        this.description = description;
+    }
+
+    /** Indexul în catalog; identifică mutantul pe durata unei rulări. */
+    public int id() {
+        return id;
+    }
+
+    public Operator operator() {
+        return operator;
+    }
+
+    /** Indexul locului mutației, în tabela operatorului (relațional, aritmetic sau constantă). */
+    public int site() {
+        return site;
+    }
+
+    int replacementOperator() {
+        return replacementOperator;
+    }
+
+    double replacementConstant() {
+        return replacementConstant;
+    }
+
+    /** Ex.: "C3: distanceKm <= 10 → distanceKm < 10". */
+    public String description() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + id + " " + operator + " " + description;
+    }
+}
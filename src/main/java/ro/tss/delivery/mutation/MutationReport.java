@@ -0,0 +1,98 @@
+package ro.tss.delivery.mutation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Rezultatul unei rulări a suitei pe toți mutanții schemei.
+ */
+public final class MutationReport {
+
+    /** Un mutant și primul caz sau test care l-a omorât (null dacă a supraviețuit). */
+    public static final class Result {
+
+        private final Mutant mutant;
+        private final String killer;
+        private final OracleCase killedBy;
+
+        Result(Mutant mutant, OracleCase killedBy) {
+            this.mutant = mutant;
+            this.killer = killedBy == null ? null : killedBy.toString();
+            this.killedBy = killedBy;
+        }
+
+        Result(Mutant mutant, String killer) {
+            this.mutant = mutant;
+            this.killer = killer;
+            this.killedBy = null;
+        }
+
+        public Mutant mutant() {
+            return mutant;
+        }
+
+        /** Numele cazului sau al testului JUnit care a omorât mutantul. */
+        public String killer() {
+            return killer;
+        }
+
+        /** Cazul {@link OracleCase} care a omorât mutantul; null și pentru mutanții omorâți de un test JUnit. */
+        public OracleCase killedBy() {
+            return killedBy;
+        }
+
+        public boolean killed() {
+            return killer != null;
+        }
+    }
+
+    private final List<Result> results;
+    private final long executions;
+    private final long elapsedNanos;
+
+    MutationReport(List<Result> results, long executions, long elapsedNanos) {
+        this.results = Collections.unmodifiableList(results);
+        this.executions = executions;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<Result> results() {
+        return results;
+    }
+
+    public int mutantCount() {
+        return results.size();
+    }
+
+    public int killedCount() {
+        return (int) results.stream().filter(Result::killed).count();
+    }
+
+    public List<Mutant> survivors() {
+        return results.stream().filter(r -> !r.killed()).map(Result::mutant).collect(Collectors.toList());
+    }
+
+    /** Scorul de mutație: mutanți omorâți / total. */
+    public double score() {
+        return results.isEmpty() ? 1.0 : (double) killedCount() / results.size();
+    }
+
+    /**
+     * Numărul de execuții (mutant, caz) efectuate. {@link SchemataRunner} oprește rularea unui
+     * mutant la primul eșec; rularea unei suite JUnit execută toate testele ei.
+     */
+    public long executions() {
+        return executions;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d mutanți, %d omorâți, scor %.1f%%, %d execuții în %.3f ms",
+                mutantCount(), killedCount(), 100 * score(), executions, elapsedNanos / 1e6);
+    }
+}
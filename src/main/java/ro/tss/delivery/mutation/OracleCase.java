@@ -0,0 +1,69 @@
+package ro.tss.delivery.mutation;
+
+/**
+ * Un caz de test portabil: intrările și rezultatul așteptat, verificabile pe orice
+ * instanță a schemei. Taxa așteptată NaN înseamnă că se așteaptă IllegalArgumentException.
+ */
+public final class OracleCase {
+
+    /** Toleranța comparațiilor, aceeași ca în testele JUnit (DELTA). */
+    static final double DELTA = 0.001;
+
+    private final String name;
+    private final double distanceKm;
+    private final double weightKg;
+    private final double expectedFee;
+
+    private OracleCase(String name, double distanceKm, double weightKg, double expectedFee) {
+        this.name = name;
+        this.distanceKm = distanceKm;
+        this.weightKg = weightKg;
+        this.expectedFee = expectedFee;
+    }
+
+    public static OracleCase fee(String name, double distanceKm, double weightKg, double expectedFee) {
+        if (!Double.isFinite(expectedFee)) {
+            throw new IllegalArgumentException("Taxa așteptată trebuie să fie finită.");
+        }
+        return new OracleCase(name, distanceKm, weightKg, expectedFee);
+    }
+
+    public static OracleCase rejected(String name, double distanceKm, double weightKg) {
+        return new OracleCase(name, distanceKm, weightKg, Double.NaN);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public double distanceKm() {
+        return distanceKm;
+    }
+
+    public double weightKg() {
+        return weightKg;
+    }
+
+    public boolean expectsRejection() {
+        return Double.isNaN(expectedFee);
+    }
+
+    /**
+     * Rulează cazul pe programul dat; false dacă rezultatul diferă de cel așteptat
+     * (altă taxă, excepție neașteptată sau excepție lipsă).
+     */
+    public boolean passes(DeliveryServiceSchemata program) {
+        double fee;
+        try {
+            fee = program.calculateDeliveryFee(distanceKm, weightKg);
+        } catch (IllegalArgumentException e) {
+            return expectsRejection();
+        }
+        return !expectsRejection() && Math.abs(fee - expectedFee) <= DELTA;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (d=" + distanceKm + ", w=" + weightKg + ")";
+    }
+}
@@ -0,0 +1,51 @@
+package ro.tss.delivery.mutation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rulează o suită de {@link OracleCase} pe mutanții {@link DeliveryServiceSchemata},
+ * în același JVM: fiecare mutant este o instanță nouă a schemei, nu o clasă nouă.
+ */
+public final class SchemataRunner {
+
+    private SchemataRunner() {
+    }
+
+    /** Rulează suita pe toți mutanții din catalog. */
+    public static MutationReport run(List<OracleCase> suite) {
+        return run(DeliveryServiceSchemata.mutants(), suite);
+    }
+
+    /**
+     * Rulează suita pe mutanții dați. Un mutant este omorât de primul caz care eșuează;
+     * restul cazurilor nu mai sunt rulate pentru el.
+     *
+     * @throws IllegalArgumentException dacă suita nu trece pe programul original
+     */
+    public static MutationReport run(List<Mutant> mutants, List<OracleCase> suite) {
+        DeliveryServiceSchemata original = DeliveryServiceSchemata.original();
+        for (OracleCase testCase : suite) {
+            if (!testCase.passes(original)) {
+                throw new IllegalArgumentException("Cazul " + testCase + " eșuează pe programul original.");
+            }
+        }
+
+        List<MutationReport.Result> results = new ArrayList<>(mutants.size());
+        long executions = 0;
+        long start = System.nanoTime();
+        for (Mutant mutant : mutants) {
+            DeliveryServiceSchemata program = DeliveryServiceSchemata.of(mutant);
+            OracleCase killer = null;
+            for (OracleCase testCase : suite) {
+                executions++;
+                if (!testCase.passes(program)) {
+                    killer = testCase;
+                    break;
+                }
+            }
+            results.add(new MutationReport.Result(mutant, killer));
+        }
+        return new MutationReport(results, executions, System.nanoTime() - start);
+    }
+}
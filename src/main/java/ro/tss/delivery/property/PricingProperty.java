@@ -0,0 +1,143 @@
+package ro.tss.delivery.property;
+
+import java.util.Objects;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Un invariant de business verificat pe eșantioane generate: un predicat peste un vector
+ * de coordonate, fiecare cu domeniul ei [min, max].
+ *
+ * Invarianții de monotonie sunt formulați cu un pas pozitiv (ex. d, w, Δw), nu cu două
+ * valori independente: astfel micșorarea contraexemplului micșorează direct distanța
+ * dintre cele două intrări comparate.
+ */
+public final class PricingProperty {
+
+    /** Predicatul invariantului; primește un tablou reutilizat, pe care nu îl modifică. */
+    @FunctionalInterface
+    public interface Check {
+        boolean holds(double[] sample);
+    }
+
+    /** Domeniul implicit al distanței, în km. */
+    public static final double MIN_DISTANCE = 0.01, MAX_DISTANCE = 200;
+    /** Domeniul implicit al greutății, în kg. */
+    public static final double MIN_WEIGHT = 0.01, MAX_WEIGHT = 50;
+    /** Domeniul pasului în invarianții de monotonie. */
+    public static final double MIN_STEP = 0.01, MAX_STEP = 20;
+
+    private final String name;
+    private final String[] coordinates;
+    private final double[] min;
+    private final double[] max;
+    private final Check check;
+    private final Function<double[], String> evidence;
+
+    public PricingProperty(String name, String[] coordinates, double[] min, double[] max, Check check) {
+        this(name, coordinates, min, max, check, sample -> "");
+    }
+
+    private PricingProperty(String name, String[] coordinates, double[] min, double[] max, Check check,
+                            Function<double[], String> evidence) {
+        if (coordinates.length == 0 || coordinates.length != min.length || min.length != max.length) {
+            throw new IllegalArgumentException("Fiecare coordonată trebuie să aibă un domeniu.");
+        }
+        for (int i = 0; i < min.length; i++) {
+            if (!(min[i] <= max[i])) {
+                throw new IllegalArgumentException("Domeniu invalid pentru " + coordinates[i] + ".");
+            }
+        }
+        this.name = Objects.requireNonNull(name);
+        this.coordinates = coordinates.clone();
+        this.min = min.clone();
+        this.max = max.clone();
+        this.check = Objects.requireNonNull(check);
+        this.evidence = evidence;
+    }
+
+    /** Taxa nu scade când greutatea crește: fee(d, w) ≤ fee(d, w + Δw). */
+    public static PricingProperty weightMonotonicity(DoubleBinaryOperator pricer) {
+        return new PricingProperty("taxa nu scade cu greutatea", new String[] {"d", "w", "Δw"},
+                new double[] {MIN_DISTANCE, MIN_WEIGHT, MIN_STEP},
+                new double[] {MAX_DISTANCE, MAX_WEIGHT, MAX_STEP},
+                x -> pricer.applyAsDouble(x[0], x[1]) <= pricer.applyAsDouble(x[0], x[1] + x[2]),
+                x -> fee(pricer, x[0], x[1]) + ", " + fee(pricer, x[0], x[1] + x[2]));
+    }
+
+    /**
+     * Taxa nu scade când distanța crește: fee(d, w) ≤ fee(d + Δd, w). Nu este respectat de
+     * DeliveryService la trecerea între trepte (10 km costă 10.00 RON, 10.01 km 9.004 RON).
+     */
+    public static PricingProperty distanceMonotonicity(DoubleBinaryOperator pricer) {
+        return new PricingProperty("taxa nu scade cu distanța", new String[] {"d", "Δd", "w"},
+                new double[] {MIN_DISTANCE, MIN_STEP, MIN_WEIGHT},
+                new double[] {MAX_DISTANCE, MAX_STEP, MAX_WEIGHT},
+                x -> pricer.applyAsDouble(x[0], x[2]) <= pricer.applyAsDouble(x[0] + x[1], x[2]),
+                x -> fee(pricer, x[0], x[2]) + ", " + fee(pricer, x[0] + x[1], x[2]));
+    }
+
+    /** Orice taxă este cel puțin {@code minimumFee}. */
+    public static PricingProperty minimumFee(DoubleBinaryOperator pricer, double minimumFee) {
+        return new PricingProperty("taxa este cel puțin " + minimumFee, new String[] {"d", "w"},
+                new double[] {MIN_DISTANCE, MIN_WEIGHT},
+                new double[] {MAX_DISTANCE, MAX_WEIGHT},
+                x -> pricer.applyAsDouble(x[0], x[1]) >= minimumFee,
+                x -> fee(pricer, x[0], x[1]));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int arity() {
+        return coordinates.length;
+    }
+
+    public String coordinate(int i) {
+        return coordinates[i];
+    }
+
+    public double min(int i) {
+        return min[i];
+    }
+
+    public double max(int i) {
+        return max[i];
+    }
+
+    public boolean holds(double[] sample) {
+        return check.holds(sample);
+    }
+
+    /**
+     * Eșantionul cu valorile exacte (Double.toString reproduce exact valoarea), urmat de
+     * taxele intrărilor comparate, pentru invarianții predefiniți.
+     */
+    public String describe(double[] sample) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < sample.length; i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(coordinates[i]).append('=').append(sample[i]);
+        }
+        String fees = evidence.apply(sample);
+        return fees.isEmpty() ? text.toString() : text.append(" → ").append(fees).toString();
+    }
+
+    private static String fee(DoubleBinaryOperator pricer, double d, double w) {
+        String fee;
+        try {
+            fee = Double.toString(pricer.applyAsDouble(d, w));
+        } catch (IllegalArgumentException e) {
+            fee = "respins";
+        }
+        return "fee(" + d + ", " + w + ") = " + fee;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
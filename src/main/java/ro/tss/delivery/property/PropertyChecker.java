@@ -0,0 +1,216 @@
+package ro.tss.delivery.property;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verifică un {@link PricingProperty} pe până la miliarde de eșantioane generate, pe
+ * mai multe fire, și micșorează primul contraexemplu găsit.
+ *
+ * Eșantioanele sunt generate pe blocuri de {@link #CHUNK}, fiecare cu propriul generator
+ * (seed, index bloc), ca în {@link ro.tss.delivery.mutation.DifferentialHarness}: un bloc
+ * are același conținut indiferent de firul care îl procesează, iar contraexemplul raportat
+ * este cel cu indexul global minim. După prima încălcare, blocurile aflate după ea nu mai
+ * sunt procesate.
+ *
+ * Fiecare coordonată este generată uniform în domeniul ei; jumătate din valori sunt
+ * rotunjite la sutimi, ca datele reale (distanțe în zeci de metri, greutăți în zeci de grame).
+ *
+ * Micșorarea este lacomă: pentru fiecare coordonată se încearcă valori mai simple (minimul
+ * domeniului, apoi valori cu mai puține zecimale, apoi valori mai mici) cât timp
+ * invariantul rămâne încălcat, până nu mai există nicio îmbunătățire.
+ */
+public final class PropertyChecker {
+
+    static final int CHUNK = 1 << 14;
+
+    private static final int MAX_SHRINK_STEPS = 10_000;
+
+    private PropertyChecker() {
+    }
+
+    /**
+     * Verifică invariantul pe {@code samples} eșantioane generate din {@code seed}.
+     *
+     * @param threads numărul de fire de lucru (≥ 1)
+     */
+    public static PropertyReport check(PricingProperty property, long samples, long seed, int threads) {
+        if (samples <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Numărul de eșantioane și de fire trebuie să fie pozitive.");
+        }
+        long chunks = (samples + CHUNK - 1) / CHUNK;
+        AtomicLong nextChunk = new AtomicLong();
+        AtomicLong firstViolation = new AtomicLong(Long.MAX_VALUE);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    // {eșantioane verificate, încălcări}
+                    long[] counts = new long[2];
+                    double[] sample = new double[property.arity()];
+                    for (long c = nextChunk.getAndIncrement(); c < chunks; c = nextChunk.getAndIncrement()) {
+                        long base = c * CHUNK;
+                        if (base > firstViolation.get()) {
+                            break;
+                        }
+                        SplittableRandom random = chunkRandom(seed, c);
+                        int count = (int) Math.min(CHUNK, samples - base);
+                        for (int i = 0; i < count; i++) {
+                            generate(property, random, sample);
+                            if (!holds(property, sample)) {
+                                counts[1]++;
+                                firstViolation.accumulateAndGet(base + i, Math::min);
+                            }
+                        }
+                        counts[0] += count;
+                    }
+                    return counts;
+                }));
+            }
+            long checked = 0;
+            long violations = 0;
+            for (Future<long[]> future : futures) {
+                long[] counts = future.get();
+                checked += counts[0];
+                violations += counts[1];
+            }
+            long elapsed = System.nanoTime() - start;
+            long index = firstViolation.get();
+            if (index == Long.MAX_VALUE) {
+                return new PropertyReport(property, checked, 0, elapsed, -1, null, null, 0);
+            }
+            double[] counterexample = sample(property, seed, index);
+            int[] steps = new int[1];
+            double[] shrunk = shrink(property, counterexample, steps);
+            return new PropertyReport(property, checked, violations, elapsed, index, counterexample, shrunk, steps[0]);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Verificarea invariantului a fost întreruptă.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Verificarea invariantului a eșuat.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Regenerează eșantionul cu indexul global dat. */
+    static double[] sample(PricingProperty property, long seed, long index) {
+        SplittableRandom random = chunkRandom(seed, index / CHUNK);
+        double[] sample = new double[property.arity()];
+        for (long i = index % CHUNK; i >= 0; i--) {
+            generate(property, random, sample);
+        }
+        return sample;
+    }
+
+    /**
+     * Micșorează un contraexemplu; {@code steps[0]} primește numărul de pași acceptați.
+     *
+     * @throws IllegalArgumentException dacă eșantionul nu încalcă invariantul
+     */
+    public static double[] shrink(PricingProperty property, double[] counterexample, int[] steps) {
+        double[] current = counterexample.clone();
+        if (holds(property, current)) {
+            throw new IllegalArgumentException("Eșantionul nu încalcă invariantul.");
+        }
+        int accepted = 0;
+        boolean improved = true;
+        while (improved && accepted < MAX_SHRINK_STEPS) {
+            improved = false;
+            for (int i = 0; i < current.length; i++) {
+                for (double candidate : candidates(current[i], property.min(i), property.max(i))) {
+                    if (!simpler(candidate, current[i], property.min(i))) {
+                        continue;
+                    }
+                    double previous = current[i];
+                    current[i] = candidate;
+                    if (holds(property, current)) {
+                        current[i] = previous;
+                    } else {
+                        accepted++;
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+        }
+        steps[0] = accepted;
+        return current;
+    }
+
+    private static double[] candidates(double x, double min, double max) {
+        double half = min + (x - min) / 2;
+        double[] candidates = {
+                min,
+                Math.floor(x),
+                Math.ceil(x),
+                round(x, 1),
+                round(x, 2),
+                x - 1,
+                Math.floor(half),
+                round(half, 2)
+        };
+        for (int i = 0; i < candidates.length; i++) {
+            if (!(candidates[i] >= min && candidates[i] <= max)) {
+                candidates[i] = x;   // în afara domeniului: ignorat, nu este mai simplu
+            }
+        }
+        return candidates;
+    }
+
+    /** Minimul domeniului e cea mai simplă valoare; altfel mai puține zecimale, apoi mai mică. */
+    static boolean simpler(double candidate, double current, double min) {
+        if (candidate == current || current == min) {
+            return false;
+        }
+        if (candidate == min) {
+            return true;
+        }
+        int a = decimals(candidate);
+        int b = decimals(current);
+        return a != b ? a < b : candidate < current;
+    }
+
+    static int decimals(double x) {
+        return Math.max(0, BigDecimal.valueOf(x).stripTrailingZeros().scale());
+    }
+
+    private static double round(double x, int decimals) {
+        return BigDecimal.valueOf(x).setScale(decimals, RoundingMode.HALF_EVEN).doubleValue();
+    }
+
+    private static SplittableRandom chunkRandom(long seed, long chunk) {
+        return new SplittableRandom(seed + chunk * 0x9E3779B97F4A7C15L);
+    }
+
+    private static void generate(PricingProperty property, SplittableRandom random, double[] sample) {
+        for (int i = 0; i < sample.length; i++) {
+            double min = property.min(i);
+            double max = property.max(i);
+            double x = min + random.nextDouble() * (max - min);
+            if (random.nextBoolean()) {
+                x = Math.min(max, Math.max(min, Math.rint(x * 100) / 100));
+            }
+            sample[i] = x;
+        }
+    }
+
+    /** O excepție în predicat este o încălcare. */
+    private static boolean holds(PricingProperty property, double[] sample) {
+        try {
+            return property.holds(sample);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ro.tss.delivery.property;
+
+import java.util.Optional;
+
+/**
+ * Rezultatul unei verificări {@link PropertyChecker}: eșantioanele verificate, debitul și,
+ * dacă invariantul a fost încălcat, primul contraexemplu și forma lui micșorată.
+ */
+public final class PropertyReport {
+
+    private final PricingProperty property;
+    private final long samples;
+    private final long violations;
+    private final long elapsedNanos;
+    private final long counterexampleIndex;
+    private final double[] counterexample;
+    private final double[] shrunk;
+    private final int shrinkSteps;
+
+    PropertyReport(PricingProperty property, long samples, long violations, long elapsedNanos,
+                   long counterexampleIndex, double[] counterexample, double[] shrunk, int shrinkSteps) {
+        this.property = property;
+        this.samples = samples;
+        this.violations = violations;
+        this.elapsedNanos = elapsedNanos;
+        this.counterexampleIndex = counterexampleIndex;
+        this.counterexample = counterexample;
+        this.shrunk = shrunk;
+        this.shrinkSteps = shrinkSteps;
+    }
+
+    public PricingProperty property() {
+        return property;
+    }
+
+    public boolean holds() {
+        return counterexample == null;
+    }
+
+    /** Eșantioanele verificate (mai puține decât cele cerute dacă s-a oprit la o încălcare). */
+    public long samples() {
+        return samples;
+    }
+
+    /** Încălcările găsite în eșantioanele verificate. */
+    public long violations() {
+        return violations;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double samplesPerSecond() {
+        return samples * 1e9 / Math.max(1, elapsedNanos);
+    }
+
+    /** Indexul global al primului eșantion care încalcă invariantul, sau -1. */
+    public long counterexampleIndex() {
+        return counterexampleIndex;
+    }
+
+    /** Primul eșantion care încalcă invariantul, exact cum a fost generat. */
+    public Optional<double[]> counterexample() {
+        return Optional.ofNullable(counterexample).map(double[]::clone);
+    }
+
+    /** Contraexemplul micșorat. */
+    public Optional<double[]> shrunk() {
+        return Optional.ofNullable(shrunk).map(double[]::clone);
+    }
+
+    public int shrinkSteps() {
+        return shrinkSteps;
+    }
+
+    @Override
+    public String toString() {
+        String summary = String.format("%s: %d eșantioane în %.2f s (%.1f M/s)",
+                property.name(), samples, elapsedNanos / 1e9, samplesPerSecond() / 1e6);
+        if (holds()) {
+            return summary + ", respectat";
+        }
+        return summary + ", " + violations + " încălcări; primul contraexemplu #" + counterexampleIndex + " "
+                + property.describe(counterexample) + "; micșorat în " + shrinkSteps + " pași: "
+                + property.describe(shrunk);
+    }
+}
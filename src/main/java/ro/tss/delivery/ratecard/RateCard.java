@@ -0,0 +1,180 @@
+package ro.tss.delivery.ratecard;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Definiția unui tarif de livrare (rate card), în forma de date.
+ *
+ * Generalizează formula din {@code DeliveryService}:
+ *     T_totală = T_B + T_D + T_G
+ * unde:
+ * - T_B = baseFee
+ * - T_D = d × distanceRates[i], cu i = primul prag pentru care d <= distanceThresholds[i]
+ *         (sau ultimul tarif dacă d depășește toate pragurile)
+ * - T_G = weightFees[j], cu j = primul prag pentru care w <= weightThresholds[j]
+ *         (sau ultima taxă dacă w depășește toate pragurile)
+ *
+ * Pragurile trebuie să fie finite, pozitive și strict crescătoare. Pentru n praguri
+ * de distanță sunt necesare n + 1 tarife (analog pentru greutate).
+ *
+ * Fiecare tarif are o versiune, folosită ca cheie de cache de {@link RateCardCompiler}.
+ */
+public final class RateCard {
+
+    private final String version;
+    private final double baseFee;
+    private final double[] distanceThresholds;
+    private final double[] distanceRates;
+    private final double[] weightThresholds;
+    private final double[] weightFees;
+
+    public RateCard(String version, double baseFee,
+                    double[] distanceThresholds, double[] distanceRates,
+                    double[] weightThresholds, double[] weightFees) {
+        this.version = Objects.requireNonNull(version, "version");
+        this.baseFee = baseFee;
+        this.distanceThresholds = checkThresholds(distanceThresholds, "distanță");
+        this.distanceRates = checkValues(distanceRates, this.distanceThresholds.length + 1, "distanță");
+        this.weightThresholds = checkThresholds(weightThresholds, "greutate");
+        this.weightFees = checkValues(weightFees, this.weightThresholds.length + 1, "greutate");
+        if (!Double.isFinite(baseFee)) {
+            throw new IllegalArgumentException("Taxa de bază trebuie să fie finită.");
+        }
+    }
+
+    /**
+     * Tariful standard, identic cu constantele din {@code DeliveryService}.
+     */
+    public static RateCard standard() {
+        return new RateCard("standard", 5.00,
+                new double[] {10.0, 50.0}, new double[] {0.50, 0.40, 0.30},
+                new double[] {2.0, 5.0, 15.0}, new double[] {0.00, 4.50, 8.00, 15.00});
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public double baseFee() {
+        return baseFee;
+    }
+
+    public double[] distanceThresholds() {
+        return distanceThresholds.clone();
+    }
+
+    public double[] distanceRates() {
+        return distanceRates.clone();
+    }
+
+    public double[] weightThresholds() {
+        return weightThresholds.clone();
+    }
+
+    public double[] weightFees() {
+        return weightFees.clone();
+    }
+
+    public int distanceTierCount() {
+        return distanceRates.length;
+    }
+
+    public int weightBandCount() {
+        return weightFees.length;
+    }
+
+    /**
+     * Indicele tarifului de distanță aplicat pentru d (0 = cel mai scurt interval).
+     */
+    public int distanceTier(double distanceKm) {
+        return tierOf(distanceThresholds, distanceKm);
+    }
+
+    /**
+     * Indicele taxei de greutate aplicate pentru w (0 = cel mai ușor interval).
+     */
+    public int weightBand(double weightKg) {
+        return tierOf(weightThresholds, weightKg);
+    }
+
+    public double distanceRate(int tier) {
+        return distanceRates[tier];
+    }
+
+    public double weightFee(int band) {
+        return weightFees[band];
+    }
+
+    private static int tierOf(double[] thresholds, double value) {
+        int i = 0;
+        while (i < thresholds.length && !(value <= thresholds[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private static double[] checkThresholds(double[] thresholds, String what) {
+        double[] copy = Objects.requireNonNull(thresholds, what).clone();
+        double previous = 0.0;
+        for (double t : copy) {
+            if (!Double.isFinite(t) || t <= previous) {
+                throw new IllegalArgumentException(
+                        "Pragurile de " + what + " trebuie să fie pozitive și strict crescătoare.");
+            }
+            previous = t;
+        }
+        return copy;
+    }
+
+    private static double[] checkValues(double[] values, int expected, String what) {
+        double[] copy = Objects.requireNonNull(values, what).clone();
+        if (copy.length != expected) {
+            throw new IllegalArgumentException(
+                    "Sunt necesare " + expected + " tarife de " + what + ", primite " + copy.length + ".");
+        }
+        for (double v : copy) {
+            if (!Double.isFinite(v)) {
+                throw new IllegalArgumentException("Tarifele de " + what + " trebuie să fie finite.");
+            }
+        }
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RateCard)) {
+            return false;
+        }
+        RateCard other = (RateCard) o;
+        return version.equals(other.version)
+                && Double.compare(baseFee, other.baseFee) == 0
+                && Arrays.equals(distanceThresholds, other.distanceThresholds)
+                && Arrays.equals(distanceRates, other.distanceRates)
+                && Arrays.equals(weightThresholds, other.weightThresholds)
+                && Arrays.equals(weightFees, other.weightFees);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = Objects.hash(version, baseFee);
+        h = 31 * h + Arrays.hashCode(distanceThresholds);
+        h = 31 * h + Arrays.hashCode(distanceRates);
+        h = 31 * h + Arrays.hashCode(weightThresholds);
+        h = 31 * h + Arrays.hashCode(weightFees);
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "RateCard[" + version
+                + ", T_B=" + baseFee
+                + ", praguriD=" + Arrays.toString(distanceThresholds)
+                + ", tarifeD=" + Arrays.toString(distanceRates)
+                + ", praguriG=" + Arrays.toString(weightThresholds)
+                + ", taxeG=" + Arrays.toString(weightFees) + "]";
+    }
+}
@@ -0,0 +1,447 @@
+package ro.tss.delivery.ratecard;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Compilator de tarife: transformă un {@link RateCard} într-o clasă ascunsă
+ * (hidden class, {@link MethodHandles.Lookup#defineHiddenClass}) care are pragurile
+ * și tarifele scrise ca constante în bytecode ({@code ldc2_w}).
+ *
+ * Codul generat este echivalent cu lanțul if/else din {@code DeliveryService}:
+ *
+ *     if (d <= 0 || w <= 0) throw new IllegalArgumentException(...);
+ *     T_D = d <= t0 ? d * r0 : d <= t1 ? d * r1 : ... : d * rN;
+ *     return (T_D + T_B) + (w <= g0 ? f0 : w <= g1 ? f1 : ... : fM);
+ *
+ * Adunarea în virgulă mobilă este comutativă, deci (T_D + T_B) == (T_B + T_D) bit cu bit,
+ * iar rezultatul este identic cu cel al {@link RateCardInterpreter}.
+ *
+ * Pricerii compilați sunt păstrați în cache după versiunea tarifului și sunt verificați
+ * față de interpretor pe toate punctele de frontieră înainte de a fi returnați.
+ */
+public final class RateCardCompiler {
+
+    private static final String CLASS_NAME = "ro/tss/delivery/ratecard/CompiledRateCard";
+    private static final String ERROR_MESSAGE = "Distanța și greutatea trebuie să fie pozitive.";
+
+    // Limită pentru offset-urile de salt pe 16 biți (goto / if<cond>)
+    private static final int MAX_CODE_LENGTH = Short.MAX_VALUE;
+
+    private final Map<String, Compiled> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Returnează pricer-ul compilat pentru tarif, generându-l la prima cerere a versiunii.
+     *
+     * @throws IllegalArgumentException dacă versiunea a fost deja compilată cu altă definiție
+     * @throws IllegalStateException dacă pricer-ul generat nu coincide cu interpretorul
+     */
+    public DoubleBinaryOperator compile(RateCard card) {
+        Compiled compiled = cache.computeIfAbsent(card.version(), v -> new Compiled(card, define(card)));
+        if (!compiled.card.equals(card)) {
+            throw new IllegalArgumentException(
+                    "Versiunea '" + card.version() + "' a fost deja compilată cu altă definiție.");
+        }
+        return compiled.pricer;
+    }
+
+    public int cachedVersions() {
+        return cache.size();
+    }
+
+    private static DoubleBinaryOperator define(RateCard card) {
+        DoubleBinaryOperator pricer;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup()
+                    .defineHiddenClass(generate(card), true);
+            pricer = (DoubleBinaryOperator) lookup
+                    .findConstructor(lookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Nu s-a putut defini clasa pentru " + card.version(), e);
+        }
+        verify(card, pricer);
+        return pricer;
+    }
+
+    /**
+     * Compară pricer-ul generat cu interpretorul pe fiecare prag, pe vecinii săi
+     * (nextDown / nextUp) și pe un punct interior fiecărui interval.
+     */
+    static void verify(RateCard card, DoubleBinaryOperator pricer) {
+        RateCardInterpreter reference = new RateCardInterpreter(card);
+        double[] distances = probes(card.distanceThresholds());
+        double[] weights = probes(card.weightThresholds());
+        for (double d : distances) {
+            for (double w : weights) {
+                double expected = reference.calculateDeliveryFee(d, w);
+                double actual = pricer.applyAsDouble(d, w);
+                if (Double.doubleToLongBits(expected) != Double.doubleToLongBits(actual)) {
+                    throw new IllegalStateException("Pricer-ul compilat pentru " + card.version()
+                            + " diferă la (d=" + d + ", w=" + w + "): " + actual + " != " + expected);
+                }
+            }
+        }
+        for (double invalid : new double[] {0.0, -0.0, -1.0}) {
+            expectRejected(pricer, invalid, 1.0);
+            expectRejected(pricer, 1.0, invalid);
+        }
+    }
+
+    private static void expectRejected(DoubleBinaryOperator pricer, double d, double w) {
+        try {
+            pricer.applyAsDouble(d, w);
+        } catch (IllegalArgumentException expected) {
+            return;
+        }
+        throw new IllegalStateException("Pricer-ul compilat acceptă intrarea invalidă (d=" + d + ", w=" + w + ")");
+    }
+
+    private static double[] probes(double[] thresholds) {
+        double[] probes = new double[thresholds.length * 4 + 2];
+        int k = 0;
+        double previous = 0.0;
+        for (double t : thresholds) {
+            probes[k++] = (previous + t) / 2;
+            probes[k++] = Math.nextDown(t);
+            probes[k++] = t;
+            probes[k++] = Math.nextUp(t);
+            previous = t;
+        }
+        probes[k++] = Double.MIN_VALUE;
+        probes[k] = previous * 2 + 1;
+        return probes;
+    }
+
+    // ==================== GENERARE BYTECODE ====================
+
+    static byte[] generate(RateCard card) {
+        ConstantPool pool = new ConstantPool();
+        int thisClass = pool.classRef(CLASS_NAME);
+        int superClass = pool.classRef("java/lang/Object");
+        int operator = pool.classRef("java/util/function/DoubleBinaryOperator");
+        int objectInit = pool.methodRef("java/lang/Object", "<init>", "()V");
+        int exceptionClass = pool.classRef("java/lang/IllegalArgumentException");
+        int exceptionInit = pool.methodRef("java/lang/IllegalArgumentException", "<init>", "(Ljava/lang/String;)V");
+        int message = pool.string(ERROR_MESSAGE);
+        int initName = pool.utf8("<init>");
+        int initDescriptor = pool.utf8("()V");
+        int applyName = pool.utf8("applyAsDouble");
+        int applyDescriptor = pool.utf8("(DD)D");
+        int codeAttribute = pool.utf8("Code");
+        int stackMapAttribute = pool.utf8("StackMapTable");
+
+        byte[] init = new byte[] {
+                0x2a,                                                   // aload_0
+                (byte) 0xb7, (byte) (objectInit >> 8), (byte) objectInit, // invokespecial Object.<init>
+                (byte) 0xb1                                             // return
+        };
+        Assembler apply = assembleApply(card, pool, exceptionClass, exceptionInit, message);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(61);                 // Java 17
+            pool.writeTo(out);
+            out.writeShort(0x0031);             // ACC_PUBLIC | ACC_FINAL | ACC_SUPER
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(operator);
+            out.writeShort(0);                  // fields
+            out.writeShort(2);                  // methods
+
+            out.writeShort(0x0001);
+            out.writeShort(initName);
+            out.writeShort(initDescriptor);
+            out.writeShort(1);
+            writeCode(out, codeAttribute, 1, 1, init, null, stackMapAttribute);
+
+            out.writeShort(0x0001);
+            out.writeShort(applyName);
+            out.writeShort(applyDescriptor);
+            out.writeShort(1);
+            writeCode(out, codeAttribute, 6, 5, apply.code(), apply.stackMap(), stackMapAttribute);
+
+            out.writeShort(0);                  // attributes
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Assembler assembleApply(RateCard card, ConstantPool pool,
+                                           int exceptionClass, int exceptionInit, int message) {
+        Assembler asm = new Assembler();
+        Label rejected = new Label();
+
+        // D1: d <= 0 || w <= 0
+        asm.op(0x27).op(0x0e).op(0x98).jump(0x9e, rejected);   // dload_1 dconst_0 dcmpg ifle
+        asm.op(0x29).op(0x0e).op(0x98).jump(0x9e, rejected);   // dload_3 dconst_0 dcmpg ifle
+
+        // T_D, lăsat pe stivă
+        double[] distanceThresholds = card.distanceThresholds();
+        double[] distanceRates = card.distanceRates();
+        Label distanceDone = new Label();
+        for (int i = 0; i < distanceThresholds.length; i++) {
+            Label next = new Label();
+            asm.op(0x27).ldc2(pool.doubleConst(distanceThresholds[i])).op(0x98).jump(0x9d, next); // ifgt
+            asm.op(0x27).ldc2(pool.doubleConst(distanceRates[i])).op(0x6b).jump(0xa7, distanceDone);
+            asm.bind(next, Frame.EMPTY_STACK);
+        }
+        asm.op(0x27).ldc2(pool.doubleConst(distanceRates[distanceThresholds.length])).op(0x6b);
+        if (distanceThresholds.length > 0) {
+            asm.bind(distanceDone, Frame.ONE_DOUBLE);
+        }
+
+        // T_D + T_B
+        asm.ldc2(pool.doubleConst(card.baseFee())).op(0x63);
+
+        // + T_G, cu return pe fiecare ramură
+        double[] weightThresholds = card.weightThresholds();
+        double[] weightFees = card.weightFees();
+        for (int j = 0; j < weightThresholds.length; j++) {
+            Label next = new Label();
+            asm.op(0x29).ldc2(pool.doubleConst(weightThresholds[j])).op(0x98).jump(0x9d, next);
+            asm.ldc2(pool.doubleConst(weightFees[j])).op(0x63).op(0xaf);   // dadd dreturn
+            asm.bind(next, Frame.ONE_DOUBLE);
+        }
+        asm.ldc2(pool.doubleConst(weightFees[weightThresholds.length])).op(0x63).op(0xaf);
+
+        asm.bind(rejected, Frame.EMPTY_STACK);
+        asm.op(0xbb).u2(exceptionClass).op(0x59);              // new, dup
+        asm.op(0x13).u2(message);                               // ldc_w
+        asm.op(0xb7).u2(exceptionInit).op(0xbf);                // invokespecial, athrow
+
+        if (asm.length() > MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("Tariful " + card.version() + " are prea multe praguri pentru compilare.");
+        }
+        asm.resolve();
+        return asm;
+    }
+
+    private static void writeCode(DataOutputStream out, int codeAttribute, int maxStack, int maxLocals,
+                                  byte[] code, byte[] stackMap, int stackMapAttribute) throws IOException {
+        int attributesLength = stackMap == null ? 0 : 6 + stackMap.length;
+        out.writeShort(codeAttribute);
+        out.writeInt(12 + code.length + attributesLength);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);                      // exception_table_length
+        if (stackMap == null) {
+            out.writeShort(0);
+        } else {
+            out.writeShort(1);
+            out.writeShort(stackMapAttribute);
+            out.writeInt(stackMap.length);
+            out.write(stackMap);
+        }
+    }
+
+    /**
+     * Cadrele folosite de StackMapTable. Variabilele locale sunt mereu cele din
+     * descriptor (this, d, w), deci diferă doar conținutul stivei.
+     */
+    private enum Frame {
+        EMPTY_STACK,
+        ONE_DOUBLE
+    }
+
+    private static final class Label {
+        int offset = -1;
+    }
+
+    /**
+     * Asamblor minimal: emite octeți, rezolvă salturile pe 16 biți și construiește StackMapTable.
+     */
+    private static final class Assembler {
+
+        private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+        private final List<int[]> fixups = new ArrayList<>();      // {poziție instrucțiune, index etichetă}
+        private final List<Label> labels = new ArrayList<>();
+        private final List<Object[]> frames = new ArrayList<>();   // {offset, Frame}
+        private byte[] bytes;
+
+        Assembler op(int opcode) {
+            code.write(opcode);
+            return this;
+        }
+
+        Assembler u2(int value) {
+            code.write(value >> 8);
+            code.write(value);
+            return this;
+        }
+
+        Assembler ldc2(int index) {
+            return op(0x14).u2(index);
+        }
+
+        Assembler jump(int opcode, Label target) {
+            fixups.add(new int[] {code.size(), labels.size()});
+            labels.add(target);
+            return op(opcode).u2(0);
+        }
+
+        void bind(Label label, Frame frame) {
+            label.offset = code.size();
+            frames.add(new Object[] {label.offset, frame});
+        }
+
+        int length() {
+            return code.size();
+        }
+
+        void resolve() {
+            bytes = code.toByteArray();
+            for (int[] fixup : fixups) {
+                int delta = labels.get(fixup[1]).offset - fixup[0];
+                bytes[fixup[0] + 1] = (byte) (delta >> 8);
+                bytes[fixup[0] + 2] = (byte) delta;
+            }
+        }
+
+        byte[] code() {
+            return bytes;
+        }
+
+        byte[] stackMap() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(frames.size() >> 8);
+            out.write(frames.size());
+            int previous = -1;
+            for (Object[] entry : frames) {
+                int offset = (Integer) entry[0];
+                int delta = offset - previous - 1;
+                previous = offset;
+                if (entry[1] == Frame.EMPTY_STACK) {
+                    if (delta <= 63) {
+                        out.write(delta);                 // same_frame
+                    } else {
+                        out.write(251);                   // same_frame_extended
+                        out.write(delta >> 8);
+                        out.write(delta);
+                    }
+                } else {
+                    if (delta <= 63) {
+                        out.write(64 + delta);            // same_locals_1_stack_item_frame
+                    } else {
+                        out.write(247);                   // same_locals_1_stack_item_frame_extended
+                        out.write(delta >> 8);
+                        out.write(delta);
+                    }
+                    out.write(3);                         // Double_variable_info
+                }
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Constant pool cu deduplicare; constantele double ocupă două intrări.
+     */
+    private static final class ConstantPool {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private int next = 1;
+
+        int utf8(String value) {
+            return entry("U" + value, 1, () -> {
+                out.writeByte(1);
+                out.writeUTF(value);
+            });
+        }
+
+        int classRef(String internalName) {
+            int name = utf8(internalName);
+            return entry("C" + internalName, 1, () -> {
+                out.writeByte(7);
+                out.writeShort(name);
+            });
+        }
+
+        int string(String value) {
+            int utf = utf8(value);
+            return entry("S" + value, 1, () -> {
+                out.writeByte(8);
+                out.writeShort(utf);
+            });
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            int ownerIndex = classRef(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndType = entry("N" + name + descriptor, 1, () -> {
+                out.writeByte(12);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+            return entry("M" + owner + "." + name + descriptor, 1, () -> {
+                out.writeByte(10);
+                out.writeShort(ownerIndex);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        int doubleConst(double value) {
+            return entry("D" + Double.doubleToRawLongBits(value), 2, () -> {
+                out.writeByte(6);
+                out.writeDouble(value);
+            });
+        }
+
+        private int entry(String key, int slots, Emitter emitter) {
+            Integer existing = entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                emitter.emit();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int index = next;
+            next += slots;
+            entries.put(key, index);
+            return index;
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            out.flush();
+            target.writeShort(next);
+            bytes.writeTo(target);
+        }
+
+        private interface Emitter {
+            void emit() throws IOException;
+        }
+    }
+
+    private static final class Compiled {
+        final RateCard card;
+        final DoubleBinaryOperator pricer;
+
+        Compiled(RateCard card, DoubleBinaryOperator pricer) {
+            this.card = card;
+            this.pricer = pricer;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ro.tss.delivery.ratecard;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Interpretor generic pentru un {@link RateCard}.
+ *
+ * Parcurge tablourile de praguri la fiecare apel, deci este lent față de clasa
+ * scrisă de mână, dar servește ca referință (oracol) pentru pricerii generați de
+ * {@link RateCardCompiler}. Ordinea operațiilor în virgulă mobilă este aceeași ca
+ * în {@code DeliveryService}: T_B + T_D + T_G, deci rezultatele sunt identice bit cu bit.
+ */
+public final class RateCardInterpreter implements DoubleBinaryOperator {
+
+    private final RateCard card;
+
+    public RateCardInterpreter(RateCard card) {
+        this.card = card;
+    }
+
+    public RateCard card() {
+        return card;
+    }
+
+    public double calculateDeliveryFee(double distanceKm, double weightKg) {
+        if (distanceKm <= 0 || weightKg <= 0) {
+            throw new IllegalArgumentException("Distanța și greutatea trebuie să fie pozitive.");
+        }
+        double distanceFee = distanceKm * card.distanceRate(card.distanceTier(distanceKm));
+        double weightFee = card.weightFee(card.weightBand(weightKg));
+        return card.baseFee() + distanceFee + weightFee;
+    }
+
+    /**
+     * Taxele rândurilor {@code rows[from..to)} ale unui lot, deja validate. Treapta este
+     * numărul de praguri depășite, {@code !(v <= prag)}, numărat pe toate pragurile: pe
+     * praguri crescătoare este același indice ca la căutarea primului prag (NaN depășește
+     * toate pragurile), dar bucla are un număr fix de pași, fără salturi dependente de date.
+     */
+    public void calculateDeliveryFees(int[] rows, int from, int to,
+                                      double[] distanceKm, double[] weightKg, double[] fees) {
+        double baseFee = card.baseFee();
+        double[] distanceThresholds = card.distanceThresholds();
+        double[] distanceRates = card.distanceRates();
+        double[] weightThresholds = card.weightThresholds();
+        double[] weightFees = card.weightFees();
+        for (int k = from; k < to; k++) {
+            int i = rows[k];
+            double d = distanceKm[i];
+            double w = weightKg[i];
+            int tier = 0;
+            for (double t : distanceThresholds) {
+                tier += d <= t ? 0 : 1;
+            }
+            int band = 0;
+            for (double t : weightThresholds) {
+                band += w <= t ? 0 : 1;
+            }
+            fees[i] = baseFee + d * distanceRates[tier] + weightFees[band];
+        }
+    }
+
+    @Override
+    public double applyAsDouble(double distanceKm, double weightKg) {
+        return calculateDeliveryFee(distanceKm, weightKg);
+    }
+}
@@ -0,0 +1,161 @@
+package ro.tss.delivery.ratecard;
+
+import ro.tss.delivery.FeePricer;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Istoricul tarifelor: fiecare {@link RateCard} este valabil de la momentul lui de
+ * intrare în vigoare (inclusiv) până la intrarea în vigoare a următorului (exclusiv).
+ * Momentele sunt milisecunde epoch ({@code Instant.toEpochMilli()}).
+ *
+ * Folosit la re-tarifarea unei livrări cu tariful valabil la data expedierii (de exemplu,
+ * la o contestație). Tariful unui moment se găsește prin căutare binară în tabloul
+ * sortat al momentelor, O(log n).
+ *
+ * Pe loturi, rândurile sunt grupate pe tariful găsit (sortare prin numărare) și fiecare
+ * tarif este aplicat într-o buclă proprie, cu pragurile lui păstrate în L1 pe tot grupul
+ * și treptele calculate fără salturi dependente de date.
+ * Rezultatele sunt identice bit cu bit cu {@link RateCardInterpreter} pe tariful valabil.
+ *
+ * Istoricul este imutabil; {@link #with} întoarce unul nou. Tablourile de lucru ale
+ * metodei pe loturi sunt alocate per apel, deci o instanță poate fi folosită din mai
+ * multe fire.
+ */
+public final class RateCardTimeline {
+
+    private final long[] effectiveFrom;
+    private final RateCardInterpreter[] cards;
+
+    private RateCardTimeline(long[] effectiveFrom, RateCardInterpreter[] cards) {
+        this.effectiveFrom = effectiveFrom;
+        this.cards = cards;
+    }
+
+    /** Istoricul cu un singur tarif, valabil de la {@code effectiveFrom}. */
+    public static RateCardTimeline of(long effectiveFrom, RateCard card) {
+        return new RateCardTimeline(new long[] {effectiveFrom},
+                new RateCardInterpreter[] {new RateCardInterpreter(Objects.requireNonNull(card, "card"))});
+    }
+
+    /**
+     * Istoricul cu un tarif în plus, inserat în ordinea cronologică.
+     *
+     * @throws IllegalArgumentException dacă există deja un tarif care intră în vigoare la același moment
+     */
+    public RateCardTimeline with(long effectiveFrom, RateCard card) {
+        Objects.requireNonNull(card, "card");
+        int at = Arrays.binarySearch(this.effectiveFrom, effectiveFrom);
+        if (at >= 0) {
+            throw new IllegalArgumentException("Există deja un tarif în vigoare de la " + effectiveFrom + ".");
+        }
+        int insert = -at - 1;
+        int n = cards.length;
+        long[] from = new long[n + 1];
+        RateCardInterpreter[] next = new RateCardInterpreter[n + 1];
+        System.arraycopy(this.effectiveFrom, 0, from, 0, insert);
+        System.arraycopy(cards, 0, next, 0, insert);
+        from[insert] = effectiveFrom;
+        next[insert] = new RateCardInterpreter(card);
+        System.arraycopy(this.effectiveFrom, insert, from, insert + 1, n - insert);
+        System.arraycopy(cards, insert, next, insert + 1, n - insert);
+        return new RateCardTimeline(from, next);
+    }
+
+    public int size() {
+        return cards.length;
+    }
+
+    public long effectiveFrom(int index) {
+        return effectiveFrom[index];
+    }
+
+    public RateCard card(int index) {
+        return cards[index].card();
+    }
+
+    /**
+     * Indicele tarifului valabil la momentul dat: ultimul cu momentul de intrare în vigoare ≤ t.
+     *
+     * @throws IllegalArgumentException dacă momentul precede primul tarif
+     */
+    public int indexAt(long timestamp) {
+        long[] from = effectiveFrom;
+        if (timestamp < from[0]) {
+            throw new IllegalArgumentException("Nu există tarif valabil la momentul " + timestamp + ".");
+        }
+        // Căutare fără salturi condiționate: intervalul se înjumătățește la fiecare pas
+        // indiferent de rezultatul comparației, care alege doar baza (cmov)
+        int base = 0;
+        int length = from.length;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = from[base + half] <= timestamp ? base + half : base;
+            length -= half;
+        }
+        return base;
+    }
+
+    /** Tariful valabil la momentul dat. */
+    public RateCard cardAt(long timestamp) {
+        return cards[indexAt(timestamp)].card();
+    }
+
+    /**
+     * Taxa unei livrări cu tariful valabil la momentul expedierii.
+     *
+     * @throws IllegalArgumentException dacă momentul precede primul tarif sau distanța ori
+     *                                  greutatea nu sunt pozitive
+     */
+    public double calculateDeliveryFee(long shipTime, double distanceKm, double weightKg) {
+        return cards[indexAt(shipTime)].calculateDeliveryFee(distanceKm, weightKg);
+    }
+
+    /**
+     * Re-tarifarea unui lot de livrări istorice: tariful fiecărui rând, gruparea pe tarif și
+     * câte o buclă fără salturi per tarif (vezi {@link RateCardInterpreter}).
+     *
+     * @throws IllegalArgumentException dacă tablourile au lungimi diferite sau un rând este
+     *                                  invalid (mesajul indică primul rând invalid, înainte
+     *                                  de orice calcul)
+     */
+    public void calculateDeliveryFees(long[] shipTime, double[] distanceKm, double[] weightKg, double[] fees) {
+        FeePricer.checkLengths(distanceKm, weightKg, fees);
+        int n = fees.length;
+        if (shipTime.length != n) {
+            throw new IllegalArgumentException("Tablourile de intrare și ieșire trebuie să aibă aceeași lungime.");
+        }
+        FeePricer.checkPositive(distanceKm, weightKg, 0, n);
+
+        int groups = cards.length;
+        int[] cardOfRow = new int[n];
+        int[] count = new int[groups + 1];
+        for (int i = 0; i < n; i++) {
+            int c;
+            try {
+                c = indexAt(shipTime[i]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Rândul " + i + ": " + e.getMessage(), e);
+            }
+            cardOfRow[i] = c;
+            count[c + 1]++;
+        }
+        for (int c = 0; c < groups; c++) {
+            count[c + 1] += count[c];
+        }
+        int[] rows = new int[n];
+        for (int i = 0; i < n; i++) {
+            rows[count[cardOfRow[i]]++] = i;
+        }
+        // count[c] este acum începutul grupului c + 1
+        int from = 0;
+        for (int c = 0; c < groups; c++) {
+            int to = count[c];
+            if (from < to) {
+                cards[c].calculateDeliveryFees(rows, from, to, distanceKm, weightKg, fees);
+            }
+            from = to;
+        }
+    }
+}
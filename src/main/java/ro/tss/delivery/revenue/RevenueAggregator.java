@@ -0,0 +1,253 @@
+package ro.tss.delivery.revenue;
+
+import ro.tss.delivery.FeePricer;
+import ro.tss.delivery.kernel.BranchlessDeliveryService;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Totaluri live ale livrărilor și încasărilor pe treaptă de distanță × interval de
+ * greutate, alimentate concurent de toate firele care tarifează.
+ *
+ * Fiecare fir care înregistrează are propria bandă: un long[] cu numărul și încasările
+ * tuturor celor 12 celule, alăturate (numărul și taxa unei înregistrări sunt pe aceeași
+ * linie de cache), înconjurat de câte o linie de umplutură, ca nicio altă variabilă să
+ * nu împartă liniile scrise. O înregistrare face o singură căutare a benzii și două
+ * adunări; banda are un singur scriitor, deci adunările sunt simple citiri și scrieri
+ * opace, fără instrucțiuni atomice și fără contenție între fire.
+ *
+ * Proprietarul benzii este ținut printr-o referință slabă. Când firul s-a terminat (nu mai
+ * poate scrie), totalurile benzii lui sunt adunate într-un tablou de bază și banda este
+ * eliberată; asta se face la fiecare {@link #snapshot} și la înregistrarea fiecărui fir
+ * nou. Numărul de benzi rămâne deci cel mult numărul de fire vii (plus cele terminate de
+ * la ultimul instantaneu), câte 40 de long (≈ 340 de octeți) per bandă, chiar dacă
+ * pool-urile de fire sunt recreate continuu. Instantaneul adună baza și benzile vii.
+ *
+ * Taxele sunt adunate în virgulă fixă ({@link #FEE_SCALE} unități pe RON), ca sumele
+ * să fie exacte și independente de ordinea adunărilor.
+ *
+ * Contoarele nu se resetează niciodată: {@link #snapshot} citește totalurile cumulate, iar
+ * {@link #roll} închide fereastra curentă ca diferență între două instantanee cumulate.
+ * O înregistrare concurentă cu închiderea poate cădea în fereastra următoare (numărul
+ * și taxa ei chiar în ferestre diferite), dar nu se pierde: suma ferestrelor este exactă.
+ */
+public final class RevenueAggregator {
+
+    public static final int TIERS = BranchlessDeliveryService.TIERS;
+    public static final int BANDS = BranchlessDeliveryService.BANDS;
+
+    /** Unități de virgulă fixă pe RON (0.0001 RON). */
+    public static final long FEE_SCALE = 10_000;
+
+    private static final int CELLS = BranchlessDeliveryService.CELLS;
+
+    // O linie de cache de umplutură la fiecare capăt al benzii
+    private static final int PAD = 8;
+    private static final int STRIPE_LENGTH = PAD + 2 * CELLS + PAD;
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Benzile firelor (vii sau terminate de la ultima curățare) și totalurile firelor
+    // terminate; protejate de lock, dar nu și sloturile benzilor, scrise de proprietari
+    private final Object lock = new Object();
+    private final List<Stripe> stripes = new ArrayList<>();
+    private final long[] retired = new long[STRIPE_LENGTH];
+    private final ThreadLocal<long[]> stripe = ThreadLocal.withInitial(this::newStripe);
+    private final LongSupplier clockMillis;
+    private final int retainedWindows;
+    private final long createdMillis;
+
+    // Protejate de this: doar închiderea ferestrelor, nu și înregistrarea
+    private final ArrayDeque<RevenueSnapshot> windows = new ArrayDeque<>();
+    private RevenueSnapshot lastCumulative;
+
+    public RevenueAggregator() {
+        this(60, System::currentTimeMillis);
+    }
+
+    /**
+     * @param retainedWindows câte ferestre închise sunt păstrate pentru {@link #recentWindows}
+     * @param clockMillis     sursa de timp pentru capetele ferestrelor
+     */
+    public RevenueAggregator(int retainedWindows, LongSupplier clockMillis) {
+        if (retainedWindows < 1) {
+            throw new IllegalArgumentException("Trebuie păstrată cel puțin o fereastră.");
+        }
+        this.retainedWindows = retainedWindows;
+        this.clockMillis = clockMillis;
+        this.createdMillis = clockMillis.getAsLong();
+        this.lastCumulative = new RevenueSnapshot(createdMillis, createdMillis, new long[CELLS], new long[CELLS]);
+    }
+
+    private long[] newStripe() {
+        long[] s = new long[STRIPE_LENGTH];
+        synchronized (lock) {
+            retireDeadStripes();
+            stripes.add(new Stripe(Thread.currentThread(), s));
+        }
+        return s;
+    }
+
+    /** Mută totalurile benzilor firelor terminate în {@link #retired}; apelat sub lock. */
+    private void retireDeadStripes() {
+        for (Iterator<Stripe> it = stripes.iterator(); it.hasNext(); ) {
+            Stripe s = it.next();
+            Thread owner = s.owner.get();
+            if (owner == null || !owner.isAlive()) {
+                for (int slot = PAD; slot < PAD + 2 * CELLS; slot++) {
+                    retired[slot] += (long) SLOT.getOpaque(s.slots, slot);
+                }
+                it.remove();
+            }
+        }
+    }
+
+    /** Numărul de benzi păstrate (doar pentru teste). */
+    int stripeCount() {
+        synchronized (lock) {
+            return stripes.size();
+        }
+    }
+
+    /** Numărul celulei c în bandă; încasările sunt în slotul următor. */
+    private static int countSlot(int c) {
+        return PAD + 2 * c;
+    }
+
+    /** Adună la un slot al benzii firului curent (singurul care o scrie). */
+    private static void add(long[] s, int slot, long delta) {
+        SLOT.setOpaque(s, slot, s[slot] + delta);
+    }
+
+    /** Taxa în unități de virgulă fixă, rotunjită la cea mai apropiată unitate. */
+    static long toUnits(double fee) {
+        return Math.round(fee * FEE_SCALE);
+    }
+
+    /**
+     * Înregistrează o livrare deja tarifată (distanța și greutatea au trecut validarea).
+     */
+    public void record(double distanceKm, double weightKg, double fee) {
+        int c = BranchlessDeliveryService.cell(distanceKm, weightKg);
+        long[] s = stripe.get();
+        int slot = countSlot(c);
+        add(s, slot, 1);
+        add(s, slot + 1, toUnits(fee));
+    }
+
+    /**
+     * Înregistrează rândurile [from, to) ale unui lot tarifat: totalurile se adună local și
+     * ajung în banda firului o singură dată per celulă, nu o dată per rând.
+     */
+    public void recordAll(double[] distanceKm, double[] weightKg, double[] fees, int from, int to) {
+        long[] localCounts = new long[CELLS];
+        long[] localUnits = new long[CELLS];
+        for (int i = from; i < to; i++) {
+            int c = BranchlessDeliveryService.cell(distanceKm[i], weightKg[i]);
+            localCounts[c]++;
+            localUnits[c] += toUnits(fees[i]);
+        }
+        long[] s = stripe.get();
+        for (int c = 0; c < CELLS; c++) {
+            if (localCounts[c] != 0) {
+                int slot = countSlot(c);
+                add(s, slot, localCounts[c]);
+                add(s, slot + 1, localUnits[c]);
+            }
+        }
+    }
+
+    /**
+     * Un {@link FeePricer} care deleagă tarifarea și înregistrează fiecare taxă calculată.
+     */
+    public FeePricer metered(FeePricer pricer) {
+        return new Metered(pricer, this);
+    }
+
+    /**
+     * Totalurile cumulate de la crearea agregatorului până acum. Benzile sunt citite pe
+     * rând, fără oprirea firelor care înregistrează; fiecare slot crește monoton, deci
+     * două instantanee succesive nu dau niciodată o diferență negativă.
+     */
+    public RevenueSnapshot snapshot() {
+        long[] c = new long[CELLS];
+        long[] f = new long[CELLS];
+        synchronized (lock) {
+            retireDeadStripes();
+            for (int i = 0; i < CELLS; i++) {
+                c[i] = retired[countSlot(i)];
+                f[i] = retired[countSlot(i) + 1];
+            }
+            for (Stripe s : stripes) {
+                for (int i = 0; i < CELLS; i++) {
+                    int slot = countSlot(i);
+                    c[i] += (long) SLOT.getOpaque(s.slots, slot);
+                    f[i] += (long) SLOT.getOpaque(s.slots, slot + 1);
+                }
+            }
+        }
+        return new RevenueSnapshot(createdMillis, clockMillis.getAsLong(), c, f);
+    }
+
+    /**
+     * Închide fereastra curentă și o întoarce: activitatea de la închiderea precedentă
+     * (sau de la creare) până acum. Apelat periodic, de exemplu o dată pe minut.
+     */
+    public synchronized RevenueSnapshot roll() {
+        RevenueSnapshot cumulative = snapshot();
+        RevenueSnapshot window = cumulative.since(lastCumulative);
+        lastCumulative = cumulative;
+        windows.addLast(window);
+        if (windows.size() > retainedWindows) {
+            windows.removeFirst();
+        }
+        return window;
+    }
+
+    /** Ultimele ferestre închise, de la cea mai veche la cea mai recentă. */
+    public synchronized List<RevenueSnapshot> recentWindows() {
+        return new ArrayList<>(windows);
+    }
+
+    private static final class Stripe {
+
+        final WeakReference<Thread> owner;
+        final long[] slots;
+
+        Stripe(Thread owner, long[] slots) {
+            this.owner = new WeakReference<>(owner);
+            this.slots = slots;
+        }
+    }
+
+    private static final class Metered implements FeePricer {
+
+        private final FeePricer delegate;
+        private final RevenueAggregator aggregator;
+
+        Metered(FeePricer delegate, RevenueAggregator aggregator) {
+            this.delegate = delegate;
+            this.aggregator = aggregator;
+        }
+
+        @Override
+        public double calculateDeliveryFee(double distanceKm, double weightKg) {
+            double fee = delegate.calculateDeliveryFee(distanceKm, weightKg);
+            aggregator.record(distanceKm, weightKg, fee);
+            return fee;
+        }
+
+        @Override
+        public void calculateDeliveryFees(double[] distanceKm, double[] weightKg, double[] fees, int from, int to) {
+            delegate.calculateDeliveryFees(distanceKm, weightKg, fees, from, to);
+            aggregator.recordAll(distanceKm, weightKg, fees, from, to);
+        }
+    }
+}
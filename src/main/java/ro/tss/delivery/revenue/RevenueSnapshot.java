@@ -0,0 +1,86 @@
+package ro.tss.delivery.revenue;
+
+import ro.tss.delivery.kernel.BranchlessDeliveryService;
+
+import java.util.Locale;
+
+/**
+ * Numărul de livrări și încasările pe cele 12 celule treaptă de distanță × interval de
+ * greutate, pentru intervalul de timp [de la, până la). Încasările sunt în virgulă fixă,
+ * în unități de 1 / {@link RevenueAggregator#FEE_SCALE} RON.
+ */
+public final class RevenueSnapshot {
+
+    private final long fromMillis;
+    private final long toMillis;
+    private final long[] counts;
+    private final long[] feeUnits;
+
+    RevenueSnapshot(long fromMillis, long toMillis, long[] counts, long[] feeUnits) {
+        this.fromMillis = fromMillis;
+        this.toMillis = toMillis;
+        this.counts = counts;
+        this.feeUnits = feeUnits;
+    }
+
+    public long fromMillis() {
+        return fromMillis;
+    }
+
+    public long toMillis() {
+        return toMillis;
+    }
+
+    /**
+     * @param tier 0 = scurt, 1 = mediu, 2 = lung
+     * @param band 0 = ușor, 1 = mediu, 2 = greu, 3 = foarte greu
+     */
+    public long count(int tier, int band) {
+        return counts[BranchlessDeliveryService.cell(tier, band)];
+    }
+
+    /** Încasările celulei, în RON. */
+    public double revenue(int tier, int band) {
+        return (double) feeUnits[BranchlessDeliveryService.cell(tier, band)] / RevenueAggregator.FEE_SCALE;
+    }
+
+    /** Încasările celulei, în unități de virgulă fixă. */
+    public long revenueUnits(int tier, int band) {
+        return feeUnits[BranchlessDeliveryService.cell(tier, band)];
+    }
+
+    public long totalCount() {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        return total;
+    }
+
+    public double totalRevenue() {
+        long total = 0;
+        for (long f : feeUnits) {
+            total += f;
+        }
+        return (double) total / RevenueAggregator.FEE_SCALE;
+    }
+
+    /**
+     * Diferența față de un instantaneu cumulat anterior: activitatea dintre cele două.
+     */
+    RevenueSnapshot since(RevenueSnapshot earlier) {
+        long[] c = new long[counts.length];
+        long[] f = new long[feeUnits.length];
+        for (int i = 0; i < c.length; i++) {
+            c[i] = counts[i] - earlier.counts[i];
+            f[i] = feeUnits[i] - earlier.feeUnits[i];
+        }
+        return new RevenueSnapshot(earlier.toMillis, toMillis, c, f);
+    }
+
+    @Override
+    public String toString() {
+        return "RevenueSnapshot[" + fromMillis + ", " + toMillis + "): " + totalCount()
+                + " livrări, " + String.format(Locale.ROOT, "%.2f", totalRevenue()) + " RON";
+    }
+}
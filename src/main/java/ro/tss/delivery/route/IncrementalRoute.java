@@ -0,0 +1,168 @@
+package ro.tss.delivery.route;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Rută mutabilă cu taxă recalculată incremental, pentru bucla interioară a unui optimizator.
+ *
+ * Pentru fiecare tronson j se păstrează greutatea din vehicul, T_D (din cache-ul
+ * {@link RoutePricer}) și taxa tronsonului. Inserarea unui colet de greutate p pe
+ * poziția k schimbă:
+ * - greutatea tronsoanelor 0..k-1 (crește cu p) → doar T_G se recalculează, T_D e deja cunoscut;
+ * - tronsonul k (prev → next) este înlocuit de prev → nou și nou → next;
+ * - tronsoanele de după k rămân neschimbate.
+ * Eliminarea este simetrică. Metodele {@code *Delta} nu modifică ruta, deci pot fi
+ * apelate pentru fiecare poziție candidată.
+ *
+ * Delta-urile folosesc w + p pentru greutățile modificate; după {@link #insert} / {@link #remove}
+ * greutățile și totalul sunt recalculate ca în {@link RoutePricer#priceRoute}, deci
+ * {@link #total()} este identic cu prețul rutei calculat de la zero.
+ */
+public final class IncrementalRoute {
+
+    private final RoutePricer pricer;
+    private final int depot;
+
+    private int size;
+    private int[] stops = new int[8];
+    private double[] parcelKg = new double[8];
+    private double[] legWeightKg = new double[9];
+    private double[] legDistanceFee = new double[8];
+    private double[] legFee = new double[8];
+    private double total;
+
+    IncrementalRoute(RoutePricer pricer, int depot) {
+        this.pricer = pricer;
+        this.depot = depot;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int stop(int position) {
+        Objects.checkIndex(position, size);
+        return stops[position];
+    }
+
+    public double legFee(int position) {
+        Objects.checkIndex(position, size);
+        return legFee[position];
+    }
+
+    public double total() {
+        return total;
+    }
+
+    /**
+     * Variația taxei totale dacă s-ar insera oprirea pe poziția dată (0..size).
+     */
+    public double insertionDelta(int position, int stop, double parcelKg) {
+        Objects.checkIndex(position, size + 1);
+        RoutePricer.checkParcel(parcelKg);
+        double delta = 0;
+        for (int j = 0; j < position; j++) {
+            delta += pricer.legFee(legDistanceFee[j], legWeightKg[j] + parcelKg) - legFee[j];
+        }
+        double downstreamKg = legWeightKg[position];
+        delta += pricer.legFee(pricer.distanceFee(previous(position), stop), downstreamKg + parcelKg);
+        if (position < size) {
+            delta += pricer.legFee(pricer.distanceFee(stop, stops[position]), downstreamKg) - legFee[position];
+        }
+        return delta;
+    }
+
+    /**
+     * Variația taxei totale dacă s-ar elimina oprirea de pe poziția dată.
+     */
+    public double removalDelta(int position) {
+        Objects.checkIndex(position, size);
+        double removedKg = parcelKg[position];
+        double delta = 0;
+        for (int j = 0; j < position; j++) {
+            delta += pricer.legFee(legDistanceFee[j], legWeightKg[j] - removedKg) - legFee[j];
+        }
+        delta -= legFee[position];
+        if (position + 1 < size) {
+            delta += pricer.legFee(pricer.distanceFee(previous(position), stops[position + 1]),
+                    legWeightKg[position + 1]) - legFee[position + 1];
+        }
+        return delta;
+    }
+
+    public void insert(int position, int stop, double parcelKg) {
+        Objects.checkIndex(position, size + 1);
+        RoutePricer.checkParcel(parcelKg);
+        // T_D calculat înainte de mutarea tablourilor: o distanță invalidă lasă ruta neschimbată
+        double newDistanceFee = pricer.distanceFee(previous(position), stop);
+        double nextDistanceFee = position < size ? pricer.distanceFee(stop, stops[position]) : 0;
+        ensureCapacity(size + 1);
+        int tail = size - position;
+        System.arraycopy(stops, position, stops, position + 1, tail);
+        System.arraycopy(this.parcelKg, position, this.parcelKg, position + 1, tail);
+        System.arraycopy(legWeightKg, position, legWeightKg, position + 1, tail + 1);
+        System.arraycopy(legDistanceFee, position, legDistanceFee, position + 1, tail);
+        System.arraycopy(legFee, position, legFee, position + 1, tail);
+        stops[position] = stop;
+        this.parcelKg[position] = parcelKg;
+        size++;
+
+        legDistanceFee[position] = newDistanceFee;
+        if (position + 1 < size) {
+            legDistanceFee[position + 1] = nextDistanceFee;
+            legFee[position + 1] = pricer.legFee(legDistanceFee[position + 1], legWeightKg[position + 1]);
+        }
+        refreshUpstream(position);
+    }
+
+    public void remove(int position) {
+        Objects.checkIndex(position, size);
+        double bridgeDistanceFee = position + 1 < size
+                ? pricer.distanceFee(previous(position), stops[position + 1]) : 0;
+        int tail = size - position - 1;
+        System.arraycopy(stops, position + 1, stops, position, tail);
+        System.arraycopy(parcelKg, position + 1, parcelKg, position, tail);
+        System.arraycopy(legWeightKg, position + 1, legWeightKg, position, tail + 1);
+        System.arraycopy(legDistanceFee, position + 1, legDistanceFee, position, tail);
+        System.arraycopy(legFee, position + 1, legFee, position, tail);
+        size--;
+
+        if (position < size) {
+            legDistanceFee[position] = bridgeDistanceFee;
+            legFee[position] = pricer.legFee(legDistanceFee[position], legWeightKg[position]);
+        }
+        refreshUpstream(position - 1);
+    }
+
+    /**
+     * Recalculează greutățile și taxele tronsoanelor 0..last (ca sume sufix, la fel ca
+     * {@link RoutePricer#priceRoute}) și totalul rutei.
+     */
+    private void refreshUpstream(int last) {
+        for (int j = last; j >= 0; j--) {
+            legWeightKg[j] = parcelKg[j] + legWeightKg[j + 1];
+            legFee[j] = pricer.legFee(legDistanceFee[j], legWeightKg[j]);
+        }
+        double sum = 0;
+        for (int j = size - 1; j >= 0; j--) {
+            sum += legFee[j];
+        }
+        total = sum;
+    }
+
+    private int previous(int position) {
+        return position == 0 ? depot : stops[position - 1];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > stops.length) {
+            int grown = Math.max(capacity, stops.length * 2);
+            stops = Arrays.copyOf(stops, grown);
+            parcelKg = Arrays.copyOf(parcelKg, grown);
+            legWeightKg = Arrays.copyOf(legWeightKg, grown + 1);
+            legDistanceFee = Arrays.copyOf(legDistanceFee, grown);
+            legFee = Arrays.copyOf(legFee, grown);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ro.tss.delivery.route;
+
+/**
+ * Sursa distanțelor între opriri (matrice, serviciu de rutare, haversine etc.).
+ *
+ * Opririle și depozitele sunt identificate prin indici întregi.
+ */
+@FunctionalInterface
+public interface LegDistance {
+
+    /**
+     * Distanța în km a tronsonului from → to.
+     */
+    double distanceKm(int from, int to);
+}
@@ -0,0 +1,117 @@
+package ro.tss.delivery.route;
+
+import java.util.Arrays;
+
+/**
+ * Cache pentru componenta T_D a tronsoanelor, cheie (from, to).
+ *
+ * Tabel cu adresare deschisă (linear probing) pe chei {@code long}, fără boxing:
+ * cheia este {@code from << 32 | to}, iar valoarea este taxa pe distanță deja
+ * calculată. T_G nu se păstrează în cache, pentru că depinde de greutatea rămasă
+ * în vehicul, care diferă de la o rută la alta.
+ *
+ * {@link #EMPTY} marchează sloturile libere, dar este și o cheie validă
+ * ({@code key(Integer.MIN_VALUE, 0)}); ea este ținută separat, în slotul virtual
+ * {@link #SENTINEL_SLOT}, în afara tabelului.
+ */
+final class LegFeeCache {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final float MAX_LOAD = 0.6f;
+    private static final int SENTINEL_SLOT = -1;
+
+    private long[] keys;
+    private double[] values;
+    private int size;
+    // Valoarea pentru cheia egală cu EMPTY, dacă a fost memorată
+    private boolean sentinelPresent;
+    private double sentinelValue;
+    private long hits;
+    private long misses;
+
+    LegFeeCache(int expectedLegs) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedLegs / MAX_LOAD)) - 1) << 1;
+        keys = new long[capacity];
+        values = new double[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    static long key(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Indexul slotului pentru cheie; dacă {@code keys[slot] != key}, cheia lipsește.
+     */
+    int slot(long key) {
+        if (key == EMPTY) {
+            return SENTINEL_SLOT;
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    boolean contains(int slot, long key) {
+        boolean found = slot == SENTINEL_SLOT ? sentinelPresent : keys[slot] == key;
+        if (found) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return found;
+    }
+
+    double value(int slot) {
+        return slot == SENTINEL_SLOT ? sentinelValue : values[slot];
+    }
+
+    void put(int slot, long key, double distanceFee) {
+        if (slot == SENTINEL_SLOT) {
+            sentinelPresent = true;
+            sentinelValue = distanceFee;
+            size++;
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = distanceFee;
+        if (++size > keys.length * MAX_LOAD) {
+            grow();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    long hits() {
+        return hits;
+    }
+
+    long misses() {
+        return misses;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new double[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,129 @@
+package ro.tss.delivery.route;
+
+import ro.tss.delivery.ratecard.RateCard;
+
+/**
+ * Tarifarea rutelor cu mai multe opriri (livrări consolidate).
+ *
+ * O rută pleacă din depozit și trece pe rând prin opriri; la fiecare oprire se
+ * descarcă un colet. Fiecare tronson este tarifat cu formula din {@code DeliveryService}:
+ *
+ *     taxa(tronson j) = T_B + T_D(d_j) + T_G(w_j)
+ *
+ * unde w_j este greutatea încă aflată în vehicul pe tronsonul j (suma coletelor
+ * opririlor j, j+1, ..., n-1). Taxa rutei este suma taxelor tronsoanelor.
+ *
+ * Componenta T_D depinde doar de tronson, deci se păstrează într-un cache comun
+ * tuturor rutelor: tronsoanele care se repetă (ex. depozit → hub) sunt calculate o
+ * singură dată. Pentru modificări punctuale (inserare / eliminare de oprire) se
+ * folosește {@link IncrementalRoute}.
+ *
+ * Instanțele nu sunt thread-safe (cache-ul este mutabil).
+ */
+public final class RoutePricer {
+
+    private final LegDistance distances;
+    private final RateCard card;
+    private final LegFeeCache cache;
+
+    public RoutePricer(LegDistance distances) {
+        this(distances, RateCard.standard(), 1024);
+    }
+
+    public RoutePricer(LegDistance distances, RateCard card, int expectedLegs) {
+        this.distances = distances;
+        this.card = card;
+        this.cache = new LegFeeCache(expectedLegs);
+    }
+
+    /**
+     * Taxa totală a unei rute.
+     *
+     * @param stops    opririle, în ordinea vizitării
+     * @param parcelKg greutatea coletului descărcat la fiecare oprire (> 0)
+     * @throws IllegalArgumentException dacă un colet nu are greutate pozitivă sau un tronson are distanța 0
+     */
+    public double priceRoute(int depot, int[] stops, double[] parcelKg) {
+        checkRoute(stops, parcelKg);
+        double total = 0;
+        double remainingKg = 0;
+        for (int j = stops.length - 1; j >= 0; j--) {
+            remainingKg = parcelKg[j] + remainingKg;
+            int from = j == 0 ? depot : stops[j - 1];
+            total += legFee(distanceFee(from, stops[j]), remainingKg);
+        }
+        return total;
+    }
+
+    /**
+     * Taxele unui lot de rute, cu cache-ul de tronsoane comun întregului lot.
+     */
+    public void priceRoutes(int[] depots, int[][] stops, double[][] parcelKg, double[] totals) {
+        if (depots.length != stops.length || stops.length != parcelKg.length || parcelKg.length != totals.length) {
+            throw new IllegalArgumentException("Tablourile lotului trebuie să aibă aceeași lungime.");
+        }
+        for (int r = 0; r < totals.length; r++) {
+            totals[r] = priceRoute(depots[r], stops[r], parcelKg[r]);
+        }
+    }
+
+    /**
+     * Rută goală, pornind din depozit, pentru modificări incrementale.
+     */
+    public IncrementalRoute newRoute(int depot) {
+        return new IncrementalRoute(this, depot);
+    }
+
+    public int cachedLegs() {
+        return cache.size();
+    }
+
+    public long cacheHits() {
+        return cache.hits();
+    }
+
+    public long cacheMisses() {
+        return cache.misses();
+    }
+
+    /**
+     * T_D al tronsonului from → to, din cache sau calculat și memorat.
+     */
+    double distanceFee(int from, int to) {
+        long key = LegFeeCache.key(from, to);
+        int slot = cache.slot(key);
+        if (cache.contains(slot, key)) {
+            return cache.value(slot);
+        }
+        double distanceKm = distances.distanceKm(from, to);
+        if (!(distanceKm > 0)) {
+            throw new IllegalArgumentException(
+                    "Tronsonul " + from + " → " + to + " trebuie să aibă distanța pozitivă.");
+        }
+        double distanceFee = distanceKm * card.distanceRate(card.distanceTier(distanceKm));
+        cache.put(slot, key, distanceFee);
+        return distanceFee;
+    }
+
+    /**
+     * T_B + T_D + T_G, în aceeași ordine a operațiilor ca {@code DeliveryService}.
+     */
+    double legFee(double distanceFee, double weightKg) {
+        return card.baseFee() + distanceFee + card.weightFee(card.weightBand(weightKg));
+    }
+
+    static void checkParcel(double parcelKg) {
+        if (!(parcelKg > 0)) {
+            throw new IllegalArgumentException("Greutatea coletului trebuie să fie pozitivă.");
+        }
+    }
+
+    private static void checkRoute(int[] stops, double[] parcelKg) {
+        if (stops.length != parcelKg.length) {
+            throw new IllegalArgumentException("Fiecare oprire trebuie să aibă un colet.");
+        }
+        for (double p : parcelKg) {
+            checkParcel(p);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package ro.tss.delivery.schedule;
+
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.FeePricer;
+import ro.tss.delivery.kernel.BranchlessDeliveryService;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Coeficienții unui {@link PeakSchedule} precalculați pe un orizont: câte un octet per
+ * interval de {@code slotMinutes}, indice într-o paletă cu coeficienții distincți.
+ * Intervalele sunt consecutive în timp absolut (milisecunde epoch), deci coeficientul unei
+ * livrări este o împărțire și două citiri din tablouri, fără {@code ZonedDateTime} și
+ * fără alocări; trecerile la ora de vară/iarnă sunt rezolvate la construcție.
+ *
+ * Un orizont de 90 de zile la rezoluție de un minut ocupă 127 KB. Calendarul este imutabil;
+ * pentru un orizont glisant se construiește periodic unul nou (vezi PeakCalendarBenchmark
+ * pentru costul reconstruirii).
+ *
+ * Construcția: pentru fiecare tip de zi (luni–duminică, sărbătoare) se calculează o dată
+ * șablonul intervalelor zilei; calendarul copiază apoi din șablonul zilei locale a fiecărui
+ * interval. Decalajul fusului orar se recitește doar la tranzițiile lui.
+ */
+public final class PeakCalendar {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int HOLIDAY = 7;
+    // Paleta este indexată cu un octet fără semn
+    private static final int MAX_PALETTE = 256;
+
+    private final DeliveryService service = new DeliveryService();
+    private final BranchlessDeliveryService kernel = new BranchlessDeliveryService();
+
+    private final long startMillis;
+    private final long slotMillis;
+    private final byte[] slots;
+    private final double[] palette;
+
+    private PeakCalendar(long startMillis, long slotMillis, byte[] slots, double[] palette) {
+        this.startMillis = startMillis;
+        this.slotMillis = slotMillis;
+        this.slots = slots;
+        this.palette = palette;
+    }
+
+    static PeakCalendar build(PeakSchedule schedule, long fromEpochMilli, int days) {
+        if (days < 1 || days > 3660) {
+            throw new IllegalArgumentException("Orizontul calendarului trebuie să fie între 1 și 3660 de zile.");
+        }
+        int slotMinutes = schedule.slotMinutes();
+        long slotMillis = slotMinutes * 60_000L;
+        int slotsPerDay = PeakRule.MINUTES_PER_DAY / slotMinutes;
+
+        // Șabloanele celor 8 tipuri de zi și paleta coeficienților distincți
+        Map<Double, Integer> index = new HashMap<>();
+        double[] palette = new double[MAX_PALETTE];
+        byte[][] templates = new byte[8][slotsPerDay];
+        for (int type = 0; type < 8; type++) {
+            DayOfWeek day = DayOfWeek.of(type == HOLIDAY ? 1 : type + 1);
+            for (int s = 0; s < slotsPerDay; s++) {
+                double m = schedule.multiplier(day, type == HOLIDAY, s * slotMinutes);
+                Integer p = index.get(m);
+                if (p == null) {
+                    if (index.size() == MAX_PALETTE) {
+                        throw new IllegalArgumentException("Programul are mai mult de " + MAX_PALETTE + " coeficienți distincți.");
+                    }
+                    p = index.size();
+                    index.put(m, p);
+                    palette[p] = m;
+                }
+                templates[type][s] = (byte) p.intValue();
+            }
+        }
+
+        long[] holidayDays = new long[schedule.holidays().size()];
+        int h = 0;
+        for (LocalDate date : schedule.holidays()) {
+            holidayDays[h++] = date.toEpochDay();
+        }
+        Arrays.sort(holidayDays);
+
+        long start = Math.floorDiv(fromEpochMilli, slotMillis) * slotMillis;
+        byte[] slots = new byte[days * slotsPerDay];
+        ZoneRules rules = schedule.zone().getRules();
+        long offsetMillis = 0;
+        long nextTransition = Long.MIN_VALUE;
+        long currentDay = Long.MIN_VALUE;
+        byte[] template = null;
+        for (int s = 0; s < slots.length; s++) {
+            long t = start + s * slotMillis;
+            if (t >= nextTransition) {
+                Instant instant = Instant.ofEpochMilli(t);
+                offsetMillis = rules.getOffset(instant).getTotalSeconds() * 1000L;
+                if (offsetMillis % slotMillis != 0) {
+                    throw new IllegalArgumentException("Decalajul fusului orar " + rules.getOffset(instant)
+                            + " nu este multiplu al intervalului de " + slotMinutes + " min.");
+                }
+                ZoneOffsetTransition next = rules.nextTransition(instant);
+                nextTransition = next == null ? Long.MAX_VALUE : next.toEpochSecond() * 1000L;
+            }
+            long local = t + offsetMillis;
+            long epochDay = Math.floorDiv(local, MILLIS_PER_DAY);
+            if (epochDay != currentDay) {
+                currentDay = epochDay;
+                boolean holiday = Arrays.binarySearch(holidayDays, epochDay) >= 0;
+                // 1970-01-01 a fost joi
+                template = templates[holiday ? HOLIDAY : (int) Math.floorMod(epochDay + 3, 7L)];
+            }
+            slots[s] = template[(int) ((local - epochDay * MILLIS_PER_DAY) / slotMillis)];
+        }
+        return new PeakCalendar(start, slotMillis, slots, Arrays.copyOf(palette, index.size()));
+    }
+
+    /** Începutul orizontului (inclusiv), în milisecunde epoch. */
+    public long startMillis() {
+        return startMillis;
+    }
+
+    /** Sfârșitul orizontului (exclusiv), în milisecunde epoch. */
+    public long endMillis() {
+        return startMillis + slots.length * slotMillis;
+    }
+
+    public boolean covers(long epochMilli) {
+        return epochMilli >= startMillis && epochMilli - startMillis < slots.length * slotMillis;
+    }
+
+    /** Numărul de coeficienți distincți din paletă. */
+    public int distinctMultipliers() {
+        return palette.length;
+    }
+
+    /** Memoria calendarului (intervale și paletă), în octeți. */
+    public long footprintBytes() {
+        return 16L + slots.length + 16L + (long) palette.length * Double.BYTES;
+    }
+
+    /**
+     * Coeficientul la momentul dat.
+     *
+     * @throws IllegalArgumentException dacă momentul este în afara orizontului
+     */
+    public double multiplierAt(long epochMilli) {
+        return palette[slots[slot(epochMilli)] & 0xFF];
+    }
+
+    /**
+     * Taxa unei livrări ridicate la momentul dat: taxa din DeliveryService × coeficient.
+     *
+     * @throws IllegalArgumentException dacă momentul este în afara orizontului sau distanța
+     *                                  ori greutatea nu sunt pozitive
+     */
+    public double calculateDeliveryFee(long pickupTime, double distanceKm, double weightKg) {
+        double multiplier = multiplierAt(pickupTime);
+        return service.calculateDeliveryFee(distanceKm, weightKg) * multiplier;
+    }
+
+    /**
+     * Taxele unui lot: momentele sunt verificate primele, apoi taxa de bază cu kernelul
+     * branchless și înmulțirea cu coeficientul fiecărui rând.
+     *
+     * @throws IllegalArgumentException dacă tablourile au lungimi diferite sau un rând este
+     *                                  invalid (mesajul indică primul rând invalid)
+     */
+    public void calculateDeliveryFees(long[] pickupTime, double[] distanceKm, double[] weightKg, double[] fees) {
+        FeePricer.checkLengths(distanceKm, weightKg, fees);
+        int n = fees.length;
+        if (pickupTime.length != n) {
+            throw new IllegalArgumentException("Tablourile de intrare și ieșire trebuie să aibă aceeași lungime.");
+        }
+        long span = slots.length * slotMillis;
+        for (int i = 0; i < n; i++) {
+            long offset = pickupTime[i] - startMillis;
+            if (offset < 0 || offset >= span) {
+                throw new IllegalArgumentException("Rândul " + i + ": " + outside(pickupTime[i]));
+            }
+        }
+        kernel.calculateDeliveryFees(distanceKm, weightKg, fees, 0, n);
+        for (int i = 0; i < n; i++) {
+            fees[i] *= palette[slots[(int) ((pickupTime[i] - startMillis) / slotMillis)] & 0xFF];
+        }
+    }
+
+    private int slot(long epochMilli) {
+        if (!covers(epochMilli)) {
+            throw new IllegalArgumentException(outside(epochMilli));
+        }
+        return (int) ((epochMilli - startMillis) / slotMillis);
+    }
+
+    private String outside(long epochMilli) {
+        return "Momentul " + epochMilli + " este în afara calendarului [" + startMillis + ", " + endMillis() + ").";
+    }
+}
@@ -0,0 +1,96 @@
+package ro.tss.delivery.schedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Un interval orar în care taxa de livrare este înmulțită cu un coeficient (de exemplu
+ * ×1.25 la orele de vârf, ×0.90 noaptea), fie în anumite zile ale săptămânii, fie în
+ * zilele de sărbătoare ale {@link PeakSchedule}.
+ *
+ * Intervalul este [de la, până la), în ora locală; „până la” 00:00 înseamnă sfârșitul zilei.
+ */
+public final class PeakRule {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final Set<DayOfWeek> days;
+    private final boolean holidays;
+    private final int fromMinute;
+    private final int toMinute;
+    private final double multiplier;
+
+    private PeakRule(Set<DayOfWeek> days, boolean holidays, LocalTime from, LocalTime to, double multiplier) {
+        this.days = days;
+        this.holidays = holidays;
+        this.fromMinute = minuteOf(Objects.requireNonNull(from, "from"));
+        int end = minuteOf(Objects.requireNonNull(to, "to"));
+        this.toMinute = end == 0 ? MINUTES_PER_DAY : end;
+        this.multiplier = multiplier;
+        if (fromMinute >= toMinute) {
+            throw new IllegalArgumentException("Intervalul orar " + from + "–" + to + " este vid.");
+        }
+        if (!(multiplier > 0) || Double.isInfinite(multiplier)) {
+            throw new IllegalArgumentException("Coeficientul trebuie să fie un număr finit pozitiv.");
+        }
+    }
+
+    /** Regula pentru zilele date ale săptămânii (în afara sărbătorilor). */
+    public static PeakRule on(Set<DayOfWeek> days, LocalTime from, LocalTime to, double multiplier) {
+        if (days.isEmpty()) {
+            throw new IllegalArgumentException("Regula trebuie să se aplice în cel puțin o zi.");
+        }
+        return new PeakRule(EnumSet.copyOf(days), false, from, to, multiplier);
+    }
+
+    /** Regula pentru zilele de luni până vineri (în afara sărbătorilor). */
+    public static PeakRule weekdays(LocalTime from, LocalTime to, double multiplier) {
+        return on(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), from, to, multiplier);
+    }
+
+    /** Regula pentru zilele de sărbătoare, indiferent de ziua săptămânii. */
+    public static PeakRule onHolidays(LocalTime from, LocalTime to, double multiplier) {
+        return new PeakRule(EnumSet.noneOf(DayOfWeek.class), true, from, to, multiplier);
+    }
+
+    /**
+     * Dacă regula se aplică într-o zi: sărbătorile au doar regulile lor.
+     */
+    boolean appliesOn(DayOfWeek day, boolean holiday) {
+        return holiday ? holidays : days.contains(day);
+    }
+
+    boolean covers(int minuteOfDay) {
+        return minuteOfDay >= fromMinute && minuteOfDay < toMinute;
+    }
+
+    int fromMinute() {
+        return fromMinute;
+    }
+
+    int toMinute() {
+        return toMinute;
+    }
+
+    public double multiplier() {
+        return multiplier;
+    }
+
+    private static int minuteOf(LocalTime time) {
+        if (time.getSecond() != 0 || time.getNano() != 0) {
+            throw new IllegalArgumentException("Ora " + time + " trebuie să fie la minut fix.");
+        }
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    @Override
+    public String toString() {
+        String when = holidays ? "sărbători" : days.toString();
+        return when + " " + LocalTime.ofSecondOfDay(fromMinute * 60L) + "–"
+                + (toMinute == MINUTES_PER_DAY ? "24:00" : LocalTime.ofSecondOfDay(toMinute * 60L).toString())
+                + " ×" + multiplier;
+    }
+}
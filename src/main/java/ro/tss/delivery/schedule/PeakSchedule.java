@@ -0,0 +1,97 @@
+package ro.tss.delivery.schedule;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Programul coeficienților de vârf: regulile orare ({@link PeakRule}), sărbătorile și
+ * fusul orar în care sunt exprimate.
+ *
+ * Coeficientul unui moment este cel al ultimei reguli care se aplică (ordinea din listă),
+ * sau 1.0 dacă nu se aplică niciuna. În zilele de sărbătoare se aplică doar regulile
+ * de sărbătoare.
+ *
+ * {@link #multiplierAt} evaluează regulile direct (cu {@link ZonedDateTime}) și servește
+ * ca referință; pentru tarifare, {@link #calendar} precalculează un {@link PeakCalendar}
+ * pe un orizont de zile, în care coeficientul se citește dintr-un tablou.
+ */
+public final class PeakSchedule {
+
+    private final ZoneId zone;
+    private final int slotMinutes;
+    private final List<PeakRule> rules;
+    private final Set<LocalDate> holidays;
+
+    /**
+     * @param slotMinutes rezoluția calendarului în minute: divizor al unei zile, iar toate
+     *                    capetele regulilor trebuie să fie multipli ai ei
+     * @throws IllegalArgumentException dacă rezoluția nu divide ziua sau nu aliniază regulile
+     */
+    public PeakSchedule(ZoneId zone, int slotMinutes, List<PeakRule> rules, Set<LocalDate> holidays) {
+        this.zone = Objects.requireNonNull(zone, "zone");
+        this.slotMinutes = slotMinutes;
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+        this.holidays = Collections.unmodifiableSet(new HashSet<>(holidays));
+        if (slotMinutes < 1 || PeakRule.MINUTES_PER_DAY % slotMinutes != 0) {
+            throw new IllegalArgumentException("Intervalul calendarului trebuie să dividă ziua: " + slotMinutes + " min.");
+        }
+        for (PeakRule rule : this.rules) {
+            if (rule.fromMinute() % slotMinutes != 0 || rule.toMinute() % slotMinutes != 0) {
+                throw new IllegalArgumentException(
+                        "Regula " + rule + " nu este aliniată la intervale de " + slotMinutes + " min.");
+            }
+        }
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    public int slotMinutes() {
+        return slotMinutes;
+    }
+
+    public List<PeakRule> rules() {
+        return rules;
+    }
+
+    public Set<LocalDate> holidays() {
+        return holidays;
+    }
+
+    /**
+     * Coeficientul la momentul dat, evaluat direct din reguli (implementarea de referință).
+     */
+    public double multiplierAt(long epochMilli) {
+        ZonedDateTime local = Instant.ofEpochMilli(epochMilli).atZone(zone);
+        boolean holiday = holidays.contains(local.toLocalDate());
+        return multiplier(local.getDayOfWeek(), holiday, local.getHour() * 60 + local.getMinute());
+    }
+
+    double multiplier(DayOfWeek day, boolean holiday, int minuteOfDay) {
+        double multiplier = 1.0;
+        for (PeakRule rule : rules) {
+            if (rule.appliesOn(day, holiday) && rule.covers(minuteOfDay)) {
+                multiplier = rule.multiplier();
+            }
+        }
+        return multiplier;
+    }
+
+    /**
+     * Calendarul precalculat pentru {@code days} zile (de 24 h) începând cu intervalul care
+     * conține {@code fromEpochMilli}.
+     */
+    public PeakCalendar calendar(long fromEpochMilli, int days) {
+        return PeakCalendar.build(this, fromEpochMilli, days);
+    }
+}
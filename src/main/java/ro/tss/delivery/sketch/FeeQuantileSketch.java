@@ -0,0 +1,441 @@
+package ro.tss.delivery.sketch;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Schiță de cuantile cu eroare relativă garantată (DDSketch) pentru distribuția taxelor.
+ *
+ * Taxele pozitive sunt numărate în găleți logaritmice: găleata i acoperă intervalul
+ * (γ^(i-1), γ^i], cu γ = (1 + α) / (1 - α). Cuantila raportată pentru o găleată este
+ * 2γ^i / (γ + 1), la distanță relativă cel mult α de orice valoare din găleată, deci
+ * p50/p95/p99 au eroare relativă ≤ α indiferent de volum sau de distribuție.
+ *
+ * Memoria depinde doar de raportul dintre cea mai mare și cea mai mică taxă, nu de numărul
+ * de taxe: tabloul acoperă doar gălețile dintre cea mai mică și cea mai mare valoare
+ * văzută. Pentru taxe între 5 și 100 RON și α = 1% sunt ~150 de găleți (~1.2 KB). Taxele
+ * sub {@link #MIN_INDEXABLE} sunt numărate ca zero, iar cele peste {@link #MAX_INDEXABLE}
+ * sunt respinse.
+ *
+ * Tabloul are cel mult {@link #maxBins} găleți de 8 octeți, implicit
+ * {@link #DEFAULT_BIN_LIMIT} (8 KB), care la α = 1% acoperă un raport de ~8·10^8 între
+ * cea mai mare și cea mai mică taxă. Dacă valorile cer mai multe găleți (α mic sau un
+ * domeniu foarte larg: 5–1000 RON la α = 1e-4 ar cere ~26 000), gălețile cele mai mici
+ * sunt comprimate în cea mai mică găleată păstrată, ca în DDSketch: cuantilele mari
+ * (p50/p95/p99 când coada de jos este mică) își păstrează eroarea ≤ α, iar cele care
+ * cad în găleata comprimată sunt supraestimate ({@link #collapsedCount} spune câte
+ * valori sunt afectate). Limita se alege la construcție.
+ *
+ * Schițele cu același α se combină exact ({@link #merge}): rezultatul este identic cu
+ * schița construită din toate valorile, deci fiecare fir sau JVM poate avea schița lui.
+ * Comprimarea nu strică proprietatea: găleata cea mai mică păstrată este mereu
+ * max(cea mai mică găleată văzută, cea mai mare − limită + 1), deci starea depinde doar
+ * de valori, nu de ordinea lor sau de felul în care au fost împărțite.
+ * {@link #toBytes} dă o serializare compactă (contoare varint). O instanță nu este
+ * thread-safe.
+ */
+public final class FeeQuantileSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    /** Numărul implicit maxim de găleți (8 KB). */
+    public static final int DEFAULT_BIN_LIMIT = 1024;
+    /** Cea mai mică limită de găleți acceptată. */
+    public static final int MIN_BIN_LIMIT = 16;
+
+    /** Valorile sub acest prag (inclusiv 0) sunt numărate separat, ca zero. */
+    public static final double MIN_INDEXABLE = 1e-9;
+    /** Cea mai mare taxă acceptată, în RON. */
+    public static final double MAX_INDEXABLE = 1e12;
+
+    private static final byte FORMAT_VERSION = 2;
+    private static final int INITIAL_BINS = 64;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double multiplier;
+    // Indicii găleților pentru MIN_INDEXABLE și MAX_INDEXABLE
+    private final int minIndex;
+    private final int maxIndex;
+    private final int binLimit;
+
+    // bins[i - offset] = numărul de valori din găleata i, pentru i în [lowest, highest];
+    // după comprimare, găleata lowest numără și toate valorile de sub ea
+    private long[] bins = new long[0];
+    private int offset;
+    private int lowest = Integer.MAX_VALUE;
+    private int highest = Integer.MIN_VALUE;
+    private boolean collapsed;
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public FeeQuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * @param relativeAccuracy eroarea relativă α a cuantilelor, între 1e-4 și 0.5
+     */
+    public FeeQuantileSketch(double relativeAccuracy) {
+        this(relativeAccuracy, DEFAULT_BIN_LIMIT);
+    }
+
+    /**
+     * @param relativeAccuracy eroarea relativă α a cuantilelor, între 1e-4 și 0.5
+     * @param binLimit         numărul maxim de găleți, cel puțin {@link #MIN_BIN_LIMIT}
+     */
+    public FeeQuantileSketch(double relativeAccuracy, int binLimit) {
+        if (!(relativeAccuracy >= 1e-4 && relativeAccuracy <= 0.5)) {
+            throw new IllegalArgumentException("Eroarea relativă trebuie să fie între 0.0001 și 0.5.");
+        }
+        if (binLimit < MIN_BIN_LIMIT) {
+            throw new IllegalArgumentException("Limita de găleți trebuie să fie cel puțin " + MIN_BIN_LIMIT + ".");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.multiplier = 1 / Math.log(gamma);
+        this.minIndex = index(MIN_INDEXABLE);
+        this.maxIndex = index(MAX_INDEXABLE);
+        this.binLimit = Math.min(binLimit, maxIndex - minIndex + 1);
+    }
+
+    public double relativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /** Cea mai mică taxă adăugată (exactă), NaN dacă schița este goală. */
+    public double min() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    /** Cea mai mare taxă adăugată (exactă), NaN dacă schița este goală. */
+    public double max() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * @throws IllegalArgumentException dacă taxa este negativă, NaN sau peste {@link #MAX_INDEXABLE}
+     */
+    public void add(double fee) {
+        if (fee >= MIN_INDEXABLE && fee <= MAX_INDEXABLE) {
+            int i = index(fee);
+            if (i < lowest || i > highest) {
+                i = extend(i);
+            }
+            bins[i - offset]++;
+        } else {
+            addOutsideBins(fee, 1);
+        }
+        count++;
+        min = Math.min(min, fee);
+        max = Math.max(max, fee);
+    }
+
+    /**
+     * Adaugă aceeași taxă de {@code times} ori.
+     *
+     * @throws IllegalArgumentException dacă taxa este negativă, NaN sau peste {@link #MAX_INDEXABLE}
+     */
+    public void add(double fee, long times) {
+        if (times <= 0) {
+            throw new IllegalArgumentException("Numărul de apariții trebuie să fie pozitiv.");
+        }
+        if (fee >= MIN_INDEXABLE && fee <= MAX_INDEXABLE) {
+            addToBin(index(fee), times);
+        } else {
+            addOutsideBins(fee, times);
+        }
+        count += times;
+        min = Math.min(min, fee);
+        max = Math.max(max, fee);
+    }
+
+    private void addOutsideBins(double fee, long times) {
+        if (!(fee >= 0) || fee > MAX_INDEXABLE) {
+            throw new IllegalArgumentException("Taxa trebuie să fie între 0 și " + MAX_INDEXABLE + ": " + fee + ".");
+        }
+        zeroCount += times;
+    }
+
+    /**
+     * Adaugă toate valorile celeilalte schițe, cu limita de găleți a acestei schițe.
+     *
+     * @throws IllegalArgumentException dacă schițele au erori relative diferite
+     */
+    public void merge(FeeQuantileSketch other) {
+        if (Double.compare(relativeAccuracy, other.relativeAccuracy) != 0) {
+            throw new IllegalArgumentException("Doar schițele cu aceeași eroare relativă se pot combina: "
+                    + relativeAccuracy + " și " + other.relativeAccuracy + ".");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        if (other.lowest <= other.highest) {
+            extend(other.lowest);
+            extend(other.highest);
+            // gălețile celeilalte schițe de sub lowest (comprimate aici) merg în lowest
+            for (int i = other.lowest; i <= other.highest; i++) {
+                bins[Math.max(i, lowest) - offset] += other.bins[i - other.offset];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Cuantila q, cu eroare relativă ≤ α (NaN dacă schița este goală) dacă rangul ei nu
+     * cade în găleata comprimată (vezi {@link #collapsedCount}). Rezultatul este limitat
+     * la [min, max], care sunt exacte.
+     *
+     * @param q între 0 și 1 (0.5 = mediana, 0.99 = p99)
+     */
+    public double quantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Cuantila trebuie să fie între 0 și 1: " + q + ".");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (q * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return min;
+        }
+        for (int i = lowest; i <= highest; i++) {
+            seen += bins[i - offset];
+            if (seen > rank) {
+                return Math.max(min, Math.min(max, value(i)));
+            }
+        }
+        return max;
+    }
+
+    /** Numărul de găleți nevide. */
+    public int nonEmptyBins() {
+        int n = 0;
+        for (int i = lowest; i <= highest; i++) {
+            if (bins[i - offset] != 0) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Numărul maxim de găleți: limita dată la construcție, dar nu mai mult decât cer taxele
+     * între {@link #MIN_INDEXABLE} și {@link #MAX_INDEXABLE}; tabloul nu crește niciodată
+     * peste el.
+     */
+    public int maxBins() {
+        return binLimit;
+    }
+
+    /**
+     * Numărul de valori din găleata comprimată (cea mai mică păstrată), 0 dacă schița nu a
+     * depășit niciodată {@link #maxBins}. Cuantilele cu rangul sub numărul valorilor zero
+     * plus acesta pot fi supraestimate; celelalte au eroarea relativă ≤ α.
+     */
+    public long collapsedCount() {
+        return collapsed ? bins[lowest - offset] : 0;
+    }
+
+    /** Memoria ocupată (obiectul și tabloul găleților), în octeți. */
+    public long footprintBytes() {
+        return 72 + 16 + (long) bins.length * Long.BYTES;
+    }
+
+    int index(double value) {
+        return (int) Math.ceil(Math.log(value) * multiplier);
+    }
+
+    /** Valoarea reprezentativă a găleții i, la eroare relativă ≤ α față de tot intervalul ei. */
+    double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    private void addToBin(int index, long times) {
+        if (index < lowest || index > highest) {
+            index = extend(index);
+        }
+        bins[index - offset] += times;
+    }
+
+    /**
+     * Extinde intervalul [lowest, highest] ca să conțină indicele, realocând tabloul (cel
+     * puțin dublat, cu spațiu liber de ambele părți, dar fără a depăși {@link #maxBins})
+     * doar dacă indicele iese din el. Dacă intervalul ar depăși {@link #maxBins}, gălețile
+     * de jos sunt comprimate în highest − maxBins + 1.
+     *
+     * @return găleata în care se numără valorile cu indicele dat
+     */
+    private int extend(int index) {
+        int lo = Math.min(lowest, index);
+        int hi = Math.max(highest, index);
+        if (hi - lo + 1 > binLimit) {
+            lo = hi - binLimit + 1;
+            collapsed = true;
+        }
+        if (lo < offset || hi >= offset + bins.length) {
+            int used = hi - lo + 1;
+            int length = Math.min(binLimit,
+                    Math.max(used + INITIAL_BINS / 2, Math.max(INITIAL_BINS, bins.length * 2)));
+            int newOffset = Math.max(minIndex, Math.min(lo - (length - used) / 2, maxIndex - length + 1));
+            long[] resized = new long[length];
+            for (int i = lowest; i <= highest; i++) {
+                resized[Math.max(i, lo) - newOffset] += bins[i - offset];
+            }
+            bins = resized;
+            offset = newOffset;
+        } else {
+            // comprimare pe loc, fără realocare
+            for (int i = lowest; i < lo && i <= highest; i++) {
+                bins[lo - offset] += bins[i - offset];
+                bins[i - offset] = 0;
+            }
+        }
+        lowest = lo;
+        highest = hi;
+        return Math.max(index, lo);
+    }
+
+    /**
+     * Serializarea compactă: antet (versiune, α, limita de găleți, comprimată sau nu),
+     * contorul valorilor zero, min, max, apoi contoarele
+     * găleților de la cea mai mică la cea mai mare nevidă, codificate varint (o găleată
+     * goală dintre ele ocupă un octet).
+     */
+    public byte[] toBytes() {
+        int first = lowest;
+        int last = highest;
+        while (first <= last && bins[first - offset] == 0) {
+            first++;
+        }
+        while (last >= first && bins[last - offset] == 0) {
+            last--;
+        }
+        int binCount = first <= last ? last - first + 1 : 0;
+        ByteBuffer out = ByteBuffer.allocate(1 + 8 + 5 + 1 + 10 + 8 + 8 + 5 + 5 + binCount * 10);
+        out.put(FORMAT_VERSION);
+        out.putDouble(relativeAccuracy);
+        putVarLong(out, binLimit);
+        out.put((byte) (collapsed ? 1 : 0));
+        putVarLong(out, zeroCount);
+        out.putDouble(min);
+        out.putDouble(max);
+        putVarLong(out, binCount);
+        if (binCount > 0) {
+            putVarLong(out, zigZag(first));
+            for (int i = first; i <= last; i++) {
+                putVarLong(out, bins[i - offset]);
+            }
+        }
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    /**
+     * @throws IllegalArgumentException dacă octeții nu sunt o schiță serializată validă
+     */
+    public static FeeQuantileSketch fromBytes(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        try {
+            if (in.get() != FORMAT_VERSION) {
+                throw invalid("versiune necunoscută");
+            }
+            double accuracy = in.getDouble();
+            long limit = getVarLong(in);
+            byte collapsed = in.get();
+            if (limit < MIN_BIN_LIMIT || limit > Integer.MAX_VALUE || (collapsed & ~1) != 0) {
+                throw invalid("antet invalid");
+            }
+            FeeQuantileSketch sketch = new FeeQuantileSketch(accuracy, (int) limit);
+            long zeros = getVarLong(in);
+            double min = in.getDouble();
+            double max = in.getDouble();
+            long binCount = getVarLong(in);
+            if (zeros < 0 || binCount < 0 || binCount > sketch.maxBins()) {
+                throw invalid("contoare invalide");
+            }
+            long total = zeros;
+            if (binCount > 0) {
+                long first = unZigZag(getVarLong(in));
+                if (first < sketch.minIndex || first + binCount - 1 > sketch.maxIndex) {
+                    throw invalid("găleți în afara domeniului");
+                }
+                for (int i = 0; i < binCount; i++) {
+                    long c = getVarLong(in);
+                    if (c < 0) {
+                        throw invalid("contor negativ");
+                    }
+                    if (c > 0) {
+                        sketch.addToBin((int) (first + i), c);
+                        total += c;
+                    }
+                }
+            }
+            if (in.hasRemaining()) {
+                throw invalid("octeți în plus la final");
+            }
+            if (total > 0 && (!(min >= 0 && min <= max) || max > MAX_INDEXABLE)) {
+                throw invalid("min/max invalide");
+            }
+            sketch.collapsed = collapsed == 1;
+            sketch.zeroCount = zeros;
+            sketch.count = total;
+            sketch.min = min;
+            sketch.max = max;
+            return sketch;
+        } catch (BufferUnderflowException e) {
+            throw invalid("date trunchiate");
+        }
+    }
+
+    private static IllegalArgumentException invalid(String reason) {
+        return new IllegalArgumentException("Serializare invalidă a schiței: " + reason + ".");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw invalid("varint prea lung");
+    }
+
+    @Override
+    public String toString() {
+        return "FeeQuantileSketch[α=" + relativeAccuracy + ", n=" + count + ", găleți=" + nonEmptyBins() + "]";
+    }
+}
@@ -0,0 +1,141 @@
+package ro.tss.delivery.sketch;
+
+import ro.tss.delivery.kernel.BranchlessDeliveryService;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Câte o {@link FeeQuantileSketch} pentru fiecare dintre cele 12 celule treaptă de
+ * distanță × interval de greutate, pentru p50/p95/p99 pe segment. Pentru alte chei (de
+ * exemplu regiunea), apelantul ține câte o instanță per cheie.
+ *
+ * Ca schițele din care e formată, se combină exact ({@link #merge}) și se serializează
+ * compact ({@link #toBytes}); o instanță nu este thread-safe, fiecare fir o are pe a lui.
+ */
+public final class TierFeeSketches {
+
+    public static final int TIERS = BranchlessDeliveryService.TIERS;
+    public static final int BANDS = BranchlessDeliveryService.BANDS;
+
+    private static final int CELLS = BranchlessDeliveryService.CELLS;
+
+    private final FeeQuantileSketch[] cells = new FeeQuantileSketch[CELLS];
+
+    public TierFeeSketches() {
+        this(FeeQuantileSketch.DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public TierFeeSketches(double relativeAccuracy) {
+        this(relativeAccuracy, FeeQuantileSketch.DEFAULT_BIN_LIMIT);
+    }
+
+    /**
+     * @param binLimit numărul maxim de găleți al fiecărei celule; vezi {@link FeeQuantileSketch#maxBins}
+     */
+    public TierFeeSketches(double relativeAccuracy, int binLimit) {
+        for (int c = 0; c < CELLS; c++) {
+            cells[c] = new FeeQuantileSketch(relativeAccuracy, binLimit);
+        }
+    }
+
+    private TierFeeSketches(FeeQuantileSketch[] cells) {
+        System.arraycopy(cells, 0, this.cells, 0, CELLS);
+    }
+
+    /**
+     * Înregistrează o livrare deja tarifată (distanța și greutatea au trecut validarea).
+     */
+    public void record(double distanceKm, double weightKg, double fee) {
+        cells[BranchlessDeliveryService.cell(distanceKm, weightKg)].add(fee);
+    }
+
+    /**
+     * @param tier 0 = scurt, 1 = mediu, 2 = lung
+     * @param band 0 = ușor, 1 = mediu, 2 = greu, 3 = foarte greu
+     * @throws IllegalArgumentException dacă treapta sau intervalul nu există
+     */
+    public FeeQuantileSketch sketch(int tier, int band) {
+        return cells[BranchlessDeliveryService.cell(tier, band)];
+    }
+
+    /** O schiță nouă cu toate intervalele de greutate ale treptei. */
+    public FeeQuantileSketch tier(int tier) {
+        FeeQuantileSketch merged = new FeeQuantileSketch(cells[0].relativeAccuracy(), cells[0].maxBins());
+        for (int band = 0; band < BANDS; band++) {
+            merged.merge(sketch(tier, band));
+        }
+        return merged;
+    }
+
+    /** O schiță nouă cu toate celulele. */
+    public FeeQuantileSketch total() {
+        FeeQuantileSketch merged = new FeeQuantileSketch(cells[0].relativeAccuracy(), cells[0].maxBins());
+        for (FeeQuantileSketch cell : cells) {
+            merged.merge(cell);
+        }
+        return merged;
+    }
+
+    /**
+     * @throws IllegalArgumentException dacă schițele au erori relative diferite
+     */
+    public void merge(TierFeeSketches other) {
+        for (int c = 0; c < CELLS; c++) {
+            cells[c].merge(other.cells[c]);
+        }
+    }
+
+    /** Memoria celor 12 schițe, în octeți. */
+    public long footprintBytes() {
+        long total = 0;
+        for (FeeQuantileSketch cell : cells) {
+            total += cell.footprintBytes();
+        }
+        return total;
+    }
+
+    /** Cele 12 schițe serializate, fiecare precedată de lungimea ei. */
+    public byte[] toBytes() {
+        byte[][] parts = new byte[CELLS][];
+        int length = 0;
+        for (int c = 0; c < CELLS; c++) {
+            parts[c] = cells[c].toBytes();
+            length += Integer.BYTES + parts[c].length;
+        }
+        ByteBuffer out = ByteBuffer.allocate(length);
+        for (byte[] part : parts) {
+            out.putInt(part.length);
+            out.put(part);
+        }
+        return out.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException dacă octeții nu sunt un set serializat valid
+     */
+    public static TierFeeSketches fromBytes(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        FeeQuantileSketch[] cells = new FeeQuantileSketch[CELLS];
+        try {
+            for (int c = 0; c < CELLS; c++) {
+                int length = in.getInt();
+                if (length < 0 || length > in.remaining()) {
+                    throw new IllegalArgumentException("Serializare invalidă a schițelor: lungime invalidă.");
+                }
+                byte[] part = new byte[length];
+                in.get(part);
+                cells[c] = FeeQuantileSketch.fromBytes(part);
+                if (Double.compare(cells[c].relativeAccuracy(), cells[0].relativeAccuracy()) != 0) {
+                    throw new IllegalArgumentException("Serializare invalidă a schițelor: erori relative diferite.");
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Serializare invalidă a schițelor: date trunchiate.");
+        }
+        if (in.hasRemaining()) {
+            throw new IllegalArgumentException("Serializare invalidă a schițelor: octeți în plus la final.");
+        }
+        return new TierFeeSketches(cells);
+    }
+}
@@ -0,0 +1,274 @@
+package ro.tss.delivery.store;
+
+import ro.tss.delivery.DeliveryService;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Depozit de cotații (distanță, greutate, taxă) ținut în afara heap-ului Java.
+ *
+ * Înregistrările sunt păstrate în blocuri (chunk-uri) de memorie nativă, alocate ca
+ * {@link ByteBuffer#allocateDirect} și organizate pe coloane în interiorul fiecărui bloc:
+ *
+ *     [ d0 d1 ... d(N-1) | w0 w1 ... w(N-1) | f0 f1 ... f(N-1) ]
+ *
+ * Heap-ul conține doar tabloul de referințe către blocuri (câteva KB chiar și pentru
+ * sute de milioane de înregistrări), deci GC-ul nu mai are ce parcurge pe măsură ce
+ * depozitul crește.
+ *
+ * ELIBERAREA MEMORIEI:
+ * ====================
+ * {@link #close()} întoarce imediat blocurile într-o listă de blocuri libere, comună
+ * tuturor depozitelor, din care depozitele următoare le refolosesc fără o nouă alocare
+ * nativă. Lista este limitată la {@link #MAX_POOLED_BYTES} (64 MB). Eliberarea nu este
+ * deterministă peste această limită: blocurile care nu mai încap sunt doar abandonate,
+ * iar memoria lor nativă este eliberată de Cleaner-ul ByteBuffer-ului abia după ce GC-ul
+ * le colectează. Un depozit de 10 GB închis ține deci memoria nativă ocupată până la
+ * următorul GC care ajunge la blocuri. Pe Java 17, eliberarea explicită există doar în
+ * modulul incubator jdk.incubator.foreign (MemorySegment într-un
+ * ResourceScope.newConfinedScope()), care cere --add-modules la compilare, în fiecare
+ * fork de test și benchmark și la fiecare utilizator al bibliotecii și al cărui API s-a
+ * schimbat la fiecare versiune până la finalizarea din Java 22; depozitul nu îl
+ * folosește.
+ *
+ * Alocările directe sunt limitate de -XX:MaxDirectMemorySize (implicit egal cu -Xmx).
+ * Limita trebuie să acopere depozitele deschise simultan, lista de blocuri libere și
+ * blocurile închise dar încă necolectate; la atingerea ei, JVM-ul declanșează un GC
+ * complet (System.gc()) ca să elibereze blocurile abandonate și abia apoi aruncă
+ * OutOfMemoryError ("Direct buffer memory"). Cu -XX:+DisableExplicitGC acel GC nu are
+ * loc, deci limita trebuie să fie cu atât mai generoasă.
+ *
+ * Ca la o arenă "confined", depozitul nu este thread-safe: toate accesele, inclusiv
+ * close(), trebuie făcute din același fir; după close() orice acces aruncă
+ * IllegalStateException. Lista de blocuri libere este sincronizată.
+ *
+ * O taxă necalculată încă este NaN.
+ */
+public final class OffHeapQuoteStore implements AutoCloseable {
+
+    static final int DEFAULT_CHUNK_SHIFT = 16;      // 65536 înregistrări / bloc = 1.5 MB
+
+    /** Memoria nativă maximă păstrată în lista de blocuri libere, în octeți. */
+    static final long MAX_POOLED_BYTES = 64L << 20;
+
+    private static final int RECORD_BYTES = 3 * Double.BYTES;
+
+    private final int chunkShift;
+    private final int chunkRecords;
+    private final int chunkMask;
+
+    private ByteBuffer[] chunks = new ByteBuffer[16];
+    private int chunkCount;
+    private long size;
+
+    public OffHeapQuoteStore() {
+        this(DEFAULT_CHUNK_SHIFT);
+    }
+
+    OffHeapQuoteStore(int chunkShift) {
+        if (chunkShift < 1 || chunkShift > 26) {
+            throw new IllegalArgumentException("Dimensiunea blocului trebuie să fie între 2^1 și 2^26 înregistrări.");
+        }
+        this.chunkShift = chunkShift;
+        this.chunkRecords = 1 << chunkShift;
+        this.chunkMask = chunkRecords - 1;
+    }
+
+    /**
+     * Adaugă o cotație nețarifată (taxa = NaN) și întoarce indexul ei.
+     */
+    public long append(double distanceKm, double weightKg) {
+        long index = size;
+        int offset = (int) (index & chunkMask);
+        if (offset == 0 && (index >>> chunkShift) == chunkCount) {
+            addChunk();
+        }
+        ByteBuffer chunk = chunks[(int) (index >>> chunkShift)];
+        chunk.putDouble(distanceOffset(offset), distanceKm);
+        chunk.putDouble(weightOffset(offset), weightKg);
+        chunk.putDouble(feeOffset(offset), Double.NaN);
+        size = index + 1;
+        return index;
+    }
+
+    public long size() {
+        checkOpen();
+        return size;
+    }
+
+    public double distanceKm(long index) {
+        return chunk(index).getDouble(distanceOffset((int) (index & chunkMask)));
+    }
+
+    public double weightKg(long index) {
+        return chunk(index).getDouble(weightOffset((int) (index & chunkMask)));
+    }
+
+    public double fee(long index) {
+        return chunk(index).getDouble(feeOffset((int) (index & chunkMask)));
+    }
+
+    /**
+     * Înlocuiește intrările unei cotații existente; taxa redevine NaN până la retarifare.
+     */
+    public void set(long index, double distanceKm, double weightKg) {
+        ByteBuffer chunk = chunk(index);
+        int offset = (int) (index & chunkMask);
+        chunk.putDouble(distanceOffset(offset), distanceKm);
+        chunk.putDouble(weightOffset(offset), weightKg);
+        chunk.putDouble(feeOffset(offset), Double.NaN);
+    }
+
+    /**
+     * Tarifează toate cotațiile pe loc, bloc cu bloc.
+     */
+    public void priceAll(DeliveryService service) {
+        priceRange(0, size(), service);
+    }
+
+    /**
+     * Tarifează pe loc cotațiile din [from, to).
+     *
+     * @throws IllegalArgumentException dacă o cotație are intrări invalide (mesajul indică indexul);
+     *                                  cotațiile dinaintea ei rămân tarifate
+     */
+    public void priceRange(long from, long to, DeliveryService service) {
+        checkOpen();
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Interval invalid [" + from + ", " + to + ") pentru " + size);
+        }
+        long index = from;
+        try {
+            while (index < to) {
+                ByteBuffer chunk = chunks[(int) (index >>> chunkShift)];
+                int start = (int) (index & chunkMask);
+                int end = (int) Math.min(chunkRecords, start + (to - index));
+                for (int offset = start; offset < end; offset++, index++) {
+                    double fee = service.calculateDeliveryFee(
+                            chunk.getDouble(distanceOffset(offset)), chunk.getDouble(weightOffset(offset)));
+                    chunk.putDouble(feeOffset(offset), fee);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cotația " + index + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Suma taxelor, cu parcurgere secvențială a coloanei de taxe.
+     */
+    public double totalFees() {
+        checkOpen();
+        double total = 0;
+        for (int c = 0; c < chunkCount; c++) {
+            ByteBuffer chunk = chunks[c];
+            int records = (int) Math.min(chunkRecords, size - ((long) c << chunkShift));
+            for (int offset = 0; offset < records; offset++) {
+                total += chunk.getDouble(feeOffset(offset));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Memoria nativă alocată (blocuri întregi), în octeți.
+     */
+    public long offHeapBytes() {
+        checkOpen();
+        return (long) chunkCount * chunkRecords * RECORD_BYTES;
+    }
+
+    /**
+     * Întoarce imediat blocurile în lista de blocuri libere; cele care nu mai încap în
+     * {@link #MAX_POOLED_BYTES} rămân în grija GC-ului. Apelurile repetate nu au efect.
+     */
+    @Override
+    public void close() {
+        if (chunks == null) {
+            return;
+        }
+        ByteBuffer[] released = chunks;
+        chunks = null;
+        for (int c = 0; c < chunkCount; c++) {
+            ChunkPool.release(released[c]);
+            released[c] = null;
+        }
+        chunkCount = 0;
+        size = 0;
+    }
+
+    private ByteBuffer chunk(long index) {
+        checkOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " în afara depozitului de " + size);
+        }
+        return chunks[(int) (index >>> chunkShift)];
+    }
+
+    private void addChunk() {
+        checkOpen();
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        chunks[chunkCount++] = ChunkPool.acquire(chunkRecords * RECORD_BYTES);
+    }
+
+    private void checkOpen() {
+        if (chunks == null) {
+            throw new IllegalStateException("Depozitul de cotații a fost închis.");
+        }
+    }
+
+    private int distanceOffset(int record) {
+        return record << 3;
+    }
+
+    private int weightOffset(int record) {
+        return (chunkRecords + record) << 3;
+    }
+
+    private int feeOffset(int record) {
+        return ((chunkRecords << 1) + record) << 3;
+    }
+
+    /** Memoria nativă aflată acum în lista de blocuri libere, în octeți. */
+    static long pooledBytes() {
+        return ChunkPool.pooledBytes();
+    }
+
+    /**
+     * Lista de blocuri libere, pe dimensiuni de bloc. Conținutul unui bloc refolosit nu
+     * este șters: append() scrie toate cele trei coloane ale înregistrării.
+     */
+    private static final class ChunkPool {
+
+        private static final Map<Integer, ArrayDeque<ByteBuffer>> FREE = new HashMap<>();
+        private static long pooledBytes;
+
+        static synchronized ByteBuffer acquire(int bytes) {
+            ArrayDeque<ByteBuffer> free = FREE.get(bytes);
+            if (free != null && !free.isEmpty()) {
+                pooledBytes -= bytes;
+                return free.pop();
+            }
+            return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        }
+
+        static synchronized void release(ByteBuffer chunk) {
+            int bytes = chunk.capacity();
+            if (pooledBytes + bytes <= MAX_POOLED_BYTES) {
+                FREE.computeIfAbsent(bytes, b -> new ArrayDeque<>()).push(chunk);
+                pooledBytes += bytes;
+            }
+        }
+
+        static synchronized long pooledBytes() {
+            return pooledBytes;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package ro.tss.delivery.surcharge;
+
+import ro.tss.delivery.FeePricer;
+import ro.tss.delivery.kernel.BranchlessDeliveryService;
+
+/**
+ * Un {@link SurchargePipeline} redus la o singură funcție per rând:
+ *
+ *     taxă = min(max(a · x + b, jos), sus),   x = T_B + T_D + T_G
+ *
+ * cu un set de coeficienți pentru livrările obișnuite și unul pentru zonele izolate.
+ * Funcțiile de această formă (cu a > 0) sunt închise la compunerea cu etapele
+ * {@link Surcharge}: un procent înmulțește toți cei patru coeficienți cu (1 + p), o sumă
+ * fixă se adună la b, jos și sus, minimul m îi înlocuiește pe jos/sus cu max(jos, m) /
+ * max(sus, m), plafonul c cu min(jos, c) / min(sus, c). Compilarea parcurge etapele o
+ * singură dată; tarifarea nu mai vede etapele deloc.
+ *
+ * Rezultatul diferă de aplicarea etapă cu etapă doar prin rotunjire (câțiva ulp),
+ * deoarece produsele procentelor și sumele fixe sunt calculate o dată, la compilare.
+ * Fără etape, funcția este identitatea și taxa este exact cea din DeliveryService.
+ */
+public final class CompiledSurcharges {
+
+    private static final int STANDARD = 0;
+    private static final int REMOTE = 4;
+
+    private final BranchlessDeliveryService base = new BranchlessDeliveryService();
+
+    // {a, b, jos, sus} pentru livrările obișnuite, apoi pentru zonele izolate
+    private final double[] coefficients;
+    private final int stageCount;
+
+    private CompiledSurcharges(double[] coefficients, int stageCount) {
+        this.coefficients = coefficients;
+        this.stageCount = stageCount;
+    }
+
+    static CompiledSurcharges compile(SurchargePipeline pipeline) {
+        double[] coefficients = {
+                1, 0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                1, 0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY
+        };
+        for (Surcharge stage : pipeline.stages()) {
+            fold(coefficients, STANDARD, stage, false);
+            fold(coefficients, REMOTE, stage, true);
+        }
+        return new CompiledSurcharges(coefficients, pipeline.stages().size());
+    }
+
+    /** Compune funcția {a, b, jos, sus} de la {@code offset} cu etapa dată. */
+    private static void fold(double[] c, int offset, Surcharge stage, boolean remote) {
+        double v = stage.value();
+        switch (stage.kind()) {
+            case PERCENTAGE -> {
+                double factor = 1 + v;
+                for (int k = 0; k < 4; k++) {
+                    c[offset + k] *= factor;
+                }
+            }
+            case REMOTE_ZONE -> {
+                if (remote) {
+                    addFixed(c, offset, v);
+                }
+            }
+            case FIXED -> addFixed(c, offset, v);
+            case MINIMUM -> {
+                c[offset + 2] = Math.max(c[offset + 2], v);
+                c[offset + 3] = Math.max(c[offset + 3], v);
+            }
+            case CAP -> {
+                c[offset + 2] = Math.min(c[offset + 2], v);
+                c[offset + 3] = Math.min(c[offset + 3], v);
+            }
+            default -> throw new IllegalStateException("Tip de etapă necunoscut: " + stage.kind());
+        }
+    }
+
+    /** O sumă fixă se adună la b, jos și sus. */
+    private static void addFixed(double[] c, int offset, double v) {
+        for (int k = 1; k < 4; k++) {
+            c[offset + k] += v;
+        }
+    }
+
+    /** Numărul de etape compilate (doar informativ: costul per rând nu depinde de el). */
+    public int stageCount() {
+        return stageCount;
+    }
+
+    /** Coeficienții {a, b, jos, sus} pentru livrările obișnuite sau din zone izolate. */
+    public double[] coefficients(boolean remote) {
+        int offset = remote ? REMOTE : STANDARD;
+        return new double[] {coefficients[offset], coefficients[offset + 1],
+                coefficients[offset + 2], coefficients[offset + 3]};
+    }
+
+    /**
+     * @throws IllegalArgumentException dacă distanța sau greutatea nu sunt pozitive
+     */
+    public double calculateDeliveryFee(double distanceKm, double weightKg, boolean remote) {
+        int o = remote ? REMOTE : STANDARD;
+        double x = base.calculateDeliveryFee(distanceKm, weightKg);
+        return Math.min(Math.max(coefficients[o] * x + coefficients[o + 1], coefficients[o + 2]), coefficients[o + 3]);
+    }
+
+    /**
+     * Taxele unui lot: taxa de bază cu kernelul branchless, apoi funcția compilată pe loc.
+     *
+     * @throws IllegalArgumentException dacă tablourile au lungimi diferite sau un rând este invalid
+     */
+    public void calculateDeliveryFees(double[] distanceKm, double[] weightKg, boolean[] remote, double[] fees) {
+        FeePricer.checkLengths(distanceKm, weightKg, fees);
+        if (remote.length != fees.length) {
+            throw new IllegalArgumentException("Tablourile de intrare și ieșire trebuie să aibă aceeași lungime.");
+        }
+        base.calculateDeliveryFees(distanceKm, weightKg, fees, 0, fees.length);
+        double[] c = coefficients;
+        for (int i = 0; i < fees.length; i++) {
+            int o = remote[i] ? REMOTE : STANDARD;
+            fees[i] = Math.min(Math.max(c[o] * fees[i] + c[o + 1], c[o + 2]), c[o + 3]);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ro.tss.delivery.surcharge;
+
+import java.util.Objects;
+
+/**
+ * O etapă a unui {@link SurchargePipeline}, aplicată peste taxa calculată până atunci.
+ *
+ * Tipurile de etapă sunt alese astfel încât orice succesiune de etape să se poată
+ * compune într-o singură funcție min(max(a·x + b, min), max) — vezi {@link CompiledSurcharges}:
+ * procentele (a > 0), sumele fixe, minimul și plafonul.
+ */
+public final class Surcharge {
+
+    public enum Kind {
+        /** x → x · (1 + procent), de ex. suprataxa de combustibil (procent > -1). */
+        PERCENTAGE,
+        /** x → x + sumă, pentru toate livrările. */
+        FIXED,
+        /** x → x + sumă, doar pentru livrările în zone izolate. */
+        REMOTE_ZONE,
+        /** x → max(x, taxă minimă). */
+        MINIMUM,
+        /** x → min(x, plafon). */
+        CAP
+    }
+
+    private final String name;
+    private final Kind kind;
+    private final double value;
+
+    private Surcharge(String name, Kind kind, double value) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.kind = kind;
+        this.value = value;
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Valoarea etapei „" + name + "” trebuie să fie finită.");
+        }
+        if (kind == Kind.PERCENTAGE && value <= -1) {
+            throw new IllegalArgumentException("Procentul etapei „" + name + "” trebuie să fie mai mare decât -100%.");
+        }
+    }
+
+    /**
+     * @param fraction procentul ca fracție (0.12 = +12%; negativ pentru reduceri)
+     */
+    public static Surcharge percentage(String name, double fraction) {
+        return new Surcharge(name, Kind.PERCENTAGE, fraction);
+    }
+
+    public static Surcharge fixed(String name, double amount) {
+        return new Surcharge(name, Kind.FIXED, amount);
+    }
+
+    public static Surcharge remoteZone(String name, double amount) {
+        return new Surcharge(name, Kind.REMOTE_ZONE, amount);
+    }
+
+    public static Surcharge minimum(double fee) {
+        return new Surcharge("taxă minimă", Kind.MINIMUM, fee);
+    }
+
+    public static Surcharge cap(double fee) {
+        return new Surcharge("plafon", Kind.CAP, fee);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    public double value() {
+        return value;
+    }
+
+    /**
+     * Aplică etapa pe taxa {@code fee} (implementarea de referință, etapă cu etapă).
+     */
+    public double apply(double fee, boolean remote) {
+        switch (kind) {
+            case PERCENTAGE:
+                return fee * (1 + value);
+            case FIXED:
+                return fee + value;
+            case REMOTE_ZONE:
+                return remote ? fee + value : fee;
+            case MINIMUM:
+                return Math.max(fee, value);
+            case CAP:
+                return Math.min(fee, value);
+            default:
+                throw new IllegalStateException("Tip de etapă necunoscut: " + kind);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + kind + " " + value + ")";
+    }
+}
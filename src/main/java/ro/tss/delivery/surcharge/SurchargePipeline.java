@@ -0,0 +1,69 @@
+package ro.tss.delivery.surcharge;
+
+import ro.tss.delivery.DeliveryService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Succesiune declarativă de suprataxe peste formula din DeliveryService:
+ *
+ *     taxă = etapăₙ(… etapă₂(etapă₁(T_B + T_D + T_G)))
+ *
+ * Pipeline-ul este imutabil; {@link #then} întoarce unul nou. {@link #apply} îl
+ * interpretează etapă cu etapă (referința), iar {@link #compile} îl reduce la o singură
+ * funcție per rând, al cărei cost nu depinde de numărul de etape.
+ */
+public final class SurchargePipeline {
+
+    private final List<Surcharge> stages;
+
+    public SurchargePipeline(List<Surcharge> stages) {
+        this.stages = Collections.unmodifiableList(new ArrayList<>(stages));
+        for (Surcharge stage : this.stages) {
+            if (stage == null) {
+                throw new IllegalArgumentException("Etapele nu pot fi null.");
+            }
+        }
+    }
+
+    public static SurchargePipeline of(Surcharge... stages) {
+        return new SurchargePipeline(List.of(stages));
+    }
+
+    /** Pipeline-ul cu etapa adăugată la final. */
+    public SurchargePipeline then(Surcharge stage) {
+        List<Surcharge> next = new ArrayList<>(stages);
+        next.add(stage);
+        return new SurchargePipeline(next);
+    }
+
+    public List<Surcharge> stages() {
+        return stages;
+    }
+
+    /**
+     * Aplică etapele, în ordine, pe taxa de bază.
+     */
+    public double apply(double baseFee, boolean remote) {
+        double fee = baseFee;
+        for (Surcharge stage : stages) {
+            fee = stage.apply(fee, remote);
+        }
+        return fee;
+    }
+
+    /**
+     * Taxa completă a unei livrări (implementarea de referință).
+     *
+     * @throws IllegalArgumentException dacă distanța sau greutatea nu sunt pozitive
+     */
+    public double calculateDeliveryFee(DeliveryService service, double distanceKm, double weightKg, boolean remote) {
+        return apply(service.calculateDeliveryFee(distanceKm, weightKg), remote);
+    }
+
+    public CompiledSurcharges compile() {
+        return CompiledSurcharges.compile(this);
+    }
+}
@@ -0,0 +1,92 @@
+package ro.tss.delivery.testgen;
+
+/**
+ * Un caz generat de {@link BoundaryValueGenerator}: un punct lângă o frontieră a unei
+ * axe, cu cealaltă variabilă la valoarea nominală și rezultatul așteptat.
+ */
+public final class BoundaryCase {
+
+    /** Variabila care este variată. */
+    public enum Axis {
+        DISTANCE, WEIGHT
+    }
+
+    /** Poziția față de frontieră. */
+    public enum Kind {
+        /** Exact pe frontieră. */
+        ON,
+        /** Math.nextDown(frontieră). */
+        BELOW,
+        /** Math.nextUp(frontieră). */
+        ABOVE,
+        /** Mijlocul unui interval (sau frontiera + 1 pentru ultimul, nemărginit). */
+        IN
+    }
+
+    /** Indicele frontierei de validitate (d = 0 sau w = 0). */
+    public static final int VALIDITY = -1;
+
+    private final Axis axis;
+    private final Kind kind;
+    private final int boundary;
+    private final double distanceKm;
+    private final double weightKg;
+    private final double expectedFee;
+
+    BoundaryCase(Axis axis, Kind kind, int boundary, double distanceKm, double weightKg, double expectedFee) {
+        this.axis = axis;
+        this.kind = kind;
+        this.boundary = boundary;
+        this.distanceKm = distanceKm;
+        this.weightKg = weightKg;
+        this.expectedFee = expectedFee;
+    }
+
+    public Axis axis() {
+        return axis;
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Indicele pragului (0..n-1), {@link #VALIDITY} pentru frontiera 0, iar pentru
+     * punctele IN indicele intervalului.
+     */
+    public int boundary() {
+        return boundary;
+    }
+
+    public double distanceKm() {
+        return distanceKm;
+    }
+
+    public double weightKg() {
+        return weightKg;
+    }
+
+    /** Taxa așteptată; NaN dacă se așteaptă IllegalArgumentException. */
+    public double expectedFee() {
+        return expectedFee;
+    }
+
+    public boolean expectsRejection() {
+        return Double.isNaN(expectedFee);
+    }
+
+    /**
+     * Toleranța față de taxa exactă calculată de oracol: câteva ulp, cât pot pierde
+     * cele trei rotunjiri ale calculului în double.
+     */
+    public double tolerance() {
+        return 4 * Math.ulp(expectedFee);
+    }
+
+    @Override
+    public String toString() {
+        String where = boundary == VALIDITY ? "validitate" : (kind == Kind.IN ? "interval " : "prag ") + boundary;
+        return axis + " " + kind + " [" + where + "]: d=" + distanceKm + ", w=" + weightKg
+                + (expectsRejection() ? " → excepție" : " → " + expectedFee);
+    }
+}
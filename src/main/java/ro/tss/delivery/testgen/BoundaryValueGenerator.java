@@ -0,0 +1,122 @@
+package ro.tss.delivery.testgen;
+
+import ro.tss.delivery.ratecard.RateCard;
+import ro.tss.delivery.testgen.BoundaryCase.Axis;
+import ro.tss.delivery.testgen.BoundaryCase.Kind;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Generator de cazuri BVA din pragurile unui {@link RateCard}.
+ *
+ * Pentru fiecare axă, cu pragurile t0 < t1 < ... < t(n-1):
+ * - frontiera de validitate 0: ON și BELOW sunt respinse, ABOVE (Double.MIN_VALUE) e în intervalul 0;
+ * - fiecare prag ti: ON și BELOW în intervalul i (comparația este <=), ABOVE în intervalul i + 1;
+ * - un punct IN pentru fiecare din cele n + 1 intervale.
+ * Cealaltă variabilă are valoarea nominală: mijlocul primului ei interval (pentru
+ * tariful standard d = 5, w = 1, ca NOMINAL_* din BoundaryValueAnalysisTest).
+ *
+ * ORACOLUL:
+ * =========
+ * Intervalul fiecărui caz este cunoscut din construcție, nu căutat în tarif, iar taxa
+ * așteptată este calculată exact, în BigDecimal, din tarifele intervalului. Oracolul nu
+ * folosește deci nimic din implementările verificate (DeliveryService, interpretorul,
+ * clasele compilate).
+ *
+ * Cazurile sunt produse leneș, ca Stream: pentru tarife cu sute de praguri, testele
+ * dinamice JUnit se creează abia la execuție, nu la descoperirea testelor.
+ */
+public final class BoundaryValueGenerator {
+
+    private final RateCard card;
+    private final double[] distanceThresholds;
+    private final double[] weightThresholds;
+    private final double nominalDistanceKm;
+    private final double nominalWeightKg;
+
+    public BoundaryValueGenerator(RateCard card) {
+        this.card = Objects.requireNonNull(card, "card");
+        this.distanceThresholds = card.distanceThresholds();
+        this.weightThresholds = card.weightThresholds();
+        this.nominalDistanceKm = interior(distanceThresholds, 0);
+        this.nominalWeightKg = interior(weightThresholds, 0);
+    }
+
+    /** Cazurile ambelor axe: întâi distanța, apoi greutatea. */
+    public Stream<BoundaryCase> cases() {
+        return Stream.concat(cases(Axis.DISTANCE), cases(Axis.WEIGHT));
+    }
+
+    public Stream<BoundaryCase> cases(Axis axis) {
+        double[] thresholds = thresholds(axis);
+        Stream<BoundaryCase> validity = Stream.of(
+                rejected(axis, Kind.ON, 0.0),
+                rejected(axis, Kind.BELOW, Math.nextDown(0.0)),
+                valid(axis, Kind.ABOVE, BoundaryCase.VALIDITY, Math.nextUp(0.0), 0));
+        Stream<BoundaryCase> thresholdCases = IntStream.range(0, thresholds.length).boxed()
+                .flatMap(i -> Stream.of(
+                        valid(axis, Kind.ON, i, thresholds[i], i),
+                        valid(axis, Kind.BELOW, i, Math.nextDown(thresholds[i]), i),
+                        valid(axis, Kind.ABOVE, i, Math.nextUp(thresholds[i]), i + 1)));
+        Stream<BoundaryCase> inPoints = IntStream.rangeClosed(0, thresholds.length)
+                .mapToObj(k -> valid(axis, Kind.IN, k, interior(thresholds, k), k));
+        return Stream.of(validity, thresholdCases, inPoints).flatMap(s -> s);
+    }
+
+    /** Numărul de cazuri, fără a le genera: 3 + 3n + (n + 1) pe fiecare axă. */
+    public long count() {
+        return count(distanceThresholds.length) + count(weightThresholds.length);
+    }
+
+    public RateCard card() {
+        return card;
+    }
+
+    /**
+     * Taxa exactă (BigDecimal, rotunjită o singură dată la double) pentru intervalele date.
+     */
+    double expectedFee(double distanceKm, int distanceTier, int weightBand) {
+        BigDecimal fee = new BigDecimal(card.baseFee())
+                .add(new BigDecimal(distanceKm).multiply(new BigDecimal(card.distanceRate(distanceTier))))
+                .add(new BigDecimal(card.weightFee(weightBand)));
+        return fee.doubleValue();
+    }
+
+    private BoundaryCase valid(Axis axis, Kind kind, int boundary, double value, int interval) {
+        if (axis == Axis.DISTANCE) {
+            return new BoundaryCase(axis, kind, boundary, value, nominalWeightKg,
+                    expectedFee(value, interval, 0));
+        }
+        return new BoundaryCase(axis, kind, boundary, nominalDistanceKm, value,
+                expectedFee(nominalDistanceKm, 0, interval));
+    }
+
+    private BoundaryCase rejected(Axis axis, Kind kind, double value) {
+        return axis == Axis.DISTANCE
+                ? new BoundaryCase(axis, kind, BoundaryCase.VALIDITY, value, nominalWeightKg, Double.NaN)
+                : new BoundaryCase(axis, kind, BoundaryCase.VALIDITY, nominalDistanceKm, value, Double.NaN);
+    }
+
+    private double[] thresholds(Axis axis) {
+        return axis == Axis.DISTANCE ? distanceThresholds : weightThresholds;
+    }
+
+    private static long count(int thresholds) {
+        return 3 + 3L * thresholds + thresholds + 1;
+    }
+
+    /** Punctul IN al intervalului k: mijlocul lui, sau ultimul prag + 1 pentru intervalul nemărginit. */
+    private static double interior(double[] thresholds, int k) {
+        if (thresholds.length == 0) {
+            return 1.0;
+        }
+        if (k == thresholds.length) {
+            return thresholds[k - 1] + 1.0;
+        }
+        double lower = k == 0 ? 0.0 : thresholds[k - 1];
+        return (lower + thresholds[k]) / 2;
+    }
+}
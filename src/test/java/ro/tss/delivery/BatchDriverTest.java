@@ -0,0 +1,115 @@
+package ro.tss.delivery;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.decision.DecisionTable;
+import ro.tss.delivery.kernel.BranchlessDeliveryService;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link FeePricer} pe loturi și {@link BatchDriver}.
+ */
+@DisplayName("Teste tarifare pe loturi cu mai multe implementări")
+class BatchDriverTest {
+
+    private static final double DELTA = 0.001;
+    private static final int SIZE = 10_000;
+
+    private final List<FeePricer> pricers = List.of(
+            new DeliveryService(),
+            new BranchlessDeliveryService(),
+            DecisionTable.deliveryPricing().compile(),
+            new DeliveryServiceMutantEquivalent(),
+            new DeliveryServiceMutantKilled(),
+            new DeliveryServiceMutantSurvived());
+
+    private final double[] distances = new double[SIZE];
+    private final double[] weights = new double[SIZE];
+    private final int[] assignment = new int[SIZE];
+
+    BatchDriverTest() {
+        SplittableRandom random = new SplittableRandom(41);
+        for (int i = 0; i < SIZE; i++) {
+            // jumătate din rânduri exact pe praguri, unde mutanții diferă de original
+            distances[i] = i % 2 == 0 ? random.nextDouble(0.01, 120) : new double[]{10, 50, 0.5}[random.nextInt(3)];
+            weights[i] = i % 2 == 0 ? random.nextDouble(0.01, 30) : new double[]{2, 5, 15}[random.nextInt(3)];
+            assignment[i] = random.nextInt(pricers.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Metoda pe loturi a fiecărei implementări este identică bit cu bit cu cea scalară")
+    void batchMatchesScalar() {
+        for (FeePricer pricer : pricers) {
+            double[] fees = new double[SIZE];
+            pricer.calculateDeliveryFees(distances, weights, fees);
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(pricer.calculateDeliveryFee(distances[i], weights[i]), fees[i], 0.0,
+                        pricer.getClass().getSimpleName() + " rândul " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Driverul aplică fiecărui rând implementarea lui, în ordinea originală")
+    void driverUsesAssignedPricer() {
+        BatchDriver driver = new BatchDriver(pricers);
+        double[] fees = new double[SIZE];
+        for (int round = 0; round < 2; round++) {   // a doua rundă reutilizează tablourile de lucru
+            driver.price(assignment, distances, weights, fees);
+            for (int i = 0; i < SIZE; i++) {
+                FeePricer pricer = pricers.get(assignment[i]);
+                assertEquals(pricer.calculateDeliveryFee(distances[i], weights[i]), fees[i], 0.0, "rândul " + i);
+            }
+        }
+        assertEquals(6, driver.pricers());
+    }
+
+    @Test
+    @DisplayName("Lot cu o singură implementare: taxele originale, fără copiere")
+    void singlePricerBatch() {
+        BatchDriver driver = new BatchDriver(pricers);
+        double[] fees = new double[3];
+        driver.price(new int[]{4, 4, 4}, new double[]{10, 5, 60}, new double[]{1, 3, 20}, fees);
+
+        assertEquals(9.00, fees[0], DELTA, "mutantul omorât: 5 + 10 × 0.40");
+        assertEquals(12.00, fees[1], DELTA);
+        assertEquals(38.00, fees[2], DELTA);
+    }
+
+    @Test
+    @DisplayName("Rândul invalid este raportat cu indicele din lotul original")
+    void invalidRowReportsOriginalIndex() {
+        double[] d = distances.clone();
+        double[] w = weights.clone();
+        w[7_777] = -1;
+        BatchDriver driver = new BatchDriver(pricers);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> driver.price(assignment, d, w, new double[SIZE]));
+        assertEquals("Rândul 7777: Distanța și greutatea trebuie să fie pozitive.", e.getMessage());
+
+        for (FeePricer pricer : pricers) {
+            IllegalArgumentException batch = assertThrows(IllegalArgumentException.class,
+                    () -> pricer.calculateDeliveryFees(d, w, new double[SIZE]));
+            assertTrue(batch.getMessage().startsWith("Rândul 7777: "), batch.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Lungimi diferite, indice de implementare inexistent sau listă goală sunt respinse")
+    void rejectsInvalidArguments() {
+        BatchDriver driver = new BatchDriver(pricers);
+        assertThrows(IllegalArgumentException.class,
+                () -> driver.price(new int[2], new double[2], new double[2], new double[3]));
+        assertThrows(IllegalArgumentException.class,
+                () -> driver.price(new int[]{0, 6}, new double[]{1, 1}, new double[]{1, 1}, new double[2]));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DeliveryService().calculateDeliveryFees(new double[2], new double[1], new double[2]));
+        assertThrows(IllegalArgumentException.class, () -> new BatchDriver(List.of()));
+    }
+}
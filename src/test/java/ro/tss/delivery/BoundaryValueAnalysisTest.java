@@ -63,7 +63,7 @@ class BoundaryValueAnalysisTest {
 
     @BeforeEach
     void setUp() {
-        service = new DeliveryService();
+        service = ServiceUnderTest.create();
     }
 
     // ==================== LIMITE DISTANȚĂ - PRAG 0 ====================
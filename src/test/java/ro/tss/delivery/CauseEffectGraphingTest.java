@@ -2,10 +2,13 @@ package ro.tss.delivery;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import ro.tss.delivery.decision.DecisionTable;
 
 import java.util.stream.Stream;
 
@@ -74,7 +77,7 @@ class CauseEffectGraphingTest {
 
     @BeforeEach
     void setUp() {
-        service = new DeliveryService();
+        service = ServiceUnderTest.create();
     }
 
     // ==================== TESTE PENTRU CAZURI DE EROARE (E1) ====================
@@ -281,5 +284,20 @@ class CauseEffectGraphingTest {
                 String.format("%s: Pentru %s, taxa ar trebui să fie %.2f RON",
                         testId, description, expectedFee));
     }
-}
 
+    // ==================== TESTE GENERATE DIN TABELUL DE DECIZIE ====================
+
+    @TestFactory
+    @DisplayName("CEG - Cazuri generate din DecisionTable (aceeași definiție ca la rulare)")
+    Stream<DynamicTest> testGeneratedFromDecisionTable() {
+        return DecisionTable.deliveryPricing().testCases().stream()
+                .map(c -> DynamicTest.dynamicTest(c.toString(), () -> {
+                    if (c.rejected()) {
+                        assertThrows(IllegalArgumentException.class,
+                                () -> service.calculateDeliveryFee(c.distanceKm(), c.weightKg()));
+                    } else {
+                        assertEquals(c.expectedFee(), service.calculateDeliveryFee(c.distanceKm(), c.weightKg()), DELTA);
+                    }
+                }));
+    }
+}
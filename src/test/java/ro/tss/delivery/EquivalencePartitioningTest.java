@@ -44,7 +44,7 @@ class EquivalencePartitioningTest {
 
     @BeforeEach
     void setUp() {
-        service = new DeliveryService();
+        service = ServiceUnderTest.create();
     }
 
     // ==================== PARTIȚII INVALIDE ====================
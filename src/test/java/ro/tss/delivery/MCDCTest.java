@@ -130,7 +130,7 @@ class MCDCTest {
 
     @BeforeEach
     void setUp() {
-        service = new DeliveryService();
+        service = ServiceUnderTest.create();
     }
 
     // ==================== MC/DC PENTRU D1: C1 OR C2 ====================
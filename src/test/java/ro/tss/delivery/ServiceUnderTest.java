@@ -0,0 +1,33 @@
+package ro.tss.delivery;
+
+import java.util.function.Supplier;
+
+/**
+ * Serviciul folosit de suitele EP, BVA, CEG și MC/DC. Implicit este {@link DeliveryService};
+ * rularea suitelor pe mutanții schemei ({@code mutation.JUnitSchemataRunner}) îl înlocuiește
+ * pe durata unei rulări, astfel încât mutanții sunt judecați de aserțiunile reale ale suitei.
+ */
+public final class ServiceUnderTest {
+
+    private static volatile Supplier<? extends DeliveryService> factory = DeliveryService::new;
+
+    private ServiceUnderTest() {
+    }
+
+    public static DeliveryService create() {
+        return factory.get();
+    }
+
+    /**
+     * Rulează {@code suite} cu serviciile create de {@code replacement}, apoi revine la
+     * {@link DeliveryService}. Rulările nu pot fi imbricate sau paralele.
+     */
+    public static void runWith(Supplier<? extends DeliveryService> replacement, Runnable suite) {
+        factory = replacement;
+        try {
+            suite.run();
+        } finally {
+            factory = DeliveryService::new;
+        }
+    }
+}
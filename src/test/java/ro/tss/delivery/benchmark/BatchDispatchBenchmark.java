@@ -0,0 +1,94 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.BatchDriver;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.DeliveryServiceMutantEquivalent;
+import ro.tss.delivery.FeePricer;
+import ro.tss.delivery.decision.DecisionTable;
+import ro.tss.delivery.kernel.BranchlessDeliveryService;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lot cu rânduri tarifate de implementări diferite: apel virtual pe fiecare rând
+ * (megamorf de la 3 implementări în sus) vs. {@link BatchDriver} (un apel pe lot per
+ * implementare, bucle monomorfe).
+ *
+ * Rulare: mvn -Pbench test -Dbench=BatchDispatchBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchDispatchBenchmark {
+
+    private static final int SIZE = 8192;
+
+    /** Numărul de implementări amestecate în lot. */
+    @Param({"1", "2", "4"})
+    public int mix;
+
+    private final double[] distances = new double[SIZE];
+    private final double[] weights = new double[SIZE];
+    private final double[] fees = new double[SIZE];
+    private final int[] assignment = new int[SIZE];
+
+    private FeePricer[] pricers;
+    private BatchDriver driver;
+
+    @Setup
+    public void setUp() {
+        List<FeePricer> all = List.of(
+                new DeliveryService(),
+                new BranchlessDeliveryService(),
+                DecisionTable.deliveryPricing().compile(),
+                new DeliveryServiceMutantEquivalent());
+        pricers = all.subList(0, mix).toArray(new FeePricer[0]);
+        driver = new BatchDriver(List.of(pricers));
+
+        SplittableRandom random = new SplittableRandom(41);
+        for (int i = 0; i < SIZE; i++) {
+            distances[i] = random.nextDouble(0.1, 100.0);
+            weights[i] = random.nextDouble(0.1, 30.0);
+            assignment[i] = random.nextInt(mix);
+        }
+        // toate implementările trec prin ambele căi înainte de măsurare, ca profilul să fie
+        // cel real (altfel JIT-ul ar vedea doar primele tipuri întâlnite)
+        for (FeePricer pricer : all) {
+            pricer.calculateDeliveryFees(distances, weights, fees);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] perRow() {
+        FeePricer[] table = pricers;
+        for (int i = 0; i < SIZE; i++) {
+            fees[i] = table[assignment[i]].calculateDeliveryFee(distances[i], weights[i]);
+        }
+        return fees;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] perBatch() {
+        driver.price(assignment, distances, weights, fees);
+        return fees;
+    }
+}
@@ -0,0 +1,81 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.kernel.BranchlessDeliveryService;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lanț if/else vs. kernel branchless, pe intrări sortate (salturi predictibile)
+ * și amestecate (salturi impredictibile).
+ *
+ * Rulare: mvn -Pbench test -Dbench=BranchlessKernelBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BranchlessKernelBenchmark {
+
+    private static final int SIZE = 8192;
+
+    @Param({"sorted", "shuffled"})
+    public String order;
+
+    private final double[] distances = new double[SIZE];
+    private final double[] weights = new double[SIZE];
+
+    private DeliveryService branchy;
+    private BranchlessDeliveryService branchless;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(27);
+        for (int i = 0; i < SIZE; i++) {
+            distances[i] = random.nextDouble(0.1, 100.0);
+            weights[i] = random.nextDouble(0.1, 30.0);
+        }
+        if ("sorted".equals(order)) {
+            Arrays.sort(distances);
+            Arrays.sort(weights);
+        }
+        branchy = new DeliveryService();
+        branchless = new BranchlessDeliveryService();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double branchy() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += branchy.calculateDeliveryFee(distances[i], weights[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double branchless() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += branchless.calculateDeliveryFee(distances[i], weights[i]);
+        }
+        return sum;
+    }
+}
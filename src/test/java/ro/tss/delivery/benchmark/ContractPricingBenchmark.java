@@ -0,0 +1,114 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.contract.ContractStore;
+import ro.tss.delivery.ratecard.RateCard;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tarifarea pe contracte: 2M clienți, 1000 de contracte, 80% dintre clienți cu contract.
+ * Doar rezolvarea contractului, apelul per rând și lotul grupat pe contract.
+ *
+ * Fiecare invocare tarifează următoarea fereastră de {@link #SIZE} rânduri dintr-un bazin
+ * de {@link #POOL}, ca în TierPartitionBenchmark.
+ *
+ * Rulare: mvn -Pbench test -Dbench=ContractPricingBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ContractPricingBenchmark {
+
+    private static final int CUSTOMERS = 2_000_000;
+    private static final int CONTRACTS = 1000;
+    private static final int SIZE = 8192;
+    private static final int POOL = 1 << 16;
+
+    private final long[][] customers = new long[POOL / SIZE][SIZE];
+    private final double[][] distances = new double[POOL / SIZE][SIZE];
+    private final double[][] weights = new double[POOL / SIZE][SIZE];
+    private final double[] fees = new double[SIZE];
+    private int window;
+
+    private ContractStore store;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(45);
+        store = new ContractStore(RateCard.standard(), CUSTOMERS);
+        for (int c = 1; c < CONTRACTS; c++) {
+            store.addContract(new RateCard("contract-" + c, random.nextDouble(2, 6),
+                    new double[] {random.nextDouble(5, 20), random.nextDouble(30, 80)},
+                    new double[] {random.nextDouble(0.3, 0.6), random.nextDouble(0.2, 0.5), random.nextDouble(0.1, 0.4)},
+                    new double[] {2.0, 5.0, 15.0},
+                    new double[] {0.0, random.nextDouble(2, 5), random.nextDouble(5, 10), random.nextDouble(10, 20)}));
+        }
+        long[] ids = new long[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            ids[i] = random.nextLong(1L << 40);
+            if (random.nextInt(5) != 0) {
+                store.assign(ids[i], random.nextInt(CONTRACTS));
+            }
+        }
+        for (int b = 0; b < POOL / SIZE; b++) {
+            for (int i = 0; i < SIZE; i++) {
+                customers[b][i] = ids[random.nextInt(CUSTOMERS)];
+                distances[b][i] = random.nextDouble(0.1, 100.0);
+                weights[b][i] = random.nextDouble(0.1, 25.0);
+            }
+        }
+    }
+
+    private int nextWindow() {
+        int b = window;
+        window = (window + 1) % (POOL / SIZE);
+        return b;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int lookupOnly() {
+        long[] c = customers[nextWindow()];
+        int sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += store.contractOf(c[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] perRow() {
+        int b = nextWindow();
+        long[] c = customers[b];
+        double[] d = distances[b];
+        double[] w = weights[b];
+        for (int i = 0; i < SIZE; i++) {
+            fees[i] = store.calculateDeliveryFee(c[i], d[i], w[i]);
+        }
+        return fees;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] groupedBatch() {
+        int b = nextWindow();
+        store.calculateDeliveryFees(customers[b], distances[b], weights[b], fees);
+        return fees;
+    }
+}
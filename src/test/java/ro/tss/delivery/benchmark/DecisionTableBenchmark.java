@@ -0,0 +1,73 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.decision.CompiledDecisionTable;
+import ro.tss.delivery.decision.DecisionTable;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DeliveryService (lanț if/else) vs. tabelul de decizie CEG compilat (masca cauzelor și
+ * o citire din tabel), pe un amestec aleator de livrări valide.
+ *
+ * Rulare: mvn -Pbench test -Dbench=DecisionTableBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecisionTableBenchmark {
+
+    private static final int SIZE = 8192;
+
+    private final double[] distances = new double[SIZE];
+    private final double[] weights = new double[SIZE];
+
+    private DeliveryService original;
+    private CompiledDecisionTable table;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(36);
+        for (int i = 0; i < SIZE; i++) {
+            distances[i] = random.nextDouble(0.1, 100.0);
+            weights[i] = random.nextDouble(0.1, 30.0);
+        }
+        original = new DeliveryService();
+        table = DecisionTable.deliveryPricing().compile();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double original() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += original.calculateDeliveryFee(distances[i], weights[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double decisionTable() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += table.calculateDeliveryFee(distances[i], weights[i]);
+        }
+        return sum;
+    }
+}
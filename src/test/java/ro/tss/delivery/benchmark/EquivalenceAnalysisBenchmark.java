@@ -0,0 +1,42 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.mutation.DeliveryServiceSchemata;
+import ro.tss.delivery.mutation.IntervalEquivalenceAnalyzer;
+import ro.tss.delivery.mutation.Mutant;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durata clasificării întregului catalog al schemei de mutanți prin analiză pe intervale
+ * (o rulare completă per operație).
+ *
+ * Rulare: mvn -Pbench test -Dbench=EquivalenceAnalysisBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EquivalenceAnalysisBenchmark {
+
+    @Benchmark
+    public int wholeCatalog() {
+        int equivalent = 0;
+        for (Mutant mutant : DeliveryServiceSchemata.mutants()) {
+            if (IntervalEquivalenceAnalyzer.analyze(mutant).verdict() == IntervalEquivalenceAnalyzer.Verdict.EQUIVALENT) {
+                equivalent++;
+            }
+        }
+        return equivalent;
+    }
+}
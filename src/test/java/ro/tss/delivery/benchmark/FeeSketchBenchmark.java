@@ -0,0 +1,101 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.sketch.FeeQuantileSketch;
+import ro.tss.delivery.sketch.TierFeeSketches;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schițele de cuantile: costul unei actualizări (schiță simplă și pe treaptă × interval),
+ * combinarea a 8 schițe (ca la agregarea firelor) și serializarea dus-întors.
+ * Precizia este verificată în FeeQuantileSketchTest.
+ *
+ * Rulare: mvn -Pbench test -Dbench=FeeSketchBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeeSketchBenchmark {
+
+    private static final int SIZE = 1 << 16;
+
+    private final double[] distances = new double[SIZE];
+    private final double[] weights = new double[SIZE];
+    private final double[] fees = new double[SIZE];
+    private final FeeQuantileSketch[] threadSketches = new FeeQuantileSketch[8];
+
+    private final FeeQuantileSketch sketch = new FeeQuantileSketch();
+    private final TierFeeSketches tierSketches = new TierFeeSketches();
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(49);
+        DeliveryService service = new DeliveryService();
+        for (int i = 0; i < SIZE; i++) {
+            distances[i] = random.nextDouble(0.1, 100.0);
+            weights[i] = random.nextDouble(0.1, 25.0);
+            fees[i] = service.calculateDeliveryFee(distances[i], weights[i]);
+        }
+        for (int t = 0; t < threadSketches.length; t++) {
+            threadSketches[t] = new FeeQuantileSketch();
+            for (int i = 0; i < SIZE; i++) {
+                threadSketches[t].add(fees[i] * (1 + 0.1 * t));
+            }
+        }
+        serialized = threadSketches[0].toBytes();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public FeeQuantileSketch add() {
+        for (int i = 0; i < SIZE; i++) {
+            sketch.add(fees[i]);
+        }
+        return sketch;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public TierFeeSketches recordPerTier() {
+        for (int i = 0; i < SIZE; i++) {
+            tierSketches.record(distances[i], weights[i], fees[i]);
+        }
+        return tierSketches;
+    }
+
+    @Benchmark
+    public FeeQuantileSketch mergeEight() {
+        FeeQuantileSketch merged = new FeeQuantileSketch();
+        for (FeeQuantileSketch s : threadSketches) {
+            merged.merge(s);
+        }
+        return merged;
+    }
+
+    @Benchmark
+    public FeeQuantileSketch serializeRoundTrip() {
+        return FeeQuantileSketch.fromBytes(threadSketches[0].toBytes());
+    }
+
+    @Benchmark
+    public double p99() {
+        return threadSketches[0].quantile(0.99) + serialized.length;
+    }
+}
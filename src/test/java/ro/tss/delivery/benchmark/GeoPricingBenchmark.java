@@ -0,0 +1,78 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.kernel.GeoDeliveryPricer;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tarifare din coordonate: trecere fuzionată vs. două treceri (tablou intermediar de distanțe).
+ *
+ * Rulare: mvn -Pbench test -Dbench=GeoPricingBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoPricingBenchmark {
+
+    private static final int SIZE = 65_536;
+
+    private final double[] originLat = new double[SIZE];
+    private final double[] originLon = new double[SIZE];
+    private final double[] destLat = new double[SIZE];
+    private final double[] destLon = new double[SIZE];
+    private final double[] weights = new double[SIZE];
+    private final double[] distances = new double[SIZE];
+    private final double[] fees = new double[SIZE];
+
+    private DeliveryService service;
+    private GeoDeliveryPricer pricer;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(28);
+        for (int i = 0; i < SIZE; i++) {
+            originLat[i] = random.nextDouble(43.5, 48.5);
+            originLon[i] = random.nextDouble(20.0, 30.0);
+            destLat[i] = originLat[i] + random.nextDouble(-1, 1);
+            destLon[i] = originLon[i] + random.nextDouble(-1, 1);
+            weights[i] = random.nextDouble(0.1, 30);
+        }
+        service = new DeliveryService();
+        pricer = new GeoDeliveryPricer(service);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] fused() {
+        pricer.calculateDeliveryFees(originLat, originLon, destLat, destLon, weights, fees);
+        return fees;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] twoPass() {
+        for (int i = 0; i < SIZE; i++) {
+            distances[i] = GeoDeliveryPricer.haversineKm(originLat[i], originLon[i], destLat[i], destLon[i]);
+        }
+        for (int i = 0; i < SIZE; i++) {
+            fees[i] = service.calculateDeliveryFee(distances[i], weights[i]);
+        }
+        return fees;
+    }
+}
@@ -0,0 +1,129 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.schedule.PeakCalendar;
+import ro.tss.delivery.schedule.PeakRule;
+import ro.tss.delivery.schedule.PeakSchedule;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coeficienții de vârf: evaluarea directă a regulilor (ZonedDateTime per cotație) față de
+ * calendarul precalculat (scalar și pe lot), plus costul reconstruirii unui calendar de
+ * 90 de zile la rezoluție de un minut.
+ *
+ * Fiecare invocare tarifează următoarea fereastră de {@link #SIZE} livrări dintr-un bazin
+ * de {@link #POOL}, ca în TierPartitionBenchmark.
+ *
+ * Rulare: mvn -Pbench test -Dbench=PeakCalendarBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PeakCalendarBenchmark {
+
+    private static final int SIZE = 8192;
+    private static final int POOL = 1 << 16;
+    private static final int HORIZON_DAYS = 90;
+    private static final long START = Instant.parse("2024-09-01T00:00:00Z").toEpochMilli();
+
+    private final long[][] pickups = new long[POOL / SIZE][SIZE];
+    private final double[][] distances = new double[POOL / SIZE][SIZE];
+    private final double[][] weights = new double[POOL / SIZE][SIZE];
+    private final double[] fees = new double[SIZE];
+    private int window;
+
+    private final DeliveryService service = new DeliveryService();
+    private PeakSchedule schedule;
+    private PeakCalendar calendar;
+
+    @Setup
+    public void setUp() {
+        schedule = new PeakSchedule(ZoneId.of("Europe/Bucharest"), 1, List.of(
+                PeakRule.on(EnumSet.allOf(DayOfWeek.class), LocalTime.of(0, 0), LocalTime.of(6, 0), 0.90),
+                PeakRule.on(EnumSet.allOf(DayOfWeek.class), LocalTime.of(22, 0), LocalTime.MIDNIGHT, 0.90),
+                PeakRule.weekdays(LocalTime.of(8, 0), LocalTime.of(10, 0), 1.25),
+                PeakRule.weekdays(LocalTime.of(17, 0), LocalTime.of(19, 30), 1.25),
+                PeakRule.on(EnumSet.of(DayOfWeek.SATURDAY), LocalTime.of(10, 0), LocalTime.of(14, 0), 1.10),
+                PeakRule.onHolidays(LocalTime.of(0, 0), LocalTime.MIDNIGHT, 1.50)),
+                Set.of(LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 25)));
+        calendar = schedule.calendar(START, HORIZON_DAYS);
+        SplittableRandom random = new SplittableRandom(47);
+        for (int b = 0; b < POOL / SIZE; b++) {
+            for (int i = 0; i < SIZE; i++) {
+                pickups[b][i] = random.nextLong(calendar.startMillis(), calendar.endMillis());
+                distances[b][i] = random.nextDouble(0.1, 100.0);
+                weights[b][i] = random.nextDouble(0.1, 25.0);
+            }
+        }
+    }
+
+    private int nextWindow() {
+        int b = window;
+        window = (window + 1) % (POOL / SIZE);
+        return b;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] zonedPerRow() {
+        int b = nextWindow();
+        long[] t = pickups[b];
+        double[] d = distances[b];
+        double[] w = weights[b];
+        for (int i = 0; i < SIZE; i++) {
+            fees[i] = service.calculateDeliveryFee(d[i], w[i]) * schedule.multiplierAt(t[i]);
+        }
+        return fees;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] calendarPerRow() {
+        int b = nextWindow();
+        long[] t = pickups[b];
+        double[] d = distances[b];
+        double[] w = weights[b];
+        for (int i = 0; i < SIZE; i++) {
+            fees[i] = calendar.calculateDeliveryFee(t[i], d[i], w[i]);
+        }
+        return fees;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] calendarBatch() {
+        int b = nextWindow();
+        calendar.calculateDeliveryFees(pickups[b], distances[b], weights[b], fees);
+        return fees;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public PeakCalendar rebuild90Days() {
+        return schedule.calendar(START, HORIZON_DAYS);
+    }
+}
@@ -0,0 +1,79 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.dedup.QuoteDeduplicator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deduplicarea cotațiilor la 1M cereri/s simulate: ceasul avansează 1 µs per cerere, cu
+ * ferestre de o secundă (4 păstrate) și ~10% reluări ale unor cereri din ultima secundă.
+ * Comparat cu tarifarea directă, fără deduplicare. La final se afișează rata de fals
+ * pozitive observată și memoria.
+ *
+ * Rulare: mvn -Pbench test -Dbench=QuoteDedupBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class QuoteDedupBenchmark {
+
+    private static final int STREAM = 1 << 22;
+    private static final int RATE_PER_MILLI = 1000;
+
+    private final long[] ids = new long[STREAM];
+    private final double[] distances = new double[STREAM];
+    private final double[] weights = new double[STREAM];
+    private final DeliveryService service = new DeliveryService();
+
+    private long tick;
+    private long journaled;
+    private QuoteDeduplicator dedup;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(50);
+        for (int i = 0; i < STREAM; i++) {
+            ids[i] = i > 1000 && random.nextInt(10) == 0 ? ids[i - 1 - random.nextInt(1000)] : random.nextLong();
+            distances[i] = random.nextDouble(0.1, 100.0);
+            weights[i] = random.nextDouble(0.1, 25.0);
+        }
+        dedup = new QuoteDeduplicator(service, (id, d, w, fee) -> journaled++,
+                1000, 4, 1_000_000, () -> tick / RATE_PER_MILLI);
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%n[dedup] cereri=%d reluări=%d fals pozitive=%d (%.4f%%) memorie=%.1f MB%n",
+                dedup.requests(), dedup.duplicates(), dedup.falsePositives(),
+                100 * dedup.observedFalsePositiveRate(), dedup.footprintBytes() / 1e6);
+    }
+
+    @Benchmark
+    public double deduplicated() {
+        int i = (int) (tick++ & (STREAM - 1));
+        return dedup.quote(ids[i] + (tick >>> 22), distances[i], weights[i]);
+    }
+
+    @Benchmark
+    public double pricingOnly() {
+        int i = (int) (tick++ & (STREAM - 1));
+        return service.calculateDeliveryFee(distances[i], weights[i]);
+    }
+}
@@ -0,0 +1,91 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.store.OffHeapQuoteStore;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durata unei colectări complete (System.gc()) în funcție de numărul de cotații păstrate:
+ * obiecte pe heap vs. {@link OffHeapQuoteStore}. Timpul măsurat este pauza GC.
+ * Limita memoriei directe (1 GB) acoperă cel mai mare depozit (8M × 24 B ≈ 192 MB) plus
+ * blocurile încă necolectate ale depozitelor închise între iterații.
+ *
+ * Rulare: mvn -Pbench test -Dbench=QuoteStoreGcBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g", "-XX:MaxDirectMemorySize=1g", "-XX:+UseG1GC"})
+public class QuoteStoreGcBenchmark {
+
+    @Param({"1000000", "4000000", "8000000"})
+    public int quotes;
+
+    @Param({"heap", "offHeap"})
+    public String storage;
+
+    private Quote[] heapQuotes;
+    private OffHeapQuoteStore offHeapStore;
+
+    /** Reprezentarea obișnuită pe heap: un obiect per cotație. */
+    static final class Quote {
+        final double distanceKm;
+        final double weightKg;
+        double fee;
+
+        Quote(double distanceKm, double weightKg) {
+            this.distanceKm = distanceKm;
+            this.weightKg = weightKg;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(30);
+        DeliveryService service = new DeliveryService();
+        if ("heap".equals(storage)) {
+            heapQuotes = new Quote[quotes];
+            for (int i = 0; i < quotes; i++) {
+                Quote quote = new Quote(random.nextDouble(0.1, 100), random.nextDouble(0.1, 30));
+                quote.fee = service.calculateDeliveryFee(quote.distanceKm, quote.weightKg);
+                heapQuotes[i] = quote;
+            }
+        } else {
+            offHeapStore = new OffHeapQuoteStore();
+            for (int i = 0; i < quotes; i++) {
+                offHeapStore.append(random.nextDouble(0.1, 100), random.nextDouble(0.1, 30));
+            }
+            offHeapStore.priceAll(service);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (offHeapStore != null) {
+            offHeapStore.close();
+        }
+        heapQuotes = null;
+    }
+
+    @Benchmark
+    public void fullGcPause() {
+        System.gc();
+    }
+}
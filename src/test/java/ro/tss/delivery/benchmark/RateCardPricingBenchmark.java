@@ -0,0 +1,86 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.ratecard.RateCard;
+import ro.tss.delivery.ratecard.RateCardCompiler;
+import ro.tss.delivery.ratecard.RateCardInterpreter;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Throughput: clasa scrisă de mână vs. interpretor vs. pricer compilat (hidden class).
+ *
+ * Rulare: mvn -Pbench test -Dbench=RateCardPricingBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateCardPricingBenchmark {
+
+    private static final int SIZE = 4096;
+
+    private final double[] distances = new double[SIZE];
+    private final double[] weights = new double[SIZE];
+
+    private DeliveryService handWritten;
+    private RateCardInterpreter interpreter;
+    private DoubleBinaryOperator compiled;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(26);
+        for (int i = 0; i < SIZE; i++) {
+            distances[i] = random.nextDouble(0.1, 100.0);
+            weights[i] = random.nextDouble(0.1, 30.0);
+        }
+        handWritten = new DeliveryService();
+        interpreter = new RateCardInterpreter(RateCard.standard());
+        compiled = new RateCardCompiler().compile(RateCard.standard());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double handWritten() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += handWritten.calculateDeliveryFee(distances[i], weights[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double interpreter() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += interpreter.calculateDeliveryFee(distances[i], weights[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double compiled() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += compiled.applyAsDouble(distances[i], weights[i]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,94 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.ratecard.RateCard;
+import ro.tss.delivery.ratecard.RateCardTimeline;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-tarifarea istorică pe 60 de tarife lunare: tariful căutat și aplicat pe fiecare rând
+ * față de lotul grupat pe tarif. Momentele expedierii sunt aleatoare pe toată perioada.
+ *
+ * Fiecare invocare tarifează următoarea fereastră de {@link #SIZE} livrări dintr-un bazin
+ * de {@link #POOL}, ca în TierPartitionBenchmark.
+ *
+ * Rulare: mvn -Pbench test -Dbench=RateCardTimelineBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateCardTimelineBenchmark {
+
+    private static final int CARDS = 60;
+    private static final long MONTH = 30L * 24 * 3600 * 1000;
+    private static final int SIZE = 8192;
+    private static final int POOL = 1 << 16;
+
+    private final long[][] shipTimes = new long[POOL / SIZE][SIZE];
+    private final double[][] distances = new double[POOL / SIZE][SIZE];
+    private final double[][] weights = new double[POOL / SIZE][SIZE];
+    private final double[] fees = new double[SIZE];
+    private int window;
+
+    private RateCardTimeline timeline;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(46);
+        timeline = RateCardTimeline.of(0, RateCard.standard());
+        for (int c = 1; c < CARDS; c++) {
+            timeline = timeline.with(c * MONTH, new RateCard("luna-" + c, 5.00 + 0.05 * c,
+                    new double[] {10.0, 50.0}, new double[] {0.50, 0.40, 0.30 + 0.001 * c},
+                    new double[] {2.0, 5.0, 15.0}, new double[] {0.00, 4.50, 8.00, 15.00}));
+        }
+        for (int b = 0; b < POOL / SIZE; b++) {
+            for (int i = 0; i < SIZE; i++) {
+                shipTimes[b][i] = random.nextLong(CARDS * MONTH);
+                distances[b][i] = random.nextDouble(0.1, 100.0);
+                weights[b][i] = random.nextDouble(0.1, 25.0);
+            }
+        }
+    }
+
+    private int nextWindow() {
+        int b = window;
+        window = (window + 1) % (POOL / SIZE);
+        return b;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] perRow() {
+        int b = nextWindow();
+        long[] t = shipTimes[b];
+        double[] d = distances[b];
+        double[] w = weights[b];
+        for (int i = 0; i < SIZE; i++) {
+            fees[i] = timeline.calculateDeliveryFee(t[i], d[i], w[i]);
+        }
+        return fees;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] groupedBatch() {
+        int b = nextWindow();
+        timeline.calculateDeliveryFees(shipTimes[b], distances[b], weights[b], fees);
+        return fees;
+    }
+}
@@ -0,0 +1,106 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.kernel.BranchlessDeliveryService;
+import ro.tss.delivery.surcharge.CompiledSurcharges;
+import ro.tss.delivery.surcharge.Surcharge;
+import ro.tss.delivery.surcharge.SurchargePipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline-ul de suprataxe interpretat (taxa de bază branchless în lot, apoi etapele
+ * aplicate pe rând) față de cel compilat, cu 0, 5 și 20 de etape. Etapele se repetă în
+ * ordinea procent, sumă fixă, zonă izolată, minim, plafon; ~10% din rânduri sunt în zone
+ * izolate. Datele sunt luate pe ferestre dintr-un bazin, ca în TierPartitionBenchmark.
+ *
+ * Rulare: mvn -Pbench test -Dbench=SurchargePipelineBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SurchargePipelineBenchmark {
+
+    private static final int SIZE = 8192;
+    private static final int POOL = 1 << 16;
+
+    @Param({"0", "5", "20"})
+    public int stages;
+
+    private final double[][] distances = new double[POOL / SIZE][SIZE];
+    private final double[][] weights = new double[POOL / SIZE][SIZE];
+    private final boolean[][] remote = new boolean[POOL / SIZE][SIZE];
+    private final double[] fees = new double[SIZE];
+    private int window;
+
+    private final BranchlessDeliveryService base = new BranchlessDeliveryService();
+    private SurchargePipeline pipeline;
+    private CompiledSurcharges compiled;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(44);
+        for (int b = 0; b < POOL / SIZE; b++) {
+            for (int i = 0; i < SIZE; i++) {
+                distances[b][i] = random.nextDouble(0.1, 100.0);
+                weights[b][i] = random.nextDouble(0.1, 25.0);
+                remote[b][i] = random.nextInt(10) == 0;
+            }
+        }
+        List<Surcharge> list = new ArrayList<>();
+        for (int s = 0; s < stages; s++) {
+            switch (s % 5) {
+                case 0 -> list.add(Surcharge.percentage("combustibil " + s, 0.03));
+                case 1 -> list.add(Surcharge.fixed("asigurare " + s, 0.50));
+                case 2 -> list.add(Surcharge.remoteZone("zonă izolată " + s, 2.50));
+                case 3 -> list.add(Surcharge.minimum(8.00 + s));
+                default -> list.add(Surcharge.cap(80.00 + 10 * s));
+            }
+        }
+        pipeline = new SurchargePipeline(list);
+        compiled = pipeline.compile();
+    }
+
+    private int nextWindow() {
+        int b = window;
+        window = (window + 1) % (POOL / SIZE);
+        return b;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] interpreted() {
+        int b = nextWindow();
+        boolean[] r = remote[b];
+        base.calculateDeliveryFees(distances[b], weights[b], fees, 0, SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            fees[i] = pipeline.apply(fees[i], r[i]);
+        }
+        return fees;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] compiled() {
+        int b = nextWindow();
+        compiled.calculateDeliveryFees(distances[b], weights[b], remote[b], fees);
+        return fees;
+    }
+}
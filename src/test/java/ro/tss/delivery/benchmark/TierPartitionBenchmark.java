@@ -0,0 +1,97 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.kernel.BranchlessDeliveryService;
+import ro.tss.delivery.kernel.TierPartitionedPricer;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bucla if/else (DeliveryService), kernelul branchless și partiționarea pe găleți, pe
+ * loturi de diferite dimensiuni. Distribuția "uniform" are rânduri aleatoare în toate
+ * cele 12 găleți; "skewed" are 90% din rânduri în găleata (scurt, ușor), ca la
+ * livrările urbane.
+ *
+ * Fiecare invocare tarifează următoarea fereastră de {@code size} rânduri dintr-un
+ * bazin de {@link #POOL} rânduri: pe același lot mic repetat, predictorul de salturi
+ * ar învăța tiparul și bucla if/else ar părea mai rapidă decât pe date reale.
+ *
+ * Scorul este în loturi/µs; rânduri/µs = scor × size.
+ *
+ * Rulare: mvn -Pbench test -Dbench=TierPartitionBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TierPartitionBenchmark {
+
+    @Param({"1", "2", "4", "8", "16", "64", "256", "1024", "8192"})
+    public int size;
+
+    @Param({"uniform", "skewed"})
+    public String distribution;
+
+    private static final int POOL = 1 << 16;
+
+    private final double[] distances = new double[POOL];
+    private final double[] weights = new double[POOL];
+    private final double[] fees = new double[POOL];
+    private int window;
+
+    private final DeliveryService naive = new DeliveryService();
+    private final BranchlessDeliveryService branchless = new BranchlessDeliveryService();
+    private final TierPartitionedPricer partitioned = new TierPartitionedPricer();
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < POOL; i++) {
+            boolean common = "skewed".equals(distribution) && random.nextInt(10) != 0;
+            distances[i] = common ? random.nextDouble(0.1, 10.0) : random.nextDouble(0.1, 100.0);
+            weights[i] = common ? random.nextDouble(0.1, 2.0) : random.nextDouble(0.1, 30.0);
+        }
+    }
+
+    /** Începutul ferestrei următoare (size divide POOL). */
+    private int nextWindow() {
+        int from = window;
+        window = (window + size) & (POOL - 1);
+        return from;
+    }
+
+    @Benchmark
+    public double[] naive() {
+        int from = nextWindow();
+        naive.calculateDeliveryFees(distances, weights, fees, from, from + size);
+        return fees;
+    }
+
+    @Benchmark
+    public double[] branchless() {
+        int from = nextWindow();
+        branchless.calculateDeliveryFees(distances, weights, fees, from, from + size);
+        return fees;
+    }
+
+    @Benchmark
+    public double[] partitioned() {
+        int from = nextWindow();
+        partitioned.calculateDeliveryFees(distances, weights, fees, from, from + size);
+        return fees;
+    }
+}
@@ -0,0 +1,110 @@
+package ro.tss.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.kernel.VolumetricDeliveryPricer;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Referința scalară (greutate taxabilă + DeliveryService pe rând), varianta în două
+ * treceri (tablou de greutăți taxabile, apoi lotul DeliveryService; fără validarea
+ * dimensiunilor) și kernelul fuzionat.
+ *
+ * Fiecare invocare tarifează următoarea fereastră de {@link #SIZE} colete dintr-un bazin
+ * de {@link #POOL}, ca predictorul de salturi să nu învețe lotul (vezi TierPartitionBenchmark).
+ *
+ * Rulare: mvn -Pbench test -Dbench=VolumetricPricingBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VolumetricPricingBenchmark {
+
+    private static final int SIZE = 8192;
+    private static final int POOL = 1 << 16;
+
+    private final double[][] distances = new double[POOL / SIZE][SIZE];
+    private final double[][] weights = new double[POOL / SIZE][SIZE];
+    private final double[][] lengths = new double[POOL / SIZE][SIZE];
+    private final double[][] widths = new double[POOL / SIZE][SIZE];
+    private final double[][] heights = new double[POOL / SIZE][SIZE];
+    private final double[] chargeable = new double[SIZE];
+    private final double[] fees = new double[SIZE];
+    private int window;
+
+    private final DeliveryService service = new DeliveryService();
+    private final VolumetricDeliveryPricer pricer = new VolumetricDeliveryPricer();
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(43);
+        for (int b = 0; b < POOL / SIZE; b++) {
+            for (int i = 0; i < SIZE; i++) {
+                distances[b][i] = random.nextDouble(0.1, 100.0);
+                weights[b][i] = random.nextDouble(0.1, 25.0);
+                lengths[b][i] = random.nextDouble(1, 120);
+                widths[b][i] = random.nextDouble(1, 80);
+                heights[b][i] = random.nextDouble(1, 60);
+            }
+        }
+    }
+
+    private int nextWindow() {
+        int b = window;
+        window = (window + 1) % (POOL / SIZE);
+        return b;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] scalarReference() {
+        int b = nextWindow();
+        double[] d = distances[b];
+        double[] w = weights[b];
+        double[] l = lengths[b];
+        double[] wd = widths[b];
+        double[] h = heights[b];
+        for (int i = 0; i < SIZE; i++) {
+            fees[i] = pricer.calculateDeliveryFee(d[i], w[i], l[i], wd[i], h[i]);
+        }
+        return fees;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] twoPass() {
+        int b = nextWindow();
+        double[] w = weights[b];
+        double[] l = lengths[b];
+        double[] wd = widths[b];
+        double[] h = heights[b];
+        for (int i = 0; i < SIZE; i++) {
+            chargeable[i] = pricer.chargeableWeightKg(w[i], l[i], wd[i], h[i]);
+        }
+        service.calculateDeliveryFees(distances[b], chargeable, fees);
+        return fees;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] fused() {
+        int b = nextWindow();
+        pricer.calculateDeliveryFees(distances[b], weights[b], lengths[b], widths[b], heights[b], fees);
+        return fees;
+    }
+}
@@ -0,0 +1,142 @@
+package ro.tss.delivery.contract;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.ratecard.RateCard;
+import ro.tss.delivery.ratecard.RateCardInterpreter;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link ContractStore} și indexul {@link CustomerIndex}.
+ */
+@DisplayName("Teste ContractStore")
+class ContractStoreTest {
+
+    private static final double DELTA = 0.001;
+
+    // Contract negociat: taxă de bază 3.00, tarif redus pe distanță lungă, prag de greutate mutat la 3 kg
+    private static final RateCard KEY_ACCOUNT = new RateCard("key-account", 3.00,
+            new double[] {10.0, 50.0}, new double[] {0.50, 0.40, 0.25},
+            new double[] {3.0, 5.0, 15.0}, new double[] {0.00, 4.50, 8.00, 15.00});
+
+    @Test
+    @DisplayName("Clientul fără contract primește tariful standard, cel cu contract tariful negociat")
+    void resolvesEffectiveRateCard() {
+        ContractStore store = new ContractStore();
+        int contract = store.assign(1001L, KEY_ACCOUNT);
+
+        assertEquals(1, contract);
+        assertSame(KEY_ACCOUNT, store.rateCard(1001L));
+        assertEquals(RateCard.standard(), store.rateCard(42L));
+        assertEquals(ContractStore.DEFAULT_CONTRACT, store.contractOf(42L));
+        // 100 km, 2.5 kg: standard 5 + 30 + 4.50; contract 3 + 25 + 0
+        assertEquals(39.50, store.calculateDeliveryFee(42L, 100, 2.5), DELTA);
+        assertEquals(28.00, store.calculateDeliveryFee(1001L, 100, 2.5), DELTA);
+    }
+
+    @Test
+    @DisplayName("Contractele identice sunt păstrate o dată; reasignarea schimbă contractul clientului")
+    void deduplicatesAndReassigns() {
+        ContractStore store = new ContractStore();
+        int a = store.assign(1L, KEY_ACCOUNT);
+        int b = store.assign(2L, KEY_ACCOUNT);
+        assertEquals(a, b);
+        assertEquals(2, store.contracts());
+
+        store.assign(1L, ContractStore.DEFAULT_CONTRACT);
+        assertEquals(ContractStore.DEFAULT_CONTRACT, store.contractOf(1L));
+        assertEquals(2, store.customers());
+        assertThrows(IllegalArgumentException.class, () -> store.assign(3L, 7));
+        assertThrows(IllegalArgumentException.class, () -> store.contractBytes(-1));
+    }
+
+    @Test
+    @DisplayName("1M clienți cu id-uri arbitrare (inclusiv 0 și negative): indexul îi regăsește pe toți")
+    void indexHandlesMillionCustomers() {
+        CustomerIndex index = new CustomerIndex(0);
+        SplittableRandom random = new SplittableRandom(45);
+        int size = 1_000_000;
+        long[] ids = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i < 3 ? new long[] {0L, -1L, Long.MIN_VALUE}[i] : random.nextLong();
+            index.put(ids[i], i & 1023);
+        }
+        for (int i = 0; i < size; i++) {
+            assertEquals(i & 1023, index.get(ids[i]), "clientul " + ids[i]);
+        }
+        assertEquals(size, index.size());
+        assertEquals(CustomerIndex.ABSENT, index.get(123_456_789_012L));
+        assertTrue(index.size() <= 0.7 * index.capacity());
+        assertEquals(12L * index.capacity() + 32, index.footprintBytes());
+    }
+
+    @Test
+    @DisplayName("Lot amestecat pe 200 de contracte: identic bit cu bit cu interpretorul pe tariful clientului")
+    void mixedBatchMatchesInterpreter() {
+        SplittableRandom random = new SplittableRandom(45);
+        ContractStore store = new ContractStore(RateCard.standard(), 50_000);
+        for (int c = 1; c < 200; c++) {
+            store.addContract(new RateCard("contract-" + c, random.nextDouble(2, 6),
+                    new double[] {random.nextDouble(5, 20), random.nextDouble(30, 80)},
+                    new double[] {random.nextDouble(0.3, 0.6), random.nextDouble(0.2, 0.5), random.nextDouble(0.1, 0.4)},
+                    new double[] {2.0, 5.0, 15.0},
+                    new double[] {0.0, random.nextDouble(2, 5), random.nextDouble(5, 10), random.nextDouble(10, 20)}));
+        }
+        for (long id = 0; id < 50_000; id++) {
+            if (random.nextInt(4) != 0) {
+                store.assign(id, random.nextInt(200));
+            }
+        }
+        int size = 20_000;
+        long[] customers = new long[size];
+        double[] d = new double[size];
+        double[] w = new double[size];
+        for (int i = 0; i < size; i++) {
+            customers[i] = random.nextLong(60_000);
+            d[i] = random.nextDouble(0.01, 120);
+            w[i] = random.nextDouble(0.01, 30);
+        }
+        double[] fees = new double[size];
+        store.calculateDeliveryFees(customers, d, w, fees);
+        for (int i = 0; i < size; i++) {
+            double expected = new RateCardInterpreter(store.rateCard(customers[i])).calculateDeliveryFee(d[i], w[i]);
+            assertEquals(expected, fees[i], 0.0, "rândul " + i);
+            assertEquals(expected, store.calculateDeliveryFee(customers[i], d[i], w[i]), 0.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Lot cu un singur contract: exact taxele din DeliveryService")
+    void singleContractBatchMatchesDeliveryService() {
+        ContractStore store = new ContractStore();
+        double[] d = {5, 10, 50, 100};
+        double[] w = {1, 2, 5, 20};
+        double[] fees = new double[4];
+        store.calculateDeliveryFees(new long[] {1, 2, 3, 4}, d, w, fees);
+        DeliveryService service = new DeliveryService();
+        for (int i = 0; i < 4; i++) {
+            assertEquals(service.calculateDeliveryFee(d[i], w[i]), fees[i], 0.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Rândul invalid este raportat înainte de calcul; memoria este raportată per contract")
+    void rejectsInvalidRowsAndReportsMemory() {
+        ContractStore store = new ContractStore();
+        store.assign(1L, KEY_ACCOUNT);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> store.calculateDeliveryFees(new long[] {1, 2}, new double[] {1, 1}, new double[] {1, 0}, new double[2]));
+        assertEquals("Rândul 1: Distanța și greutatea trebuie să fie pozitive.", e.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> store.calculateDeliveryFees(new long[1], new double[2], new double[2], new double[2]));
+        assertThrows(IllegalArgumentException.class, () -> store.calculateDeliveryFee(1L, -1, 1));
+
+        // 40 + 4 antete × 16 + 12 valori × 8
+        assertEquals(200, store.contractBytes(1));
+        assertEquals((store.indexBytes() + 400) / 2.0, store.bytesPerContract(), DELTA);
+    }
+}
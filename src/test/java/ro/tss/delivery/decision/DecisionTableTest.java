@@ -0,0 +1,118 @@
+package ro.tss.delivery.decision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.decision.DecisionTable.Rule;
+import ro.tss.delivery.decision.DecisionTable.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.DoubleBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link DecisionTable} și {@link CompiledDecisionTable}.
+ */
+@DisplayName("Teste tabel de decizie compilat")
+class DecisionTableTest {
+
+    private static final double DELTA = 0.001;
+
+    private final DeliveryService service = new DeliveryService();
+    private final CompiledDecisionTable compiled = DecisionTable.deliveryPricing().compile();
+
+    @Test
+    @DisplayName("Toate cele 512 combinații de cauze: 20 posibile, identice cu DeliveryService pe capetele fiecărei cauze")
+    void equivalentOverAllCauseCombinations() {
+        int feasible = 0;
+        for (int mask = 0; mask < Cause.COMBINATIONS; mask++) {
+            if (!Cause.feasible(mask)) {
+                assertNull(compiled.rule(mask), Cause.describe(mask));
+                continue;
+            }
+            feasible++;
+            Cause distance = only(mask & Cause.DISTANCE_CAUSES);
+            Cause weight = only(mask & Cause.WEIGHT_CAUSES);
+            for (double d : distance.samples()) {
+                for (double w : weight.samples()) {
+                    assertEquals(mask, Cause.of(d, w), Cause.describe(mask) + " d=" + d + " w=" + w);
+                    assertEquals(outcome(service::calculateDeliveryFee, d, w),
+                            outcome(compiled::calculateDeliveryFee, d, w), "d=" + d + " w=" + w);
+                }
+            }
+        }
+        assertEquals(20, feasible);
+        assertEquals(20, compiled.feasibleMasks());
+    }
+
+    @Test
+    @DisplayName("Identic bit cu bit cu DeliveryService pe 1M intrări aleatoare, inclusiv NaN")
+    void equivalentOnRandomInputs() {
+        SplittableRandom random = new SplittableRandom(39);
+        for (int i = 0; i < 1_000_000; i++) {
+            double d = random.nextDouble(-10, 120);
+            double w = random.nextDouble(-5, 30);
+            assertEquals(outcome(service::calculateDeliveryFee, d, w), outcome(compiled::calculateDeliveryFee, d, w));
+        }
+        assertTrue(Double.isNaN(compiled.calculateDeliveryFee(Double.NaN, 1)));
+        assertEquals(Cause.mask(Cause.C5, Cause.C9), Cause.of(Double.NaN, Double.NaN));
+    }
+
+    @Test
+    @DisplayName("Cazurile CEG generate din tabel: T1–T15, taxe din efecte")
+    void generatedTestCases() {
+        List<TestCase> cases = DecisionTable.deliveryPricing().testCases();
+        assertEquals(15, cases.size());
+        assertEquals("T1", cases.get(0).rule().name());
+        assertTrue(cases.get(0).rejected());
+        TestCase t9 = cases.get(8);
+        assertEquals("T9", t9.rule().name());
+        assertEquals(25, t9.distanceKm(), DELTA);
+        assertEquals(3, t9.weightKg(), DELTA);
+        assertEquals(19.50, t9.expectedFee(), DELTA);
+        for (TestCase c : cases) {
+            if (c.rejected()) {
+                assertThrows(IllegalArgumentException.class,
+                        () -> service.calculateDeliveryFee(c.distanceKm(), c.weightKg()), c.toString());
+            } else {
+                assertEquals(c.expectedFee(), service.calculateDeliveryFee(c.distanceKm(), c.weightKg()), DELTA,
+                        c.toString());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Tabele incomplete, contradictorii sau cu reguli invalide sunt respinse")
+    void invalidTables() {
+        List<Rule> incomplete = new ArrayList<>(DecisionTable.deliveryPricing().rules());
+        incomplete.remove(14);
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+                () -> new DecisionTable(incomplete).compile());
+        assertTrue(missing.getMessage().contains("C5 C9"), missing.getMessage());
+
+        List<Rule> contradictory = new ArrayList<>(DecisionTable.deliveryPricing().rules());
+        contradictory.add(new Rule("X", "--T--T---", Effect.E3, Effect.E5, Effect.E9));
+        assertThrows(IllegalArgumentException.class, () -> new DecisionTable(contradictory).compile());
+
+        assertThrows(IllegalArgumentException.class, () -> new Rule("X", "T---", Effect.E1));
+        assertThrows(IllegalArgumentException.class, () -> new Rule("X", "T-------x", Effect.E1));
+        assertThrows(IllegalArgumentException.class, () -> new Rule("X", "--T--T---", Effect.E2, Effect.E9));
+        assertThrows(IllegalArgumentException.class, () -> new DecisionTable(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> compiled.rule(Cause.COMBINATIONS));
+    }
+
+    private static Cause only(int mask) {
+        return Cause.values()[Integer.numberOfTrailingZeros(mask)];
+    }
+
+    private static String outcome(DoubleBinaryOperator pricer, double d, double w) {
+        try {
+            return Long.toHexString(Double.doubleToRawLongBits(pricer.applyAsDouble(d, w)));
+        } catch (IllegalArgumentException e) {
+            return "respins";
+        }
+    }
+}
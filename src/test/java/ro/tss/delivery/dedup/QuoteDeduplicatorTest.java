@@ -0,0 +1,173 @@
+package ro.tss.delivery.dedup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link QuoteDeduplicator}, {@link ScalableBloomFilter} și {@link RequestFeeMap}.
+ */
+@DisplayName("Teste deduplicare cotații")
+class QuoteDeduplicatorTest {
+
+    private static final double DELTA = 0.001;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong journaled = new AtomicLong();
+    private final QuoteDeduplicator.Journal journal = (id, d, w, fee) -> journaled.incrementAndGet();
+
+    @Test
+    @DisplayName("Cererea reluată primește aceeași taxă și nu este jurnalizată din nou")
+    void retryReturnsSameFeeWithoutJournaling() {
+        QuoteDeduplicator dedup = new QuoteDeduplicator(new DeliveryService(), journal, 60_000, 3, 1000, clock::get);
+
+        assertEquals(7.50, dedup.quote(42L, 5, 1), DELTA);
+        assertEquals(7.50, dedup.quote(42L, 5, 1), DELTA);
+        // Id-ul este cheia de idempotență: parametrii reluării nu mai contează
+        assertEquals(7.50, dedup.quote(42L, 100, 20), DELTA);
+        assertEquals(50.00, dedup.quote(0L, 100, 20), DELTA);
+        assertEquals(50.00, dedup.quote(0L, 1, 1), DELTA);
+
+        assertEquals(2, journaled.get());
+        assertEquals(5, dedup.requests());
+        assertEquals(3, dedup.duplicates());
+    }
+
+    @Test
+    @DisplayName("Cererile expiră odată cu fereastra lor: reținute între (N−1) și N ferestre")
+    void expiresWithWindow() {
+        QuoteDeduplicator dedup = new QuoteDeduplicator(new DeliveryService(), journal, 1000, 2, 100, clock::get);
+        clock.set(999);
+        dedup.quote(1L, 5, 1);
+        clock.set(1999);
+        dedup.quote(1L, 5, 1);
+        assertEquals(1, journaled.get());
+
+        clock.set(2000);
+        dedup.quote(1L, 5, 1);
+        assertEquals(2, journaled.get());
+        clock.set(2500);
+        dedup.quote(2L, 5, 1);
+        // Salt peste mai multe ferestre: toate sunt expirate
+        clock.set(10_000);
+        dedup.quote(1L, 5, 1);
+        dedup.quote(2L, 5, 1);
+        assertEquals(5, journaled.get());
+    }
+
+    @Test
+    @DisplayName("Cererea invalidă nu este reținută; reluarea ei eșuează din nou")
+    void invalidRequestIsNotRemembered() {
+        QuoteDeduplicator dedup = new QuoteDeduplicator(new DeliveryService(), journal, 1000, 2, 100, clock::get);
+        assertThrows(IllegalArgumentException.class, () -> dedup.quote(7L, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> dedup.quote(7L, 0, 1));
+        assertEquals(0, journaled.get());
+        assertEquals(7.50, dedup.quote(7L, 5, 1), DELTA);
+        assertThrows(IllegalArgumentException.class,
+                () -> new QuoteDeduplicator(new DeliveryService(), journal, 1000, 1, 100, clock::get));
+    }
+
+    @Test
+    @DisplayName("Jurnalul eșuează: cererea nu este reținută, reluarea este jurnalizată")
+    void failedJournalIsRetried() {
+        boolean[] failing = {true};
+        QuoteDeduplicator dedup = new QuoteDeduplicator(new DeliveryService(), (id, d, w, fee) -> {
+            if (failing[0]) {
+                throw new IllegalStateException("jurnal indisponibil");
+            }
+            journal.record(id, d, w, fee);
+        }, 1000, 2, 100, clock::get);
+        assertThrows(IllegalStateException.class, () -> dedup.quote(7L, 5, 1));
+        assertThrows(IllegalStateException.class, () -> dedup.quote(7L, 5, 1));
+        assertEquals(0, dedup.duplicates());
+        assertEquals(0, journaled.get());
+
+        failing[0] = false;
+        assertEquals(7.50, dedup.quote(7L, 5, 1), DELTA);
+        assertEquals(1, journaled.get());
+        assertEquals(7.50, dedup.quote(7L, 5, 1), DELTA);
+        assertEquals(1, journaled.get());
+        assertEquals(1, dedup.duplicates());
+    }
+
+    @Test
+    @DisplayName("1M cereri noi și 100K reluări: jurnal exact, fals pozitive sub limita filtrului")
+    void millionRequestsWithRetries() {
+        QuoteDeduplicator dedup = new QuoteDeduplicator(new DeliveryService(), journal, 60_000, 3, 250_000, clock::get);
+        SplittableRandom random = new SplittableRandom(50);
+        int fresh = 1_000_000;
+        long[] ids = new long[fresh];
+        int retries = 0;
+        for (int i = 0; i < fresh; i++) {
+            clock.set(i / 4);   // 1M cereri în 250 s: 5 ferestre de câte un minut
+            ids[i] = random.nextLong();
+            double fee = dedup.quote(ids[i], random.nextDouble(0.01, 120), random.nextDouble(0.01, 30));
+            if (i % 10 == 0 && i > 0) {
+                long retried = ids[i - random.nextInt(Math.min(i, 1000)) - 1];
+                dedup.quote(retried, 1, 1);
+                retries++;
+            }
+            assertEquals(fee, dedup.quote(ids[i], 1, 1), 0.0);
+        }
+        assertEquals(fresh, journaled.get());
+        assertEquals(retries + fresh, dedup.duplicates());
+        assertTrue(dedup.observedFalsePositiveRate() < 3 * QuoteDeduplicator.DEFAULT_FALSE_POSITIVE_RATE,
+                "rata: " + dedup.observedFalsePositiveRate());
+        assertEquals(dedup.duplicates() + dedup.falsePositives(), dedup.exactLookups());
+    }
+
+    @Test
+    @DisplayName("Filtrul Bloom scalabil: fără fals negative peste capacitate, rata sub limită")
+    void scalableBloomFilter() {
+        ScalableBloomFilter bloom = new ScalableBloomFilter(10_000, 0.01);
+        for (long k = 1; k <= 200_000; k++) {
+            bloom.add(k * 7919);
+        }
+        assertEquals(200_000, bloom.size());
+        assertTrue(bloom.stages() >= 4, "filtre: " + bloom.stages());
+        for (long k = 1; k <= 200_000; k++) {
+            assertTrue(bloom.mightContain(k * 7919));
+        }
+        int positives = 0;
+        int probes = 1_000_000;
+        SplittableRandom random = new SplittableRandom(50);
+        for (int i = 0; i < probes; i++) {
+            if (bloom.mightContain(random.nextLong() | 1L << 62)) {
+                positives++;
+            }
+        }
+        double rate = (double) positives / probes;
+        assertTrue(rate <= bloom.falsePositiveBound(), "rata " + rate + " > " + bloom.falsePositiveBound());
+        assertTrue(bloom.falsePositiveBound() < 0.01, "limita " + bloom.falsePositiveBound());
+
+        bloom.clear();
+        assertEquals(1, bloom.stages());
+        assertFalse(bloom.mightContain(7919));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(10, 0.5));
+    }
+
+    @Test
+    @DisplayName("Tabelul id → taxă: cheia 0, creștere și golire fără realocare")
+    void requestFeeMap() {
+        RequestFeeMap map = new RequestFeeMap(0);
+        for (long k = -50_000; k <= 50_000; k++) {
+            map.put(k, k * 0.5);
+        }
+        assertEquals(100_001, map.size());
+        for (long k = -50_000; k <= 50_000; k++) {
+            assertEquals(k * 0.5, map.fee(map.find(k)), 0.0);
+        }
+        assertEquals(-1, map.find(50_001));
+        long footprint = map.footprintBytes();
+        map.clear();
+        assertEquals(-1, map.find(0));
+        assertEquals(-1, map.find(7));
+        assertEquals(footprint, map.footprintBytes());
+    }
+}
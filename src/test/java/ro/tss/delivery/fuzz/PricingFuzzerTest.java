@@ -0,0 +1,118 @@
+package ro.tss.delivery.fuzz;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.DeliveryServiceMutantEquivalent;
+import ro.tss.delivery.DeliveryServiceMutantKilled;
+import ro.tss.delivery.DeliveryServiceMutantSurvived;
+import ro.tss.delivery.fuzz.FuzzReport.Finding;
+import ro.tss.delivery.fuzz.FuzzReport.Invariant;
+
+import java.util.function.DoubleBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link PricingFuzzer}.
+ */
+@DisplayName("Teste fuzzer ghidat de acoperire")
+class PricingFuzzerTest {
+
+    private static final long EXECUTIONS = 2_000_000;
+
+    @Test
+    @DisplayName("DeliveryService față de el însuși: nicio constatare, toate celulele valide atinse")
+    void originalIsClean() {
+        FuzzReport report = PricingFuzzer.forDeliveryService(new DeliveryService()::calculateDeliveryFee)
+                .run(EXECUTIONS, 37);
+        System.out.println("Fuzzer (original): " + report);
+        assertTrue(report.clean(), report.findings().toString());
+        // 3 trepte × 4 categorii de greutate, plus cele două respingeri
+        assertTrue(report.coverage() >= 14, "acoperire " + report.coverage());
+    }
+
+    @Test
+    @DisplayName("Comportamentul mutantului Survived la d = 0 este găsit automat")
+    void findsSurvivedAtZeroDistance() {
+        FuzzReport report = PricingFuzzer.forDeliveryService(new DeliveryServiceMutantSurvived()::calculateDeliveryFee)
+                .run(EXECUTIONS, 37);
+        Finding finding = report.first(Invariant.AGREEMENT).orElseThrow();
+        System.out.println("Fuzzer (Survived): " + finding);
+        assertEquals(0.0, finding.distanceKm(), 0.0);
+        assertTrue(finding.weightKg() > 0);
+        assertEquals("respins", finding.expected());
+        assertEquals(0, report.violations(Invariant.POSITIVE_FEE));
+    }
+
+    @Test
+    @DisplayName("Mutantul Killed diferă exact la 10 km; mutantul echivalent nu este distins")
+    void mutantsOfRepository() {
+        Finding killed = PricingFuzzer.forDeliveryService(new DeliveryServiceMutantKilled()::calculateDeliveryFee)
+                .run(EXECUTIONS, 37).first(Invariant.AGREEMENT).orElseThrow();
+        assertEquals(10.0, killed.distanceKm(), 0.0);
+
+        FuzzReport equivalent = PricingFuzzer.forDeliveryService(
+                new DeliveryServiceMutantEquivalent()::calculateDeliveryFee).run(EXECUTIONS, 37);
+        assertTrue(equivalent.clean(), equivalent.findings().toString());
+    }
+
+    @Test
+    @DisplayName("Taxă negativă și scădere în interiorul treptei sunt semnalate")
+    void positiveFeeAndMonotonicity() {
+        DeliveryService service = new DeliveryService();
+        FuzzReport negative = PricingFuzzer.forDeliveryService(
+                (d, w) -> d > 60 ? -1 : service.calculateDeliveryFee(d, w)).run(200_000, 1);
+        assertTrue(negative.first(Invariant.POSITIVE_FEE).orElseThrow().distanceKm() > 60);
+
+        // taxa scade cu greutatea în categoria (5, 15], fără a ieși din intervalul ei
+        FuzzReport decreasing = PricingFuzzer.forDeliveryService(
+                (d, w) -> w > 5 && w <= 15 ? service.calculateDeliveryFee(d, w) - w / 100 : service.calculateDeliveryFee(d, w))
+                .run(200_000, 1);
+        Finding finding = decreasing.first(Invariant.TIER_MONOTONICITY).orElseThrow();
+        assertTrue(finding.weightKg() > 5 && finding.weightKg() <= 15, finding.toString());
+    }
+
+    @Test
+    @DisplayName("Rularea este deterministă pentru aceeași sămânță; argumente invalide respinse")
+    void deterministic() {
+        PricingFuzzer fuzzer = PricingFuzzer.forDeliveryService(new DeliveryServiceMutantSurvived()::calculateDeliveryFee);
+        FuzzReport a = fuzzer.run(100_000, 5);
+        FuzzReport b = fuzzer.run(100_000, 5);
+        assertEquals(a.corpusSize(), b.corpusSize());
+        assertEquals(a.findings().toString(), b.findings().toString());
+        assertEquals(a.violations(Invariant.AGREEMENT), b.violations(Invariant.AGREEMENT));
+
+        assertThrows(IllegalArgumentException.class, () -> fuzzer.run(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> fuzzer.run(10, 1, new double[0][]));
+        assertThrows(IllegalArgumentException.class, () -> new PricingFuzzer(
+                (d, w) -> 0, (d, w) -> 0, (d, w) -> 0, new double[0]));
+    }
+
+    @Test
+    @DisplayName("Un Error aruncat de țintă ajunge la apelant, nu un raport null")
+    void errorsReachCaller() {
+        AssertionError thrown = assertThrows(AssertionError.class, () -> PricingFuzzer.forDeliveryService((d, w) -> {
+            throw new AssertionError("țintă defectă");
+        }).run(1_000, 1));
+        assertEquals("țintă defectă", thrown.getMessage());
+        assertThrows(StackOverflowError.class, () -> PricingFuzzer.forDeliveryService(new DoubleBinaryOperator() {
+            @Override
+            public double applyAsDouble(double d, double w) {
+                return applyAsDouble(d, w) + 1;
+            }
+        }).run(1_000, 1));
+    }
+
+    @Test
+    @DisplayName("Intervalele rezultatului: cazuri speciale și sferturi de octavă")
+    void buckets() {
+        assertEquals(3, PricingFuzzer.bucket(Double.doubleToRawLongBits(-1.0)));
+        assertEquals(4, PricingFuzzer.bucket(Double.doubleToRawLongBits(Double.POSITIVE_INFINITY)));
+        assertEquals(2, PricingFuzzer.bucket(Double.doubleToRawLongBits(Double.NaN)));
+        assertNotEquals(PricingFuzzer.bucket(Double.doubleToRawLongBits(8.0)),
+                PricingFuzzer.bucket(Double.doubleToRawLongBits(10.5)));
+        assertEquals(PricingFuzzer.bucket(Double.doubleToRawLongBits(8.0)),
+                PricingFuzzer.bucket(Double.doubleToRawLongBits(9.9)));
+    }
+}
@@ -0,0 +1,203 @@
+package ro.tss.delivery.impact;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link LineDiff} și {@link CoverageMap}.
+ */
+@DisplayName("Teste selecție teste după impact")
+class CoverageMapTest {
+
+    private static final String SOURCE = "ro/tss/delivery/DeliveryService.java";
+    private static final Map<String, Long> TEST_CLASSES = Map.of("pkg.FeeTest", 1L, "pkg.OtherTest", 2L);
+
+    @Test
+    @DisplayName("LineDiff: liniile nemodificate sunt renumerotate, cele modificate nu au corespondent")
+    void lineDiffMapsUnchangedLines() {
+        LineDiff diff = LineDiff.compare(hashes("a", "b", "c", "d", "e"), hashes("a", "x", "b", "c", "D", "e"));
+
+        assertEquals(1, diff.newLine(1));
+        assertEquals(3, diff.newLine(2));
+        assertEquals(4, diff.newLine(3));
+        assertEquals(0, diff.newLine(4));
+        assertEquals(6, diff.newLine(5));
+        assertEquals(bits(1, 2, 4), diff.changed(), "inserarea atinge vecinii 1 și 2, linia 4 este modificată");
+    }
+
+    @Test
+    @DisplayName("LineDiff: reindentarea nu este modificare; fișier identic → nicio linie schimbată")
+    void lineDiffIgnoresIndentation() {
+        LineDiff diff = LineDiff.compare(hashes("a", "  b", "c"), hashes("a", "b", "c"));
+        assertTrue(diff.changed().isEmpty());
+        assertEquals(2, diff.newLine(2));
+    }
+
+    @Test
+    @DisplayName("Se selectează doar metodele care acoperă liniile modificate")
+    void selectsOnlyTestsCoveringChangedLines() {
+        CoverageMap map = map();
+        List<String> edited = lines(10);
+        edited.set(6, "modificat");   // linia 7
+
+        CoverageMap.Selection selection = map.select(Map.of(SOURCE, edited), TEST_CLASSES);
+
+        assertEquals(Set.of("pkg.FeeTest#heavy"), selection.tests());
+        assertTrue(selection.classes().isEmpty());
+        assertEquals(1, selection.changedLines());
+        assertTrue(map.select(Map.of(SOURCE, lines(10)), TEST_CLASSES).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Acoperirea la nivel de clasă atinsă sau o clasă de test nouă/modificată selectează toată clasa")
+    void selectsWholeClasses() {
+        CoverageMap map = map();
+        List<String> edited = lines(10);
+        edited.set(0, "modificat");   // linia 1, acoperită de @BeforeAll din OtherTest
+
+        CoverageMap.Selection selection = map.select(Map.of(SOURCE, edited),
+                Map.of("pkg.FeeTest", 99L, "pkg.OtherTest", 2L, "pkg.NewTest", 3L));
+
+        assertEquals(Set.of("pkg.FeeTest", "pkg.OtherTest", "pkg.NewTest"), selection.classes());
+        assertTrue(selection.tests().isEmpty());
+    }
+
+    @Test
+    @DisplayName("O constantă modificată (linie fără sonde) selectează toate testele care acoperă fișierul")
+    void uncoveredChangeSelectsWholeFile() {
+        String other = "ro/tss/delivery/Other.java";
+        CoverageMap map = map();
+        map.rebase(Map.of(SOURCE, lines(10), other, lines(5)));
+        map.record("pkg.FeeTest#elsewhere", Map.of(other, bits(2)));
+        List<String> edited = lines(10);
+        edited.set(1, "private static final double BASE_FEE = 6.00;");   // linia 2, neacoperită
+
+        CoverageMap.Selection selection = map.select(Map.of(SOURCE, edited, other, lines(5)), TEST_CLASSES);
+
+        assertEquals(Set.of("pkg.FeeTest#light", "pkg.FeeTest#heavy"), selection.tests());
+        assertEquals(Set.of("pkg.OtherTest"), selection.classes());
+        assertEquals(1, selection.changedLines());
+    }
+
+    @Test
+    @DisplayName("O clasă ajutătoare cu sufixul Test nu este selectată; modificarea ei selectează toate testele")
+    void supportClassesAreNotTests() {
+        CoverageMap map = map();
+        Map<String, Long> candidates = Map.of("pkg.FeeTest", 1L, "pkg.OtherTest", 2L, "pkg.ServiceUnderTest", 5L);
+        map.supportClasses(candidates);
+
+        assertTrue(map.select(Map.of(SOURCE, lines(10)), candidates).isEmpty());
+        CoverageMap.Selection selection = map.select(Map.of(SOURCE, lines(10)),
+                Map.of("pkg.FeeTest", 1L, "pkg.OtherTest", 2L, "pkg.ServiceUnderTest", 6L));
+        assertEquals(Set.of("pkg.FeeTest", "pkg.OtherTest"), selection.classes());
+
+        // După prima rulare efectivă clasa devine test
+        map.fingerprint("pkg.ServiceUnderTest", 5L);
+        assertTrue(map.select(Map.of(SOURCE, lines(10)), candidates).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Rebase mută acoperirea pe numerotarea nouă și elimină liniile modificate")
+    void rebaseShiftsCoverage() {
+        CoverageMap map = map();
+        List<String> edited = lines(10);
+        edited.add(0, "linie nouă");
+        edited.set(7, "modificat");   // fosta linie 7
+
+        map.rebase(Map.of(SOURCE, edited));
+
+        assertEquals(bits(4, 5), map.coverage("pkg.FeeTest#light").get(SOURCE));
+        assertNull(map.coverage("pkg.FeeTest#heavy").get(SOURCE), "singura linie acoperită a fost modificată");
+        assertTrue(map.select(Map.of(SOURCE, edited), TEST_CLASSES).isEmpty(), "după rebase harta este la zi");
+    }
+
+    @Test
+    @DisplayName("Clasele de test șterse dispar din hartă")
+    void retainsExistingTestClasses() {
+        CoverageMap map = map();
+        map.retainTestClasses(Set.of("pkg.FeeTest"));
+        assertEquals(Set.of("pkg.FeeTest#heavy", "pkg.FeeTest#light"), map.tests());
+    }
+
+    @Test
+    @DisplayName("Serializarea binară păstrează harta")
+    void roundTrip() throws IOException {
+        CoverageMap map = map();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        map.write(out);
+
+        CoverageMap read = CoverageMap.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(map.tests(), read.tests());
+        for (String test : map.tests()) {
+            assertEquals(map.coverage(test), read.coverage(test), test);
+        }
+        Map<String, Long> candidates = Map.of("pkg.FeeTest", 1L, "pkg.OtherTest", 2L, "pkg.ServiceUnderTest", 5L);
+        map.supportClasses(candidates);
+        out.reset();
+        map.write(out);
+        read = CoverageMap.read(new ByteArrayInputStream(out.toByteArray()));
+        assertTrue(read.select(Map.of(SOURCE, lines(10)), candidates).isEmpty());
+        assertThrows(IOException.class, () -> CoverageMap.read(new ByteArrayInputStream(new byte[8])));
+    }
+
+    @Test
+    @DisplayName("Includerile Surefire prind și clasele @Nested")
+    void surefirePatterns() {
+        CoverageMap map = map();
+        List<String> edited = lines(10);
+        edited.set(3, "modificat");   // linia 4, acoperită de FeeTest#light
+
+        List<String> includes = TestImpactSelector.includes(map.select(Map.of(SOURCE, edited), TEST_CLASSES));
+
+        assertEquals(List.of("pkg/FeeTest*#light"), includes);
+        assertEquals("pkg.FeeTest", CoverageMap.testClass("pkg.FeeTest#light"));
+        assertEquals("pkg.FeeTest", ImpactFiles.topLevel("pkg.FeeTest$Nested"));
+    }
+
+    /** Hartă cu trei teste peste un fișier de 10 linii. */
+    private static CoverageMap map() {
+        CoverageMap map = new CoverageMap();
+        map.rebase(Map.of(SOURCE, lines(10)));
+        map.record("pkg.FeeTest#light", Map.of(SOURCE, bits(3, 4)));
+        map.record("pkg.FeeTest#heavy", Map.of(SOURCE, bits(7)));
+        map.record("pkg.OtherTest#", Map.of(SOURCE, bits(1)));
+        TEST_CLASSES.forEach(map::fingerprint);
+        return map;
+    }
+
+    private static List<String> lines(int count) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            lines.add("linia " + i);
+        }
+        return lines;
+    }
+
+    private static int[] hashes(String... lines) {
+        int[] hashes = new int[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            hashes[i] = LineDiff.hash(lines[i]);
+        }
+        return hashes;
+    }
+
+    private static BitSet bits(int... lines) {
+        BitSet bits = new BitSet();
+        for (int line : lines) {
+            bits.set(line);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,74 @@
+package ro.tss.delivery.impact;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Citirea surselor și a claselor de test, comună selectorului și ascultătorului.
+ */
+final class ImpactFiles {
+
+    private ImpactFiles() {
+    }
+
+    /** Fișierele .java de sub {@code root}: cale relativă (cu '/') → linii. */
+    static Map<String, List<String>> sources(Path root) {
+        Map<String, List<String>> sources = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".java"))::iterator) {
+                sources.put(relative(root, file), Files.readAllLines(file, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sources;
+    }
+
+    /**
+     * Clasele candidate de nivel superior (numele se termină în "Test", ca în includerile
+     * implicite Surefire) cu amprenta bytecode-ului lor și al claselor imbricate
+     * (Outer$*.class). Clasele generate de JMH (pachetele jmh_generated) nu sunt teste.
+     * Care dintre candidate sunt teste decide harta, după clasele rulate efectiv (vezi
+     * {@link CoverageMap#supportClasses}).
+     */
+    static Map<String, Long> testClassFingerprints(Path testClasses) {
+        Map<String, CRC32> crcs = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(testClasses)) {
+            List<Path> classFiles = files.filter(f -> f.toString().endsWith(".class")).sorted().toList();
+            for (Path file : classFiles) {
+                String name = relative(testClasses, file);
+                String topLevel = name.substring(0, name.length() - ".class".length()).replace('/', '.');
+                int nested = topLevel.indexOf('$');
+                if (nested >= 0) {
+                    topLevel = topLevel.substring(0, nested);
+                }
+                if (topLevel.endsWith("Test") && !topLevel.contains(".jmh_generated.")) {
+                    crcs.computeIfAbsent(topLevel, k -> new CRC32()).update(Files.readAllBytes(file));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<String, Long> fingerprints = new TreeMap<>();
+        crcs.forEach((name, crc) -> fingerprints.put(name, crc.getValue()));
+        return fingerprints;
+    }
+
+    /** Clasa de nivel superior a unei clase (eventual imbricate). */
+    static String topLevel(String className) {
+        int nested = className.indexOf('$');
+        return nested < 0 ? className : className.substring(0, nested);
+    }
+
+    private static String relative(Path root, Path file) {
+        return root.relativize(file).toString().replace('\\', '/');
+    }
+}
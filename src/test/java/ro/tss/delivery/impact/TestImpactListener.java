@@ -0,0 +1,248 @@
+package ro.tss.delivery.impact;
+
+import org.jacoco.core.analysis.Analyzer;
+import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataReader;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.data.ExecutionDataWriter;
+import org.jacoco.core.data.SessionInfoStore;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Ascultător JUnit Platform care înregistrează acoperirea pe linii a fiecărei metode de
+ * test, folosind agentul JaCoCo deja atașat de build (prepare-agent).
+ *
+ * Este activ doar când proprietatea de sistem {@code impact.map} este setată (profilul
+ * impact); altfel nu face nimic. La fiecare intrare/ieșire dintr-o clasă sau metodă de
+ * test, datele agentului sunt preluate și resetate, apoi atribuite contextului curent:
+ * "clasă#metodă" sau "clasă#" pentru codul rulat în afara metodelor. Testele dinamice și
+ * parametrizate sunt atribuite metodei care le generează.
+ *
+ * La final, sondele sunt transformate în linii (o analiză JaCoCo per clasă și tipar de
+ * sonde distinct, reutilizată între teste), harta este mutată pe sursele curente și
+ * acoperirea testelor rulate este înlocuită. Datele preluate sunt adăugate în
+ * {@code impact.execFile}, astfel încât raportul JaCoCo obișnuit rămâne complet.
+ */
+public class TestImpactListener implements TestExecutionListener {
+
+    private Object agent;
+    private Method dump;
+    private final Deque<String> contexts = new ArrayDeque<>();
+    private final Set<String> opened = new HashSet<>();
+    private final Map<String, ExecutionDataStore> executions = new LinkedHashMap<>();
+    private final ExecutionDataStore all = new ExecutionDataStore();
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        if (System.getProperty("impact.map") == null) {
+            return;
+        }
+        try {
+            agent = Class.forName("org.jacoco.agent.rt.RT").getMethod("getAgent").invoke(null);
+            dump = agent.getClass().getMethod("getExecutionData", boolean.class);
+            dump.setAccessible(true);
+            collect();   // codul rulat înainte de primul test nu aparține niciunui test
+        } catch (ReflectiveOperationException | IllegalStateException e) {
+            System.err.println("[impact] agentul JaCoCo nu este atașat; acoperirea per test nu se înregistrează");
+            agent = null;
+        }
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier test) {
+        if (agent == null) {
+            return;
+        }
+        String context = context(test);
+        if (context != null) {
+            collect();
+            contexts.push(context);
+            opened.add(test.getUniqueId());
+            executions.computeIfAbsent(context, k -> new ExecutionDataStore());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier test, TestExecutionResult result) {
+        if (agent == null) {
+            return;
+        }
+        if (opened.remove(test.getUniqueId())) {
+            collect();
+            contexts.pop();
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (agent == null) {
+            return;
+        }
+        collect();
+        try {
+            update();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Contextul deschis de un nod: o clasă deschide "clasă#", o metodă "clasă#metodă"
+     * (doar dacă nu suntem deja într-o metodă, ca la testele dinamice).
+     */
+    private String context(TestIdentifier test) {
+        TestSource source = test.getSource().orElse(null);
+        boolean inMethod = !contexts.isEmpty() && !contexts.peek().endsWith(CoverageMap.CLASS_LEVEL);
+        if (source instanceof MethodSource method && !inMethod) {
+            return ImpactFiles.topLevel(method.getClassName()) + "#" + method.getMethodName();
+        }
+        if (source instanceof ClassSource type && !inMethod) {
+            return ImpactFiles.topLevel(type.getClassName()) + CoverageMap.CLASS_LEVEL;
+        }
+        return null;
+    }
+
+    /** Preia și resetează datele agentului, atribuindu-le contextului curent. */
+    private void collect() {
+        byte[] data;
+        try {
+            data = (byte[]) dump.invoke(agent, true);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Nu s-au putut citi datele agentului JaCoCo.", e);
+        }
+        ExecutionDataStore store = new ExecutionDataStore();
+        ExecutionDataReader reader = new ExecutionDataReader(new ByteArrayInputStream(data));
+        // fiecare depozit primește propria copie: visitClassExecution păstrează obiectul primit
+        reader.setExecutionDataVisitor(execution -> {
+            store.visitClassExecution(copy(execution));
+            all.visitClassExecution(copy(execution));
+        });
+        reader.setSessionInfoVisitor(new SessionInfoStore());
+        try {
+            reader.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (contexts.isEmpty() || store.getContents().isEmpty()) {
+            return;
+        }
+        ExecutionDataStore target = executions.computeIfAbsent(contexts.peek(), k -> new ExecutionDataStore());
+        for (ExecutionData execution : store.getContents()) {
+            target.visitClassExecution(execution);
+        }
+    }
+
+    private static ExecutionData copy(ExecutionData execution) {
+        return new ExecutionData(execution.getId(), execution.getName(), execution.getProbes().clone());
+    }
+
+    private void update() throws IOException {
+        Path classes = Path.of(System.getProperty("impact.classes"));
+        LineResolver resolver = new LineResolver(classes);
+
+        Path mapFile = Path.of(System.getProperty("impact.map"));
+        CoverageMap map = CoverageMap.load(mapFile);
+        map.rebase(ImpactFiles.sources(Path.of(System.getProperty("impact.sources"))));
+        Map<String, Long> testClasses = ImpactFiles.testClassFingerprints(Path.of(System.getProperty("impact.testClasses")));
+        for (Map.Entry<String, ExecutionDataStore> entry : executions.entrySet()) {
+            Map<String, BitSet> lines = new TreeMap<>();
+            for (ExecutionData execution : entry.getValue().getContents()) {
+                resolver.lines(execution).forEach((source, covered) ->
+                        lines.computeIfAbsent(source, k -> new BitSet()).or(covered));
+            }
+            map.record(entry.getKey(), lines);
+            String testClass = CoverageMap.testClass(entry.getKey());
+            if (testClasses.containsKey(testClass)) {
+                map.fingerprint(testClass, testClasses.get(testClass));
+            }
+        }
+        map.supportClasses(testClasses);
+        map.retainTestClasses(testClasses.keySet());
+        map.save(mapFile);
+        System.out.println("[impact] acoperire înregistrată pentru " + executions.size() + " teste și clase; hartă: "
+                + map.tests().size() + " intrări, " + Files.size(mapFile) + " octeți");
+
+        String execFile = System.getProperty("impact.execFile");
+        if (execFile != null) {
+            try (OutputStream out = Files.newOutputStream(Path.of(execFile),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                ExecutionDataWriter writer = new ExecutionDataWriter(out);
+                all.accept(writer);
+            }
+        }
+    }
+
+    /**
+     * Transformă sondele unei clase în linii acoperite, cu analiză JaCoCo; rezultatul este
+     * păstrat per (clasă, tipar de sonde), deoarece multe teste produc aceleași tipare.
+     */
+    private static final class LineResolver {
+
+        private final Path classes;
+        private final Map<String, Map<String, BitSet>> cache = new HashMap<>();
+
+        LineResolver(Path classes) {
+            this.classes = classes;
+        }
+
+        Map<String, BitSet> lines(ExecutionData execution) throws IOException {
+            Path classFile = classes.resolve(execution.getName() + ".class");
+            if (!Files.exists(classFile)) {
+                return Map.of();   // clasă de test sau din biblioteci
+            }
+            String key = execution.getName() + ":" + Arrays.toString(execution.getProbes());
+            Map<String, BitSet> cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            ExecutionDataStore single = new ExecutionDataStore();
+            single.put(copy(execution));
+            CoverageBuilder builder = new CoverageBuilder();
+            new Analyzer(single, builder).analyzeClass(Files.readAllBytes(classFile), classFile.toString());
+            Map<String, BitSet> lines = new HashMap<>();
+            for (IClassCoverage coverage : builder.getClasses()) {
+                if (coverage.getSourceFileName() == null) {
+                    continue;
+                }
+                String source = coverage.getPackageName() + "/" + coverage.getSourceFileName();
+                BitSet covered = lines.computeIfAbsent(source, k -> new BitSet());
+                for (int line = coverage.getFirstLine(); line > 0 && line <= coverage.getLastLine(); line++) {
+                    int status = coverage.getLine(line).getStatus();
+                    if (status == ICounter.FULLY_COVERED || status == ICounter.PARTLY_COVERED) {
+                        covered.set(line);
+                    }
+                }
+            }
+            cache.put(key, lines);
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ro.tss.delivery.impact;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scrie fișierul de includeri pentru Surefire cu testele afectate de modificări.
+ *
+ * Argumente: harta de impact, directorul surselor de producție, directorul claselor de
+ * test compilate, fișierul de includeri de scris. Fără hartă, sunt incluse toate clasele
+ * de test. Tiparele au forma "pachet/Clasa*" sau "pachet/Clasa*#metodă", astfel încât să
+ * prindă și clasele @Nested (Clasa$Imbricata).
+ */
+public final class TestImpactSelector {
+
+    /** Tipar care nu se potrivește cu nicio clasă: nicio modificare, niciun test de rulat. */
+    static final String NOTHING = "ro/tss/delivery/impact/NoTestsSelected";
+
+    private TestImpactSelector() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            throw new IllegalArgumentException(
+                    "Utilizare: TestImpactSelector <hartă> <surse> <clase de test> <fișier includeri>");
+        }
+        CoverageMap map = CoverageMap.load(Path.of(args[0]));
+        Map<String, List<String>> sources = ImpactFiles.sources(Path.of(args[1]));
+        Map<String, Long> testClasses = ImpactFiles.testClassFingerprints(Path.of(args[2]));
+
+        List<String> includes;
+        if (map.isEmpty()) {
+            includes = new ArrayList<>();
+            for (String testClass : testClasses.keySet()) {
+                includes.add(pattern(testClass));
+            }
+            System.out.println("[impact] hartă absentă: rulez toate cele " + includes.size() + " clase de test");
+        } else {
+            CoverageMap.Selection selection = map.select(sources, testClasses);
+            includes = includes(selection);
+            System.out.println("[impact] " + selection);
+        }
+        if (includes.isEmpty()) {
+            includes.add(NOTHING);
+        }
+        Path output = Path.of(args[3]);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.write(output, includes, StandardCharsets.UTF_8);
+    }
+
+    static List<String> includes(CoverageMap.Selection selection) {
+        List<String> includes = new ArrayList<>();
+        for (String testClass : selection.classes()) {
+            includes.add(pattern(testClass));
+        }
+        for (String testId : selection.tests()) {
+            int hash = testId.indexOf('#');
+            includes.add(pattern(testId.substring(0, hash)) + testId.substring(hash));
+        }
+        return includes;
+    }
+
+    private static String pattern(String testClass) {
+        return testClass.replace('.', '/') + "*";
+    }
+}
@@ -0,0 +1,111 @@
+package ro.tss.delivery.kernel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Echivalența dintre {@link BranchlessDeliveryService} și {@link DeliveryService}.
+ *
+ * Se verifică exhaustiv produsul cartezian al tuturor valorilor limită din
+ * BoundaryValueAnalysisTest (BVA_D1–D9 × BVA_W1–W12), completat cu vecinii exacți
+ * ai pragurilor (Math.nextDown / Math.nextUp) și valorile speciale NaN / +∞.
+ */
+@DisplayName("Teste BranchlessDeliveryService")
+class BranchlessDeliveryServiceTest {
+
+    // BVA_D1–D9 + vecinii exacți ai pragurilor 0, 10, 50
+    private static final double[] DISTANCES = {
+            -0.01, 0.0, 0.01, 9.99, 10.0, 10.01, 49.99, 50.0, 50.01,
+            Double.MIN_VALUE, Math.nextDown(10.0), Math.nextUp(10.0),
+            Math.nextDown(50.0), Math.nextUp(50.0), -0.0, 5.0, 25.0, 75.0,
+            Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN
+    };
+
+    // BVA_W1–W12 + vecinii exacți ai pragurilor 0, 2, 5, 15
+    private static final double[] WEIGHTS = {
+            -0.01, 0.0, 0.01, 1.99, 2.0, 2.01, 4.99, 5.0, 5.01, 14.99, 15.0, 15.01,
+            Double.MIN_VALUE, Math.nextDown(2.0), Math.nextUp(2.0), Math.nextDown(5.0),
+            Math.nextUp(5.0), Math.nextDown(15.0), Math.nextUp(15.0), -0.0, 1.0, 20.0,
+            Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN
+    };
+
+    private DeliveryService branchy;
+    private BranchlessDeliveryService branchless;
+
+    @BeforeEach
+    void setUp() {
+        branchy = new DeliveryService();
+        branchless = new BranchlessDeliveryService();
+    }
+
+    @Nested
+    @DisplayName("Echivalență la limite")
+    class Boundaries {
+
+        @Test
+        @DisplayName("Toate combinațiile limită: același rezultat sau aceeași excepție")
+        void allBoundaryCombinations() {
+            for (double d : DISTANCES) {
+                for (double w : WEIGHTS) {
+                    assertSameOutcome(d, w);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Intervalele calculate aritmetic coincid cu C3–C9")
+        void tiersAndBands() {
+            assertEquals(0, BranchlessDeliveryService.distanceTier(10.0));
+            assertEquals(1, BranchlessDeliveryService.distanceTier(Math.nextUp(10.0)));
+            assertEquals(1, BranchlessDeliveryService.distanceTier(50.0));
+            assertEquals(2, BranchlessDeliveryService.distanceTier(Math.nextUp(50.0)));
+            assertEquals(2, BranchlessDeliveryService.distanceTier(Double.NaN));
+
+            assertEquals(0, BranchlessDeliveryService.weightBand(2.0));
+            assertEquals(1, BranchlessDeliveryService.weightBand(5.0));
+            assertEquals(2, BranchlessDeliveryService.weightBand(15.0));
+            assertEquals(3, BranchlessDeliveryService.weightBand(Math.nextUp(15.0)));
+            assertEquals(3, BranchlessDeliveryService.weightBand(Double.NaN));
+        }
+
+        @Test
+        @DisplayName("Celula treaptă × interval: aceeași numerotare din valori și din indici")
+        void cells() {
+            assertEquals(0, BranchlessDeliveryService.cell(10.0, 2.0));
+            assertEquals(BranchlessDeliveryService.cell(1, 2), BranchlessDeliveryService.cell(50.0, 15.0));
+            assertEquals(BranchlessDeliveryService.CELLS - 1, BranchlessDeliveryService.cell(Double.NaN, Double.NaN));
+            assertThrows(IllegalArgumentException.class, () -> BranchlessDeliveryService.cell(3, 0));
+            assertThrows(IllegalArgumentException.class, () -> BranchlessDeliveryService.cell(0, -1));
+        }
+    }
+
+    @Test
+    @DisplayName("Intrări aleatoare: rezultat identic bit cu bit")
+    void randomInputs() {
+        SplittableRandom random = new SplittableRandom(27);
+        for (int i = 0; i < 1_000_000; i++) {
+            double d = random.nextDouble(0.0, 120.0);
+            double w = random.nextDouble(0.0, 40.0);
+            assertSameOutcome(d, w);
+        }
+    }
+
+    private void assertSameOutcome(double d, double w) {
+        double expected;
+        try {
+            expected = branchy.calculateDeliveryFee(d, w);
+        } catch (IllegalArgumentException e) {
+            assertThrows(IllegalArgumentException.class, () -> branchless.calculateDeliveryFee(d, w),
+                    "d=" + d + ", w=" + w);
+            return;
+        }
+        assertEquals(expected, branchless.calculateDeliveryFee(d, w), 0.0, "d=" + d + ", w=" + w);
+    }
+}
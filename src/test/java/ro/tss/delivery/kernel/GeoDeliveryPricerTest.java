@@ -0,0 +1,134 @@
+package ro.tss.delivery.kernel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link GeoDeliveryPricer}.
+ *
+ * Referința independentă este formula Vincenty pentru sferă (forma atan2), stabilă
+ * numeric pe tot domeniul, inclusiv pentru puncte antipodale.
+ */
+@DisplayName("Teste GeoDeliveryPricer")
+class GeoDeliveryPricerTest {
+
+    private GeoDeliveryPricer pricer;
+    private DeliveryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DeliveryService();
+        pricer = new GeoDeliveryPricer(service);
+    }
+
+    @Nested
+    @DisplayName("Precizia distanței")
+    class Accuracy {
+
+        @Test
+        @DisplayName("Haversine coincide cu referința Vincenty pe 1M perechi aleatoare")
+        void matchesReference() {
+            SplittableRandom random = new SplittableRandom(28);
+            double maxError = 0;
+            for (int i = 0; i < 1_000_000; i++) {
+                double lat1 = random.nextDouble(-90, 90);
+                double lon1 = random.nextDouble(-180, 180);
+                double lat2 = random.nextDouble(-90, 90);
+                double lon2 = random.nextDouble(-180, 180);
+                double error = Math.abs(GeoDeliveryPricer.haversineKm(lat1, lon1, lat2, lon2)
+                        - vincentyKm(lat1, lon1, lat2, lon2));
+                maxError = Math.max(maxError, error);
+            }
+            // sub 1 cm pe distanțe de până la ~20000 km
+            assertTrue(maxError < 1e-5, "eroare maximă " + maxError + " km");
+        }
+
+        @Test
+        @DisplayName("Distanțe locale (sub 100 km) precise la nivel de milimetru")
+        void shortDistances() {
+            SplittableRandom random = new SplittableRandom(29);
+            for (int i = 0; i < 100_000; i++) {
+                double lat1 = random.nextDouble(43.5, 48.5);
+                double lon1 = random.nextDouble(20.0, 30.0);
+                double lat2 = lat1 + random.nextDouble(-0.4, 0.4);
+                double lon2 = lon1 + random.nextDouble(-0.4, 0.4);
+                assertEquals(vincentyKm(lat1, lon1, lat2, lon2),
+                        GeoDeliveryPricer.haversineKm(lat1, lon1, lat2, lon2), 1e-6);
+            }
+        }
+
+        @Test
+        @DisplayName("Cazuri speciale: același punct, antipozi, simetrie")
+        void specialCases() {
+            assertEquals(0.0, GeoDeliveryPricer.haversineKm(44.43, 26.10, 44.43, 26.10), 0.0);
+            assertEquals(Math.PI * GeoDeliveryPricer.EARTH_RADIUS_KM,
+                    GeoDeliveryPricer.haversineKm(0, 0, 0, 180), 1e-9);
+            assertEquals(GeoDeliveryPricer.haversineKm(44.43, 26.10, 46.77, 23.62),
+                    GeoDeliveryPricer.haversineKm(46.77, 23.62, 44.43, 26.10), 1e-12);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tarifare fuzionată")
+    class FusedPricing {
+
+        @Test
+        @DisplayName("Lotul coincide bit cu bit cu haversine + DeliveryService pe fiecare rând")
+        void batchMatchesScalar() {
+            int n = 50_000;
+            double[] lat1 = new double[n], lon1 = new double[n], lat2 = new double[n], lon2 = new double[n];
+            double[] weights = new double[n], fees = new double[n];
+            SplittableRandom random = new SplittableRandom(30);
+            for (int i = 0; i < n; i++) {
+                lat1[i] = random.nextDouble(43.5, 48.5);
+                lon1[i] = random.nextDouble(20.0, 30.0);
+                lat2[i] = lat1[i] + random.nextDouble(-1, 1);
+                lon2[i] = lon1[i] + random.nextDouble(-1, 1);
+                weights[i] = random.nextDouble(0.1, 30);
+            }
+            pricer.calculateDeliveryFees(lat1, lon1, lat2, lon2, weights, fees);
+            for (int i = 0; i < n; i++) {
+                double d = GeoDeliveryPricer.haversineKm(lat1[i], lon1[i], lat2[i], lon2[i]);
+                assertEquals(service.calculateDeliveryFee(d, weights[i]), fees[i], 0.0, "rândul " + i);
+                assertEquals(fees[i], pricer.calculateDeliveryFee(lat1[i], lon1[i], lat2[i], lon2[i], weights[i]), 0.0);
+            }
+        }
+
+        @Test
+        @DisplayName("Rândul invalid este raportat cu indexul lui")
+        void invalidRowIsReported() {
+            double[] lat = {44.0, 45.0};
+            double[] lon = {26.0, 26.0};
+            double[] fees = new double[2];
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> pricer.calculateDeliveryFees(lat, lon, new double[] {44.5, 45.0}, lon,
+                            new double[] {1, 1}, fees));
+            assertTrue(e.getMessage().startsWith("Rândul 1"), e.getMessage());
+        }
+
+        @Test
+        @DisplayName("Lungimi diferite ale tablourilor sunt respinse")
+        void lengthMismatch() {
+            double[] one = {1};
+            assertThrows(IllegalArgumentException.class,
+                    () -> pricer.calculateDeliveryFees(one, one, one, one, one, new double[2]));
+        }
+    }
+
+    static double vincentyKm(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double deltaLambda = Math.toRadians(lon2 - lon1);
+        double x = Math.cos(phi2) * Math.sin(deltaLambda);
+        double y = Math.cos(phi1) * Math.sin(phi2) - Math.sin(phi1) * Math.cos(phi2) * Math.cos(deltaLambda);
+        double z = Math.sin(phi1) * Math.sin(phi2) + Math.cos(phi1) * Math.cos(phi2) * Math.cos(deltaLambda);
+        return GeoDeliveryPricer.EARTH_RADIUS_KM * Math.atan2(Math.hypot(x, y), z);
+    }
+}
@@ -0,0 +1,71 @@
+package ro.tss.delivery.kernel;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Echivalența dintre {@link TierPartitionedPricer} și {@link DeliveryService}.
+ */
+@DisplayName("Teste TierPartitionedPricer")
+class TierPartitionedPricerTest {
+
+    private static final double DELTA = 0.001;
+
+    private final DeliveryService original = new DeliveryService();
+    private final TierPartitionedPricer partitioned = new TierPartitionedPricer();
+
+    @Test
+    @DisplayName("Loturi aleatoare de mai multe blocuri: identic bit cu bit, în ordinea originală")
+    void matchesOriginalOnRandomBatches() {
+        SplittableRandom random = new SplittableRandom(42);
+        int size = 3 * TierPartitionedPricer.CHUNK + 17;
+        double[] d = new double[size];
+        double[] w = new double[size];
+        for (int i = 0; i < size; i++) {
+            d[i] = random.nextInt(4) == 0 ? new double[]{10, 50, Math.nextUp(10.0)}[random.nextInt(3)]
+                    : random.nextDouble(0.001, 120);
+            w[i] = random.nextInt(4) == 0 ? new double[]{2, 5, 15, Math.nextUp(15.0)}[random.nextInt(4)]
+                    : random.nextDouble(0.001, 30);
+        }
+        double[] expected = new double[size];
+        double[] actual = new double[size];
+        original.calculateDeliveryFees(d, w, expected);
+        partitioned.calculateDeliveryFees(d, w, actual);
+
+        assertArrayEquals(expected, actual, 0.0);
+    }
+
+    @Test
+    @DisplayName("Subinterval: doar rândurile [from, to) sunt scrise; NaN ca în original")
+    void pricesOnlyTheRange() {
+        double[] d = {-1, 10, 50, 60, Double.NaN, -1};
+        double[] w = {-1, 2, 5, 20, 1, -1};
+        double[] fees = new double[6];
+
+        partitioned.calculateDeliveryFees(d, w, fees, 1, 5);
+
+        assertEquals(0.0, fees[0]);
+        assertEquals(10.00, fees[1], DELTA);
+        assertEquals(29.50, fees[2], DELTA);
+        assertEquals(38.00, fees[3], DELTA);
+        assertTrue(Double.isNaN(fees[4]));
+        assertEquals(0.0, fees[5]);
+    }
+
+    @Test
+    @DisplayName("Rândul invalid este raportat înainte de orice calcul")
+    void rejectsInvalidRow() {
+        double[] fees = new double[3];
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> partitioned.calculateDeliveryFees(new double[]{1, 2, 0}, new double[]{1, 1, 1}, fees));
+
+        assertEquals("Rândul 2: Distanța și greutatea trebuie să fie pozitive.", e.getMessage());
+        assertEquals(0.0, fees[0]);
+        assertThrows(IllegalArgumentException.class, () -> partitioned.calculateDeliveryFee(5, -1));
+    }
+}
@@ -0,0 +1,100 @@
+package ro.tss.delivery.kernel;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link VolumetricDeliveryPricer}: kernelul batch față de referința scalară.
+ */
+@DisplayName("Teste VolumetricDeliveryPricer")
+class VolumetricDeliveryPricerTest {
+
+    private static final double DELTA = 0.001;
+
+    private final VolumetricDeliveryPricer pricer = new VolumetricDeliveryPricer();
+
+    @Test
+    @DisplayName("Greutatea taxabilă este maximul dintre greutatea reală și cea volumetrică")
+    void chargeableWeight() {
+        assertEquals(10.0, pricer.chargeableWeightKg(3.0, 50, 40, 25), DELTA, "50×40×25 / 5000 = 10 kg");
+        assertEquals(12.0, pricer.chargeableWeightKg(12.0, 50, 40, 25), DELTA);
+        assertEquals(10.0 * 5000 / 6000, new VolumetricDeliveryPricer(6000).chargeableWeightKg(1, 50, 40, 25), DELTA);
+    }
+
+    @Test
+    @DisplayName("Coletul ușor dar voluminos trece în intervalul greutății volumetrice")
+    void bulkyParcelUsesVolumetricBand() {
+        // 1 kg real, 40×25×10 / 5000 = 2 kg (C6), 40×25×11 / 5000 = 2.2 kg (C7)
+        assertEquals(10.00, pricer.calculateDeliveryFee(10, 1, 40, 25, 10), DELTA);
+        assertEquals(14.50, pricer.calculateDeliveryFee(10, 1, 40, 25, 11), DELTA);
+        assertEquals(new DeliveryService().calculateDeliveryFee(10, 2.2),
+                pricer.calculateDeliveryFee(10, 1, 40, 25, 11), 0.0);
+    }
+
+    @Test
+    @DisplayName("2M colete aleatoare: kernelul batch este identic bit cu bit cu referința scalară")
+    void batchMatchesScalarReference() {
+        SplittableRandom random = new SplittableRandom(43);
+        int size = 1 << 16;
+        double[] d = new double[size];
+        double[] w = new double[size];
+        double[] l = new double[size];
+        double[] wd = new double[size];
+        double[] h = new double[size];
+        double[] fees = new double[size];
+        DeliveryService reference = new DeliveryService();
+        for (int round = 0; round < 32; round++) {
+            for (int i = 0; i < size; i++) {
+                d[i] = random.nextInt(8) == 0 ? new double[]{10, 50}[random.nextInt(2)] : random.nextDouble(0.01, 120);
+                w[i] = random.nextDouble(0.01, 25);
+                l[i] = random.nextDouble(1, 120);
+                wd[i] = random.nextDouble(1, 80);
+                h[i] = random.nextInt(8) == 0 ? 2.0 * 5000 / (l[i] * wd[i]) : random.nextDouble(1, 60);
+            }
+            pricer.calculateDeliveryFees(d, w, l, wd, h, fees);
+            for (int i = 0; i < size; i++) {
+                double chargeable = Math.max(w[i], l[i] * wd[i] * h[i] / VolumetricDeliveryPricer.DEFAULT_DIVISOR);
+                assertEquals(reference.calculateDeliveryFee(d[i], chargeable), fees[i], 0.0, "rândul " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("NaN este acceptat ca în DeliveryService: blocul semnalat este verificat exact")
+    void nanRowsMatchScalar() {
+        double[] d = {5, Double.NaN, 60};
+        double[] w = {1, 1, Double.NaN};
+        double[] l = {10, 10, 10};
+        double[] wd = {10, Double.NaN, 10};
+        double[] h = {10, 10, 10};
+        double[] fees = new double[3];
+
+        pricer.calculateDeliveryFees(d, w, l, wd, h, fees);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(pricer.calculateDeliveryFee(d[i], w[i], l[i], wd[i], h[i]), fees[i], 0.0, "rândul " + i);
+        }
+        assertEquals(7.50, fees[0], DELTA);
+        assertTrue(Double.isNaN(fees[1]));
+    }
+
+    @Test
+    @DisplayName("Primul rând invalid este raportat; dimensiunile trebuie să fie pozitive")
+    void rejectsInvalidRows() {
+        double[] one = {1, 1, 1};
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> pricer.calculateDeliveryFees(one, one, one, new double[]{1, 0, -1}, one, new double[3]));
+        assertEquals("Rândul 1: Dimensiunile coletului trebuie să fie pozitive.", e.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> pricer.calculateDeliveryFee(0, 1, 10, 10, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> pricer.calculateDeliveryFees(one, one, one, one, new double[2], new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> new VolumetricDeliveryPricer(0));
+        assertThrows(IllegalArgumentException.class, () -> new VolumetricDeliveryPricer(Double.POSITIVE_INFINITY));
+    }
+}
@@ -0,0 +1,251 @@
+package ro.tss.delivery.mcdc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.ServiceUnderTest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link InstrumentedDeliveryService}, {@link ConditionRecorder} și {@link McdcAnalyzer}.
+ */
+@DisplayName("Teste analizor MC/DC")
+class McdcAnalyzerTest {
+
+    private ConditionRecorder recorder;
+    private InstrumentedDeliveryService service;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new ConditionRecorder();
+        service = new InstrumentedDeliveryService(recorder);
+    }
+
+    private void run(String test, double d, double w) {
+        recorder.startTest(test);
+        try {
+            service.calculateDeliveryFee(d, w);
+        } catch (IllegalArgumentException e) {
+            // cazurile invalide fac parte din suită
+        }
+        recorder.endTest();
+    }
+
+    @Test
+    @DisplayName("Varianta instrumentată calculează exact ca DeliveryService")
+    void sameResultsAsService() {
+        DeliveryService original = new DeliveryService();
+        SplittableRandom random = new SplittableRandom(36);
+        for (int i = 0; i < 200_000; i++) {
+            double d = random.nextDouble(-5, 80);
+            double w = random.nextDouble(-2, 25);
+            try {
+                double expected = original.calculateDeliveryFee(d, w);
+                assertEquals(expected, service.calculateDeliveryFee(d, w), 0.0);
+            } catch (IllegalArgumentException e) {
+                assertThrows(IllegalArgumentException.class, () -> service.calculateDeliveryFee(d, w));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("La fiecare prag și în vecinii lui: aceeași taxă și aceleași condiții ca originalul")
+    void thresholdsMatchService() {
+        DeliveryService original = new DeliveryService();
+        double[] distances = neighbours(0, 10, 50);
+        double[] weights = neighbours(0, 2, 5, 15);
+        for (double d : distances) {
+            for (double w : weights) {
+                int vector = InstrumentedDeliveryService.evaluationVector(d, w);
+                assertEquals(expectedVector(d, w), vector, d + " km, " + w + " kg");
+
+                recorder.startTest(d + "/" + w);
+                try {
+                    double expected = original.calculateDeliveryFee(d, w);
+                    assertEquals(expected, service.calculateDeliveryFee(d, w), 0.0);
+                } catch (IllegalArgumentException e) {
+                    assertThrows(IllegalArgumentException.class, () -> service.calculateDeliveryFee(d, w));
+                }
+                recorder.endTest();
+                assertTrue(recorder.tests().get(recorder.tests().size() - 1).contains(vector));
+            }
+        }
+    }
+
+    /** Pragurile, vecinii lor în virgulă mobilă, plus NaN și infinit. */
+    private static double[] neighbours(double... thresholds) {
+        double[] values = new double[3 * thresholds.length + 2];
+        int i = 0;
+        for (double t : thresholds) {
+            values[i++] = Math.nextDown(t);
+            values[i++] = t;
+            values[i++] = Math.nextUp(t);
+        }
+        values[i++] = Double.NaN;
+        values[i] = Double.POSITIVE_INFINITY;
+        return values;
+    }
+
+    /** Vectorul obținut evaluând condițiile ca DeliveryService, cu scurtcircuitare. */
+    private static int expectedVector(double d, double w) {
+        boolean c1 = d <= 0;
+        int vector = Condition.C1.bits(c1);
+        if (!c1) {
+            vector |= Condition.C2.bits(w <= 0);
+        }
+        if (c1 || w <= 0) {
+            return vector;
+        }
+        boolean c3 = d <= 10;
+        vector |= Condition.C3.bits(c3);
+        if (!c3) {
+            vector |= Condition.C4.bits(d <= 50);
+        }
+        boolean c6 = w <= 2;
+        vector |= Condition.C6.bits(c6);
+        if (!c6) {
+            boolean c7 = w <= 5;
+            vector |= Condition.C7.bits(c7);
+            if (!c7) {
+                vector |= Condition.C8.bits(w <= 15);
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Rulează MCDCTest prin JUnit Platform cu serviciul instrumentat în locul lui
+     * DeliveryService; fiecare metodă de test este un test al recorder-ului.
+     */
+    private TestExecutionSummary runMcdcSuite() {
+        Launcher launcher = LauncherFactory.create(LauncherConfig.builder()
+                .enableTestExecutionListenerAutoRegistration(false)
+                .build());
+        SummaryGeneratingListener summary = new SummaryGeneratingListener();
+        TestExecutionListener tests = new TestExecutionListener() {
+            @Override
+            public void executionStarted(TestIdentifier test) {
+                if (test.isTest()) {
+                    recorder.startTest(test.getSource()
+                            .filter(MethodSource.class::isInstance)
+                            .map(source -> ((MethodSource) source).getMethodName())
+                            .orElse(test.getDisplayName()));
+                }
+            }
+
+            @Override
+            public void executionFinished(TestIdentifier test, TestExecutionResult result) {
+                if (test.isTest()) {
+                    recorder.endTest();
+                }
+            }
+        };
+        ServiceUnderTest.runWith(() -> service, () -> launcher.execute(LauncherDiscoveryRequestBuilder.request()
+                .selectors(DiscoverySelectors.selectClass("ro.tss.delivery.MCDCTest"))
+                .build(), summary, tests));
+        return summary.getSummary();
+    }
+
+    @Test
+    @DisplayName("Rularea reală a MCDCTest acoperă toate condițiile; setul minim este calculat din ea")
+    void mcdcSuiteIsComplete() {
+        TestExecutionSummary summary = runMcdcSuite();
+        assertEquals(0, summary.getTotalFailureCount());
+        assertTrue(summary.getTestsSucceededCount() > 0);
+        McdcReport report = McdcAnalyzer.analyze(recorder);
+        System.out.println(report);
+
+        assertEquals(summary.getTestsSucceededCount(), recorder.tests().size(), "fiecare test apelează serviciul");
+        assertTrue(report.missing().isEmpty(), report.missing().toString());
+        // 2 invalide + 3 trepte cu greutate ușoară + 3 intervale mai grele cu d = 5
+        assertEquals(8, report.distinctVectors());
+        // M1, M4 și M7 dau același vector; ramurile de greutate sunt variate doar cu d = 5,
+        // deci (25, 1) și (75, 1) rămân necesare pentru C3 = F și C4: 2 invalide + 5 valide
+        assertEquals(7, report.minimalTests().size());
+        assertEquals(Set.of("-5.0/1.0", "5.0/-1.0", "25.0/1.0", "75.0/1.0", "5.0/3.0", "5.0/10.0", "5.0/20.0"),
+                report.minimalTests().stream().map(t -> t.distanceKm() + "/" + t.weightKg()).collect(Collectors.toSet()));
+        // Fiecare intrare este atribuită unei metode reale din MCDCTest care a produs-o
+        Set<String> names = recorder.tests().stream().map(ConditionRecorder.TestRecord::name).collect(Collectors.toSet());
+        for (McdcReport.MinimalTest test : report.minimalTests()) {
+            assertTrue(names.contains(test.testName()), test.testName());
+        }
+    }
+
+    @Test
+    @DisplayName("Combinând ramurile de distanță și greutate, setul minim scade la 6 teste")
+    void combinedBranchesNeedSixTests() {
+        double[][] suite = {{5, 1}, {25, 3}, {75, 10}, {5, 20}, {-5, 1}, {5, -1}, {9, 1.5}, {30, 4}, {60, 12}};
+        for (int i = 0; i < suite.length; i++) {
+            run("T" + (i + 1), suite[i][0], suite[i][1]);
+        }
+        McdcReport report = McdcAnalyzer.analyze(recorder);
+        assertTrue(report.missing().isEmpty());
+        assertEquals(6, report.minimalTests().size());
+    }
+
+    @Test
+    @DisplayName("Perechea lui C1 respectă scurtcircuitul: C2 nu este evaluată când C1 = T")
+    void shortCircuitPair() {
+        run("invalid", -5, -1);
+        run("valid", 5, 1);
+        McdcReport report = McdcAnalyzer.analyze(recorder);
+        int[] pair = report.independencePairs(Condition.C1).get(0);
+        int thrown = Condition.C1.valueIn(pair[0]) ? pair[0] : pair[1];
+        assertFalse(Condition.C2.evaluatedIn(thrown));
+        // o singură intrare validă: fiecare decizie de tarifare are o singură valoare
+        assertEquals(List.of(Condition.C2, Condition.C3, Condition.C4, Condition.C6, Condition.C7, Condition.C8),
+                report.missing());
+    }
+
+    @Test
+    @DisplayName("O suită doar cu intrări valide pe distanțe scurte: lipsesc C1, C2, C4")
+    void missingConditionsReported() {
+        run("scurt-usor", 5, 1);
+        run("scurt-mediu", 5, 3);
+        run("scurt-greu", 5, 10);
+        run("scurt-foarte-greu", 5, 20);
+        McdcReport report = McdcAnalyzer.analyze(recorder);
+        assertEquals(List.of(Condition.C1, Condition.C2, Condition.C3, Condition.C4), report.missing());
+        assertTrue(report.covered(Condition.C8));
+    }
+
+    @Test
+    @DisplayName("Milioane de evaluări înregistrate și analizate")
+    void millionsOfEvaluations() {
+        SplittableRandom random = new SplittableRandom(36);
+        for (int t = 0; t < 50; t++) {
+            recorder.startTest("aleator-" + t);
+            for (int i = 0; i < 100_000; i++) {
+                try {
+                    service.calculateDeliveryFee(random.nextDouble(-5, 80), random.nextDouble(-2, 25));
+                } catch (IllegalArgumentException e) {
+                    // înregistrat înainte de excepție
+                }
+            }
+        }
+        McdcReport report = McdcAnalyzer.analyze(recorder);
+
+        assertEquals(5_000_000, report.evaluations());
+        assertEquals(50, recorder.tests().size());
+        assertTrue(report.missing().isEmpty());
+        assertEquals(14, report.distinctVectors());      // 2 invalide + 3 × 4 valide
+    }
+}
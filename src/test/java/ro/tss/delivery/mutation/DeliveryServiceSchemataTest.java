@@ -0,0 +1,152 @@
+package ro.tss.delivery.mutation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.DeliveryServiceMutantKilled;
+import ro.tss.delivery.DeliveryServiceMutantSurvived;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link DeliveryServiceSchemata}, {@link SchemataRunner} și {@link JUnitSchemataRunner}.
+ */
+@DisplayName("Teste schemă de mutanți")
+class DeliveryServiceSchemataTest {
+
+    private static final double[] DISTANCES = {-5, -0.01, 0, 0.01, 5, 9.99, 10, 10.01, 25, 49.99, 50, 50.01, 75};
+    private static final double[] WEIGHTS = {-3, -0.01, 0, 0.01, 1, 1.99, 2, 2.01, 3, 4.99, 5, 5.01, 10, 14.99, 15, 15.01, 20};
+
+    private final DeliveryService service = new DeliveryService();
+
+    private static Mutant find(String description) {
+        return DeliveryServiceSchemata.mutants().stream()
+                .filter(m -> m.description().equals(description))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void assertSameBehaviour(DoubleBinaryOperator expected, DeliveryServiceSchemata actual,
+                                            double d, double w) {
+        String where = "d=" + d + ", w=" + w;
+        try {
+            double fee = expected.applyAsDouble(d, w);
+            assertEquals(fee, actual.calculateDeliveryFee(d, w), 0.0, where);
+        } catch (IllegalArgumentException e) {
+            assertThrows(IllegalArgumentException.class, () -> actual.calculateDeliveryFee(d, w), where);
+        }
+    }
+
+    @Nested
+    @DisplayName("Schema")
+    class Schema {
+
+        @Test
+        @DisplayName("Fără mutație activă, schema este identică cu DeliveryService")
+        void originalMatchesService() {
+            DeliveryServiceSchemata original = DeliveryServiceSchemata.original();
+            for (double d : DISTANCES) {
+                for (double w : WEIGHTS) {
+                    assertSameBehaviour(service::calculateDeliveryFee, original, d, w);
+                }
+            }
+            SplittableRandom random = new SplittableRandom(31);
+            for (int i = 0; i < 100_000; i++) {
+                assertSameBehaviour(service::calculateDeliveryFee, original,
+                        random.nextDouble(-1, 120), random.nextDouble(-1, 30));
+            }
+        }
+
+        @Test
+        @DisplayName("Catalogul: toți operatorii, descrieri unice, id = poziția în catalog")
+        void catalog() {
+            List<Mutant> mutants = DeliveryServiceSchemata.mutants();
+            Map<Mutant.Operator, Long> perOperator = mutants.stream()
+                    .collect(Collectors.groupingBy(Mutant::operator, Collectors.counting()));
+            assertEquals(35, perOperator.get(Mutant.Operator.ROR));     // 7 condiții × 5
+            assertEquals(1, perOperator.get(Mutant.Operator.LCR));
+            assertEquals(20, perOperator.get(Mutant.Operator.AOR));     // 5 operații × 4
+            assertTrue(perOperator.get(Mutant.Operator.CRCR) > 60);
+            assertEquals(mutants.size(), new HashSet<>(mutants.stream().map(Mutant::description)
+                    .collect(Collectors.toList())).size());
+            for (int i = 0; i < mutants.size(); i++) {
+                assertEquals(i, mutants.get(i).id());
+            }
+            assertThrows(UnsupportedOperationException.class, () -> mutants.remove(0));
+        }
+
+        @Test
+        @DisplayName("Mutanții scriși de mână se regăsesc în schemă, cu același comportament")
+        void handWrittenMutants() {
+            DeliveryServiceSchemata killed = DeliveryServiceSchemata.of(find("C3: distanceKm <= 10 → distanceKm < 10"));
+            DeliveryServiceSchemata survived = DeliveryServiceSchemata.of(find("C1: distanceKm <= 0 → distanceKm < 0"));
+            DeliveryServiceMutantKilled handKilled = new DeliveryServiceMutantKilled();
+            DeliveryServiceMutantSurvived handSurvived = new DeliveryServiceMutantSurvived();
+            for (double d : DISTANCES) {
+                for (double w : WEIGHTS) {
+                    assertSameBehaviour(handKilled::calculateDeliveryFee, killed, d, w);
+                    assertSameBehaviour(handSurvived::calculateDeliveryFee, survived, d, w);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Mutanții din afara catalogului sunt respinși")
+        void foreignMutantRejected() {
+            Mutant foreign = new Mutant(0, Mutant.Operator.ROR, 0, DeliveryServiceSchemata.LT, Double.NaN, "străin");
+            assertThrows(IllegalArgumentException.class, () -> DeliveryServiceSchemata.of(foreign));
+            assertThrows(IllegalArgumentException.class, () -> DeliveryServiceSchemata.of(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Rulare")
+    class Run {
+
+        @Test
+        @DisplayName("Clasele de test EP, BVA, CEG și MC/DC rulate pe toți mutanții, într-un singur JVM")
+        void repositorySuiteOnAllMutants() {
+            MutationReport report = JUnitSchemataRunner.run(JUnitSchemataRunner.REPOSITORY_SUITE);
+            System.out.println("Schemă de mutanți: " + report);
+            report.survivors().forEach(m -> System.out.println("  supraviețuitor: " + m));
+
+            assertEquals(DeliveryServiceSchemata.mutants().size(), report.mutantCount());
+            assertTrue(report.score() > 0.9, report.toString());
+            // C1 cu < este omorât de testele cu d = 0 (EP_D1b)
+            MutationReport.Result survivedByHand = report.results()
+                    .get(find("C1: distanceKm <= 0 → distanceKm < 0").id());
+            assertTrue(survivedByHand.killed());
+            System.out.println("  C1 < 0 omorât de: " + survivedByHand.killer());
+        }
+
+        @Test
+        @DisplayName("Doar cazul EP_D2 (d = 5, w = 1): mutantul C1 < 0 supraviețuiește, C3 < 10 la fel")
+        void singleCaseSuite() {
+            List<OracleCase> ep = List.of(OracleCase.fee("EP_D2", 5, 1, 7.50));
+            List<Mutant> selected = List.of(
+                    find("C1: distanceKm <= 0 → distanceKm < 0"),
+                    find("C3: distanceKm <= 10 → distanceKm < 10"),
+                    find("BASE_FEE: 5 → 6"));
+            MutationReport report = SchemataRunner.run(selected, ep);
+            assertEquals(2, report.survivors().size());
+            assertTrue(report.results().get(2).killed());
+            assertEquals(3, report.executions());
+        }
+
+        @Test
+        @DisplayName("O suită care eșuează pe original este respinsă")
+        void suiteMustPassOnOriginal() {
+            List<OracleCase> wrong = List.of(OracleCase.fee("greșit", 5, 1, 8.00));
+            assertThrows(IllegalArgumentException.class, () -> SchemataRunner.run(wrong));
+            assertThrows(IllegalArgumentException.class, () -> OracleCase.fee("NaN", 5, 1, Double.NaN));
+        }
+    }
+}
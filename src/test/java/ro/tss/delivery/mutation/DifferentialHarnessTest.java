@@ -0,0 +1,120 @@
+package ro.tss.delivery.mutation;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.mutation.DifferentialHarness.InputClass;
+
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link DifferentialHarness}. Raportul de 200K intrări este calculat o singură dată.
+ */
+@DisplayName("Teste testare diferențială")
+class DifferentialHarnessTest {
+
+    private static final long INPUTS = 200_000;
+
+    private static DifferentialHarness harness;
+    private static DifferentialReport report;
+
+    @BeforeAll
+    static void runOnce() {
+        harness = DifferentialHarness.forDeliveryService();
+        report = harness.run(INPUTS, 32, 2);
+        System.out.println("Diferențial: " + report);
+    }
+
+    @Test
+    @DisplayName("Mutantul echivalent nu este distins de nicio intrare")
+    void equivalentNeverDistinguished() {
+        DifferentialReport.Entry equivalent = report.entry("DeliveryServiceMutantEquivalent");
+        assertFalse(equivalent.killed());
+        for (InputClass c : InputClass.values()) {
+            assertEquals(0, equivalent.kills(c));
+        }
+    }
+
+    @Test
+    @DisplayName("Mutantul Survived este distins doar de d = 0 (sau -0.0), din clasa INVALID")
+    void survivedOnlyAtZeroDistance() {
+        DifferentialReport.Entry survived = report.entry("DeliveryServiceMutantSurvived");
+        assertTrue(survived.killed());
+        assertEquals(0.0, survived.firstDistanceKm(), 0.0);
+        assertTrue(survived.firstWeightKg() > 0);
+        assertEquals(0, survived.kills(InputClass.NOMINAL));
+        assertEquals(0, survived.kills(InputClass.WEIGHT_BOUNDARY));
+        assertTrue(survived.kills(InputClass.INVALID) > 0);
+    }
+
+    @Test
+    @DisplayName("Mutantul Killed este distins doar pe pragul de 10 km")
+    void killedOnlyAtTenKm() {
+        DifferentialReport.Entry killed = report.entry("DeliveryServiceMutantKilled");
+        assertEquals(InputClass.DISTANCE_BOUNDARY, killed.firstInputClass());
+        assertEquals(10.0, killed.firstDistanceKm(), 0.0);
+        assertEquals(0, killed.kills(InputClass.NOMINAL));
+        double rate = report.killRate(killed, InputClass.DISTANCE_BOUNDARY);
+        assertTrue(rate > 0 && rate < 0.05, "rată " + rate);
+    }
+
+    @Test
+    @DisplayName("Prima intrare care distinge reproduce diferența")
+    void firstInputReproduces() {
+        DeliveryService service = new DeliveryService();
+        for (Mutant mutant : DeliveryServiceSchemata.mutants()) {
+            DifferentialReport.Entry entry = report.entry(mutant.toString());
+            if (!entry.killed()) {
+                continue;
+            }
+            double d = entry.firstDistanceKm();
+            double w = entry.firstWeightKg();
+            DeliveryServiceSchemata program = DeliveryServiceSchemata.of(mutant);
+            String expected = outcome(() -> service.calculateDeliveryFee(d, w));
+            assertNotEquals(expected, outcome(() -> program.calculateDeliveryFee(d, w)), entry.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Raportul nu depinde de numărul de fire")
+    void deterministicAcrossThreads() {
+        DifferentialReport single = harness.run(50_000, 32, 1);
+        DifferentialReport parallel = harness.run(50_000, 32, 3);
+        for (int i = 0; i < single.entries().size(); i++) {
+            DifferentialReport.Entry a = single.entries().get(i);
+            DifferentialReport.Entry b = parallel.entries().get(i);
+            assertEquals(a.firstIndex(), b.firstIndex(), a.name());
+            for (InputClass c : InputClass.values()) {
+                assertEquals(a.kills(c), b.kills(c), a.name());
+            }
+        }
+        assertEquals(50_000 * harness.candidates().size(), single.comparisons());
+    }
+
+    @Test
+    @DisplayName("Intrările sunt împărțite egal între clase; argumente invalide respinse")
+    void inputClasses() {
+        long total = 0;
+        for (InputClass c : InputClass.values()) {
+            assertEquals(INPUTS / 4, report.inputs(c));
+            total += report.inputs(c);
+        }
+        assertEquals(INPUTS, total);
+        assertThrows(IllegalArgumentException.class, () -> harness.run(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> harness.run(10, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new DifferentialHarness(
+                (d, w) -> 0, List.of()).run(10, 1, 1).entry("lipsă"));
+    }
+
+    private static String outcome(DoubleSupplier fee) {
+        try {
+            return Long.toHexString(Double.doubleToRawLongBits(fee.getAsDouble()));
+        } catch (IllegalArgumentException e) {
+            return "respins";
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ro.tss.delivery.mutation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.DeliveryServiceMutantEquivalent;
+import ro.tss.delivery.DeliveryServiceMutantKilled;
+import ro.tss.delivery.DeliveryServiceMutantSurvived;
+import ro.tss.delivery.mutation.IntervalEquivalenceAnalyzer.Result;
+import ro.tss.delivery.mutation.IntervalEquivalenceAnalyzer.Verdict;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link IntervalEquivalenceAnalyzer}.
+ */
+@DisplayName("Teste analiză de echivalență pe intervale")
+class IntervalEquivalenceAnalyzerTest {
+
+    private final DeliveryService service = new DeliveryService();
+
+    @Test
+    @DisplayName("Constantele din DeliveryService sunt citite din constant pool")
+    void readsConstants() {
+        double[] constants = IntervalEquivalenceAnalyzer.constants(DeliveryService.class);
+        for (double expected : new double[] {0, 2, 5, 10, 15, 50, 0.5, 0.4, 0.3, 4.5, 8}) {
+            assertTrue(contains(constants, expected), "lipsește " + expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Mutantul 0.0 * weightKg este dovedit echivalent")
+    void equivalentMutant() {
+        Result result = IntervalEquivalenceAnalyzer.analyze(
+                DeliveryService.class, service::calculateDeliveryFee,
+                DeliveryServiceMutantEquivalent.class, new DeliveryServiceMutantEquivalent()::calculateDeliveryFee);
+        assertEquals(Verdict.EQUIVALENT, result.verdict());
+    }
+
+    @Test
+    @DisplayName("Mutanții Killed și Survived sunt omorâți exact pe prag")
+    void killedAtThresholds() {
+        Result killed = IntervalEquivalenceAnalyzer.analyze(
+                DeliveryService.class, service::calculateDeliveryFee,
+                DeliveryServiceMutantKilled.class, new DeliveryServiceMutantKilled()::calculateDeliveryFee);
+        assertEquals(Verdict.KILLED, killed.verdict());
+        assertEquals(10.0, killed.witnessDistanceKm(), 0.0);
+
+        Result survived = IntervalEquivalenceAnalyzer.analyze(
+                DeliveryService.class, service::calculateDeliveryFee,
+                DeliveryServiceMutantSurvived.class, new DeliveryServiceMutantSurvived()::calculateDeliveryFee);
+        assertEquals(Verdict.KILLED, survived.verdict());
+        assertEquals(0.0, survived.witnessDistanceKm(), 0.0);
+    }
+
+    @Test
+    @DisplayName("Limitele ipotezei: funcțiile fără constante cunoscute și produsul d·w rămân neomorâte")
+    void hypothesisLimits() {
+        // diferă de original doar la d = 12.345, punct care nu e eșantionat: fără constantele
+        // mutantului, echivalența nu poate fi demonstrată
+        Result result = IntervalEquivalenceAnalyzer.analyze(service::calculateDeliveryFee,
+                (d, w) -> d == 12.345 ? 0 : service.calculateDeliveryFee(d, w),
+                IntervalEquivalenceAnalyzer.constants(DeliveryService.class));
+        assertEquals(Verdict.NOT_YET_KILLED, result.verdict(), "diferența punctuală nu e detectabilă");
+
+        // aceeași funcție, fără diferențe: tot nedemonstrată
+        assertEquals(Verdict.NOT_YET_KILLED, IntervalEquivalenceAnalyzer.analyze(service::calculateDeliveryFee,
+                service::calculateDeliveryFee, IntervalEquivalenceAnalyzer.constants(DeliveryService.class)).verdict());
+
+        Result product = IntervalEquivalenceAnalyzer.analyze(
+                (d, w) -> d * w, (d, w) -> d * w, new double[] {0, 1});
+        assertEquals(Verdict.NOT_YET_KILLED, product.verdict());
+    }
+
+    @Test
+    @DisplayName("Toți mutanții schemei sunt clasificați; martorii reproduc diferența")
+    void classifiesWholeCatalog() {
+        Map<Verdict, Integer> counts = new EnumMap<>(Verdict.class);
+        for (Mutant mutant : DeliveryServiceSchemata.mutants()) {
+            Result result = IntervalEquivalenceAnalyzer.analyze(mutant);
+            counts.merge(result.verdict(), 1, Integer::sum);
+            if (result.verdict() == Verdict.KILLED) {
+                double d = result.witnessDistanceKm();
+                double w = result.witnessWeightKg();
+                assertNotEquals(outcome(DeliveryServiceSchemata.original(), d, w),
+                        outcome(DeliveryServiceSchemata.of(mutant), d, w), mutant.toString());
+            } else {
+                System.out.println("  " + result.verdict() + ": " + mutant);
+            }
+        }
+        System.out.println("Analiză pe intervale: " + counts);
+        assertEquals(DeliveryServiceSchemata.mutants().size(), counts.values().stream().mapToInt(i -> i).sum());
+    }
+
+    @Test
+    @DisplayName("nonEquivalent() păstrează toți mutanții care nu sunt dovediți echivalenți")
+    void filtersEquivalents() {
+        List<Mutant> all = DeliveryServiceSchemata.mutants().subList(0, 20);
+        List<Mutant> kept = IntervalEquivalenceAnalyzer.nonEquivalent(all);
+        for (Mutant mutant : all) {
+            boolean equivalent = IntervalEquivalenceAnalyzer.analyze(mutant).verdict() == Verdict.EQUIVALENT;
+            assertEquals(!equivalent, kept.contains(mutant), mutant.toString());
+        }
+    }
+
+    private static boolean contains(double[] values, double expected) {
+        for (double value : values) {
+            if (value == expected) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String outcome(DeliveryServiceSchemata program, double d, double w) {
+        try {
+            return Long.toHexString(Double.doubleToRawLongBits(program.calculateDeliveryFee(d, w)));
+        } catch (IllegalArgumentException e) {
+            return "respins";
+        }
+    }
+}
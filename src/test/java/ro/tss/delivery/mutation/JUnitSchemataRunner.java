@@ -0,0 +1,121 @@
+package ro.tss.delivery.mutation;
+
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.ServiceUnderTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rulează clase de test JUnit reale pe mutanții {@link DeliveryServiceSchemata}: pentru
+ * fiecare mutant, suitele sunt executate prin JUnit Platform cu {@link ServiceUnderTest}
+ * întors către schemă, iar mutantul este omorât dacă cel puțin un test eșuează. Scorul
+ * măsoară astfel aserțiunile suitei, nu o listă de intrări copiată din ea.
+ *
+ * Spre deosebire de {@link SchemataRunner}, toate testele rulează pentru fiecare mutant
+ * (JUnit nu se oprește la primul eșec), iar mutanții sunt rulați secvențial, deoarece
+ * serviciul suitelor este o setare globală.
+ */
+final class JUnitSchemataRunner {
+
+    /** Suita existentă: EP, BVA, CEG și MC/DC. */
+    static final List<String> REPOSITORY_SUITE = List.of(
+            "ro.tss.delivery.EquivalencePartitioningTest",
+            "ro.tss.delivery.BoundaryValueAnalysisTest",
+            "ro.tss.delivery.CauseEffectGraphingTest",
+            "ro.tss.delivery.MCDCTest");
+
+    private JUnitSchemataRunner() {
+    }
+
+    static MutationReport run(List<String> testClasses) {
+        return run(DeliveryServiceSchemata.mutants(), testClasses);
+    }
+
+    /**
+     * @throws IllegalArgumentException dacă suita nu trece pe programul original
+     */
+    static MutationReport run(List<Mutant> mutants, List<String> testClasses) {
+        Launcher launcher = LauncherFactory.create(LauncherConfig.builder()
+                .enableTestExecutionListenerAutoRegistration(false)
+                .build());
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(testClasses.stream().map(DiscoverySelectors::selectClass).toArray(DiscoverySelector[]::new))
+                .build();
+
+        Outcome original = execute(launcher, request, DeliveryServiceSchemata.original());
+        if (original.tests == 0) {
+            throw new IllegalArgumentException("Suita nu conține teste: " + testClasses);
+        }
+        if (original.firstFailure != null) {
+            throw new IllegalArgumentException("Testul " + original.firstFailure + " eșuează pe programul original.");
+        }
+
+        List<MutationReport.Result> results = new ArrayList<>(mutants.size());
+        long executions = 0;
+        long start = System.nanoTime();
+        for (Mutant mutant : mutants) {
+            Outcome outcome = execute(launcher, request, DeliveryServiceSchemata.of(mutant));
+            executions += outcome.tests;
+            results.add(new MutationReport.Result(mutant, outcome.firstFailure));
+        }
+        return new MutationReport(results, executions, System.nanoTime() - start);
+    }
+
+    private static Outcome execute(Launcher launcher, LauncherDiscoveryRequest request,
+                                   DeliveryServiceSchemata program) {
+        Outcome outcome = new Outcome();
+        ServiceUnderTest.runWith(() -> new SchemataService(program),
+                () -> launcher.execute(request, outcome));
+        return outcome;
+    }
+
+    /** Numărul de teste rulate și primul test eșuat. */
+    private static final class Outcome implements TestExecutionListener {
+
+        long tests;
+        String firstFailure;
+
+        @Override
+        public void executionFinished(TestIdentifier test, TestExecutionResult result) {
+            if (test.isTest()) {
+                tests++;
+            }
+            if (firstFailure == null && result.getStatus() == TestExecutionResult.Status.FAILED) {
+                firstFailure = test.getSource()
+                        .filter(MethodSource.class::isInstance)
+                        .map(source -> {
+                            String className = ((MethodSource) source).getClassName();
+                            return className.substring(className.lastIndexOf('.') + 1) + " › ";
+                        })
+                        .orElse("") + test.getDisplayName();
+            }
+        }
+    }
+
+    /** DeliveryService care delegă către o instanță a schemei. */
+    private static final class SchemataService extends DeliveryService {
+
+        private final DeliveryServiceSchemata program;
+
+        SchemataService(DeliveryServiceSchemata program) {
+            this.program = program;
+        }
+
+        @Override
+        public double calculateDeliveryFee(double distanceKm, double weightKg) {
+            return program.calculateDeliveryFee(distanceKm, weightKg);
+        }
+    }
+}
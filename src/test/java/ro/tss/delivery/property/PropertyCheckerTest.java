@@ -0,0 +1,120 @@
+package ro.tss.delivery.property;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+
+import java.util.function.DoubleBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link PropertyChecker} și {@link PricingProperty}.
+ */
+@DisplayName("Teste invarianți verificați pe eșantioane generate")
+class PropertyCheckerTest {
+
+    private static final double DELTA = 0.001;
+
+    private final DeliveryService service = new DeliveryService();
+    private final DoubleBinaryOperator pricer = service::calculateDeliveryFee;
+
+    @Test
+    @DisplayName("Taxa nu scade cu greutatea: respectat pe 20M eșantioane")
+    void weightMonotonicityHolds() {
+        PropertyReport report = PropertyChecker.check(PricingProperty.weightMonotonicity(pricer), 20_000_000, 38, 2);
+        System.out.println(report);
+        assertTrue(report.holds());
+        assertEquals(20_000_000, report.samples());
+        assertEquals(0, report.violations());
+    }
+
+    @Test
+    @DisplayName("Taxa nu scade cu distanța: încălcat la pragul de treaptă, contraexemplu micșorat")
+    void distanceMonotonicityViolated() {
+        PricingProperty property = PricingProperty.distanceMonotonicity(pricer);
+        PropertyReport report = PropertyChecker.check(property, 10_000_000, 38, 2);
+        System.out.println(report);
+        assertFalse(report.holds());
+
+        double[] original = report.counterexample().orElseThrow();
+        double[] shrunk = report.shrunk().orElseThrow();
+        assertFalse(property.holds(original));
+        assertFalse(property.holds(shrunk));
+        // contraexemplul traversează un prag (10 sau 50 km), cu numere simple
+        double d = shrunk[0];
+        double next = shrunk[0] + shrunk[1];
+        assertTrue(d <= 10 && next > 10 || d <= 50 && next > 50, property.describe(shrunk));
+        for (double x : shrunk) {
+            assertTrue(PropertyChecker.decimals(x) <= 2, property.describe(shrunk));
+        }
+        assertEquals(PricingProperty.MIN_WEIGHT, shrunk[2], 0.0);
+    }
+
+    @Test
+    @DisplayName("Exemplul din specificație: 10 km costă 10.00 RON, 10.01 km costă 9.004 RON")
+    void tierDropAtTenKm() {
+        PricingProperty property = PricingProperty.distanceMonotonicity(pricer);
+        double[] sample = {10, 0.01, 1};
+        assertFalse(property.holds(sample));
+        assertEquals(10.00, service.calculateDeliveryFee(10, 1), DELTA);
+        assertEquals(9.004, service.calculateDeliveryFee(10.01, 1), DELTA);
+        // deja minimal pe d și Δd; doar greutatea se micșorează la minimul domeniului
+        double[] shrunk = PropertyChecker.shrink(property, sample, new int[1]);
+        assertArrayEquals(new double[] {10, 0.01, PricingProperty.MIN_WEIGHT}, shrunk);
+    }
+
+    @Test
+    @DisplayName("Categorie de greutate care scade: găsită și micșorată la valori întregi")
+    void brokenWeightFeeShrunk() {
+        // peste 20 kg taxa de greutate scade la 10 RON
+        DoubleBinaryOperator broken = (d, w) -> service.calculateDeliveryFee(d, w) - (w > 20 ? 5 : 0);
+        PricingProperty property = PricingProperty.weightMonotonicity(broken);
+        PropertyReport report = PropertyChecker.check(property, 1_000_000, 7, 2);
+        System.out.println(report);
+        double[] shrunk = report.shrunk().orElseThrow();
+        assertEquals(PricingProperty.MIN_DISTANCE, shrunk[0], 0.0);
+        assertTrue(shrunk[1] <= 20 && shrunk[1] + shrunk[2] > 20, property.describe(shrunk));
+        assertEquals(0, PropertyChecker.decimals(shrunk[1]));
+        assertTrue(report.shrinkSteps() > 0);
+        assertTrue(report.toString().contains("micșorat"));
+    }
+
+    @Test
+    @DisplayName("Contraexemplul nu depinde de numărul de fire")
+    void deterministicAcrossThreads() {
+        PricingProperty property = PricingProperty.distanceMonotonicity(pricer);
+        PropertyReport single = PropertyChecker.check(property, 2_000_000, 5, 1);
+        PropertyReport parallel = PropertyChecker.check(property, 2_000_000, 5, 3);
+        assertEquals(single.counterexampleIndex(), parallel.counterexampleIndex());
+        assertArrayEquals(single.counterexample().orElseThrow(), parallel.counterexample().orElseThrow());
+        assertArrayEquals(single.shrunk().orElseThrow(), parallel.shrunk().orElseThrow());
+        assertArrayEquals(single.counterexample().orElseThrow(),
+                PropertyChecker.sample(property, 5, single.counterexampleIndex()));
+    }
+
+    @Test
+    @DisplayName("Taxa minimă de 5 RON; argumente invalide respinse")
+    void minimumFeeAndArguments() {
+        assertTrue(PropertyChecker.check(PricingProperty.minimumFee(pricer, 5.0), 1_000_000, 1, 1).holds());
+        assertFalse(PropertyChecker.check(PricingProperty.minimumFee(pricer, 5.5), 1_000_000, 1, 1).holds());
+
+        PricingProperty property = PricingProperty.minimumFee(pricer, 5.0);
+        assertThrows(IllegalArgumentException.class, () -> PropertyChecker.check(property, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> PropertyChecker.check(property, 10, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> PropertyChecker.shrink(property, new double[] {1, 1}, new int[1]));
+        assertThrows(IllegalArgumentException.class, () -> new PricingProperty("x", new String[] {"d"},
+                new double[] {2}, new double[] {1}, x -> true));
+    }
+
+    @Test
+    @DisplayName("Simplitate: minimul domeniului, apoi mai puține zecimale, apoi valoare mai mică")
+    void simplicityOrder() {
+        assertTrue(PropertyChecker.simpler(0.01, 3, 0.01));
+        assertTrue(PropertyChecker.simpler(11, 10.5, 0.01));
+        assertTrue(PropertyChecker.simpler(9, 10, 0.01));
+        assertFalse(PropertyChecker.simpler(10.25, 10.5, 0.01));
+        assertEquals(2, PropertyChecker.decimals(10.01));
+        assertEquals(0, PropertyChecker.decimals(10.0));
+    }
+}
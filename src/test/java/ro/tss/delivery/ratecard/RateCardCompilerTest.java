@@ -0,0 +1,195 @@
+package ro.tss.delivery.ratecard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.DoubleBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru compilarea tarifelor în clase ascunse.
+ *
+ * Pricer-ul generat pentru tariful standard trebuie să fie identic (bit cu bit) cu
+ * {@link DeliveryService}, iar pentru orice alt tarif identic cu {@link RateCardInterpreter}.
+ */
+@DisplayName("Teste RateCardCompiler")
+class RateCardCompilerTest {
+
+    private static final double[] BVA_DISTANCES = {0.01, 9.99, 10.0, 10.01, 49.99, 50.0, 50.01, 5.0, 25.0, 75.0};
+    private static final double[] BVA_WEIGHTS = {0.01, 1.99, 2.0, 2.01, 4.99, 5.0, 5.01, 14.99, 15.0, 15.01, 1.0, 20.0};
+
+    private RateCardCompiler compiler;
+    private DeliveryService service;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new RateCardCompiler();
+        service = new DeliveryService();
+    }
+
+    /** Valoarea unei constante private din DeliveryService, citită prin reflecție. */
+    private static double serviceConstant(String name) throws ReflectiveOperationException {
+        Field field = DeliveryService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.getDouble(null);
+    }
+
+    @Nested
+    @DisplayName("Tariful standard")
+    class StandardCard {
+
+        @Test
+        @DisplayName("RateCard.standard() are exact constantele din DeliveryService")
+        void standardMatchesServiceConstants() throws ReflectiveOperationException {
+            // Copiile tarifului (kernelurile, schema de mutanți) sunt derivate din RateCard.standard()
+            RateCard card = RateCard.standard();
+            assertEquals(serviceConstant("BASE_FEE"), card.baseFee(), 0.0);
+            assertArrayEquals(new double[] {
+                    serviceConstant("DISTANCE_THRESHOLD_SHORT"), serviceConstant("DISTANCE_THRESHOLD_MEDIUM")},
+                    card.distanceThresholds(), 0.0);
+            assertArrayEquals(new double[] {serviceConstant("RATE_SHORT_DISTANCE"),
+                    serviceConstant("RATE_MEDIUM_DISTANCE"), serviceConstant("RATE_LONG_DISTANCE")},
+                    card.distanceRates(), 0.0);
+            assertArrayEquals(new double[] {serviceConstant("WEIGHT_THRESHOLD_LIGHT"),
+                    serviceConstant("WEIGHT_THRESHOLD_MEDIUM"), serviceConstant("WEIGHT_THRESHOLD_HEAVY")},
+                    card.weightThresholds(), 0.0);
+            assertArrayEquals(new double[] {serviceConstant("WEIGHT_FEE_LIGHT"), serviceConstant("WEIGHT_FEE_MEDIUM"),
+                    serviceConstant("WEIGHT_FEE_HEAVY"), serviceConstant("WEIGHT_FEE_VERY_HEAVY")},
+                    card.weightFees(), 0.0);
+            assertEquals(13, Arrays.stream(DeliveryService.class.getDeclaredFields())
+                    .filter(f -> f.getType() == double.class).count(), "o constantă nouă trebuie adăugată în RateCard");
+        }
+
+        @Test
+        @DisplayName("Interpretorul coincide cu DeliveryService la toate limitele BVA")
+        void interpreterMatchesDeliveryService() {
+            RateCardInterpreter interpreter = new RateCardInterpreter(RateCard.standard());
+            for (double d : BVA_DISTANCES) {
+                for (double w : BVA_WEIGHTS) {
+                    assertEquals(service.calculateDeliveryFee(d, w), interpreter.calculateDeliveryFee(d, w),
+                            0.0, "d=" + d + ", w=" + w);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Pricer-ul compilat coincide cu DeliveryService la toate limitele BVA")
+        void compiledMatchesDeliveryService() {
+            DoubleBinaryOperator compiled = compiler.compile(RateCard.standard());
+            for (double d : BVA_DISTANCES) {
+                for (double w : BVA_WEIGHTS) {
+                    assertEquals(service.calculateDeliveryFee(d, w), compiled.applyAsDouble(d, w),
+                            0.0, "d=" + d + ", w=" + w);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Pricer-ul compilat aruncă excepție pentru d <= 0 sau w <= 0")
+        void compiledRejectsInvalidInput() {
+            DoubleBinaryOperator compiled = compiler.compile(RateCard.standard());
+            assertThrows(IllegalArgumentException.class, () -> compiled.applyAsDouble(0, 1));
+            assertThrows(IllegalArgumentException.class, () -> compiled.applyAsDouble(-0.01, 1));
+            assertThrows(IllegalArgumentException.class, () -> compiled.applyAsDouble(5, 0));
+            assertThrows(IllegalArgumentException.class, () -> compiled.applyAsDouble(5, -3));
+        }
+
+        @Test
+        @DisplayName("Pricer-ul compilat este o clasă ascunsă")
+        void compiledIsHiddenClass() {
+            assertTrue(compiler.compile(RateCard.standard()).getClass().isHidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache după versiune")
+    class Cache {
+
+        @Test
+        @DisplayName("Aceeași versiune returnează aceeași instanță")
+        void sameVersionIsCached() {
+            DoubleBinaryOperator first = compiler.compile(RateCard.standard());
+            DoubleBinaryOperator second = compiler.compile(RateCard.standard());
+            assertSame(first, second);
+            assertEquals(1, compiler.cachedVersions());
+        }
+
+        @Test
+        @DisplayName("Aceeași versiune cu altă definiție este respinsă")
+        void conflictingDefinitionIsRejected() {
+            compiler.compile(RateCard.standard());
+            RateCard changed = new RateCard("standard", 6.00,
+                    new double[] {10.0, 50.0}, new double[] {0.50, 0.40, 0.30},
+                    new double[] {2.0, 5.0, 15.0}, new double[] {0.00, 4.50, 8.00, 15.00});
+            assertThrows(IllegalArgumentException.class, () -> compiler.compile(changed));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tarife arbitrare")
+    class ArbitraryCards {
+
+        @Test
+        @DisplayName("Tarif fără praguri: o singură rată și o singură taxă")
+        void cardWithoutThresholds() {
+            RateCard flat = new RateCard("flat", 3.0, new double[0], new double[] {0.25},
+                    new double[0], new double[] {1.0});
+            DoubleBinaryOperator compiled = compiler.compile(flat);
+            assertEquals(3.0 + 100 * 0.25 + 1.0, compiled.applyAsDouble(100, 40), 0.0);
+        }
+
+        @Test
+        @DisplayName("Tarif cu sute de praguri coincide cu interpretorul pe intrări aleatoare")
+        void manyTiersMatchInterpreter() {
+            RateCard card = generatedCard("v-300", 300, 200);
+            DoubleBinaryOperator compiled = compiler.compile(card);
+            RateCardInterpreter interpreter = new RateCardInterpreter(card);
+
+            SplittableRandom random = new SplittableRandom(26);
+            for (int i = 0; i < 200_000; i++) {
+                double d = random.nextDouble(0.001, 400.0);
+                double w = random.nextDouble(0.001, 250.0);
+                assertEquals(interpreter.calculateDeliveryFee(d, w), compiled.applyAsDouble(d, w), 0.0,
+                        "d=" + d + ", w=" + w);
+            }
+        }
+
+        @Test
+        @DisplayName("Definiții invalide sunt respinse")
+        void invalidDefinitions() {
+            assertThrows(IllegalArgumentException.class, () -> new RateCard("x", 5,
+                    new double[] {50.0, 10.0}, new double[] {0.5, 0.4, 0.3}, new double[0], new double[] {0}));
+            assertThrows(IllegalArgumentException.class, () -> new RateCard("x", 5,
+                    new double[] {10.0}, new double[] {0.5}, new double[0], new double[] {0}));
+            assertThrows(IllegalArgumentException.class, () -> new RateCard("x", Double.NaN,
+                    new double[0], new double[] {0.5}, new double[0], new double[] {0}));
+        }
+    }
+
+    static RateCard generatedCard(String version, int distanceTiers, int weightBands) {
+        double[] distanceThresholds = new double[distanceTiers - 1];
+        double[] distanceRates = new double[distanceTiers];
+        for (int i = 0; i < distanceTiers; i++) {
+            if (i < distanceThresholds.length) {
+                distanceThresholds[i] = (i + 1) * 1.25;
+            }
+            distanceRates[i] = 0.60 - i * 0.001;
+        }
+        double[] weightThresholds = new double[weightBands - 1];
+        double[] weightFees = new double[weightBands];
+        for (int j = 0; j < weightBands; j++) {
+            if (j < weightThresholds.length) {
+                weightThresholds[j] = (j + 1) * 1.1;
+            }
+            weightFees[j] = j * 0.75;
+        }
+        return new RateCard(version, 5.0, distanceThresholds, distanceRates, weightThresholds, weightFees);
+    }
+}
@@ -0,0 +1,141 @@
+package ro.tss.delivery.ratecard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link RateCardTimeline}, inclusiv la trecerea de la un tarif la altul.
+ */
+@DisplayName("Teste RateCardTimeline")
+class RateCardTimelineTest {
+
+    private static final double DELTA = 0.001;
+
+    private static final long JAN_2024 = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final long JUL_2024 = Instant.parse("2024-07-01T00:00:00Z").toEpochMilli();
+    private static final long JAN_2025 = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    // Scumpiri: taxa de bază 5.50 din iulie 2024, 6.00 și tarif 0.35 peste 50 km din 2025
+    private static final RateCard JULY = card("2024-07", 5.50, 0.30);
+    private static final RateCard NEXT_YEAR = card("2025-01", 6.00, 0.35);
+
+    private final RateCardTimeline timeline = RateCardTimeline.of(JAN_2024, RateCard.standard())
+            .with(JAN_2025, NEXT_YEAR)
+            .with(JUL_2024, JULY);
+
+    @Test
+    @DisplayName("Tariful intră în vigoare exact la momentul lui; cu o milisecundă înainte se aplică cel vechi")
+    void switchesExactlyAtEffectiveFrom() {
+        assertEquals(3, timeline.size());
+        assertEquals(JUL_2024, timeline.effectiveFrom(1));
+
+        assertEquals(RateCard.standard(), timeline.cardAt(JUL_2024 - 1));
+        assertSame(JULY, timeline.cardAt(JUL_2024));
+        assertSame(JULY, timeline.cardAt(JAN_2025 - 1));
+        assertSame(NEXT_YEAR, timeline.cardAt(JAN_2025));
+        assertSame(NEXT_YEAR, timeline.cardAt(Long.MAX_VALUE));
+
+        // 100 km, 20 kg: 5 + 30 + 15, apoi 5.50 + 30 + 15, apoi 6 + 35 + 15
+        assertEquals(50.00, timeline.calculateDeliveryFee(JUL_2024 - 1, 100, 20), DELTA);
+        assertEquals(50.50, timeline.calculateDeliveryFee(JUL_2024, 100, 20), DELTA);
+        assertEquals(56.00, timeline.calculateDeliveryFee(JAN_2025, 100, 20), DELTA);
+    }
+
+    @Test
+    @DisplayName("Înaintea primului tarif și la momente duplicate se aruncă excepție")
+    void rejectsUncoveredTimesAndDuplicates() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> timeline.cardAt(JAN_2024 - 1));
+        assertEquals("Nu există tarif valabil la momentul " + (JAN_2024 - 1) + ".", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> timeline.with(JUL_2024, NEXT_YEAR));
+        assertThrows(IllegalArgumentException.class, () -> timeline.calculateDeliveryFee(JAN_2025, 0, 1));
+        assertEquals(2, RateCardTimeline.of(0, RateCard.standard()).with(1, JULY).size());
+    }
+
+    @Test
+    @DisplayName("Căutarea binară coincide cu parcurgerea liniară pe 100 de tarife și momente de frontieră")
+    void indexMatchesLinearScan() {
+        SplittableRandom random = new SplittableRandom(46);
+        RateCardTimeline many = RateCardTimeline.of(0, RateCard.standard());
+        for (int c = 1; c < 100; c++) {
+            many = many.with(random.nextLong(1, 1_000_000), card("v" + c, 5, 0.30));
+        }
+        for (int k = 0; k < 100_000; k++) {
+            long t = k % 3 == 0 ? Math.max(0, many.effectiveFrom(random.nextInt(many.size())) - random.nextInt(2))
+                    : random.nextLong(0, 1_100_000);
+            int expected = 0;
+            for (int c = 0; c < many.size(); c++) {
+                if (many.effectiveFrom(c) <= t) {
+                    expected = c;
+                }
+            }
+            assertEquals(expected, many.indexAt(t), "momentul " + t);
+        }
+    }
+
+    @Test
+    @DisplayName("Re-tarifarea unui lot în jurul tranzițiilor este identică bit cu bit cu interpretorul")
+    void batchMatchesInterpreterAcrossTransitions() {
+        SplittableRandom random = new SplittableRandom(46);
+        long[] transitions = {JAN_2024, JUL_2024, JAN_2025};
+        int size = 100_000;
+        long[] shipTime = new long[size];
+        double[] d = new double[size];
+        double[] w = new double[size];
+        for (int i = 0; i < size; i++) {
+            shipTime[i] = transitions[random.nextInt(3)] + random.nextLong(-2, 3) * (random.nextBoolean() ? 1 : 86_400_000L);
+            if (shipTime[i] < JAN_2024) {
+                shipTime[i] = JAN_2024;
+            }
+            d[i] = random.nextDouble(0.01, 120);
+            w[i] = random.nextDouble(0.01, 30);
+        }
+        // NaN trece validarea, ca în DeliveryService, și cade în ultima treaptă
+        d[7] = Double.NaN;
+        w[8] = Double.NaN;
+        double[] fees = new double[size];
+        timeline.calculateDeliveryFees(shipTime, d, w, fees);
+        for (int i = 0; i < size; i++) {
+            double expected = new RateCardInterpreter(timeline.cardAt(shipTime[i])).calculateDeliveryFee(d[i], w[i]);
+            assertEquals(expected, fees[i], 0.0, "rândul " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Lot sub un singur tarif: exact taxele din DeliveryService")
+    void singleCardBatchMatchesDeliveryService() {
+        double[] d = {5, 10, 50, 100};
+        double[] w = {1, 2, 5, 20};
+        double[] fees = new double[4];
+        timeline.calculateDeliveryFees(new long[] {JAN_2024, JAN_2024 + 1, JUL_2024 - 1, JAN_2024}, d, w, fees);
+        DeliveryService service = new DeliveryService();
+        for (int i = 0; i < 4; i++) {
+            assertEquals(service.calculateDeliveryFee(d[i], w[i]), fees[i], 0.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Lotul raportează rândul fără tarif valabil sau cu date invalide")
+    void batchReportsInvalidRow() {
+        double[] one = {1, 1};
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> timeline.calculateDeliveryFees(new long[] {JAN_2025, 5}, one, one, new double[2]));
+        assertEquals("Rândul 1: Nu există tarif valabil la momentul 5.", e.getMessage());
+        e = assertThrows(IllegalArgumentException.class,
+                () -> timeline.calculateDeliveryFees(new long[] {JAN_2025, JAN_2025}, new double[] {1, -1}, one, new double[2]));
+        assertEquals("Rândul 1: Distanța și greutatea trebuie să fie pozitive.", e.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> timeline.calculateDeliveryFees(new long[1], one, one, new double[2]));
+    }
+
+    private static RateCard card(String version, double baseFee, double longRate) {
+        return new RateCard(version, baseFee,
+                new double[] {10.0, 50.0}, new double[] {0.50, 0.40, longRate},
+                new double[] {2.0, 5.0, 15.0}, new double[] {0.00, 4.50, 8.00, 15.00});
+    }
+}
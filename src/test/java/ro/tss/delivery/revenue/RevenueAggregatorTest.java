@@ -0,0 +1,196 @@
+package ro.tss.delivery.revenue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.FeePricer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link RevenueAggregator}: celule, virgulă fixă, concurență și ferestre.
+ */
+@DisplayName("Teste RevenueAggregator")
+class RevenueAggregatorTest {
+
+    private static final double DELTA = 0.001;
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+
+    @Test
+    @DisplayName("Fiecare taxă ajunge în celula treptei și intervalului ei")
+    void recordsIntoTierBandCells() {
+        RevenueAggregator aggregator = new RevenueAggregator(10, clock::get);
+        FeePricer pricer = aggregator.metered(new DeliveryService());
+
+        assertEquals(7.50, pricer.calculateDeliveryFee(5, 1), DELTA);      // scurt, ușor
+        assertEquals(21.50, pricer.calculateDeliveryFee(30, 4), DELTA);    // mediu, mediu
+        assertEquals(50.00, pricer.calculateDeliveryFee(100, 20), DELTA);  // lung, foarte greu
+        assertEquals(50.00, pricer.calculateDeliveryFee(100, 20), DELTA);
+
+        RevenueSnapshot snapshot = aggregator.snapshot();
+        assertEquals(1, snapshot.count(0, 0));
+        assertEquals(75_000, snapshot.revenueUnits(0, 0));
+        assertEquals(21.50, snapshot.revenue(1, 1), 0.0);
+        assertEquals(2, snapshot.count(2, 3));
+        assertEquals(100.00, snapshot.revenue(2, 3), 0.0);
+        assertEquals(0, snapshot.count(2, 0));
+        assertEquals(4, snapshot.totalCount());
+        assertEquals(129.00, snapshot.totalRevenue(), 0.0);
+        assertThrows(IllegalArgumentException.class, () -> snapshot.count(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> pricer.calculateDeliveryFee(0, 1));
+        assertEquals(4, aggregator.snapshot().totalCount());
+    }
+
+    @Test
+    @DisplayName("Înregistrarea pe lot dă aceleași totaluri ca înregistrarea rând cu rând")
+    void batchRecordingMatchesPerRow() {
+        RevenueAggregator perRow = new RevenueAggregator(10, clock::get);
+        RevenueAggregator batch = new RevenueAggregator(10, clock::get);
+        SplittableRandom random = new SplittableRandom(48);
+        int size = 10_000;
+        double[] d = new double[size];
+        double[] w = new double[size];
+        for (int i = 0; i < size; i++) {
+            d[i] = random.nextDouble(0.01, 120);
+            w[i] = random.nextDouble(0.01, 30);
+        }
+        double[] fees = new double[size];
+        batch.metered(new DeliveryService()).calculateDeliveryFees(d, w, fees);
+        FeePricer metered = perRow.metered(new DeliveryService());
+        for (int i = 0; i < size; i++) {
+            assertEquals(fees[i], metered.calculateDeliveryFee(d[i], w[i]), 0.0);
+        }
+        RevenueSnapshot a = perRow.snapshot();
+        RevenueSnapshot b = batch.snapshot();
+        for (int t = 0; t < RevenueAggregator.TIERS; t++) {
+            for (int g = 0; g < RevenueAggregator.BANDS; g++) {
+                assertEquals(a.count(t, g), b.count(t, g));
+                assertEquals(a.revenueUnits(t, g), b.revenueUnits(t, g));
+            }
+        }
+        assertEquals(size, b.totalCount());
+    }
+
+    @Test
+    @DisplayName("8 fire concurente și închideri de ferestre în paralel: nicio înregistrare pierdută")
+    void concurrentRecordingWithRollsLosesNothing() throws Exception {
+        RevenueAggregator aggregator = new RevenueAggregator(1_000_000, clock::get);
+        int threads = 8;
+        int perThread = 200_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        AtomicBoolean done = new AtomicBoolean();
+        List<RevenueSnapshot> windows = new ArrayList<>();
+        Thread roller = new Thread(() -> {
+            while (!done.get()) {
+                clock.incrementAndGet();
+                windows.add(aggregator.roll());
+            }
+        });
+        roller.start();
+        List<Future<Long>> expected = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            expected.add(pool.submit(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                FeePricer pricer = aggregator.metered(new DeliveryService());
+                long units = 0;
+                for (int i = 0; i < perThread; i++) {
+                    units += RevenueAggregator.toUnits(
+                            pricer.calculateDeliveryFee(random.nextDouble(0.01, 120), random.nextDouble(0.01, 30)));
+                }
+                return units;
+            }));
+        }
+        long expectedUnits = 0;
+        for (Future<Long> f : expected) {
+            expectedUnits += f.get();
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        done.set(true);
+        roller.join();
+        windows.add(aggregator.roll());
+
+        long count = 0;
+        long units = 0;
+        long previousEnd = windows.get(0).fromMillis();
+        for (RevenueSnapshot window : windows) {
+            assertEquals(previousEnd, window.fromMillis());
+            previousEnd = window.toMillis();
+            for (int t = 0; t < RevenueAggregator.TIERS; t++) {
+                for (int g = 0; g < RevenueAggregator.BANDS; g++) {
+                    count += window.count(t, g);
+                    units += window.revenueUnits(t, g);
+                }
+            }
+        }
+        assertEquals((long) threads * perThread, count);
+        assertEquals(expectedUnits, units);
+        assertEquals(expectedUnits, aggregator.snapshot().totalRevenue() * RevenueAggregator.FEE_SCALE, 1.0);
+    }
+
+    @Test
+    @DisplayName("Ferestrele consecutive acoperă timpul fără goluri; se păstrează doar ultimele N")
+    void rollsWindowsAndRetainsLastN() {
+        RevenueAggregator aggregator = new RevenueAggregator(2, clock::get);
+        FeePricer pricer = aggregator.metered(new DeliveryService());
+
+        pricer.calculateDeliveryFee(5, 1);
+        clock.set(61_000);
+        RevenueSnapshot first = aggregator.roll();
+        pricer.calculateDeliveryFee(100, 20);
+        pricer.calculateDeliveryFee(100, 20);
+        clock.set(121_000);
+        RevenueSnapshot second = aggregator.roll();
+        clock.set(181_000);
+        RevenueSnapshot third = aggregator.roll();
+
+        assertEquals(1_000, first.fromMillis());
+        assertEquals(61_000, first.toMillis());
+        assertEquals(7.50, first.totalRevenue(), 0.0);
+        assertEquals(61_000, second.fromMillis());
+        assertEquals(2, second.count(2, 3));
+        assertEquals(0, second.count(0, 0));
+        assertEquals(0, third.totalCount());
+        assertEquals(List.of(second, third), aggregator.recentWindows());
+        assertEquals(3, aggregator.snapshot().totalCount());
+        assertThrows(IllegalArgumentException.class, () -> new RevenueAggregator(0, clock::get));
+    }
+
+    @Test
+    @DisplayName("Fire create și terminate continuu: benzile lor sunt eliberate, totalurile păstrate")
+    void deadThreadsAreFolded() throws Exception {
+        RevenueAggregator aggregator = new RevenueAggregator(10, clock::get);
+        for (int round = 0; round < 50; round++) {
+            Thread[] batch = new Thread[4];
+            for (int t = 0; t < batch.length; t++) {
+                batch[t] = new Thread(() -> aggregator.record(5, 1, 7.50));
+                batch[t].start();
+            }
+            for (Thread t : batch) {
+                t.join();
+            }
+            // înregistrarea unui fir nou curăță benzile firelor terminate
+            assertTrue(aggregator.stripeCount() <= batch.length + 1, "benzi: " + aggregator.stripeCount());
+        }
+        RevenueSnapshot before = aggregator.snapshot();
+        assertEquals(0, aggregator.stripeCount());
+        assertEquals(200, before.count(0, 0));
+        assertEquals(1500.00, before.revenue(0, 0), DELTA);
+
+        aggregator.record(5, 1, 7.50);
+        assertEquals(1, aggregator.stripeCount());
+        assertEquals(201, aggregator.snapshot().count(0, 0));
+    }
+}
@@ -0,0 +1,196 @@
+package ro.tss.delivery.route;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link RoutePricer} și {@link IncrementalRoute}.
+ *
+ * Opririle sunt puncte în plan, cu distanța euclidiană (km) între ele plus o manevră
+ * fixă; indicele 0 este depozitul, iar 1 este un hub prin care trec multe rute.
+ */
+@DisplayName("Teste RoutePricer")
+class RoutePricerTest {
+
+    private static final int STOPS = 500;
+    private static final double DELTA = 1e-9;
+
+    private double[] x;
+    private double[] y;
+    private LegDistance distances;
+    private RoutePricer pricer;
+    private DeliveryService service;
+
+    @BeforeEach
+    void setUp() {
+        SplittableRandom random = new SplittableRandom(29);
+        x = new double[STOPS];
+        y = new double[STOPS];
+        for (int i = 1; i < STOPS; i++) {
+            x[i] = random.nextDouble(-60, 60);
+            y[i] = random.nextDouble(-60, 60);
+        }
+        // + 0.5 km manevră, pentru ca o oprire repetată să nu dea un tronson de lungime 0
+        distances = (from, to) -> 0.5 + Math.hypot(x[from] - x[to], y[from] - y[to]);
+        pricer = new RoutePricer(distances);
+        service = new DeliveryService();
+    }
+
+    /** Referința: fiecare tronson trecut prin DeliveryService, în aceeași ordine de însumare. */
+    private double reference(int depot, int[] stops, double[] parcels) {
+        double total = 0;
+        double remaining = 0;
+        for (int j = stops.length - 1; j >= 0; j--) {
+            remaining = parcels[j] + remaining;
+            int from = j == 0 ? depot : stops[j - 1];
+            total += service.calculateDeliveryFee(distances.distanceKm(from, stops[j]), remaining);
+        }
+        return total;
+    }
+
+    @Nested
+    @DisplayName("Tarifare pe loturi")
+    class Batch {
+
+        @Test
+        @DisplayName("Rută simplă: suma taxelor DeliveryService pe tronsoane")
+        void simpleRoute() {
+            // depozit(0,0) → A(5,0) → B(5,30): tronsoane de 5 km (w=3+1) și 30 km (w=1)
+            LegDistance line = (from, to) -> new double[][] {{0, 5, 0}, {5, 0, 30}, {0, 30, 0}}[from][to];
+            RoutePricer simple = new RoutePricer(line);
+            double total = simple.priceRoute(0, new int[] {1, 2}, new double[] {3, 1});
+            // tronson 1: 5 + 5*0.5 + 4.5 = 12.00; tronson 2: 5 + 30*0.4 + 0 = 17.00
+            assertEquals(29.00, total, DELTA);
+        }
+
+        @Test
+        @DisplayName("Mii de rute prin hub: rezultat identic cu referința, tronsoanele comune din cache")
+        void thousandsOfRoutesShareLegs() {
+            SplittableRandom random = new SplittableRandom(30);
+            int routes = 5_000;
+            int[] depots = new int[routes];
+            int[][] stops = new int[routes][];
+            double[][] parcels = new double[routes][];
+            for (int r = 0; r < routes; r++) {
+                int n = 2 + random.nextInt(10);
+                stops[r] = new int[n];
+                parcels[r] = new double[n];
+                stops[r][0] = 1;                                    // depozit → hub
+                parcels[r][0] = random.nextDouble(0.1, 3);
+                for (int j = 1; j < n; j++) {
+                    stops[r][j] = 2 + random.nextInt(STOPS - 2);
+                    parcels[r][j] = random.nextDouble(0.1, 8);
+                }
+            }
+            double[] totals = new double[routes];
+            pricer.priceRoutes(depots, stops, parcels, totals);
+
+            for (int r = 0; r < routes; r++) {
+                assertEquals(reference(0, stops[r], parcels[r]), totals[r], 0.0, "ruta " + r);
+            }
+            assertTrue(pricer.cacheHits() >= routes - 1, "depozit → hub calculat o singură dată");
+            assertEquals(pricer.cachedLegs(), pricer.cacheMisses());
+        }
+
+        @Test
+        @DisplayName("Tronsonul Integer.MIN_VALUE → 0 (cheia egală cu santinela) este și el memorat")
+        void sentinelKeyIsCached() {
+            assertEquals(Long.MIN_VALUE, LegFeeCache.key(Integer.MIN_VALUE, 0));
+            RoutePricer anyIds = new RoutePricer((from, to) -> 20);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(13.00, anyIds.priceRoute(Integer.MIN_VALUE, new int[] {0}, new double[] {1}), DELTA);
+            }
+            assertEquals(1, anyIds.cachedLegs());
+            assertEquals(1, anyIds.cacheMisses());
+            assertEquals(2, anyIds.cacheHits());
+        }
+
+        @Test
+        @DisplayName("Colet fără greutate sau tronson de lungime 0 sunt respinse")
+        void invalidRoutes() {
+            RoutePricer euclidean = new RoutePricer((from, to) -> Math.hypot(x[from] - x[to], y[from] - y[to]));
+            assertThrows(IllegalArgumentException.class,
+                    () -> pricer.priceRoute(0, new int[] {3, 4}, new double[] {1, 0}));
+            assertThrows(IllegalArgumentException.class,
+                    () -> euclidean.priceRoute(0, new int[] {3, 3}, new double[] {1, 1}));
+            assertThrows(IllegalArgumentException.class,
+                    () -> pricer.priceRoute(0, new int[] {3}, new double[] {1, 1}));
+        }
+    }
+
+    @Nested
+    @DisplayName("Recalculare incrementală")
+    class Incremental {
+
+        @Test
+        @DisplayName("Delta de inserare/eliminare coincide cu diferența prețurilor complete")
+        void deltasMatchFullRepricing() {
+            SplittableRandom random = new SplittableRandom(31);
+            IncrementalRoute route = pricer.newRoute(0);
+            List<Integer> stops = new ArrayList<>();
+            List<Double> parcels = new ArrayList<>();
+
+            for (int step = 0; step < 3_000; step++) {
+                boolean insert = stops.size() < 3 || (stops.size() < 40 && random.nextBoolean());
+                double before = route.total();
+                if (insert) {
+                    int position = random.nextInt(stops.size() + 1);
+                    int stop = 2 + random.nextInt(STOPS - 2);
+                    double parcel = random.nextDouble(0.1, 6);
+                    double delta = route.insertionDelta(position, stop, parcel);
+                    route.insert(position, stop, parcel);
+                    stops.add(position, stop);
+                    parcels.add(position, parcel);
+                    assertEquals(route.total() - before, delta, DELTA, "inserare pas " + step);
+                } else {
+                    int position = random.nextInt(stops.size());
+                    double delta = route.removalDelta(position);
+                    route.remove(position);
+                    stops.remove(position);
+                    parcels.remove(position);
+                    assertEquals(route.total() - before, delta, DELTA, "eliminare pas " + step);
+                }
+                int[] s = stops.stream().mapToInt(Integer::intValue).toArray();
+                double[] p = parcels.stream().mapToDouble(Double::doubleValue).toArray();
+                assertEquals(reference(0, s, p), route.total(), 0.0, "total pas " + step);
+            }
+        }
+
+        @Test
+        @DisplayName("Delta nu modifică ruta, iar o inserare invalidă o lasă neschimbată")
+        void deltaIsSideEffectFree() {
+            IncrementalRoute route = pricer.newRoute(0);
+            route.insert(0, 10, 2.5);
+            route.insert(1, 20, 1.0);
+            double total = route.total();
+
+            route.insertionDelta(1, 30, 4.0);
+            route.removalDelta(0);
+            assertEquals(total, route.total(), 0.0);
+            assertEquals(2, route.size());
+
+            assertThrows(IllegalArgumentException.class, () -> route.insert(1, 30, -1.0));
+            assertEquals(total, route.total(), 0.0);
+            assertEquals(20, route.stop(1));
+
+            RoutePricer euclidean = new RoutePricer((from, to) -> Math.hypot(x[from] - x[to], y[from] - y[to]));
+            IncrementalRoute strict = euclidean.newRoute(0);
+            strict.insert(0, 10, 2.5);
+            strict.insert(1, 20, 1.0);
+            double strictTotal = strict.total();
+            assertThrows(IllegalArgumentException.class, () -> strict.insert(1, 10, 1.0));
+            assertEquals(strictTotal, strict.total(), 0.0);
+            assertEquals(2, strict.size());
+            assertEquals(20, strict.stop(1));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package ro.tss.delivery.schedule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link PeakCalendar}: calendarul precalculat față de evaluarea directă a
+ * regulilor din {@link PeakSchedule}, inclusiv la trecerile la ora de vară/iarnă.
+ */
+@DisplayName("Teste PeakCalendar")
+class PeakCalendarTest {
+
+    private static final double DELTA = 0.001;
+
+    private static final ZoneId BUCHAREST = ZoneId.of("Europe/Bucharest");
+    private static final long SEP_1_2024 = Instant.parse("2024-09-01T00:00:00Z").toEpochMilli();
+
+    private final PeakSchedule schedule = new PeakSchedule(BUCHAREST, 1, List.of(
+            PeakRule.on(EnumSet.allOf(DayOfWeek.class), LocalTime.of(0, 0), LocalTime.of(6, 0), 0.90),
+            PeakRule.on(EnumSet.allOf(DayOfWeek.class), LocalTime.of(22, 0), LocalTime.MIDNIGHT, 0.90),
+            PeakRule.weekdays(LocalTime.of(8, 0), LocalTime.of(10, 0), 1.25),
+            PeakRule.weekdays(LocalTime.of(17, 0), LocalTime.of(19, 30), 1.25),
+            PeakRule.on(EnumSet.of(DayOfWeek.SATURDAY), LocalTime.of(10, 0), LocalTime.of(14, 0), 1.10),
+            PeakRule.onHolidays(LocalTime.of(0, 0), LocalTime.MIDNIGHT, 1.50)),
+            Set.of(LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 25), LocalDate.of(2025, 1, 1)));
+
+    private final PeakCalendar calendar = schedule.calendar(SEP_1_2024, 240);
+
+    @Test
+    @DisplayName("Fiecare minut din 240 de zile (două treceri de oră) coincide cu evaluarea directă")
+    void matchesScheduleEveryMinute() {
+        for (long t = calendar.startMillis(); t < calendar.endMillis(); t += 60_000) {
+            assertEquals(schedule.multiplierAt(t), calendar.multiplierAt(t), 0.0, Instant.ofEpochMilli(t).toString());
+        }
+        SplittableRandom random = new SplittableRandom(47);
+        for (int k = 0; k < 100_000; k++) {
+            long t = random.nextLong(calendar.startMillis(), calendar.endMillis());
+            assertEquals(schedule.multiplierAt(t), calendar.multiplierAt(t), 0.0, Instant.ofEpochMilli(t).toString());
+        }
+        assertEquals(5, calendar.distinctMultipliers());
+    }
+
+    @Test
+    @DisplayName("Vârful de luni 08:00 se mută cu o oră în UTC după trecerea la ora de iarnă")
+    void followsDaylightSavingTransition() {
+        // Vineri 25.10.2024 (UTC+3) și luni 28.10.2024 (UTC+2), ora locală 08:00
+        long friday = Instant.parse("2024-10-25T05:00:00Z").toEpochMilli();
+        long monday = Instant.parse("2024-10-28T06:00:00Z").toEpochMilli();
+        assertEquals(1.25, calendar.multiplierAt(friday), 0.0);
+        assertEquals(1.00, calendar.multiplierAt(friday - 1), 0.0);
+        assertEquals(1.25, calendar.multiplierAt(monday), 0.0);
+        assertEquals(1.00, calendar.multiplierAt(monday - 1), 0.0);
+        assertEquals(1.00, calendar.multiplierAt(Instant.parse("2024-10-28T05:30:00Z").toEpochMilli()), 0.0);
+    }
+
+    @Test
+    @DisplayName("De Crăciun (miercuri) se aplică doar regula de sărbătoare")
+    void holidayOverridesWeekdayRules() {
+        long christmasMorning = Instant.parse("2024-12-25T07:00:00Z").toEpochMilli();   // 09:00 local
+        long christmasNight = Instant.parse("2024-12-25T21:00:00Z").toEpochMilli();     // 23:00 local
+        assertEquals(1.50, calendar.multiplierAt(christmasMorning), 0.0);
+        assertEquals(1.50, calendar.multiplierAt(christmasNight), 0.0);
+        assertEquals(1.25, calendar.multiplierAt(christmasMorning + 86_400_000L), 0.0);
+
+        // 100 km, 20 kg: 50 × 1.50
+        assertEquals(75.00, calendar.calculateDeliveryFee(christmasMorning, 100, 20), DELTA);
+    }
+
+    @Test
+    @DisplayName("Lotul este identic bit cu bit cu varianta scalară")
+    void batchMatchesScalar() {
+        SplittableRandom random = new SplittableRandom(47);
+        int size = 50_000;
+        long[] t = new long[size];
+        double[] d = new double[size];
+        double[] w = new double[size];
+        for (int i = 0; i < size; i++) {
+            t[i] = random.nextLong(calendar.startMillis(), calendar.endMillis());
+            d[i] = random.nextDouble(0.01, 120);
+            w[i] = random.nextDouble(0.01, 30);
+        }
+        double[] fees = new double[size];
+        calendar.calculateDeliveryFees(t, d, w, fees);
+        DeliveryService service = new DeliveryService();
+        for (int i = 0; i < size; i++) {
+            assertEquals(calendar.calculateDeliveryFee(t[i], d[i], w[i]), fees[i], 0.0, "rândul " + i);
+            assertEquals(service.calculateDeliveryFee(d[i], w[i]) * schedule.multiplierAt(t[i]), fees[i], 0.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Orizontul de 90 de zile la un minut ocupă ~127 KB; momentele din afara lui sunt respinse")
+    void reportsFootprintAndRejectsOutsideHorizon() {
+        PeakCalendar quarter = schedule.calendar(SEP_1_2024 + 12_345, 90);
+        assertEquals(SEP_1_2024, quarter.startMillis());
+        assertEquals(SEP_1_2024 + 90 * 86_400_000L, quarter.endMillis());
+        assertEquals(16 + 129_600 + 16 + 5 * 8, quarter.footprintBytes());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> quarter.multiplierAt(quarter.endMillis()));
+        assertTrue(e.getMessage().startsWith("Momentul "));
+        e = assertThrows(IllegalArgumentException.class, () -> quarter.calculateDeliveryFees(
+                new long[] {SEP_1_2024, SEP_1_2024 - 1}, new double[] {1, 1}, new double[] {1, 1}, new double[2]));
+        assertTrue(e.getMessage().startsWith("Rândul 1: Momentul "));
+        e = assertThrows(IllegalArgumentException.class, () -> quarter.calculateDeliveryFees(
+                new long[] {SEP_1_2024, SEP_1_2024}, new double[] {1, 0}, new double[] {1, 1}, new double[2]));
+        assertEquals("Rândul 1: Distanța și greutatea trebuie să fie pozitive.", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> schedule.calendar(SEP_1_2024, 0));
+    }
+
+    @Test
+    @DisplayName("Reguli invalide sau nealiniate la rezoluția calendarului sunt respinse")
+    void rejectsInvalidRules() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PeakRule.weekdays(LocalTime.of(10, 0), LocalTime.of(9, 0), 1.2));
+        assertThrows(IllegalArgumentException.class,
+                () -> PeakRule.weekdays(LocalTime.of(8, 0), LocalTime.of(9, 0), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> PeakRule.weekdays(LocalTime.of(8, 0, 30), LocalTime.of(9, 0), 1.2));
+        assertThrows(IllegalArgumentException.class,
+                () -> PeakRule.on(EnumSet.noneOf(DayOfWeek.class), LocalTime.of(8, 0), LocalTime.of(9, 0), 1.2));
+        assertThrows(IllegalArgumentException.class, () -> new PeakSchedule(BUCHAREST, 15,
+                List.of(PeakRule.weekdays(LocalTime.of(8, 10), LocalTime.of(9, 0), 1.2)), Set.of()));
+        assertThrows(IllegalArgumentException.class, () -> new PeakSchedule(BUCHAREST, 7, List.of(), Set.of()));
+        // Decalaj de 5:45 (Nepal), nealiniat la intervale de 30 de minute
+        assertThrows(IllegalArgumentException.class,
+                () -> new PeakSchedule(ZoneId.of("Asia/Kathmandu"), 30, List.of(), Set.of()).calendar(SEP_1_2024, 1));
+    }
+}
@@ -0,0 +1,254 @@
+package ro.tss.delivery.sketch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link FeeQuantileSketch} și {@link TierFeeSketches}: precizie față de
+ * cuantilele exacte, combinare, serializare și memorie.
+ */
+@DisplayName("Teste schițe de cuantile ale taxelor")
+class FeeQuantileSketchTest {
+
+    private static final double DELTA = 0.001;
+    private static final double[] QUANTILES = {0, 0.1, 0.5, 0.9, 0.95, 0.99, 0.999, 1};
+
+    private final DeliveryService service = new DeliveryService();
+
+    @Test
+    @DisplayName("2M taxe DeliveryService: p50/p95/p99 la eroare relativă ≤ 1% față de sortarea exactă")
+    void quantilesWithinRelativeAccuracy() {
+        SplittableRandom random = new SplittableRandom(49);
+        int size = 2_000_000;
+        double[] fees = new double[size];
+        FeeQuantileSketch sketch = new FeeQuantileSketch();
+        for (int i = 0; i < size; i++) {
+            // Distanțe log-uniforme: taxe de la 5 la ~150 RON, cu coadă lungă
+            fees[i] = service.calculateDeliveryFee(Math.exp(random.nextDouble(-3, 6)), random.nextDouble(0.01, 30));
+            sketch.add(fees[i]);
+        }
+        assertQuantiles(fees, sketch, 0.01);
+        assertEquals(size, sketch.count());
+        assertTrue(sketch.footprintBytes() < 4096, "memorie: " + sketch.footprintBytes());
+    }
+
+    @Test
+    @DisplayName("Precizia se menține pentru alte erori relative și o distribuție cu ordine de mărime diferite")
+    void otherAccuraciesAndWideRange() {
+        SplittableRandom random = new SplittableRandom(49);
+        for (double alpha : new double[] {0.001, 0.02, 0.05}) {
+            // ~30 de ordine e la α = 0.1% cer ~15 000 de găleți: limită suficientă, fără comprimare
+            FeeQuantileSketch sketch = new FeeQuantileSketch(alpha, 16_384);
+            double[] fees = new double[200_000];
+            for (int i = 0; i < fees.length; i++) {
+                fees[i] = Math.exp(random.nextGaussian() * 3);
+                sketch.add(fees[i]);
+            }
+            assertQuantiles(fees, sketch, alpha);
+            assertEquals(0, sketch.collapsedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Combinarea schițelor pe 4 fire dă exact schița tuturor valorilor")
+    void mergeIsExact() {
+        SplittableRandom random = new SplittableRandom(49);
+        FeeQuantileSketch all = new FeeQuantileSketch();
+        FeeQuantileSketch[] parts = new FeeQuantileSketch[4];
+        for (int p = 0; p < 4; p++) {
+            parts[p] = new FeeQuantileSketch();
+        }
+        for (int i = 0; i < 400_000; i++) {
+            // Fiecare parte are alt domeniu de valori, ca tablourile să se extindă în ambele sensuri
+            int p = random.nextInt(4);
+            double fee = (p + 1) * service.calculateDeliveryFee(random.nextDouble(0.01, 120), random.nextDouble(0.01, 30));
+            all.add(fee);
+            parts[p].add(fee);
+        }
+        all.add(0.0);
+        parts[3].add(0.0, 1);
+        FeeQuantileSketch merged = new FeeQuantileSketch();
+        for (int p = 3; p >= 0; p--) {
+            merged.merge(parts[p]);
+        }
+        assertArrayEquals(all.toBytes(), merged.toBytes());
+        assertEquals(all.quantile(0.99), merged.quantile(0.99), 0.0);
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(new FeeQuantileSketch(0.02)));
+    }
+
+    @Test
+    @DisplayName("Serializarea este compactă și reversibilă; octeții invalizi sunt respinși")
+    void serializationRoundTrip() {
+        SplittableRandom random = new SplittableRandom(49);
+        FeeQuantileSketch sketch = new FeeQuantileSketch();
+        for (int i = 0; i < 1_000_000; i++) {
+            sketch.add(service.calculateDeliveryFee(random.nextDouble(0.01, 120), random.nextDouble(0.01, 30)));
+        }
+        byte[] bytes = sketch.toBytes();
+        assertTrue(bytes.length < 512, "octeți: " + bytes.length);
+        FeeQuantileSketch copy = FeeQuantileSketch.fromBytes(bytes);
+        assertArrayEquals(bytes, copy.toBytes());
+        assertEquals(sketch.count(), copy.count());
+        for (double q : QUANTILES) {
+            assertEquals(sketch.quantile(q), copy.quantile(q), 0.0);
+        }
+        assertArrayEquals(new FeeQuantileSketch().toBytes(), FeeQuantileSketch.fromBytes(new FeeQuantileSketch().toBytes()).toBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> FeeQuantileSketch.fromBytes(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> FeeQuantileSketch.fromBytes(Arrays.copyOf(bytes, bytes.length + 1)));
+        byte[] badVersion = bytes.clone();
+        badVersion[0] = 9;
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> FeeQuantileSketch.fromBytes(badVersion));
+        assertEquals("Serializare invalidă a schiței: versiune necunoscută.", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Valori zero, schiță goală și taxe invalide")
+    void edgeCasesAndValidation() {
+        FeeQuantileSketch sketch = new FeeQuantileSketch();
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+        assertTrue(Double.isNaN(sketch.min()));
+
+        sketch.add(0.0, 3);
+        sketch.add(10.0);
+        assertEquals(0.0, sketch.quantile(0.5), 0.0);
+        assertEquals(10.0, sketch.quantile(1), 0.0);
+        assertEquals(10.0, sketch.max(), 0.0);
+        assertEquals(1, sketch.nonEmptyBins());
+
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(-1));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(5, 0));
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new FeeQuantileSketch(0));
+        assertThrows(IllegalArgumentException.class, () -> new FeeQuantileSketch(0.01, 8));
+        assertEquals(4, sketch.count());
+    }
+
+    @Test
+    @DisplayName("Memoria este mărginită de maxBins: 8 KB implicit, oricare ar fi α și domeniul taxelor")
+    void memoryBound() {
+        // Fără limită, domeniul 1e-9 – 1e12 ar cere ~2 400 de găleți la α = 1% și ~242 000 la α = 1e-4
+        assertEquals(2419, new FeeQuantileSketch(0.01, Integer.MAX_VALUE).maxBins(), 1);
+        assertEquals(241_773, new FeeQuantileSketch(1e-4, Integer.MAX_VALUE).maxBins(), 1);
+        FeeQuantileSketch coarse = new FeeQuantileSketch(0.01);
+        FeeQuantileSketch fine = new FeeQuantileSketch(1e-4);
+        assertEquals(FeeQuantileSketch.DEFAULT_BIN_LIMIT, coarse.maxBins());
+        assertEquals(FeeQuantileSketch.DEFAULT_BIN_LIMIT, fine.maxBins());
+
+        // Extremele domeniului și valori între ele: tabloul nu crește peste maxBins
+        SplittableRandom random = new SplittableRandom(49);
+        for (FeeQuantileSketch sketch : new FeeQuantileSketch[] {coarse, fine}) {
+            sketch.add(FeeQuantileSketch.MIN_INDEXABLE);
+            sketch.add(FeeQuantileSketch.MAX_INDEXABLE);
+            for (int i = 0; i < 10_000; i++) {
+                sketch.add(Math.exp(random.nextDouble(Math.log(1e-9), Math.log(1e12))));
+            }
+            assertEquals(88 + 8L * FeeQuantileSketch.DEFAULT_BIN_LIMIT, sketch.footprintBytes());
+            assertTrue(sketch.collapsedCount() > 0);
+            assertEquals(10_002, sketch.count());
+            FeeQuantileSketch copy = FeeQuantileSketch.fromBytes(sketch.toBytes());
+            assertArrayEquals(sketch.toBytes(), copy.toBytes());
+            assertEquals(sketch.collapsedCount(), copy.collapsedCount());
+            assertEquals(sketch.quantile(0.5), copy.quantile(0.5), 0.0);
+        }
+        assertEquals(FeeQuantileSketch.MAX_INDEXABLE, fine.quantile(1), 0.0);
+    }
+
+    @Test
+    @DisplayName("Peste limită gălețile de jos se comprimă: p95/p99 rămân la ≤ α, combinarea rămâne exactă")
+    void collapsesLowestBins() {
+        // 5–1000 RON la α = 1% cer ~265 de găleți; cu 64 se păstrează doar ~280–1000 RON
+        SplittableRandom random = new SplittableRandom(49);
+        double[] fees = new double[200_000];
+        FeeQuantileSketch all = new FeeQuantileSketch(0.01, 64);
+        FeeQuantileSketch[] parts = new FeeQuantileSketch[4];
+        for (int p = 0; p < 4; p++) {
+            parts[p] = new FeeQuantileSketch(0.01, 64);
+        }
+        for (int i = 0; i < fees.length; i++) {
+            fees[i] = Math.exp(random.nextDouble(Math.log(5), Math.log(1000)));
+            all.add(fees[i]);
+            // Părțile văd intervale diferite, deci se comprimă în momente diferite
+            parts[Math.min(3, (int) (Math.log(fees[i] / 5) / Math.log(200) * 4))].add(fees[i]);
+        }
+        assertEquals(88 + 8L * 64, all.footprintBytes());
+
+        double[] sorted = fees.clone();
+        Arrays.sort(sorted);
+        for (double q : new double[] {0.95, 0.99, 0.999, 1}) {
+            double exact = sorted[(int) (q * (sorted.length - 1))];
+            assertEquals(exact, all.quantile(q), exact * 0.01 * (1 + 1e-9), "q=" + q);
+        }
+        // Valorile de sub ~280 RON (~75%) sunt în găleata comprimată: mediana e supraestimată
+        long collapsed = all.collapsedCount();
+        assertTrue(collapsed > 0.7 * fees.length && collapsed < 0.8 * fees.length, "comprimate: " + collapsed);
+        assertTrue(all.quantile(0.5) > sorted[sorted.length / 2]);
+        assertEquals(5.0, all.min(), 0.01);
+
+        FeeQuantileSketch merged = new FeeQuantileSketch(0.01, 64);
+        for (int p = 0; p < 4; p++) {
+            merged.merge(parts[p]);
+        }
+        assertArrayEquals(all.toBytes(), merged.toBytes());
+        assertArrayEquals(all.toBytes(), FeeQuantileSketch.fromBytes(all.toBytes()).toBytes());
+    }
+
+    @Test
+    @DisplayName("Schițele pe treaptă × interval: fiecare taxă în celula ei, serializare și combinare")
+    void tierSketches() {
+        TierFeeSketches a = new TierFeeSketches();
+        TierFeeSketches b = new TierFeeSketches();
+        SplittableRandom random = new SplittableRandom(49);
+        double[] longTier = new double[100_001];
+        int longCount = 0;
+        for (int i = 0; i < 100_000; i++) {
+            double d = random.nextDouble(0.01, 120);
+            double w = random.nextDouble(0.01, 30);
+            double fee = service.calculateDeliveryFee(d, w);
+            (i % 2 == 0 ? a : b).record(d, w, fee);
+            if (d > 50) {
+                longTier[longCount++] = fee;
+            }
+        }
+        a.record(100, 20, 50.00);
+        longTier[longCount++] = 50.00;
+        // Treapta lungă, foarte greu: taxe între 5 + 50×0.3 + 15 = 35 și 5 + 120×0.3 + 15 = 56
+        FeeQuantileSketch longHeavy = a.sketch(2, 3);
+        assertEquals(35.0, longHeavy.min(), 0.1);
+        assertEquals(56.0, longHeavy.max(), 0.1);
+        assertTrue(a.sketch(0, 0).count() > 0);
+
+        TierFeeSketches copy = TierFeeSketches.fromBytes(a.toBytes());
+        assertArrayEquals(a.toBytes(), copy.toBytes());
+        a.merge(b);
+        assertEquals(100_001, a.total().count());
+        assertEquals(a.tier(0).count() + a.tier(1).count() + a.tier(2).count(), a.total().count());
+        double[] sorted = Arrays.copyOf(longTier, longCount);
+        Arrays.sort(sorted);
+        double median = sorted[(longCount - 1) / 2];
+        assertEquals(median, a.tier(2).quantile(0.5), median * 0.01);
+        assertTrue(a.footprintBytes() < 12 * 4096);
+        assertThrows(IllegalArgumentException.class, () -> a.sketch(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> TierFeeSketches.fromBytes(new byte[] {0, 0, 0}));
+    }
+
+    private static void assertQuantiles(double[] values, FeeQuantileSketch sketch, double alpha) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            double exact = sorted[(int) (q * (sorted.length - 1))];
+            double estimate = sketch.quantile(q);
+            assertEquals(exact, estimate, exact * alpha * (1 + 1e-9), "α=" + alpha + " q=" + q);
+        }
+        assertEquals(sorted[0], sketch.min(), DELTA);
+        assertEquals(sorted[sorted.length - 1], sketch.max(), DELTA);
+    }
+}
@@ -0,0 +1,135 @@
+package ro.tss.delivery.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link OffHeapQuoteStore}. Se folosesc blocuri mici (2^4 înregistrări)
+ * pentru ca accesele să traverseze des granițele dintre blocuri.
+ */
+@DisplayName("Teste OffHeapQuoteStore")
+class OffHeapQuoteStoreTest {
+
+    private OffHeapQuoteStore store;
+    private DeliveryService service;
+
+    @BeforeEach
+    void setUp() {
+        store = new OffHeapQuoteStore(4);
+        service = new DeliveryService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Nested
+    @DisplayName("Acces secvențial și aleator")
+    class Access {
+
+        @Test
+        @DisplayName("Valorile adăugate se citesc înapoi, peste granițele blocurilor")
+        void appendAndRead() {
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i, store.append(i + 0.5, i * 0.25 + 0.1));
+            }
+            assertEquals(1000, store.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i + 0.5, store.distanceKm(i), 0.0);
+                assertEquals(i * 0.25 + 0.1, store.weightKg(i), 0.0);
+                assertTrue(Double.isNaN(store.fee(i)), "nețarifat");
+            }
+            assertEquals(63L * 16 * 24, store.offHeapBytes());
+        }
+
+        @Test
+        @DisplayName("Index în afara depozitului")
+        void outOfBounds() {
+            store.append(1, 1);
+            assertThrows(IndexOutOfBoundsException.class, () -> store.fee(1));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.distanceKm(-1));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.priceRange(0, 2, service));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tarifare pe loc")
+    class Pricing {
+
+        @Test
+        @DisplayName("priceAll coincide cu DeliveryService pentru fiecare cotație")
+        void priceAllMatchesService() {
+            SplittableRandom random = new SplittableRandom(30);
+            for (int i = 0; i < 10_000; i++) {
+                store.append(random.nextDouble(0.01, 120), random.nextDouble(0.01, 30));
+            }
+            store.priceAll(service);
+
+            double total = 0;
+            for (long i = 0; i < store.size(); i++) {
+                double expected = service.calculateDeliveryFee(store.distanceKm(i), store.weightKg(i));
+                assertEquals(expected, store.fee(i), 0.0, "cotația " + i);
+                total += expected;
+            }
+            assertEquals(total, store.totalFees(), 0.0);
+        }
+
+        @Test
+        @DisplayName("set() invalidează taxa, iar retarifarea unui interval o recalculează")
+        void randomUpdateAndReprice() {
+            for (int i = 0; i < 100; i++) {
+                store.append(5, 1);
+            }
+            store.priceAll(service);
+            store.set(42, 10.0, 3.0);
+            assertTrue(Double.isNaN(store.fee(42)));
+
+            store.priceRange(40, 45, service);
+            assertEquals(14.50, store.fee(42), 0.001);     // 5 + 10*0.50 + 4.50
+            assertEquals(7.50, store.fee(41), 0.001);
+        }
+
+        @Test
+        @DisplayName("Cotația invalidă este raportată cu indexul ei")
+        void invalidQuote() {
+            store.append(5, 1);
+            store.append(0, 1);
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> store.priceAll(service));
+            assertTrue(e.getMessage().startsWith("Cotația 1"), e.getMessage());
+            assertEquals(7.50, store.fee(0), 0.001);
+        }
+    }
+
+    @Test
+    @DisplayName("close() întoarce blocurile în lista liberă; accesele ulterioare sunt respinse")
+    void closeReleases() {
+        long pooled = OffHeapQuoteStore.pooledBytes();
+        for (int i = 0; i < 20; i++) {
+            store.append(5, 1);
+        }
+        assertEquals(2L * 16 * 24, store.offHeapBytes());
+        store.close();
+        assertEquals(pooled + 2L * 16 * 24, OffHeapQuoteStore.pooledBytes());
+
+        OffHeapQuoteStore reused = new OffHeapQuoteStore(4);
+        reused.append(7, 2);
+        assertEquals(pooled + 16 * 24, OffHeapQuoteStore.pooledBytes(), "blocul este refolosit");
+        assertTrue(Double.isNaN(reused.fee(0)), "înregistrarea refolosită este rescrisă complet");
+        reused.close();
+
+        assertThrows(IllegalStateException.class, () -> store.fee(0));
+        assertThrows(IllegalStateException.class, () -> store.append(5, 1));
+        assertThrows(IllegalStateException.class, store::size);
+        assertDoesNotThrow(store::close);
+    }
+}
@@ -0,0 +1,136 @@
+package ro.tss.delivery.surcharge;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ro.tss.delivery.DeliveryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste pentru {@link SurchargePipeline} și {@link CompiledSurcharges}.
+ */
+@DisplayName("Teste pipeline de suprataxe compilat")
+class SurchargePipelineTest {
+
+    private static final double DELTA = 0.001;
+
+    private final DeliveryService service = new DeliveryService();
+
+    private final SurchargePipeline pipeline = SurchargePipeline.of(
+            Surcharge.percentage("combustibil", 0.12),
+            Surcharge.remoteZone("zonă izolată", 7.50),
+            Surcharge.minimum(12.00),
+            Surcharge.cap(60.00));
+
+    @Test
+    @DisplayName("Combustibil 12%, zonă izolată +7.50, minim 12, plafon 60")
+    void appliesStagesInOrder() {
+        CompiledSurcharges compiled = pipeline.compile();
+
+        // 5 km, 1 kg: 7.50 × 1.12 = 8.40 → minimul de 12; în zonă izolată 15.90
+        assertEquals(12.00, pipeline.calculateDeliveryFee(service, 5, 1, false), DELTA);
+        assertEquals(15.90, pipeline.calculateDeliveryFee(service, 5, 1, true), DELTA);
+        // 100 km, 20 kg: 50 × 1.12 = 56; în zonă izolată 63.50 → plafonul de 60
+        assertEquals(56.00, compiled.calculateDeliveryFee(100, 20, false), DELTA);
+        assertEquals(60.00, compiled.calculateDeliveryFee(100, 20, true), DELTA);
+        assertEquals(15.90, compiled.calculateDeliveryFee(5, 1, true), DELTA);
+        assertArrayEquals(new double[] {1.12, 0, 12, 60}, compiled.coefficients(false), 1e-12);
+        assertArrayEquals(new double[] {1.12, 7.5, 12, 60}, compiled.coefficients(true), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Fără etape: exact taxa din DeliveryService")
+    void emptyPipelineIsIdentity() {
+        CompiledSurcharges compiled = SurchargePipeline.of().compile();
+        SplittableRandom random = new SplittableRandom(44);
+        for (int i = 0; i < 100_000; i++) {
+            double d = random.nextDouble(0.01, 120);
+            double w = random.nextDouble(0.01, 30);
+            assertEquals(service.calculateDeliveryFee(d, w), compiled.calculateDeliveryFee(d, w, random.nextBoolean()), 0.0);
+        }
+        assertTrue(Double.isNaN(compiled.calculateDeliveryFee(Double.NaN, 1, false)));
+    }
+
+    @Test
+    @DisplayName("Pipeline-uri aleatoare de până la 20 de etape: funcția compilată = aplicarea etapă cu etapă")
+    void compiledMatchesStageByStage() {
+        SplittableRandom random = new SplittableRandom(44);
+        for (int p = 0; p < 500; p++) {
+            SurchargePipeline randomPipeline = randomPipeline(random, random.nextInt(21));
+            CompiledSurcharges compiled = randomPipeline.compile();
+            assertEquals(randomPipeline.stages().size(), compiled.stageCount());
+            for (int i = 0; i < 200; i++) {
+                double d = random.nextDouble(0.01, 120);
+                double w = random.nextDouble(0.01, 30);
+                boolean remote = random.nextBoolean();
+                double expected = randomPipeline.calculateDeliveryFee(service, d, w, remote);
+                assertEquals(expected, compiled.calculateDeliveryFee(d, w, remote), 1e-9 * Math.max(1, Math.abs(expected)),
+                        randomPipeline.stages() + " d=" + d + " w=" + w + " izolată=" + remote);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Lotul este identic bit cu bit cu varianta scalară compilată")
+    void batchMatchesScalar() {
+        CompiledSurcharges compiled = randomPipeline(new SplittableRandom(7), 20).compile();
+        SplittableRandom random = new SplittableRandom(44);
+        int size = 10_000;
+        double[] d = new double[size];
+        double[] w = new double[size];
+        boolean[] remote = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            d[i] = random.nextDouble(0.01, 120);
+            w[i] = random.nextDouble(0.01, 30);
+            remote[i] = random.nextInt(10) == 0;
+        }
+        double[] fees = new double[size];
+        compiled.calculateDeliveryFees(d, w, remote, fees);
+        for (int i = 0; i < size; i++) {
+            assertEquals(compiled.calculateDeliveryFee(d[i], w[i], remote[i]), fees[i], 0.0, "rândul " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Etape invalide, rânduri invalide și lungimi diferite sunt respinse")
+    void rejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> Surcharge.percentage("reducere", -1.0));
+        assertThrows(IllegalArgumentException.class, () -> Surcharge.fixed("taxă", Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Surcharge.cap(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> new SurchargePipeline(java.util.Arrays.asList((Surcharge) null)));
+
+        CompiledSurcharges compiled = pipeline.compile();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> compiled.calculateDeliveryFees(new double[] {1, -1}, new double[] {1, 1}, new boolean[2], new double[2]));
+        assertEquals("Rândul 1: Distanța și greutatea trebuie să fie pozitive.", e.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> compiled.calculateDeliveryFees(new double[2], new double[2], new boolean[1], new double[2]));
+    }
+
+    @Test
+    @DisplayName("then() întoarce un pipeline nou, fără a-l modifica pe cel existent")
+    void thenIsImmutable() {
+        SurchargePipeline longer = pipeline.then(Surcharge.fixed("asigurare", 2.0));
+        assertEquals(4, pipeline.stages().size());
+        assertEquals(5, longer.stages().size());
+        assertEquals(58.00, longer.compile().calculateDeliveryFee(100, 20, false), DELTA);
+    }
+
+    static SurchargePipeline randomPipeline(SplittableRandom random, int stages) {
+        List<Surcharge> list = new ArrayList<>();
+        for (int s = 0; s < stages; s++) {
+            switch (random.nextInt(5)) {
+                case 0 -> list.add(Surcharge.percentage("procent " + s, random.nextDouble(-0.3, 0.3)));
+                case 1 -> list.add(Surcharge.fixed("fix " + s, random.nextDouble(-2, 5)));
+                case 2 -> list.add(Surcharge.remoteZone("izolată " + s, random.nextDouble(0, 10)));
+                case 3 -> list.add(Surcharge.minimum(random.nextDouble(5, 20)));
+                default -> list.add(Surcharge.cap(random.nextDouble(20, 80)));
+            }
+        }
+        return new SurchargePipeline(list);
+    }
+}
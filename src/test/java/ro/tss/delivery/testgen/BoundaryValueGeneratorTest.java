@@ -0,0 +1,141 @@
+package ro.tss.delivery.testgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicContainer;
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import ro.tss.delivery.DeliveryService;
+import ro.tss.delivery.kernel.BranchlessDeliveryService;
+import ro.tss.delivery.ratecard.RateCard;
+import ro.tss.delivery.ratecard.RateCardCompiler;
+import ro.tss.delivery.ratecard.RateCardInterpreter;
+import ro.tss.delivery.testgen.BoundaryCase.Axis;
+import ro.tss.delivery.testgen.BoundaryCase.Kind;
+
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cazuri BVA generate din praguri, rulate ca teste dinamice pe implementările de tarifare.
+ */
+@DisplayName("Teste BVA generate")
+class BoundaryValueGeneratorTest {
+
+    /** Tarif cu sute de praguri neregulate, ca un tarif real negociat. */
+    private static RateCard largeCard() {
+        int tiers = 400;
+        int bands = 250;
+        double[] dt = new double[tiers - 1];
+        double[] dr = new double[tiers];
+        double[] wt = new double[bands - 1];
+        double[] wf = new double[bands];
+        for (int i = 0; i < tiers; i++) {
+            if (i < dt.length) {
+                dt[i] = 0.7 * (i + 1) + 0.0013 * i * i;
+            }
+            dr[i] = 0.9 - 0.0017 * i;
+        }
+        for (int j = 0; j < bands; j++) {
+            if (j < wt.length) {
+                wt[j] = 0.35 * (j + 1) + 0.01 * (j % 7);
+            }
+            wf[j] = 0.25 * j;
+        }
+        return new RateCard("bva-400x250", 3.75, dt, dr, wt, wf);
+    }
+
+    private static Stream<DynamicNode> dynamicTests(BoundaryValueGenerator generator, DoubleBinaryOperator pricer) {
+        return Stream.of(Axis.values()).map(axis -> DynamicContainer.dynamicContainer(axis.toString(),
+                generator.cases(axis).map(c -> DynamicTest.dynamicTest(c.toString(), () -> check(c, pricer)))));
+    }
+
+    private static void check(BoundaryCase c, DoubleBinaryOperator pricer) {
+        if (c.expectsRejection()) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> pricer.applyAsDouble(c.distanceKm(), c.weightKg()), c.toString());
+        } else {
+            assertEquals(c.expectedFee(), pricer.applyAsDouble(c.distanceKm(), c.weightKg()), c.tolerance(),
+                    c.toString());
+        }
+    }
+
+    @TestFactory
+    @DisplayName("Tariful standard: DeliveryService")
+    Stream<DynamicNode> standardOnDeliveryService() {
+        return dynamicTests(new BoundaryValueGenerator(RateCard.standard()),
+                new DeliveryService()::calculateDeliveryFee);
+    }
+
+    @TestFactory
+    @DisplayName("Tariful standard: BranchlessDeliveryService")
+    Stream<DynamicNode> standardOnBranchless() {
+        return dynamicTests(new BoundaryValueGenerator(RateCard.standard()),
+                new BranchlessDeliveryService()::calculateDeliveryFee);
+    }
+
+    @TestFactory
+    @DisplayName("Tarif cu 400 × 250 de intervale: clasa compilată")
+    Stream<DynamicNode> largeCardOnCompiled() {
+        RateCard card = largeCard();
+        return dynamicTests(new BoundaryValueGenerator(card), new RateCardCompiler().compile(card));
+    }
+
+    @TestFactory
+    @DisplayName("Tarif cu 400 × 250 de intervale: interpretorul")
+    Stream<DynamicNode> largeCardOnInterpreter() {
+        RateCard card = largeCard();
+        return dynamicTests(new BoundaryValueGenerator(card), new RateCardInterpreter(card));
+    }
+
+    @Test
+    @DisplayName("Setul standard conține valorile din BoundaryValueAnalysisTest la precizie de ulp")
+    void standardSet() {
+        BoundaryValueGenerator generator = new BoundaryValueGenerator(RateCard.standard());
+        List<BoundaryCase> cases = generator.cases().collect(Collectors.toList());
+        assertEquals(generator.count(), cases.size());
+        assertEquals(3 + 6 + 3 + 3 + 9 + 4, cases.size());
+
+        BoundaryCase onTen = cases.stream()
+                .filter(c -> c.axis() == Axis.DISTANCE && c.kind() == Kind.ON && c.boundary() == 0)
+                .findFirst().orElseThrow();
+        assertEquals(10.0, onTen.distanceKm(), 0.0);
+        assertEquals(1.0, onTen.weightKg(), 0.0);
+        assertEquals(10.00, onTen.expectedFee(), 0.0);       // 5 + 10*0.50 + 0
+
+        BoundaryCase aboveTen = cases.stream()
+                .filter(c -> c.axis() == Axis.DISTANCE && c.kind() == Kind.ABOVE && c.boundary() == 0)
+                .findFirst().orElseThrow();
+        assertEquals(Math.nextUp(10.0), aboveTen.distanceKm(), 0.0);
+        assertEquals(9.00, aboveTen.expectedFee(), 1e-12);    // tariful 0.40
+
+        for (Axis axis : Axis.values()) {
+            assertEquals(2, cases.stream().filter(c -> c.axis() == axis && c.expectsRejection()).count(),
+                    "0 și nextDown(0) respinse pe " + axis);
+        }
+        BoundaryCase tinyWeight = cases.stream()
+                .filter(c -> c.axis() == Axis.WEIGHT && c.boundary() == BoundaryCase.VALIDITY && !c.expectsRejection())
+                .findFirst().orElseThrow();
+        assertEquals(Double.MIN_VALUE, tinyWeight.weightKg(), 0.0);
+    }
+
+    @Test
+    @DisplayName("Oracolul construiește intervalul fiecărui caz la fel ca RateCard")
+    void oracleIntervalsMatchCard() {
+        RateCard card = largeCard();
+        BoundaryValueGenerator generator = new BoundaryValueGenerator(card);
+        assertEquals(3 + 3 * 399 + 400 + 3 + 3 * 249 + 250, generator.count());
+        RateCardInterpreter interpreter = new RateCardInterpreter(card);
+        long checked = generator.cases()
+                .filter(c -> !c.expectsRejection())
+                .peek(c -> assertEquals(c.expectedFee(),
+                        interpreter.calculateDeliveryFee(c.distanceKm(), c.weightKg()), c.tolerance(), c.toString()))
+                .count();
+        assertEquals(generator.count() - 4, checked);
+    }
+}